@@ -0,0 +1,126 @@
+package com.github.mostroverkhov.rsocket;
+
+import com.github.mostroverkhov.rsocket.aeron.internal.EventLoop;
+import com.github.mostroverkhov.rsocket.aeron.internal.SingleThreadedEventLoop;
+import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.AeronChannel;
+import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import io.aeron.Aeron;
+import io.aeron.Publication;
+import io.aeron.Subscription;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+/**
+ * Frames throughput of Aeron channel over IPC of embedded media driver: buffer per frame offered
+ * with {@code send} versus frames packed into claimed regions with {@code sendPacked}
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class AeronPerf {
+  static final int FRAMES = 10_000;
+  static final int STREAM_ID = 1;
+
+  @Param({"offer", "claim"})
+  String write;
+
+  @Param({"16", "128"})
+  int size;
+
+  MediaDriver driver;
+  Aeron aeron;
+  EventLoop eventLoop;
+  AeronChannel channel;
+  Receiver receiver;
+  Payload payload;
+  List<Frame> sent;
+
+  @Setup
+  public void setup() {
+    driver =
+        MediaDriver.launchEmbedded(
+            new MediaDriver.Context().threadingMode(ThreadingMode.SHARED).dirDeleteOnStart(true));
+    aeron = Aeron.connect(new Aeron.Context().aeronDirectoryName(driver.aeronDirectoryName()));
+    Subscription subscription = aeron.addSubscription("aeron:ipc", STREAM_ID);
+    Publication publication = aeron.addPublication("aeron:ipc", STREAM_ID);
+    eventLoop = new SingleThreadedEventLoop("aeron-perf");
+    channel =
+        new AeronChannel(
+            "aeron-perf", publication, subscription, eventLoop, publication.sessionId());
+    receiver = new Receiver();
+    channel.receiveViews().subscribe(receiver);
+    payload = new PayloadImpl(new byte[size]);
+    sent = new ArrayList<>(FRAMES);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    channel.close();
+    aeron.close();
+    driver.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FRAMES)
+  public void send() {
+    long expected = receiver.frames + FRAMES;
+    Flux<Frame> frames =
+        Flux.range(0, FRAMES).map(i -> Frame.PayloadFrame.from(1, FrameType.NEXT, payload));
+    if ("offer".equals(write)) {
+      channel
+          .send(frames.doOnNext(sent::add).map(f -> new UnsafeBuffer(f.content().nioBuffer())))
+          .block();
+      sent.forEach(Frame::release);
+      sent.clear();
+    } else {
+      channel.sendPacked(frames.map(Frame::content), 256).block();
+    }
+    while (receiver.frames < expected) {
+      Thread.yield();
+    }
+  }
+
+  /*counts frames without copying them: every frame starts with its length*/
+  static class Receiver extends BaseSubscriber<DirectBuffer> {
+    volatile long frames;
+
+    @Override
+    protected void hookOnNext(DirectBuffer message) {
+      int offset = 0;
+      int count = 0;
+      while (offset < message.capacity()) {
+        int length = (message.getByte(offset) & 0xFF) << 16;
+        length |= (message.getByte(offset + 1) & 0xFF) << 8;
+        length |= message.getByte(offset + 2) & 0xFF;
+        offset += length + 3;
+        count++;
+      }
+      frames += count;
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+      /*channel is closed on tear down*/
+    }
+  }
+}
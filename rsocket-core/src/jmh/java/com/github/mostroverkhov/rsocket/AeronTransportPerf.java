@@ -0,0 +1,191 @@
+package com.github.mostroverkhov.rsocket;
+
+import com.github.mostroverkhov.rsocket.aeron.client.AeronClientTransport;
+import com.github.mostroverkhov.rsocket.aeron.internal.Constants;
+import com.github.mostroverkhov.rsocket.aeron.internal.EmbeddedMediaDriver;
+import com.github.mostroverkhov.rsocket.aeron.internal.EventLoopGroup;
+import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.AeronClientChannelConnector;
+import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.AeronSocketAddress;
+import com.github.mostroverkhov.rsocket.aeron.server.AeronServerTransport;
+import com.github.mostroverkhov.rsocket.transport.ClientTransport;
+import com.github.mostroverkhov.rsocket.transport.ServerTransport;
+import com.github.mostroverkhov.rsocket.transport.netty.client.TcpClientTransport;
+import com.github.mostroverkhov.rsocket.transport.netty.server.NettyContextCloseable;
+import com.github.mostroverkhov.rsocket.transport.netty.server.TcpServerTransport;
+import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import io.aeron.driver.ThreadingMode;
+import java.time.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * All four interaction models over Aeron IPC and loopback UDP of embedded media driver, compared
+ * with Netty loopback TCP
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class AeronTransportPerf {
+  static final int FRAMES = 10_000;
+  static final int CONCURRENCY = 64;
+
+  @Param({"aeron-ipc", "aeron-udp", "tcp"})
+  String transport;
+
+  @Param({"SHARED", "DEDICATED"})
+  String threadingMode;
+
+  @Param({"16", "128"})
+  int payloadSize;
+
+  EmbeddedMediaDriver driver;
+  EventLoopGroup serverEventLoops;
+  EventLoopGroup clientEventLoops;
+  Closeable server;
+  RSocket client;
+  Payload payload;
+
+  @Setup
+  public void setup() {
+    payload = new PayloadImpl(new byte[payloadSize]);
+
+    ServerTransport<? extends Closeable> serverTransport;
+    ClientTransport clientTransport;
+    if ("tcp".equals(transport)) {
+      NettyContextCloseable tcpServer = start(TcpServerTransport.create("localhost", 0));
+      server = tcpServer;
+      clientTransport = TcpClientTransport.create(tcpServer.address());
+    } else {
+      driver = EmbeddedMediaDriver.launch(ThreadingMode.valueOf(threadingMode));
+      serverEventLoops = EventLoopGroup.create("perf-server", 1);
+      clientEventLoops = EventLoopGroup.create("perf-client", 1);
+      if ("aeron-ipc".equals(transport)) {
+        serverTransport = AeronServerTransport.ipc(driver, serverEventLoops);
+        clientTransport = AeronClientTransport.ipc(driver, clientEventLoops);
+      } else {
+        AeronSocketAddress address = AeronSocketAddress.create("aeron:udp", "127.0.0.1", 39791);
+        serverTransport =
+            new AeronServerTransport(driver.aeronWrapper(), address, serverEventLoops);
+        clientTransport =
+            new AeronClientTransport(
+                AeronClientChannelConnector.create(
+                    driver.aeronWrapper(), address, clientEventLoops),
+                AeronClientChannelConnector.AeronClientConfig.create(
+                    address,
+                    address,
+                    Constants.CLIENT_STREAM_ID,
+                    Constants.SERVER_STREAM_ID,
+                    clientEventLoops));
+      }
+      server = start(serverTransport);
+    }
+
+    client =
+        RSocketFactory.connect()
+            .keepAlive(Duration.ofDays(1), 3)
+            .transport(clientTransport)
+            .start()
+            .block();
+  }
+
+  private <T extends Closeable> T start(ServerTransport<T> serverTransport) {
+    return RSocketFactory.receive()
+        .acceptor(
+            (setup, sendingSocket) ->
+                Mono.just(
+                    new AbstractRSocket() {
+                      @Override
+                      public Mono<Void> fireAndForget(Payload request) {
+                        request.release();
+                        return Mono.empty();
+                      }
+
+                      @Override
+                      public Mono<Payload> requestResponse(Payload request) {
+                        request.release();
+                        return Mono.just(payload);
+                      }
+
+                      @Override
+                      public Flux<Payload> requestStream(Payload request) {
+                        request.release();
+                        return Flux.range(0, FRAMES).map(i -> payload);
+                      }
+
+                      @Override
+                      public Flux<Payload> requestChannel(Publisher<Payload> requests) {
+                        return Flux.from(requests)
+                            .map(
+                                request -> {
+                                  request.release();
+                                  return payload;
+                                });
+                      }
+                    }))
+        .transport(serverTransport)
+        .start()
+        .block();
+  }
+
+  @TearDown
+  public void tearDown() {
+    client.close().block();
+    server.close().block();
+    if (driver != null) {
+      clientEventLoops.close();
+      serverEventLoops.close();
+      driver.close();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FRAMES)
+  public void fireAndForget() {
+    Flux.range(0, FRAMES).flatMap(i -> client.fireAndForget(payload), CONCURRENCY).blockLast();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FRAMES)
+  public void requestResponse(Blackhole bh) {
+    Flux.range(0, FRAMES)
+        .flatMap(i -> client.requestResponse(payload), CONCURRENCY)
+        .doOnNext(p -> consume(bh, p))
+        .blockLast();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FRAMES)
+  public void requestStream(Blackhole bh) {
+    client.requestStream(payload).doOnNext(p -> consume(bh, p)).blockLast();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FRAMES)
+  public void requestChannel(Blackhole bh) {
+    client
+        .requestChannel(Flux.range(0, FRAMES).map(i -> payload))
+        .doOnNext(p -> consume(bh, p))
+        .blockLast();
+  }
+
+  private static void consume(Blackhole bh, Payload p) {
+    bh.consume(p);
+    p.release();
+  }
+}
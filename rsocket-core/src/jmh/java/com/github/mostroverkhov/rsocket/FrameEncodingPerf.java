@@ -0,0 +1,87 @@
+package com.github.mostroverkhov.rsocket;
+
+import com.github.mostroverkhov.rsocket.util.ByteBufPayload;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Outbound frame encoding cost. Payloads below {@code io.rsocket.frame.zeroCopyThreshold} are
+ * copied into frame, larger ones are composed with encoded header - {@code bytesCopied} counter
+ * reports bytes written into frame content per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@State(Scope.Thread)
+public class FrameEncodingPerf {
+
+  @Param({"64", "1024", "16384", "262144"})
+  int payloadSize;
+
+  ByteBufPayload payload;
+
+  @Setup
+  public void setup() {
+    byte[] bytes = new byte[payloadSize];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    ByteBuf data = ByteBufAllocator.DEFAULT.buffer(payloadSize);
+    data.writeBytes(bytes);
+    ByteBuf metadata = ByteBufAllocator.DEFAULT.buffer(16);
+    metadata.writeBytes(bytes, 0, Math.min(16, payloadSize));
+    payload = ByteBufPayload.create(data, metadata);
+  }
+
+  @TearDown
+  public void tearDown() {
+    payload.release();
+  }
+
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  @State(Scope.Thread)
+  public static class Counters {
+    public long bytesCopied;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      bytesCopied = 0;
+    }
+
+    void count(Frame frame) {
+      ByteBuf content = frame.content();
+      bytesCopied +=
+          content instanceof CompositeByteBuf
+              ? ((CompositeByteBuf) content).component(0).readableBytes()
+              : content.readableBytes();
+    }
+  }
+
+  @Benchmark
+  public void requestStream(Counters counters) {
+    Frame frame = Frame.Request.from(1, FrameType.REQUEST_STREAM, payload, 1);
+    counters.count(frame);
+    frame.release();
+  }
+
+  @Benchmark
+  public void next(Counters counters) {
+    Frame frame = Frame.PayloadFrame.from(1, FrameType.NEXT, payload);
+    counters.count(frame);
+    frame.release();
+  }
+}
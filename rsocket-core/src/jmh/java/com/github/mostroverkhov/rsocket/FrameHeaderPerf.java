@@ -0,0 +1,93 @@
+package com.github.mostroverkhov.rsocket;
+
+import com.github.mostroverkhov.rsocket.frame.FrameHeaderFlyweight;
+import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import io.netty.buffer.ByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Inbound frame header decoding and dispatch, as done by connection demultiplexer, interceptors and
+ * responder for every received frame: flyweight re-parsing vs header decoded once by {@link Frame}
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@State(Scope.Thread)
+public class FrameHeaderPerf {
+  ByteBuf content;
+
+  @Setup
+  public void setup() {
+    Frame frame =
+        Frame.Request.from(
+            3, FrameType.REQUEST_STREAM, new PayloadImpl("data", "metadata"), Integer.MAX_VALUE);
+    content = frame.content().retain();
+    frame.release();
+  }
+
+  @TearDown
+  public void tearDown() {
+    content.release();
+  }
+
+  @Benchmark
+  public void flyweightDecode(Blackhole bh) {
+    ByteBuf content = this.content;
+    /*demux*/
+    bh.consume(FrameHeaderFlyweight.streamId(content));
+    /*interceptors*/
+    bh.consume(FrameHeaderFlyweight.frameType(content));
+    bh.consume(FrameHeaderFlyweight.frameType(content));
+    bh.consume(FrameHeaderFlyweight.frameType(content));
+    /*responder*/
+    bh.consume(FrameHeaderFlyweight.streamId(content));
+    dispatch(FrameHeaderFlyweight.frameType(content), bh);
+    bh.consume(FrameHeaderFlyweight.flags(content));
+    bh.consume(FrameHeaderFlyweight.sliceFrameMetadata(content));
+    bh.consume(FrameHeaderFlyweight.sliceFrameData(content));
+  }
+
+  @Benchmark
+  public void frameDecode(Blackhole bh) {
+    Frame frame = Frame.from(content.retain());
+    /*demux*/
+    bh.consume(frame.getStreamId());
+    /*interceptors*/
+    bh.consume(frame.getType());
+    bh.consume(frame.getType());
+    bh.consume(frame.getType());
+    /*responder*/
+    bh.consume(frame.getStreamId());
+    dispatch(frame.getType(), bh);
+    bh.consume(frame.hasMetadata());
+    bh.consume(frame.sliceMetadata());
+    bh.consume(frame.sliceData());
+    frame.release();
+  }
+
+  private static void dispatch(FrameType type, Blackhole bh) {
+    switch (type) {
+      case REQUEST_STREAM:
+      case REQUEST_CHANNEL:
+        bh.consume(1);
+        break;
+      case REQUEST_RESPONSE:
+      case FIRE_AND_FORGET:
+        bh.consume(2);
+        break;
+      default:
+        bh.consume(3);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.github.mostroverkhov.rsocket;
+
+import com.github.mostroverkhov.rsocket.transport.local.LocalServerTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** Frames throughput of local transport connection, without RSocket requester and responder */
+@BenchmarkMode(Mode.Throughput)
+@Fork(
+  value = 1 // , jvmArgsAppend = {"-Dio.netty.leakDetection.level=advanced"}
+)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class LocalConnectionPerf {
+  static final int FRAMES = 10_000;
+
+  Closeable server;
+  DuplexConnection client;
+  Frame[] frames;
+
+  @Setup
+  public void setup(Blackhole bh) {
+    LocalServerTransport serverTransport = LocalServerTransport.createEphemeral();
+    server =
+        serverTransport
+            .start(
+                connection -> {
+                  connection
+                      .receive()
+                      .subscribe(
+                          frame -> {
+                            bh.consume(frame);
+                            frame.release();
+                          });
+                  return Mono.never();
+                })
+            .block();
+    client = serverTransport.clientTransport().connect().block();
+    frames = new Frame[FRAMES];
+  }
+
+  @TearDown
+  public void tearDown() {
+    client.close().block();
+    server.close().block();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FRAMES)
+  public void send() {
+    for (int i = 0; i < FRAMES; i++) {
+      frames[i] = Frame.RequestN.from(1, 42);
+    }
+    client.send(Flux.fromArray(frames)).block();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FRAMES)
+  public void sendOne() {
+    for (int i = 0; i < FRAMES; i++) {
+      client.sendOne(Frame.RequestN.from(1, 42)).subscribe();
+    }
+  }
+}
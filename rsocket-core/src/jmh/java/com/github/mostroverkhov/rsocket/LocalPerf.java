@@ -0,0 +1,107 @@
+package com.github.mostroverkhov.rsocket;
+
+import com.github.mostroverkhov.rsocket.transport.ClientTransport;
+import com.github.mostroverkhov.rsocket.transport.local.LocalServerTransport;
+import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** In-JVM request latency and stream throughput of local transport with frames and direct */
+@Fork(
+  value = 1 // , jvmArgsAppend = {"-Dio.netty.leakDetection.level=advanced"}
+)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class LocalPerf {
+  static final int FRAMES = 10_000;
+
+  @Param({"frames", "direct"})
+  String mode;
+
+  Closeable server;
+  RSocket client;
+
+  @Setup
+  public void setup() {
+    LocalServerTransport serverTransport = LocalServerTransport.createEphemeral();
+    ClientTransport clientTransport =
+        "direct".equals(mode)
+            ? serverTransport.directClientTransport()
+            : serverTransport.clientTransport();
+
+    Payload payload = new PayloadImpl(new byte[16]);
+    server =
+        RSocketFactory.receive()
+            .acceptor(
+                (setup, sendingSocket) ->
+                    Mono.just(
+                        new AbstractRSocket() {
+                          @Override
+                          public Mono<Payload> requestResponse(Payload request) {
+                            return Mono.just(request);
+                          }
+
+                          @Override
+                          public Flux<Payload> requestStream(Payload request) {
+                            request.release();
+                            return Flux.range(0, FRAMES).map(i -> payload);
+                          }
+                        }))
+            .transport(serverTransport)
+            .start()
+            .block();
+
+    client =
+        RSocketFactory.connect()
+            .keepAlive(Duration.ofDays(1), 3)
+            .transport(clientTransport)
+            .start()
+            .block();
+  }
+
+  @TearDown
+  public void tearDown() {
+    client.close().block();
+    server.close().block();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void requestResponseLatency(Blackhole bh) {
+    Payload response = client.requestResponse(new PayloadImpl("hello")).block();
+    bh.consume(response);
+    response.release();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OperationsPerInvocation(FRAMES)
+  public void requestStreamThroughput(Blackhole bh) {
+    client
+        .requestStream(new PayloadImpl("stream"))
+        .doOnNext(
+            p -> {
+              bh.consume(p);
+              p.release();
+            })
+        .blockLast();
+  }
+}
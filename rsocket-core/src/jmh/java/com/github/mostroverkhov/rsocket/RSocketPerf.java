@@ -17,10 +17,14 @@
 package com.github.mostroverkhov.rsocket;
 
 import com.github.mostroverkhov.rsocket.RSocketFactory.Start;
+import com.github.mostroverkhov.rsocket.interceptors.InterceptorRegistry;
+import com.github.mostroverkhov.rsocket.internal.ConnectionDemux;
+import com.github.mostroverkhov.rsocket.perfutil.GroupByConnectionDemux;
 import com.github.mostroverkhov.rsocket.perfutil.TestDuplexConnection;
 import com.github.mostroverkhov.rsocket.util.PayloadImpl;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -72,6 +76,59 @@ public void fireAndForgetHello(Input input) {
     input.client.fireAndForget(Input.HELLO_PAYLOAD).subscribe(input.voidSubscriber);
   }
 
+  @Benchmark
+  public void demuxRouter(DemuxInput input) {
+    input.emit(input.router);
+  }
+
+  @Benchmark
+  public void demuxGroupBy(DemuxInput input) {
+    input.emit(input.groupBy);
+  }
+
+  /** Frames of client, server and zero streams received by connection demultiplexers */
+  @State(Scope.Thread)
+  public static class DemuxInput {
+    static final int FRAMES = 1_000;
+
+    final DirectProcessor<Frame> router = DirectProcessor.create();
+    final DirectProcessor<Frame> groupBy = DirectProcessor.create();
+    final Frame[] frames = new Frame[FRAMES];
+
+    @Setup
+    public void setup(Blackhole bh) {
+      for (int i = 0; i < FRAMES; i++) {
+        frames[i] = Frame.RequestN.from(i % 3, 42);
+      }
+
+      ConnectionDemux demux =
+          new ConnectionDemux(
+              new TestDuplexConnection(DirectProcessor.create(), router),
+              new InterceptorRegistry());
+      consume(bh, demux.asClientConnection());
+      consume(bh, demux.asServerConnection());
+      consume(bh, demux.asStreamZeroConnection());
+
+      GroupByConnectionDemux groupByDemux =
+          new GroupByConnectionDemux(
+              new TestDuplexConnection(DirectProcessor.create(), groupBy),
+              new InterceptorRegistry());
+      consume(bh, groupByDemux.asClientConnection());
+      consume(bh, groupByDemux.asServerConnection());
+      consume(bh, groupByDemux.asStreamZeroConnection());
+    }
+
+    void emit(DirectProcessor<Frame> source) {
+      for (Frame frame : frames) {
+        source.onNext(frame);
+      }
+    }
+
+    private static void consume(Blackhole bh, DuplexConnection connection) {
+      connection.receive().subscribe(bh::consume);
+    }
+  }
+
   @State(Scope.Benchmark)
   public static class Input {
     /** Use to consume values when the test needs to return more than a single value. */
@@ -166,7 +223,12 @@ public void setup(Blackhole bh) {
       voidSubscriber = subscriber(bh);
 
       client =
-          RSocketFactory.connect().transport(() -> Mono.just(clientConnection)).start().block();
+          RSocketFactory.connect()
+              /*keep-alives from timer thread would race with benchmark thread on test connection*/
+              .keepAlive(Duration.ofDays(1), 3)
+              .transport(() -> Mono.just(clientConnection))
+              .start()
+              .block();
 
       this.bh = bh;
     }
@@ -0,0 +1,122 @@
+package com.github.mostroverkhov.rsocket;
+
+import com.github.mostroverkhov.rsocket.aeron.client.AeronClientTransport;
+import com.github.mostroverkhov.rsocket.aeron.internal.EmbeddedMediaDriver;
+import com.github.mostroverkhov.rsocket.aeron.internal.EventLoopGroup;
+import com.github.mostroverkhov.rsocket.aeron.server.AeronServerTransport;
+import com.github.mostroverkhov.rsocket.transport.ClientTransport;
+import com.github.mostroverkhov.rsocket.transport.ServerTransport;
+import com.github.mostroverkhov.rsocket.transport.netty.client.TcpClientTransport;
+import com.github.mostroverkhov.rsocket.transport.netty.server.NettyContextCloseable;
+import com.github.mostroverkhov.rsocket.transport.netty.server.TcpServerTransport;
+import com.github.mostroverkhov.rsocket.transport.shm.ShmClientTransport;
+import com.github.mostroverkhov.rsocket.transport.shm.ShmServerTransport;
+import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Mono;
+
+/** Same-host ping/pong latency of shared memory rings, Aeron IPC and loopback TCP */
+@Fork(
+  value = 1 // , jvmArgsAppend = {"-Dio.netty.leakDetection.level=advanced"}
+)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class ShmPerf {
+
+  @Param({"tcp", "shm", "aeron-ipc"})
+  String transport;
+
+  @Param({"16", "1024"})
+  int payloadSize;
+
+  EmbeddedMediaDriver driver;
+  EventLoopGroup serverEventLoops;
+  EventLoopGroup clientEventLoops;
+  Closeable server;
+  RSocket client;
+  byte[] data;
+
+  @Setup
+  public void setup() throws IOException {
+    ServerTransport<? extends Closeable> serverTransport;
+    ClientTransport clientTransport;
+    if ("shm".equals(transport)) {
+      File dir = Files.createTempDirectory("rsocket-perf").toFile();
+      serverTransport = ShmServerTransport.create(dir);
+      clientTransport = ShmClientTransport.create(dir);
+    } else if ("aeron-ipc".equals(transport)) {
+      driver = EmbeddedMediaDriver.launch();
+      serverEventLoops = EventLoopGroup.create("perf-server", 1);
+      clientEventLoops = EventLoopGroup.create("perf-client", 1);
+      serverTransport = AeronServerTransport.ipc(driver, serverEventLoops);
+      clientTransport = AeronClientTransport.ipc(driver, clientEventLoops);
+    } else {
+      serverTransport = TcpServerTransport.create("localhost", 0);
+      clientTransport = null;
+    }
+    data = new byte[payloadSize];
+
+    server =
+        RSocketFactory.receive()
+            .acceptor(
+                (setup, sendingSocket) ->
+                    Mono.just(
+                        new AbstractRSocket() {
+                          @Override
+                          public Mono<Payload> requestResponse(Payload request) {
+                            return Mono.just(request);
+                          }
+                        }))
+            .transport(serverTransport)
+            .start()
+            .block();
+
+    if (clientTransport == null) {
+      clientTransport = TcpClientTransport.create(((NettyContextCloseable) server).address());
+    }
+    client =
+        RSocketFactory.connect()
+            .keepAlive(Duration.ofDays(1), 3)
+            .transport(clientTransport)
+            .start()
+            .block();
+  }
+
+  @TearDown
+  public void tearDown() {
+    client.close().block();
+    server.close().block();
+    if (driver != null) {
+      clientEventLoops.close();
+      serverEventLoops.close();
+      driver.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void pingPong(Blackhole bh) {
+    Payload response = client.requestResponse(new PayloadImpl(data)).block();
+    bh.consume(response);
+    response.release();
+  }
+}
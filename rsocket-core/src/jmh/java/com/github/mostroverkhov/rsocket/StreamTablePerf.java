@@ -0,0 +1,146 @@
+package com.github.mostroverkhov.rsocket;
+
+import com.github.mostroverkhov.rsocket.internal.StreamTable;
+import com.github.mostroverkhov.rsocket.util.NonBlockingHashMapLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Operators;
+import reactor.core.publisher.UnicastProcessor;
+
+/**
+ * Stream registry access pattern of requester and responder: lookup per received frame, and
+ * put/remove per stream lifecycle with sequential stream ids. {@link #main} prints retained heap of
+ * registries with 100k concurrent streams
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@State(Scope.Thread)
+public class StreamTablePerf {
+  @Param({"16", "1024", "100000"})
+  int activeStreams;
+
+  StreamTable<Object> streamTable;
+  NonBlockingHashMapLong<Object> nonBlockingMap;
+  Object value = new Object();
+  int lookupIndex;
+  int nextStream;
+
+  @Setup
+  public void setup() {
+    streamTable = new StreamTable<>(256);
+    nonBlockingMap = new NonBlockingHashMapLong<>(256);
+    for (int i = 0; i < activeStreams; i++) {
+      streamTable.put(streamId(i), value);
+      nonBlockingMap.put(streamId(i), value);
+    }
+    nextStream = activeStreams;
+  }
+
+  @Benchmark
+  public Object streamTableGet() {
+    return streamTable.get(nextLookup());
+  }
+
+  @Benchmark
+  public Object nonBlockingMapGet() {
+    return nonBlockingMap.get(nextLookup());
+  }
+
+  @Benchmark
+  public Object streamTableLifecycle() {
+    int stream = nextStream++;
+    streamTable.put(streamId(stream), value);
+    return streamTable.remove(streamId(stream - activeStreams));
+  }
+
+  @Benchmark
+  public Object nonBlockingMapLifecycle() {
+    int stream = nextStream++;
+    nonBlockingMap.put(streamId(stream), value);
+    return nonBlockingMap.remove(streamId(stream - activeStreams));
+  }
+
+  private int nextLookup() {
+    int i = lookupIndex + 1;
+    if (i == activeStreams) {
+      i = 0;
+    }
+    lookupIndex = i;
+    return streamId(i);
+  }
+
+  private static int streamId(int i) {
+    return (2 * i + 1) & Integer.MAX_VALUE;
+  }
+
+  public static void main(String[] args) {
+    int streams = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+    Object value = new Object();
+    UnicastProcessor<Payload> receiver = UnicastProcessor.create();
+    Subscription sender = Operators.emptySubscription();
+
+    long before = usedHeap();
+    StreamTable<Object> streamTable = new StreamTable<>(256);
+    for (int i = 0; i < streams; i++) {
+      streamTable.put(streamId(i), value);
+    }
+    print("StreamTable", streams, usedHeap() - before);
+
+    before = usedHeap();
+    NonBlockingHashMapLong<Object> nonBlockingMap = new NonBlockingHashMapLong<>(256);
+    for (int i = 0; i < streams; i++) {
+      nonBlockingMap.put(streamId(i), value);
+    }
+    print("NonBlockingHashMapLong", streams, usedHeap() - before);
+
+    /*channel streams of requester: receiver and sender per stream*/
+    before = usedHeap();
+    ActiveStreams<UnicastProcessor<Payload>> activeStreams = new ActiveStreams<>(256);
+    for (int i = 0; i < streams; i++) {
+      activeStreams.put(streamId(i), receiver, sender);
+    }
+    print("ActiveStreams", streams, usedHeap() - before);
+
+    before = usedHeap();
+    NonBlockingHashMapLong<Object> receivers = new NonBlockingHashMapLong<>(256);
+    NonBlockingHashMapLong<Object> senders = new NonBlockingHashMapLong<>(256);
+    for (int i = 0; i < streams; i++) {
+      receivers.put(streamId(i), receiver);
+      senders.put(streamId(i), sender);
+    }
+    print("NonBlockingHashMapLong x 2", streams, usedHeap() - before);
+
+    /*keep registries reachable until measured*/
+    System.out.println(
+        streamTable.size()
+            + nonBlockingMap.size()
+            + activeStreams.size()
+            + receivers.size()
+            + senders.size());
+  }
+
+  private static void print(String name, int streams, long bytes) {
+    System.out.printf(
+        "%s, %d streams: %d bytes, %.1f bytes per stream%n",
+        name, streams, bytes, (double) bytes / streams);
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
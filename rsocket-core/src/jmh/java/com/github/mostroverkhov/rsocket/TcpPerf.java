@@ -0,0 +1,87 @@
+package com.github.mostroverkhov.rsocket;
+
+import com.github.mostroverkhov.rsocket.transport.netty.client.TcpClientTransport;
+import com.github.mostroverkhov.rsocket.transport.netty.server.NettyContextCloseable;
+import com.github.mostroverkhov.rsocket.transport.netty.server.TcpServerTransport;
+import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import java.time.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** Small frames streamed from server to client over loopback TCP */
+@BenchmarkMode(Mode.Throughput)
+@Fork(
+  value = 1 // , jvmArgsAppend = {"-Dio.netty.leakDetection.level=advanced"}
+)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class TcpPerf {
+  static final int FRAMES = 10_000;
+
+  @Param({"16", "128"})
+  int payloadSize;
+
+  NettyContextCloseable server;
+  RSocket client;
+
+  @Setup
+  public void setup() {
+    Payload payload = new PayloadImpl(new byte[payloadSize]);
+
+    server =
+        RSocketFactory.receive()
+            .acceptor(
+                (setup, sendingSocket) ->
+                    Mono.just(
+                        new AbstractRSocket() {
+                          @Override
+                          public Flux<Payload> requestStream(Payload request) {
+                            request.release();
+                            return Flux.range(0, FRAMES).map(i -> payload);
+                          }
+                        }))
+            .transport(TcpServerTransport.create("localhost", 0))
+            .start()
+            .block();
+
+    client =
+        RSocketFactory.connect()
+            .keepAlive(Duration.ofDays(1), 3)
+            .transport(TcpClientTransport.create(server.address()))
+            .start()
+            .block();
+  }
+
+  @TearDown
+  public void tearDown() {
+    client.close().block();
+    server.close().block();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FRAMES)
+  public void requestStreamSmallFrames(Blackhole bh) {
+    client
+        .requestStream(new PayloadImpl("stream"))
+        .doOnNext(
+            p -> {
+              bh.consume(p);
+              p.release();
+            })
+        .blockLast();
+  }
+}
@@ -74,6 +74,6 @@ public Mono<Void> close() {
 
   @Override
   public Mono<Void> onClose() {
-    return Mono.empty();
+    return Mono.never();
   }
 }
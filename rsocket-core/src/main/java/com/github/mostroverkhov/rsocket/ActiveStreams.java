@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket;
+
+import com.github.mostroverkhov.rsocket.internal.StreamTable;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Streams of {@link RSocketRequester} and {@link RSocketResponder}: one {@link StreamState} per
+ * stream id, removed once both its receiver and sender are removed. Lookups are lock-free, updates
+ * are serialized.
+ */
+final class ActiveStreams<R extends Subscriber<Payload>> {
+  private final StreamTable<StreamState<R>> streams;
+
+  ActiveStreams() {
+    this.streams = new StreamTable<>();
+  }
+
+  ActiveStreams(int initialCapacity) {
+    this.streams = new StreamTable<>(initialCapacity);
+  }
+
+  @Nullable
+  StreamState<R> get(int streamId) {
+    return streams.get(streamId);
+  }
+
+  @Nullable
+  R receiver(int streamId) {
+    StreamState<R> state = streams.get(streamId);
+    return state == null ? null : state.receiver;
+  }
+
+  @Nullable
+  Subscription sender(int streamId) {
+    StreamState<R> state = streams.get(streamId);
+    return state == null ? null : state.sender;
+  }
+
+  boolean contains(int streamId) {
+    return streams.containsKey(streamId);
+  }
+
+  boolean containsReceiver(int streamId) {
+    return receiver(streamId) != null;
+  }
+
+  void putReceiver(int streamId, R receiver) {
+    synchronized (streams) {
+      state(streamId).receiver = receiver;
+    }
+  }
+
+  void putSender(int streamId, Subscription sender) {
+    synchronized (streams) {
+      state(streamId).sender = sender;
+    }
+  }
+
+  void put(int streamId, R receiver, Subscription sender) {
+    synchronized (streams) {
+      StreamState<R> state = state(streamId);
+      state.sender = sender;
+      state.receiver = receiver;
+    }
+  }
+
+  @Nullable
+  R removeReceiver(int streamId) {
+    synchronized (streams) {
+      StreamState<R> state = streams.get(streamId);
+      if (state == null) {
+        return null;
+      }
+      R receiver = state.receiver;
+      state.receiver = null;
+      removeIfEmpty(streamId, state);
+      return receiver;
+    }
+  }
+
+  @Nullable
+  Subscription removeSender(int streamId) {
+    synchronized (streams) {
+      StreamState<R> state = streams.get(streamId);
+      if (state == null) {
+        return null;
+      }
+      Subscription sender = state.sender;
+      state.sender = null;
+      removeIfEmpty(streamId, state);
+      return sender;
+    }
+  }
+
+  @Nullable
+  StreamState<R> remove(int streamId) {
+    return streams.remove(streamId);
+  }
+
+  boolean remove(int streamId, StreamState<R> state) {
+    return streams.remove(streamId, state);
+  }
+
+  void register(int streamId, StreamState<R> state) {
+    streams.put(streamId, state);
+  }
+
+  void forEachReceiver(Consumer<? super R> action) {
+    streams.forEach(
+        state -> {
+          R receiver = state.receiver;
+          if (receiver != null) {
+            action.accept(receiver);
+          }
+        });
+  }
+
+  void forEachSender(Consumer<? super Subscription> action) {
+    streams.forEach(
+        state -> {
+          Subscription sender = state.sender;
+          if (sender != null) {
+            action.accept(sender);
+          }
+        });
+  }
+
+  int size() {
+    return streams.size();
+  }
+
+  void clear() {
+    streams.clear();
+  }
+
+  private StreamState<R> state(int streamId) {
+    StreamState<R> state = streams.get(streamId);
+    if (state == null) {
+      state = new StreamState<>();
+      streams.put(streamId, state);
+    }
+    return state;
+  }
+
+  private void removeIfEmpty(int streamId, StreamState<R> state) {
+    if (state.isEmpty()) {
+      streams.remove(streamId, state);
+    }
+  }
+}
@@ -44,6 +44,16 @@ public static ConnectionSetupPayload create(
         payload.hasMetadata() ? FLAGS_M : 0);
   }
 
+  public static ConnectionSetupPayload create(
+      String metadataMimeType, String dataMimeType, int flags, Payload payload) {
+    return new ConnectionSetupPayloadImpl(
+        metadataMimeType,
+        dataMimeType,
+        payload.getData(),
+        payload.getMetadata(),
+        payload.hasMetadata() ? flags | FLAGS_M : flags & ~FLAGS_M);
+  }
+
   public static ConnectionSetupPayload create(
       String metadataMimeType, String dataMimeType, int flags) {
     return new ConnectionSetupPayloadImpl(
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket;
+
+import com.github.mostroverkhov.rsocket.exceptions.ApplicationException;
+import com.github.mostroverkhov.rsocket.exceptions.RSocketException;
+import com.github.mostroverkhov.rsocket.util.ExceptionUtil;
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * Connects client and server of same JVM without frames: requests and responses are passed to peer
+ * handler as is, so its request-n and cancel signals are received by requester directly. Errors of
+ * handler are mapped as if sent with ERROR frame, closing connection errors active requests and
+ * closes both handlers
+ */
+final class DirectConnection implements Closeable {
+  private static final ClosedChannelException CLOSED_CHANNEL_EXCEPTION =
+      ExceptionUtil.noStacktrace(new ClosedChannelException());
+
+  private final MonoProcessor<RSocket> serverHandler = MonoProcessor.create();
+  private final MonoProcessor<Void> onClose = MonoProcessor.create();
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private final Consumer<Throwable> errorConsumer;
+  private volatile @Nullable RSocket clientHandler;
+
+  DirectConnection(Consumer<Throwable> errorConsumer) {
+    this.errorConsumer = errorConsumer;
+  }
+
+  /** @return requester of client, its requests are started once server handler is accepted */
+  RSocket clientRequester() {
+    return new Requester(serverHandler);
+  }
+
+  /**
+   * @param clientHandler handler of client
+   * @return requester of server
+   */
+  RSocket serverRequester(RSocket clientHandler) {
+    this.clientHandler = clientHandler;
+    MonoProcessor<RSocket> handler = MonoProcessor.create();
+    handler.onNext(clientHandler);
+    return new Requester(handler);
+  }
+
+  void accepted(RSocket serverHandler) {
+    this.serverHandler.onNext(serverHandler);
+    if (closed.get()) {
+      serverHandler.close().subscribe(null, errorConsumer);
+    }
+  }
+
+  void rejected(Throwable err) {
+    serverHandler.onError(err);
+    close().subscribe(null, errorConsumer);
+  }
+
+  @Override
+  public Mono<Void> close() {
+    return Mono.defer(
+        () -> {
+          if (closed.compareAndSet(false, true)) {
+            onClose.onComplete();
+            closeHandler(clientHandler);
+            closeHandler(serverHandler.peek());
+          }
+          return onClose;
+        });
+  }
+
+  @Override
+  public Mono<Void> onClose() {
+    return onClose;
+  }
+
+  private void closeHandler(@Nullable RSocket handler) {
+    if (handler != null) {
+      handler.close().subscribe(null, errorConsumer);
+    }
+  }
+
+  private static Throwable handlerError(Throwable err) {
+    return err instanceof RSocketException ? err : new ApplicationException(err.getMessage(), err);
+  }
+
+  private final class Requester implements RSocket {
+    private final MonoProcessor<RSocket> handler;
+
+    Requester(MonoProcessor<RSocket> handler) {
+      this.handler = handler;
+    }
+
+    @Override
+    public Mono<Void> fireAndForget(Payload payload) {
+      return send(h -> h.fireAndForget(payload));
+    }
+
+    @Override
+    public Mono<Payload> requestResponse(Payload payload) {
+      if (closed.get()) {
+        return Mono.error(CLOSED_CHANNEL_EXCEPTION);
+      }
+      Mono<Payload> response =
+          Mono.defer(
+                  () -> {
+                    RSocket h = handler.peek();
+                    return h != null
+                        ? h.requestResponse(payload)
+                        : handler.flatMap(hh -> hh.requestResponse(payload));
+                  })
+              .onErrorMap(DirectConnection::handlerError);
+      return Mono.first(response, onClose.then(Mono.error(CLOSED_CHANNEL_EXCEPTION)));
+    }
+
+    @Override
+    public Flux<Payload> requestStream(Payload payload) {
+      return stream(h -> h.requestStream(payload));
+    }
+
+    @Override
+    public Flux<Payload> requestChannel(Publisher<Payload> payloads) {
+      return stream(h -> h.requestChannel(payloads));
+    }
+
+    @Override
+    public Mono<Void> metadataPush(Payload payload) {
+      return send(h -> h.metadataPush(payload));
+    }
+
+    @Override
+    public double availability() {
+      return closed.get() ? 0.0 : 1.0;
+    }
+
+    @Override
+    public Mono<Void> close() {
+      return DirectConnection.this.close();
+    }
+
+    @Override
+    public Mono<Void> onClose() {
+      return onClose;
+    }
+
+    /*like fire-and-forget frames, completes once handed over to peer handler*/
+    private Mono<Void> send(Function<RSocket, Mono<Void>> request) {
+      if (closed.get()) {
+        return Mono.error(CLOSED_CHANNEL_EXCEPTION);
+      }
+      return Mono.fromRunnable(
+          () -> {
+            RSocket h = handler.peek();
+            Mono<Void> response = h != null ? request.apply(h) : handler.flatMap(request);
+            response.subscribe(null, errorConsumer);
+          });
+    }
+
+    private Flux<Payload> stream(Function<RSocket, Flux<Payload>> request) {
+      if (closed.get()) {
+        return Flux.error(CLOSED_CHANNEL_EXCEPTION);
+      }
+      return Flux.defer(
+              () -> {
+                RSocket h = handler.peek();
+                return h != null ? request.apply(h) : handler.flatMapMany(request);
+              })
+          .onErrorMap(DirectConnection::handlerError)
+          .takeUntilOther(onClose)
+          .concatWith(
+              Mono.defer(() -> closed.get() ? Mono.error(CLOSED_CHANNEL_EXCEPTION) : Mono.empty()));
+    }
+  }
+}
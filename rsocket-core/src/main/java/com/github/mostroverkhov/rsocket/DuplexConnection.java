@@ -15,6 +15,7 @@
  */
 package com.github.mostroverkhov.rsocket;
 
+import io.netty.buffer.ByteBufAllocator;
 import java.nio.channels.ClosedChannelException;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -74,4 +75,14 @@ default Mono<Void> sendOne(Frame frame) {
    * @return Stream of all {@code Frame}s received.
    */
   Flux<Frame> receive();
+
+  /**
+   * Returns the {@link ByteBufAllocator} outbound frames for this connection should be allocated
+   * with. Transports backed by a channel return allocator of that channel.
+   *
+   * @return allocator for outbound frames
+   */
+  default ByteBufAllocator alloc() {
+    return ByteBufAllocator.DEFAULT;
+  }
 }
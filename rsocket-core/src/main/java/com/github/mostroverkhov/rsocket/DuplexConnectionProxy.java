@@ -1,5 +1,6 @@
 package com.github.mostroverkhov.rsocket;
 
+import io.netty.buffer.ByteBufAllocator;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -35,4 +36,9 @@ public Mono<Void> close() {
   public Mono<Void> onClose() {
     return source.onClose();
   }
+
+  @Override
+  public ByteBufAllocator alloc() {
+    return source.alloc();
+  }
 }
@@ -51,19 +51,93 @@ protected Frame newObject(Handle<Frame> handle) {
         }
       };
 
+  /**
+   * Payloads of at least this size are not copied into request and payload frames: frame content is
+   * composed of encoded header and payload buffers instead.
+   */
+  private static final int ZERO_COPY_THRESHOLD = getZeroCopyThreshold();
+
   private final Handle<Frame> handle;
   private @Nullable ByteBuf content;
 
+  /* header fields, decoded in single pass on first access */
+  private @Nullable FrameType type;
+  private int streamId;
+  private int flags;
+  private int metadataOffset;
+  private int metadataLength;
+  private int dataOffset;
+  private int dataLength;
+
   private Frame(final Handle<Frame> handle) {
     this.handle = handle;
   }
 
+  public static int getZeroCopyThreshold() {
+    return Integer.getInteger("io.rsocket.frame.zeroCopyThreshold", 1024);
+  }
+
+  private static boolean isZeroCopy(@Nullable ByteBuf metadata, ByteBuf data) {
+    int size = data.readableBytes();
+    if (metadata != null) {
+      size += metadata.readableBytes();
+    }
+    return size >= ZERO_COPY_THRESHOLD;
+  }
+
+  /** Composes frame content of encoded header and retained metadata and data buffers */
+  private static ByteBuf compose(
+      ByteBufAllocator allocator, ByteBuf header, @Nullable ByteBuf metadata, ByteBuf data) {
+    final CompositeByteBuf content = allocator.compositeBuffer(3);
+    content.addComponent(true, header);
+    if (metadata != null && metadata.isReadable()) {
+      content.addComponent(true, metadata.retain());
+    }
+    if (data.isReadable()) {
+      content.addComponent(true, data.retain());
+    }
+    return content;
+  }
+
   /** Clear and recycle this instance. */
   private void recycle() {
     content = null;
+    type = null;
     handle.recycle(this);
   }
 
+  private void ensureHeaderDecoded() {
+    if (type == null) {
+      decodeHeader();
+    }
+  }
+
+  private void decodeHeader() {
+    final ByteBuf content = this.content;
+    final FrameType type = FrameHeaderFlyweight.frameType(content);
+    final int flags = FrameHeaderFlyweight.flags(content);
+    final int frameLength = FrameHeaderFlyweight.frameLength(content);
+    final int payloadOffset = FrameHeaderFlyweight.metadataOffset(content);
+
+    if (!FrameHeaderFlyweight.hasMetadataLengthField(type)) {
+      // frames without data have metadata only, without length field
+      metadataOffset = payloadOffset;
+      metadataLength = frameLength - payloadOffset;
+    } else if (isFlagSet(flags, FLAGS_M)) {
+      metadataOffset = payloadOffset + FrameHeaderFlyweight.FRAME_LENGTH_SIZE;
+      metadataLength = FrameHeaderFlyweight.decodeLength(content, payloadOffset);
+    } else {
+      metadataOffset = payloadOffset;
+      metadataLength = 0;
+    }
+    dataOffset = metadataOffset + metadataLength;
+    dataLength = frameLength - dataOffset;
+
+    this.streamId = FrameHeaderFlyweight.streamId(content);
+    this.flags = flags;
+    this.type = type;
+  }
+
   /** Return the content which is held by this {@link Frame}. */
   @Override
   public ByteBuf content() {
@@ -190,17 +264,7 @@ public boolean release(int decrement) {
    * @return ByteBuffer containing the content
    */
   public ByteBuffer getMetadata() {
-    final ByteBuf metadata = FrameHeaderFlyweight.sliceFrameMetadata(content);
-    if (metadata == null) {
-      return NULL_BYTEBUFFER;
-    } else if (metadata.readableBytes() > 0) {
-      final ByteBuffer buffer = ByteBuffer.allocateDirect(metadata.readableBytes());
-      metadata.readBytes(buffer);
-      buffer.flip();
-      return buffer;
-    } else {
-      return NULL_BYTEBUFFER;
-    }
+    return toByteBuffer(sliceMetadata());
   }
 
   /**
@@ -211,10 +275,13 @@ public ByteBuffer getMetadata() {
    * @return ByteBuffer containing the data
    */
   public ByteBuffer getData() {
-    final ByteBuf data = FrameHeaderFlyweight.sliceFrameData(content);
-    if (data.readableBytes() > 0) {
-      final ByteBuffer buffer = ByteBuffer.allocateDirect(data.readableBytes());
-      data.readBytes(buffer);
+    return toByteBuffer(sliceData());
+  }
+
+  private static ByteBuffer toByteBuffer(ByteBuf byteBuf) {
+    if (byteBuf.readableBytes() > 0) {
+      final ByteBuffer buffer = ByteBuffer.allocateDirect(byteBuf.readableBytes());
+      byteBuf.readBytes(buffer);
       buffer.flip();
       return buffer;
     } else {
@@ -222,13 +289,42 @@ public ByteBuffer getData() {
     }
   }
 
+  /**
+   * Return {@link ByteBuf} that is a {@link ByteBuf#slice()} for the frame metadata. The slice
+   * shares the frame content, so it is valid as long as the frame is not released.
+   *
+   * <p>If no metadata is present, the ByteBuf will have 0 capacity.
+   *
+   * @return ByteBuf containing the metadata
+   */
+  public ByteBuf sliceMetadata() {
+    ensureHeaderDecoded();
+    return metadataLength > 0
+        ? content.slice(metadataOffset, metadataLength)
+        : Unpooled.EMPTY_BUFFER;
+  }
+
+  /**
+   * Return {@link ByteBuf} that is a {@link ByteBuf#slice()} for the frame data. The slice shares
+   * the frame content, so it is valid as long as the frame is not released.
+   *
+   * <p>If no data is present, the ByteBuf will have 0 capacity.
+   *
+   * @return ByteBuf containing the data
+   */
+  public ByteBuf sliceData() {
+    ensureHeaderDecoded();
+    return dataLength > 0 ? content.slice(dataOffset, dataLength) : Unpooled.EMPTY_BUFFER;
+  }
+
   /**
    * Return frame stream identifier
    *
    * @return frame stream identifier
    */
   public int getStreamId() {
-    return FrameHeaderFlyweight.streamId(content);
+    ensureHeaderDecoded();
+    return streamId;
   }
 
   /**
@@ -237,7 +333,8 @@ public int getStreamId() {
    * @return frame type
    */
   public FrameType getType() {
-    return FrameHeaderFlyweight.frameType(content);
+    ensureHeaderDecoded();
+    return type;
   }
 
   /**
@@ -246,7 +343,8 @@ public FrameType getType() {
    * @return frame flags field value
    */
   public int flags() {
-    return FrameHeaderFlyweight.flags(content);
+    ensureHeaderDecoded();
+    return flags;
   }
 
   /**
@@ -297,18 +395,30 @@ public static Frame from(
         String metadataMimeType,
         String dataMimeType,
         Payload payload) {
-      final ByteBuf metadata =
-          payload.hasMetadata()
-              ? Unpooled.wrappedBuffer(payload.getMetadata())
-              : Unpooled.EMPTY_BUFFER;
-      final ByteBuf data =
-          payload.getData() != null
-              ? Unpooled.wrappedBuffer(payload.getData())
-              : Unpooled.EMPTY_BUFFER;
+      return from(
+          ByteBufAllocator.DEFAULT,
+          flags,
+          keepaliveInterval,
+          maxLifetime,
+          metadataMimeType,
+          dataMimeType,
+          payload);
+    }
+
+    public static Frame from(
+        ByteBufAllocator allocator,
+        int flags,
+        int keepaliveInterval,
+        int maxLifetime,
+        String metadataMimeType,
+        String dataMimeType,
+        Payload payload) {
+      final ByteBuf metadata = payload.sliceMetadata();
+      final ByteBuf data = payload.sliceData();
 
       final Frame frame = RECYCLER.get();
       frame.content =
-          ByteBufAllocator.DEFAULT.buffer(
+          allocator.buffer(
               SetupFrameFlyweight.computeFrameLength(
                   flags,
                   metadataMimeType,
@@ -330,14 +440,14 @@ public static Frame from(
 
     public static int getFlags(final Frame frame) {
       ensureFrameType(FrameType.SETUP, frame);
-      final int flags = FrameHeaderFlyweight.flags(frame.content);
+      final int flags = frame.flags();
 
       return flags & SetupFrameFlyweight.VALID_FLAGS;
     }
 
     public static boolean supportsLease(final Frame frame) {
       ensureFrameType(FrameType.SETUP, frame);
-      return SetupFrameFlyweight.supportsLease(FrameHeaderFlyweight.flags(frame.content));
+      return SetupFrameFlyweight.supportsLease(frame.flags());
     }
 
     public static int version(final Frame frame) {
@@ -376,6 +486,11 @@ public static class Error {
     private Error() {}
 
     public static Frame from(int streamId, final Throwable throwable, ByteBuf dataBuffer) {
+      return from(ByteBufAllocator.DEFAULT, streamId, throwable, dataBuffer);
+    }
+
+    public static Frame from(
+        ByteBufAllocator allocator, int streamId, final Throwable throwable, ByteBuf dataBuffer) {
       if (errorLogger.isDebugEnabled()) {
         errorLogger.debug("an error occurred, creating error frame", throwable);
       }
@@ -383,18 +498,21 @@ public static Frame from(int streamId, final Throwable throwable, ByteBuf dataBu
       final int code = ErrorFrameFlyweight.errorCodeFromException(throwable);
       final Frame frame = RECYCLER.get();
       frame.content =
-          ByteBufAllocator.DEFAULT.buffer(
-              ErrorFrameFlyweight.computeFrameLength(dataBuffer.readableBytes()));
+          allocator.buffer(ErrorFrameFlyweight.computeFrameLength(dataBuffer.readableBytes()));
       frame.content.writerIndex(
           ErrorFrameFlyweight.encode(frame.content, streamId, code, dataBuffer));
       return frame;
     }
 
     public static Frame from(int streamId, final Throwable throwable) {
+      return from(ByteBufAllocator.DEFAULT, streamId, throwable);
+    }
+
+    public static Frame from(ByteBufAllocator allocator, int streamId, final Throwable throwable) {
       String data = throwable.getMessage() == null ? "" : throwable.getMessage();
       byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
 
-      return from(streamId, throwable, Unpooled.wrappedBuffer(bytes));
+      return from(allocator, streamId, throwable, Unpooled.wrappedBuffer(bytes));
     }
 
     public static int errorCode(final Frame frame) {
@@ -416,10 +534,14 @@ public static class Lease {
     private Lease() {}
 
     public static Frame from(int ttl, int numberOfRequests, ByteBuf metadata) {
+      return from(ByteBufAllocator.DEFAULT, ttl, numberOfRequests, metadata);
+    }
+
+    public static Frame from(
+        ByteBufAllocator allocator, int ttl, int numberOfRequests, ByteBuf metadata) {
       final Frame frame = RECYCLER.get();
       frame.content =
-          ByteBufAllocator.DEFAULT.buffer(
-              LeaseFrameFlyweight.computeFrameLength(metadata.readableBytes()));
+          allocator.buffer(LeaseFrameFlyweight.computeFrameLength(metadata.readableBytes()));
       frame.content.writerIndex(
           LeaseFrameFlyweight.encode(frame.content, ttl, numberOfRequests, metadata));
       return frame;
@@ -440,17 +562,25 @@ public static class RequestN {
     private RequestN() {}
 
     public static Frame from(int streamId, long requestN) {
+      return from(ByteBufAllocator.DEFAULT, streamId, requestN);
+    }
+
+    public static Frame from(ByteBufAllocator allocator, int streamId, long requestN) {
       int v = requestN > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) requestN;
-      return from(streamId, v);
+      return from(allocator, streamId, v);
     }
 
     public static Frame from(int streamId, int requestN) {
+      return from(ByteBufAllocator.DEFAULT, streamId, requestN);
+    }
+
+    public static Frame from(ByteBufAllocator allocator, int streamId, int requestN) {
       if (requestN < 1) {
         throw new IllegalStateException("request n must be greater than 0");
       }
 
       final Frame frame = RECYCLER.get();
-      frame.content = ByteBufAllocator.DEFAULT.buffer(RequestNFrameFlyweight.computeFrameLength());
+      frame.content = allocator.buffer(RequestNFrameFlyweight.computeFrameLength());
       frame.content.writerIndex(RequestNFrameFlyweight.encode(frame.content, streamId, requestN));
       return frame;
     }
@@ -465,47 +595,98 @@ public static class Request {
     private Request() {}
 
     public static Frame from(int streamId, FrameType type, Payload payload, long initialRequestN) {
+      return from(ByteBufAllocator.DEFAULT, streamId, type, payload, initialRequestN);
+    }
+
+    public static Frame from(
+        ByteBufAllocator allocator,
+        int streamId,
+        FrameType type,
+        Payload payload,
+        long initialRequestN) {
       int v = initialRequestN > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) initialRequestN;
-      return from(streamId, type, payload, v);
+      return from(allocator, streamId, type, payload, v);
     }
 
     public static Frame from(int streamId, FrameType type, Payload payload, int initialRequestN) {
+      return from(ByteBufAllocator.DEFAULT, streamId, type, payload, initialRequestN);
+    }
+
+    public static Frame from(
+        ByteBufAllocator allocator,
+        int streamId,
+        FrameType type,
+        Payload payload,
+        int initialRequestN) {
       if (initialRequestN < 1) {
         throw new IllegalStateException("initial request n must be greater than 0");
       }
-      final @Nullable ByteBuf metadata =
-          payload.hasMetadata() ? Unpooled.wrappedBuffer(payload.getMetadata()) : null;
-      final ByteBuf data = Unpooled.wrappedBuffer(payload.getData());
+      final @Nullable ByteBuf metadata = payload.hasMetadata() ? payload.sliceMetadata() : null;
+      final ByteBuf data = payload.sliceData();
+      final int flags = metadata != null ? FLAGS_M : 0;
+
+      if (isZeroCopy(metadata, data)) {
+        return composite(allocator, streamId, type, metadata, data, initialRequestN, flags);
+      }
 
       final Frame frame = RECYCLER.get();
       frame.content =
-          ByteBufAllocator.DEFAULT.buffer(
+          allocator.buffer(
               RequestFrameFlyweight.computeFrameLength(
                   type, metadata != null ? metadata.readableBytes() : null, data.readableBytes()));
 
       if (type.hasInitialRequestN()) {
         frame.content.writerIndex(
             RequestFrameFlyweight.encode(
-                frame.content,
+                frame.content, streamId, flags, type, initialRequestN, metadata, data));
+      } else {
+        frame.content.writerIndex(
+            RequestFrameFlyweight.encode(frame.content, streamId, flags, type, metadata, data));
+      }
+
+      return frame;
+    }
+
+    private static Frame composite(
+        ByteBufAllocator allocator,
+        int streamId,
+        FrameType type,
+        @Nullable ByteBuf metadata,
+        ByteBuf data,
+        int initialRequestN,
+        int flags) {
+      final Integer metadataLength = metadata != null ? metadata.readableBytes() : null;
+      final ByteBuf header =
+          allocator.buffer(RequestFrameFlyweight.computeHeaderLength(type, metadataLength));
+
+      if (type.hasInitialRequestN()) {
+        header.writerIndex(
+            RequestFrameFlyweight.encodeHeader(
+                header,
                 streamId,
-                metadata != null ? FLAGS_M : 0,
+                flags,
                 type,
                 initialRequestN,
-                metadata,
-                data));
+                metadataLength,
+                data.readableBytes()));
       } else {
-        frame.content.writerIndex(
-            RequestFrameFlyweight.encode(
-                frame.content, streamId, metadata != null ? FLAGS_M : 0, type, metadata, data));
+        header.writerIndex(
+            RequestFrameFlyweight.encodeHeader(
+                header, streamId, flags, type, metadataLength, data.readableBytes()));
       }
 
+      final Frame frame = RECYCLER.get();
+      frame.content = compose(allocator, header, metadata, data);
       return frame;
     }
 
     public static Frame from(int streamId, FrameType type, int flags) {
+      return from(ByteBufAllocator.DEFAULT, streamId, type, flags);
+    }
+
+    public static Frame from(ByteBufAllocator allocator, int streamId, FrameType type, int flags) {
       final Frame frame = RECYCLER.get();
-      frame.content =
-          ByteBufAllocator.DEFAULT.buffer(RequestFrameFlyweight.computeFrameLength(type, null, 0));
+      frame.content = allocator.buffer(RequestFrameFlyweight.computeFrameLength(type, null, 0));
       frame.content.writerIndex(
           RequestFrameFlyweight.encode(
               frame.content, streamId, flags, type, Unpooled.EMPTY_BUFFER, Unpooled.EMPTY_BUFFER));
@@ -519,9 +700,24 @@ public static Frame from(
         ByteBuf data,
         int initialRequestN,
         int flags) {
+      return from(ByteBufAllocator.DEFAULT, streamId, type, metadata, data, initialRequestN, flags);
+    }
+
+    public static Frame from(
+        ByteBufAllocator allocator,
+        int streamId,
+        FrameType type,
+        ByteBuf metadata,
+        ByteBuf data,
+        int initialRequestN,
+        int flags) {
+      if (isZeroCopy(metadata, data)) {
+        return composite(allocator, streamId, type, metadata, data, initialRequestN, flags);
+      }
+
       final Frame frame = RECYCLER.get();
       frame.content =
-          ByteBufAllocator.DEFAULT.buffer(
+          allocator.buffer(
               RequestFrameFlyweight.computeFrameLength(
                   type, metadata.readableBytes(), data.readableBytes()));
       frame.content.writerIndex(
@@ -555,7 +751,7 @@ public static int initialRequestN(final Frame frame) {
 
     public static boolean isRequestChannelComplete(final Frame frame) {
       ensureFrameType(FrameType.REQUEST_CHANNEL, frame);
-      final int flags = FrameHeaderFlyweight.flags(frame.content);
+      final int flags = frame.flags();
 
       return (flags & FrameHeaderFlyweight.FLAGS_C) == FrameHeaderFlyweight.FLAGS_C;
     }
@@ -566,25 +762,61 @@ public static class PayloadFrame {
     private PayloadFrame() {}
 
     public static Frame from(int streamId, FrameType type) {
-      return from(streamId, type, null, Unpooled.EMPTY_BUFFER, 0);
+      return from(ByteBufAllocator.DEFAULT, streamId, type);
+    }
+
+    public static Frame from(ByteBufAllocator allocator, int streamId, FrameType type) {
+      return from(allocator, streamId, type, null, Unpooled.EMPTY_BUFFER, 0);
     }
 
     public static Frame from(int streamId, FrameType type, Payload payload) {
-      return from(streamId, type, payload, payload.hasMetadata() ? FLAGS_M : 0);
+      return from(ByteBufAllocator.DEFAULT, streamId, type, payload);
+    }
+
+    public static Frame from(
+        ByteBufAllocator allocator, int streamId, FrameType type, Payload payload) {
+      return from(allocator, streamId, type, payload, payload.hasMetadata() ? FLAGS_M : 0);
     }
 
     public static Frame from(int streamId, FrameType type, Payload payload, int flags) {
-      final ByteBuf metadata =
-          payload.hasMetadata() ? Unpooled.wrappedBuffer(payload.getMetadata()) : null;
-      final ByteBuf data = Unpooled.wrappedBuffer(payload.getData());
-      return from(streamId, type, metadata, data, flags);
+      return from(ByteBufAllocator.DEFAULT, streamId, type, payload, flags);
+    }
+
+    public static Frame from(
+        ByteBufAllocator allocator, int streamId, FrameType type, Payload payload, int flags) {
+      final ByteBuf metadata = payload.hasMetadata() ? payload.sliceMetadata() : null;
+      final ByteBuf data = payload.sliceData();
+      return from(allocator, streamId, type, metadata, data, flags);
     }
 
     public static Frame from(
         int streamId, FrameType type, @Nullable ByteBuf metadata, ByteBuf data, int flags) {
+      return from(ByteBufAllocator.DEFAULT, streamId, type, metadata, data, flags);
+    }
+
+    public static Frame from(
+        ByteBufAllocator allocator,
+        int streamId,
+        FrameType type,
+        @Nullable ByteBuf metadata,
+        ByteBuf data,
+        int flags) {
+      if (isZeroCopy(metadata, data)) {
+        final Integer metadataLength = metadata != null ? metadata.readableBytes() : null;
+        final ByteBuf header =
+            allocator.buffer(FrameHeaderFlyweight.computeHeaderLength(type, metadataLength));
+        header.writerIndex(
+            FrameHeaderFlyweight.encodeHeader(
+                header, streamId, flags, type, metadataLength, data.readableBytes()));
+
+        final Frame frame = RECYCLER.get();
+        frame.content = compose(allocator, header, metadata, data);
+        return frame;
+      }
+
       final Frame frame = RECYCLER.get();
       frame.content =
-          ByteBufAllocator.DEFAULT.buffer(
+          allocator.buffer(
               FrameHeaderFlyweight.computeFrameHeaderLength(
                   type, metadata != null ? metadata.readableBytes() : null, data.readableBytes()));
       frame.content.writerIndex(
@@ -598,9 +830,13 @@ public static class Cancel {
     private Cancel() {}
 
     public static Frame from(int streamId) {
+      return from(ByteBufAllocator.DEFAULT, streamId);
+    }
+
+    public static Frame from(ByteBufAllocator allocator, int streamId) {
       final Frame frame = RECYCLER.get();
       frame.content =
-          ByteBufAllocator.DEFAULT.buffer(
+          allocator.buffer(
               FrameHeaderFlyweight.computeFrameHeaderLength(FrameType.CANCEL, null, 0));
       frame.content.writerIndex(
           FrameHeaderFlyweight.encode(
@@ -614,10 +850,13 @@ public static class Keepalive {
     private Keepalive() {}
 
     public static Frame from(ByteBuf data, boolean respond) {
+      return from(ByteBufAllocator.DEFAULT, data, respond);
+    }
+
+    public static Frame from(ByteBufAllocator allocator, ByteBuf data, boolean respond) {
       final Frame frame = RECYCLER.get();
       frame.content =
-          ByteBufAllocator.DEFAULT.buffer(
-              KeepaliveFrameFlyweight.computeFrameLength(data.readableBytes()));
+          allocator.buffer(KeepaliveFrameFlyweight.computeFrameLength(data.readableBytes()));
 
       final int flags = respond ? KeepaliveFrameFlyweight.FLAGS_KEEPALIVE_R : 0;
       frame.content.writerIndex(KeepaliveFrameFlyweight.encode(frame.content, flags, data));
@@ -627,7 +866,7 @@ public static Frame from(ByteBuf data, boolean respond) {
 
     public static boolean hasRespondFlag(final Frame frame) {
       ensureFrameType(FrameType.KEEPALIVE, frame);
-      final int flags = FrameHeaderFlyweight.flags(frame.content);
+      final int flags = frame.flags();
 
       return (flags & KeepaliveFrameFlyweight.FLAGS_KEEPALIVE_R)
           == KeepaliveFrameFlyweight.FLAGS_KEEPALIVE_R;
@@ -644,23 +883,20 @@ public static void ensureFrameType(final FrameType frameType, final Frame frame)
 
   @Override
   public String toString() {
-    FrameType type = FrameHeaderFlyweight.frameType(content);
+    FrameType type = getType();
     StringBuilder payload = new StringBuilder();
-    @Nullable ByteBuf metadata = FrameHeaderFlyweight.sliceFrameMetadata(content);
+    ByteBuf metadata = sliceMetadata();
 
-    if (metadata != null) {
-      if (0 < metadata.readableBytes()) {
-        payload.append(
-            String.format("metadata: \"%s\" ", metadata.toString(StandardCharsets.UTF_8)));
-      }
+    if (0 < metadata.readableBytes()) {
+      payload.append(String.format("metadata: \"%s\" ", metadata.toString(StandardCharsets.UTF_8)));
     }
 
-    ByteBuf data = FrameHeaderFlyweight.sliceFrameData(content);
+    ByteBuf data = sliceData();
     if (0 < data.readableBytes()) {
       payload.append(String.format("data: \"%s\" ", data.toString(StandardCharsets.UTF_8)));
     }
 
-    long streamId = FrameHeaderFlyweight.streamId(content);
+    long streamId = getStreamId();
 
     String additionalFlags = "";
     switch (type) {
@@ -15,11 +15,21 @@
  */
 package com.github.mostroverkhov.rsocket;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCounted;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
-/** Payload of a {@link Frame}. */
-public interface Payload {
+/**
+ * Payload of a {@link Frame}.
+ *
+ * <p>Payloads are {@link ReferenceCounted}. RSocket releases payloads it is given once they are
+ * written to a frame, and payloads it emits are owned by the application, which must release them
+ * after use. Payloads that are not backed by pooled memory (e.g. {@link
+ * com.github.mostroverkhov.rsocket.util.PayloadImpl}) use no-op reference counting.
+ */
+public interface Payload extends ReferenceCounted {
   /**
    * Returns whether the payload has metadata, useful for tell if metadata is empty or not present.
    *
@@ -42,6 +52,61 @@ public interface Payload {
    */
   ByteBuffer getData();
 
+  /**
+   * Returns a view of the Payload metadata. Always non-null, check {@link #hasMetadata()} to
+   * differentiate null from "". The view is valid as long as this payload is not released.
+   *
+   * @return payload metadata.
+   */
+  default ByteBuf sliceMetadata() {
+    return hasMetadata() ? Unpooled.wrappedBuffer(getMetadata()) : Unpooled.EMPTY_BUFFER;
+  }
+
+  /**
+   * Returns a view of the Payload data. Always non-null. The view is valid as long as this payload
+   * is not released.
+   *
+   * @return payload data.
+   */
+  default ByteBuf sliceData() {
+    return Unpooled.wrappedBuffer(getData());
+  }
+
+  @Override
+  default int refCnt() {
+    return 1;
+  }
+
+  @Override
+  default Payload retain() {
+    return this;
+  }
+
+  @Override
+  default Payload retain(int increment) {
+    return this;
+  }
+
+  @Override
+  default Payload touch() {
+    return this;
+  }
+
+  @Override
+  default Payload touch(Object hint) {
+    return this;
+  }
+
+  @Override
+  default boolean release() {
+    return false;
+  }
+
+  @Override
+  default boolean release(int decrement) {
+    return false;
+  }
+
   default String getMetadataUtf8() {
     return StandardCharsets.UTF_8.decode(getMetadata()).toString();
   }
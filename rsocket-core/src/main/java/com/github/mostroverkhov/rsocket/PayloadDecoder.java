@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket;
+
+import com.github.mostroverkhov.rsocket.util.ByteBufPayload;
+import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import java.util.function.Function;
+
+/**
+ * Creates {@link Payload}s handed to application from received {@link Frame}s. Decoder must not
+ * retain the frame itself: it is released by RSocket once decoder returns.
+ */
+public @FunctionalInterface interface PayloadDecoder extends Function<Frame, Payload> {
+
+  /**
+   * Payload shares frame content and must be released by application once it is not needed anymore
+   */
+  PayloadDecoder ZERO_COPY = ByteBufPayload::create;
+
+  /** Payload content is copied from frame, so payload does not need to be released */
+  PayloadDecoder COPY = PayloadImpl::new;
+
+  PayloadDecoder DEFAULT = ZERO_COPY;
+}
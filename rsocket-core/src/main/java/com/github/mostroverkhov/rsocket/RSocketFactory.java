@@ -22,26 +22,34 @@
 import com.github.mostroverkhov.rsocket.frame.SetupFrameFlyweight;
 import com.github.mostroverkhov.rsocket.frame.VersionFlyweight;
 import com.github.mostroverkhov.rsocket.interceptors.DuplexConnectionInterceptor;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandlerInterceptor;
 import com.github.mostroverkhov.rsocket.interceptors.InterceptorFactory;
 import com.github.mostroverkhov.rsocket.interceptors.InterceptorRegistry;
 import com.github.mostroverkhov.rsocket.interceptors.RSocketInterceptor;
+import com.github.mostroverkhov.rsocket.internal.AllocatorDuplexConnection;
 import com.github.mostroverkhov.rsocket.internal.ConnectionDemux;
 import com.github.mostroverkhov.rsocket.internal.ConnectionErrorInterceptor;
+import com.github.mostroverkhov.rsocket.internal.SendBufferWatermarks;
 import com.github.mostroverkhov.rsocket.keepalive.CloseOnKeepAliveTimeout;
 import com.github.mostroverkhov.rsocket.keepalive.KeepAliveRequesterInterceptor;
 import com.github.mostroverkhov.rsocket.keepalive.KeepAliveResponderInterceptor;
+import com.github.mostroverkhov.rsocket.keepalive.KeepAliveTimer;
 import com.github.mostroverkhov.rsocket.keepalive.KeepAlives;
 import com.github.mostroverkhov.rsocket.lease.LeaseConnectionRef;
 import com.github.mostroverkhov.rsocket.lease.LeaseSupport;
 import com.github.mostroverkhov.rsocket.transport.ClientTransport;
+import com.github.mostroverkhov.rsocket.transport.DirectClientTransport;
+import com.github.mostroverkhov.rsocket.transport.DirectServerTransport;
 import com.github.mostroverkhov.rsocket.transport.ServerTransport;
 import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import io.netty.buffer.ByteBufAllocator;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 import reactor.core.publisher.Mono;
 
 /** Factory for creating RSocket clients and servers. */
@@ -111,9 +119,21 @@ default <T extends Closeable> Start<T> transport(ServerTransport<T> transport) {
     private int keepAlivePeriodsTimeout = 3;
     private Supplier<ByteBuffer> keepAlivePayloadSupplier = () -> Frame.NULL_BYTEBUFFER;
     private Consumer<KeepAlives> keepAlivesConsumer = new CloseOnKeepAliveTimeout(errorConsumer);
+    private KeepAliveTimer keepAliveTimer = KeepAliveTimer.shared();
 
     private String metadataMimeType = "application/binary";
     private String dataMimeType = "application/binary";
+    private PayloadDecoder payloadDecoder = PayloadDecoder.DEFAULT;
+    private @Nullable ByteBufAllocator allocator;
+    private Consumer<SendQueueMetrics> sendQueueMetricsConsumer = metrics -> {};
+    private Supplier<SendScheduler> sendScheduler = SendScheduler::fifo;
+    private int lowWatermark = SendBufferWatermarks.DEFAULT_LOW_WATERMARK;
+    private int highWatermark = SendBufferWatermarks.DEFAULT_HIGH_WATERMARK;
+
+    public ClientRSocketFactory addFrameHandlerInterceptor(FrameHandlerInterceptor interceptor) {
+      this.interceptorFactory.addFrameHandlerInterceptor(interceptor);
+      return this;
+    }
 
     public ClientRSocketFactory addConnectionInterceptor(DuplexConnectionInterceptor interceptor) {
       this.interceptorFactory.addConnectionInterceptor(interceptor);
@@ -167,6 +187,16 @@ public ClientRSocketFactory keepAlive(
           period, periodsTimeout, payloadSupplier, new CloseOnKeepAliveTimeout(errorConsumer));
     }
 
+    /**
+     * @param keepAliveTimer timer sending keep-alives of connections of this factory. Default is
+     *     {@link KeepAliveTimer#shared()}, shared by all factories of JVM
+     * @return this factory
+     */
+    public ClientRSocketFactory keepAliveTimer(KeepAliveTimer keepAliveTimer) {
+      this.keepAliveTimer = keepAliveTimer;
+      return this;
+    }
+
     public ClientRSocketFactory enableLease(Consumer<LeaseConnectionRef> leaseControlConsumer) {
       this.leaseConsumer = Optional.of(leaseControlConsumer);
       flags |= SetupFrameFlyweight.FLAGS_WILL_HONOR_LEASE;
@@ -221,6 +251,59 @@ public ClientRSocketFactory setupPayload(Payload payload) {
       return this;
     }
 
+    /**
+     * @param payloadDecoder creates payloads from received frames. {@link PayloadDecoder#ZERO_COPY}
+     *     (default) shares frame buffers, and emitted payloads must be released by application.
+     *     {@link PayloadDecoder#COPY} copies frame content instead
+     * @return this factory
+     */
+    public ClientRSocketFactory payloadDecoder(PayloadDecoder payloadDecoder) {
+      this.payloadDecoder = payloadDecoder;
+      return this;
+    }
+
+    /**
+     * @param allocator allocates outbound frames of each connection. By default, allocator of
+     *     connection transport is used
+     * @return this factory
+     */
+    public ClientRSocketFactory byteBufAllocator(ByteBufAllocator allocator) {
+      this.allocator = allocator;
+      return this;
+    }
+
+    /**
+     * @param sendQueueMetricsConsumer receives outbound queue metrics of requester and responder of
+     *     each connection
+     * @return this factory
+     */
+    public ClientRSocketFactory sendQueueMetrics(
+        Consumer<SendQueueMetrics> sendQueueMetricsConsumer) {
+      this.sendQueueMetricsConsumer = sendQueueMetricsConsumer;
+      return this;
+    }
+
+    /**
+     * @param sendScheduler creates scheduler ordering outbound payload frames of streams, for
+     *     requester and responder of each connection. Default is {@link SendScheduler#fifo()}
+     * @return this factory
+     */
+    public ClientRSocketFactory sendScheduler(Supplier<SendScheduler> sendScheduler) {
+      this.sendScheduler = sendScheduler;
+      return this;
+    }
+
+    /**
+     * @param lowWatermark buffered bytes of connection below which stream responses are resumed
+     * @param highWatermark buffered bytes of connection above which stream responses are paused
+     * @return this factory
+     */
+    public ClientRSocketFactory sendBufferWatermarks(int lowWatermark, int highWatermark) {
+      this.lowWatermark = lowWatermark;
+      this.highWatermark = highWatermark;
+      return this;
+    }
+
     private class StartClient implements Start<RSocket> {
       private final Supplier<ClientTransport> transportClient;
       private final InterceptorFactory interceptorFactory;
@@ -236,14 +319,22 @@ private class StartClient implements Start<RSocket> {
 
       @Override
       public Mono<RSocket> start() {
-        return transportClient
-            .get()
+        ClientTransport transport = transportClient.get();
+        if (transport instanceof DirectClientTransport) {
+          return startDirect((DirectClientTransport) transport);
+        }
+        return transport
             .connect()
             .flatMap(
                 connection -> {
+                  if (allocator != null) {
+                    connection = new AllocatorDuplexConnection(connection, allocator);
+                  }
+                  ByteBufAllocator alloc = connection.alloc();
                   InterceptorRegistry interceptors = interceptorFactory.create();
                   Frame setupFrame =
                       Frame.Setup.from(
+                          alloc,
                           flags,
                           keepAlivePeriodsTimeout,
                           (int) keepAlivePeriod.toMillis() * keepAlivePeriodsTimeout,
@@ -256,11 +347,18 @@ public Mono<RSocket> start() {
                   }
                   ConnectionDemux connectionDemux = new ConnectionDemux(connection, interceptors);
 
+                  SendBufferWatermarks sendBufferWatermarks =
+                      new SendBufferWatermarks(lowWatermark, highWatermark);
                   RSocketRequester rSocketRequester =
                       new RSocketRequester(
                           connectionDemux.asClientConnection(),
                           errorConsumer,
-                          StreamIdSupplier.clientSupplier());
+                          StreamIdSupplier.clientSupplier(),
+                          payloadDecoder,
+                          alloc,
+                          sendScheduler.get(),
+                          sendBufferWatermarks);
+                  sendQueueMetricsConsumer.accept(rSocketRequester.sendQueueMetrics());
 
                   Mono<RSocket> wrappedRSocketRequester =
                       Mono.just(rSocketRequester).map(interceptors::interceptRequester);
@@ -276,19 +374,53 @@ public Mono<RSocket> start() {
 
                         return wrappedHandlerRSocket
                             .doOnNext(
-                                handler ->
-                                    new RSocketResponder(
-                                        connectionDemux.asZeroAndServerConnection(),
-                                        handler,
-                                        errorConsumer))
+                                handler -> {
+                                  RSocketResponder rSocketResponder =
+                                      new RSocketResponder(
+                                          connectionDemux.asZeroAndServerConnection(),
+                                          handler,
+                                          errorConsumer,
+                                          payloadDecoder,
+                                          alloc,
+                                          sendScheduler.get(),
+                                          sendBufferWatermarks);
+                                  sendQueueMetricsConsumer.accept(
+                                      rSocketResponder.sendQueueMetrics());
+                                })
                             .then(finalConnection.sendOne(setupFrame))
                             .then(wrappedRSocketRequester);
                       });
                 });
       }
 
+      /*requester and handler interceptors only: there are no frames and connection to intercept*/
+      private Mono<RSocket> startDirect(DirectClientTransport transport) {
+        if (leaseConsumer.isPresent()) {
+          return Mono.error(
+              new IllegalStateException("Lease is not supported by direct connections"));
+        }
+        return transport
+            .connectDirect()
+            .flatMap(
+                serverAcceptor -> {
+                  InterceptorRegistry interceptors = interceptorFactory.create();
+                  ConnectionSetupPayload setup =
+                      ConnectionSetupPayload.create(
+                          metadataMimeType, dataMimeType, flags, setupPayload);
+                  DirectConnection connection = new DirectConnection(errorConsumer);
+                  RSocket requester = interceptors.interceptRequester(connection.clientRequester());
+                  RSocket handler = interceptors.interceptHandler(acceptor.get().apply(requester));
+
+                  return serverAcceptor
+                      .accept(setup, connection.serverRequester(handler))
+                      .doOnNext(connection::accepted)
+                      .doOnError(connection::rejected)
+                      .map(serverHandler -> requester);
+                });
+      }
+
       private void enableConnectionErrorHandlingSupport() {
-        interceptorFactory.addConnectionInterceptor(new ConnectionErrorInterceptor());
+        interceptorFactory.addFrameHandlerInterceptor(new ConnectionErrorInterceptor());
       }
 
       private void enableLeaseSupport() {
@@ -299,7 +431,7 @@ private void enableLeaseSupport() {
 
       private void enableKeepAliveSupport() {
 
-        interceptorFactory.addConnectionInterceptor(new KeepAliveResponderInterceptor());
+        interceptorFactory.addFrameHandlerInterceptor(new KeepAliveResponderInterceptor());
 
         interceptorFactory.addConnectionInterceptor(
             new KeepAliveRequesterInterceptor(
@@ -307,7 +439,8 @@ private void enableKeepAliveSupport() {
                 keepAlivePeriodsTimeout,
                 keepAlivePayloadSupplier,
                 errorConsumer,
-                keepAlivesConsumer));
+                keepAlivesConsumer,
+                keepAliveTimer));
       }
     }
   }
@@ -320,6 +453,17 @@ private void enableKeepAliveSupport() {
     private int mtu = 0;
     private final InterceptorFactory interceptorFactory = new InterceptorFactory();
     private Optional<Consumer<LeaseConnectionRef>> leaseControlConsumer = Optional.empty();
+    private PayloadDecoder payloadDecoder = PayloadDecoder.DEFAULT;
+    private @Nullable ByteBufAllocator allocator;
+    private Consumer<SendQueueMetrics> sendQueueMetricsConsumer = metrics -> {};
+    private Supplier<SendScheduler> sendScheduler = SendScheduler::fifo;
+    private int lowWatermark = SendBufferWatermarks.DEFAULT_LOW_WATERMARK;
+    private int highWatermark = SendBufferWatermarks.DEFAULT_HIGH_WATERMARK;
+
+    public ServerRSocketFactory addFrameHandlerInterceptor(FrameHandlerInterceptor interceptor) {
+      this.interceptorFactory.addFrameHandlerInterceptor(interceptor);
+      return this;
+    }
 
     public ServerRSocketFactory addConnectionInterceptor(DuplexConnectionInterceptor interceptor) {
       this.interceptorFactory.addConnectionInterceptor(interceptor);
@@ -369,6 +513,59 @@ public ServerRSocketFactory errorConsumer(Consumer<Throwable> errorConsumer) {
       return this;
     }
 
+    /**
+     * @param payloadDecoder creates payloads from received frames. {@link PayloadDecoder#ZERO_COPY}
+     *     (default) shares frame buffers, and emitted payloads must be released by application.
+     *     {@link PayloadDecoder#COPY} copies frame content instead
+     * @return this factory
+     */
+    public ServerRSocketFactory payloadDecoder(PayloadDecoder payloadDecoder) {
+      this.payloadDecoder = payloadDecoder;
+      return this;
+    }
+
+    /**
+     * @param allocator allocates outbound frames of each connection. By default, allocator of
+     *     connection transport is used
+     * @return this factory
+     */
+    public ServerRSocketFactory byteBufAllocator(ByteBufAllocator allocator) {
+      this.allocator = allocator;
+      return this;
+    }
+
+    /**
+     * @param sendQueueMetricsConsumer receives outbound queue metrics of requester and responder of
+     *     each connection
+     * @return this factory
+     */
+    public ServerRSocketFactory sendQueueMetrics(
+        Consumer<SendQueueMetrics> sendQueueMetricsConsumer) {
+      this.sendQueueMetricsConsumer = sendQueueMetricsConsumer;
+      return this;
+    }
+
+    /**
+     * @param sendScheduler creates scheduler ordering outbound payload frames of streams, for
+     *     requester and responder of each connection. Default is {@link SendScheduler#fifo()}
+     * @return this factory
+     */
+    public ServerRSocketFactory sendScheduler(Supplier<SendScheduler> sendScheduler) {
+      this.sendScheduler = sendScheduler;
+      return this;
+    }
+
+    /**
+     * @param lowWatermark buffered bytes of connection below which stream responses are resumed
+     * @param highWatermark buffered bytes of connection above which stream responses are paused
+     * @return this factory
+     */
+    public ServerRSocketFactory sendBufferWatermarks(int lowWatermark, int highWatermark) {
+      this.lowWatermark = lowWatermark;
+      this.highWatermark = highWatermark;
+      return this;
+    }
+
     private class ServerStart<T extends Closeable> implements Start<T> {
       private final Supplier<ServerTransport<T>> transportServer;
       private final InterceptorFactory interceptorFactory;
@@ -384,24 +581,41 @@ public ServerRSocketFactory errorConsumer(Consumer<Throwable> errorConsumer) {
 
       @Override
       public Mono<T> start() {
-        return transportServer
+        ServerTransport<T> transport = transportServer.get();
+        if (transport instanceof DirectServerTransport) {
+          return ((DirectServerTransport<T>) transport)
+              .start(this::acceptConnection, this::acceptDirect);
+        }
+        return transport.start(this::acceptConnection);
+      }
+
+      private Mono<Void> acceptConnection(DuplexConnection conn) {
+        if (allocator != null) {
+          conn = new AllocatorDuplexConnection(conn, allocator);
+        }
+        if (mtu > 0) {
+          conn = new FragmentationDuplexConnection(conn, mtu);
+        }
+        InterceptorRegistry interceptors = interceptorFactory.create();
+        ConnectionDemux connectionDemux = new ConnectionDemux(conn, interceptors);
+
+        return connectionDemux
+            .asInitConnection()
+            .receive()
+            .next()
+            .flatMap(setupFrame -> processSetupFrame(interceptors, connectionDemux, setupFrame));
+      }
+
+      private Mono<RSocket> acceptDirect(ConnectionSetupPayload setup, RSocket requester) {
+        if (leaseControlConsumer.isPresent()) {
+          return Mono.error(
+              new IllegalStateException("Lease is not supported by direct connections"));
+        }
+        InterceptorRegistry interceptors = interceptorFactory.create();
+        return acceptor
             .get()
-            .start(
-                conn -> {
-                  if (mtu > 0) {
-                    conn = new FragmentationDuplexConnection(conn, mtu);
-                  }
-                  InterceptorRegistry interceptors = interceptorFactory.create();
-                  ConnectionDemux connectionDemux = new ConnectionDemux(conn, interceptors);
-
-                  return connectionDemux
-                      .asInitConnection()
-                      .receive()
-                      .next()
-                      .flatMap(
-                          setupFrame ->
-                              processSetupFrame(interceptors, connectionDemux, setupFrame));
-                });
+            .accept(setup, interceptors.interceptRequester(requester))
+            .map(interceptors::interceptHandler);
       }
 
       private Mono<Void> processSetupFrame(
@@ -416,9 +630,18 @@ private Mono<Void> processSetupFrame(
           return setupError(multiplexer, error);
         }
 
+        SendBufferWatermarks sendBufferWatermarks =
+            new SendBufferWatermarks(lowWatermark, highWatermark);
         RSocketRequester rSocketRequester =
             new RSocketRequester(
-                multiplexer.asServerConnection(), errorConsumer, StreamIdSupplier.serverSupplier());
+                multiplexer.asServerConnection(),
+                errorConsumer,
+                StreamIdSupplier.serverSupplier(),
+                payloadDecoder,
+                multiplexer.alloc(),
+                sendScheduler.get(),
+                sendBufferWatermarks);
+        sendQueueMetricsConsumer.accept(rSocketRequester.sendQueueMetrics());
 
         Mono<RSocket> wrappedRSocketRequester =
             Mono.just(rSocketRequester).map(interceptors::interceptRequester);
@@ -436,26 +659,35 @@ private Mono<Void> processSetupFrame(
 
                   return wrappedHandler;
                 })
-            .map(
-                handler ->
-                    new RSocketResponder(
-                        multiplexer.asZeroAndClientConnection(), handler, errorConsumer))
+            .doOnNext(
+                handler -> {
+                  RSocketResponder rSocketResponder =
+                      new RSocketResponder(
+                          multiplexer.asZeroAndClientConnection(),
+                          handler,
+                          errorConsumer,
+                          payloadDecoder,
+                          multiplexer.alloc(),
+                          sendScheduler.get(),
+                          sendBufferWatermarks);
+                  sendQueueMetricsConsumer.accept(rSocketResponder.sendQueueMetrics());
+                })
             .then();
       }
 
       Mono<Void> setupError(ConnectionDemux multiplexer, SetupException error) {
         return multiplexer
             .asStreamZeroConnection()
-            .sendOne(Frame.Error.from(0, error))
+            .sendOne(Frame.Error.from(multiplexer.alloc(), 0, error))
             .then(multiplexer.close());
       }
 
       private void enableConnectionErrorHandlingSupport() {
-        interceptorFactory.addConnectionInterceptor(new ConnectionErrorInterceptor());
+        interceptorFactory.addFrameHandlerInterceptor(new ConnectionErrorInterceptor());
       }
 
       private void enableKeepAliveSupport() {
-        interceptorFactory.addConnectionInterceptor(new KeepAliveResponderInterceptor());
+        interceptorFactory.addFrameHandlerInterceptor(new KeepAliveResponderInterceptor());
       }
 
       private void enableLeaseSupport() {
@@ -18,18 +18,22 @@
 
 import com.github.mostroverkhov.rsocket.exceptions.Exceptions;
 import com.github.mostroverkhov.rsocket.internal.LimitableRequestPublisher;
-import com.github.mostroverkhov.rsocket.internal.UnboundedProcessor;
+import com.github.mostroverkhov.rsocket.internal.PrioritySendProcessor;
+import com.github.mostroverkhov.rsocket.internal.SendBufferWatermarks;
 import com.github.mostroverkhov.rsocket.util.ExceptionUtil;
-import com.github.mostroverkhov.rsocket.util.NonBlockingHashMapLong;
-import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import io.netty.buffer.ByteBufAllocator;
 import java.nio.channels.ClosedChannelException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
 import reactor.core.publisher.*;
 
 /** Client Side of a RSocket socket. Sends {@link Frame}s to a {@link RSocketResponder} */
@@ -40,25 +44,66 @@ class RSocketRequester implements RSocket {
   private final DuplexConnection connection;
   private final Consumer<Throwable> errorConsumer;
   private final StreamIdSupplier streamIdSupplier;
+  private final PayloadDecoder payloadDecoder;
+  private final ByteBufAllocator allocator;
   private final MonoProcessor<Void> started;
-  private final NonBlockingHashMapLong<LimitableRequestPublisher> senders;
-  private final NonBlockingHashMapLong<UnicastProcessor<Payload>> receivers;
-  private final UnboundedProcessor<Frame> sendProcessor;
+  private final ActiveStreams<Subscriber<Payload>> streams;
+  private final IntPredicate isActiveStream;
+  private final PrioritySendProcessor sendProcessor;
   private volatile Throwable closedError;
 
   RSocketRequester(
       DuplexConnection connection,
       Consumer<Throwable> errorConsumer,
       StreamIdSupplier streamIdSupplier) {
+    this(connection, errorConsumer, streamIdSupplier, PayloadDecoder.DEFAULT);
+  }
+
+  RSocketRequester(
+      DuplexConnection connection,
+      Consumer<Throwable> errorConsumer,
+      StreamIdSupplier streamIdSupplier,
+      PayloadDecoder payloadDecoder) {
+    this(connection, errorConsumer, streamIdSupplier, payloadDecoder, connection.alloc());
+  }
+
+  RSocketRequester(
+      DuplexConnection connection,
+      Consumer<Throwable> errorConsumer,
+      StreamIdSupplier streamIdSupplier,
+      PayloadDecoder payloadDecoder,
+      ByteBufAllocator allocator) {
+    this(
+        connection,
+        errorConsumer,
+        streamIdSupplier,
+        payloadDecoder,
+        allocator,
+        SendScheduler.fifo(),
+        new SendBufferWatermarks());
+  }
+
+  RSocketRequester(
+      DuplexConnection connection,
+      Consumer<Throwable> errorConsumer,
+      StreamIdSupplier streamIdSupplier,
+      PayloadDecoder payloadDecoder,
+      ByteBufAllocator allocator,
+      SendScheduler sendScheduler,
+      SendBufferWatermarks sendBufferWatermarks) {
     this.connection = connection;
     this.errorConsumer = errorConsumer;
     this.streamIdSupplier = streamIdSupplier;
+    this.payloadDecoder = payloadDecoder;
+    this.allocator = allocator;
     this.started = MonoProcessor.create();
-    this.senders = new NonBlockingHashMapLong<>(256);
-    this.receivers = new NonBlockingHashMapLong<>(256);
+    this.streams = new ActiveStreams<>(256);
+    this.isActiveStream = streams::contains;
 
     // DO NOT Change the order here. The Send processor must be subscribed to before receiving
-    this.sendProcessor = new UnboundedProcessor<>();
+    this.sendProcessor =
+        new PrioritySendProcessor(
+            SendQueueMetrics.Side.REQUESTER, sendScheduler, sendBufferWatermarks);
 
     connection.onClose().doFinally(signalType -> cleanup()).subscribe(null, errorConsumer);
 
@@ -74,17 +119,16 @@ class RSocketRequester implements RSocket {
   }
 
   private void handleSendProcessorError(Throwable t) {
-    for (Subscriber subscriber : receivers.values()) {
-      try {
-        subscriber.onError(t);
-      } catch (Throwable e) {
-        errorConsumer.accept(e);
-      }
-    }
+    streams.forEachReceiver(
+        subscriber -> {
+          try {
+            subscriber.onError(t);
+          } catch (Throwable e) {
+            errorConsumer.accept(e);
+          }
+        });
 
-    for (LimitableRequestPublisher p : senders.values()) {
-      p.cancel();
-    }
+    streams.forEachSender(Subscription::cancel);
   }
 
   private void handleSendProcessorCancel(SignalType t) {
@@ -92,17 +136,16 @@ private void handleSendProcessorCancel(SignalType t) {
       return;
     }
 
-    for (Subscriber subscriber : receivers.values()) {
-      try {
-        subscriber.onError(new Throwable("closed connection"));
-      } catch (Throwable e) {
-        errorConsumer.accept(e);
-      }
-    }
+    streams.forEachReceiver(
+        subscriber -> {
+          try {
+            subscriber.onError(new Throwable("closed connection"));
+          } catch (Throwable e) {
+            errorConsumer.accept(e);
+          }
+        });
 
-    for (LimitableRequestPublisher p : senders.values()) {
-      p.cancel();
-    }
+    streams.forEachSender(Subscription::cancel);
   }
 
   @Override
@@ -145,28 +188,40 @@ public Mono<Void> onClose() {
     return connection.onClose();
   }
 
+  SendQueueMetrics sendQueueMetrics() {
+    return sendProcessor;
+  }
+
   private <T, K extends Publisher<T>> K request(K request, Function<Throwable, K> errF) {
     Throwable err = closedError;
     return err != null ? errF.apply(err) : request;
   }
 
+  /*no need to wait once connection receive is subscribed*/
+  private <T> Mono<T> whenStarted(Mono<T> request) {
+    return started.isTerminated() ? request : started.then(request);
+  }
+
   private Mono<Void> handleMetadataPush(Payload payload) {
-    return started.then(
+    return whenStarted(
         Mono.fromRunnable(
             () -> {
-              final Frame requestFrame = Frame.Request.from(0, FrameType.METADATA_PUSH, payload, 1);
+              final Frame requestFrame =
+                  Frame.Request.from(allocator, 0, FrameType.METADATA_PUSH, payload, 1);
+              payload.release();
               sendProcessor.onNext(requestFrame);
             }));
   }
 
   private Mono<Void> handleFireAndForget(Payload payload) {
 
-    return started.then(
+    return whenStarted(
         Mono.fromRunnable(
             () -> {
-              final int streamId = streamIdSupplier.nextStreamId();
+              final int streamId = streamIdSupplier.nextStreamId(isActiveStream);
               final Frame requestFrame =
-                  Frame.Request.from(streamId, FrameType.FIRE_AND_FORGET, payload, 1);
+                  Frame.Request.from(allocator, streamId, FrameType.FIRE_AND_FORGET, payload, 1);
+              payload.release();
               sendProcessor.onNext(requestFrame);
             }));
   }
@@ -175,10 +230,10 @@ private Flux<Payload> handleRequestStream(final Payload payload) {
     return started.thenMany(
         Flux.defer(
             () -> {
-              int streamId = streamIdSupplier.nextStreamId();
+              int streamId = streamIdSupplier.nextStreamId(isActiveStream);
 
               UnicastProcessor<Payload> receiver = UnicastProcessor.create();
-              receivers.put(streamId, receiver);
+              streams.putReceiver(streamId, receiver);
 
               AtomicBoolean first = new AtomicBoolean(false);
 
@@ -187,54 +242,39 @@ private Flux<Payload> handleRequestStream(final Payload payload) {
                       l -> {
                         if (first.compareAndSet(false, true) && !receiver.isDisposed()) {
                           final Frame requestFrame =
-                              Frame.Request.from(streamId, FrameType.REQUEST_STREAM, payload, l);
+                              Frame.Request.from(
+                                  allocator, streamId, FrameType.REQUEST_STREAM, payload, l);
+                          payload.release();
                           sendProcessor.onNext(requestFrame);
                         } else if (contains(streamId) && !receiver.isDisposed()) {
-                          sendProcessor.onNext(Frame.RequestN.from(streamId, l));
+                          sendProcessor.onNext(Frame.RequestN.from(allocator, streamId, l));
                         }
                         sendProcessor.drain();
                       })
                   .doOnError(
                       t -> {
                         if (contains(streamId) && !receiver.isDisposed()) {
-                          sendProcessor.onNext(Frame.Error.from(streamId, t));
+                          sendProcessor.onNext(Frame.Error.from(allocator, streamId, t));
                         }
                       })
                   .doOnCancel(
                       () -> {
                         if (contains(streamId) && !receiver.isDisposed()) {
-                          sendProcessor.onNext(Frame.Cancel.from(streamId));
+                          sendProcessor.onNext(Frame.Cancel.from(allocator, streamId));
                         }
                       })
                   .doFinally(
                       s -> {
-                        receivers.remove(streamId);
+                        if (first.compareAndSet(false, true)) {
+                          payload.release();
+                        }
+                        streams.removeReceiver(streamId);
                       });
             }));
   }
 
   private Mono<Payload> handleRequestResponse(final Payload payload) {
-    return started.then(
-        Mono.defer(
-            () -> {
-              int streamId = streamIdSupplier.nextStreamId();
-              final Frame requestFrame =
-                  Frame.Request.from(streamId, FrameType.REQUEST_RESPONSE, payload, 1);
-
-              UnicastProcessor<Payload> receiver = UnicastProcessor.create();
-              receivers.put(streamId, receiver);
-
-              sendProcessor.onNext(requestFrame);
-
-              return receiver
-                  .singleOrEmpty()
-                  .doOnError(t -> sendProcessor.onNext(Frame.Error.from(streamId, t)))
-                  .doOnCancel(() -> sendProcessor.onNext(Frame.Cancel.from(streamId)))
-                  .doFinally(
-                      s -> {
-                        receivers.remove(streamId);
-                      });
-            }));
+    return whenStarted(new RequestResponseMono(this, payload));
   }
 
   private Flux<Payload> handleChannel(Flux<Payload> request, FrameType requestType) {
@@ -242,7 +282,7 @@ private Flux<Payload> handleChannel(Flux<Payload> request, FrameType requestType
         Flux.defer(
             new Supplier<Flux<Payload>>() {
               final UnicastProcessor<Payload> receiver = UnicastProcessor.create();
-              final int streamId = streamIdSupplier.nextStreamId();
+              final int streamId = streamIdSupplier.nextStreamId(isActiveStream);
               volatile @Nullable MonoProcessor<Void> subscribedRequests;
               boolean firstRequest = true;
 
@@ -279,8 +319,7 @@ public Flux<Payload> get() {
                                               LimitableRequestPublisher.wrap(f);
                                           // Need to set this to one for first the frame
                                           wrapped.increaseRequestLimit(1);
-                                          senders.put(streamId, wrapped);
-                                          receivers.put(streamId, receiver);
+                                          streams.put(streamId, receiver, wrapped);
 
                                           return wrapped;
                                         })
@@ -293,12 +332,13 @@ public Frame apply(Payload payload) {
                                             if (firstPayload.compareAndSet(true, false)) {
                                               requestFrame =
                                                   Frame.Request.from(
-                                                      streamId, requestType, payload, l);
+                                                      allocator, streamId, requestType, payload, l);
                                             } else {
                                               requestFrame =
                                                   Frame.PayloadFrame.from(
-                                                      streamId, FrameType.NEXT, payload);
+                                                      allocator, streamId, FrameType.NEXT, payload);
                                             }
+                                            payload.release();
                                             return requestFrame;
                                           }
                                         })
@@ -307,7 +347,7 @@ public Frame apply(Payload payload) {
                                           if (FrameType.REQUEST_CHANNEL == requestType) {
                                             sendOneFrame(
                                                 Frame.PayloadFrame.from(
-                                                    streamId, FrameType.COMPLETE));
+                                                    allocator, streamId, FrameType.COMPLETE));
                                             if (firstPayload.get()) {
                                               receiver.onComplete();
                                             }
@@ -321,57 +361,54 @@ public Frame apply(Payload payload) {
                                   receiver.dispose();
                                 });
                           } else {
-                            sendOneFrame(Frame.RequestN.from(streamId, l));
+                            sendOneFrame(Frame.RequestN.from(allocator, streamId, l));
                           }
                         })
-                    .doOnError(t -> sendOneFrame(Frame.Error.from(streamId, t)))
+                    .doOnError(t -> sendOneFrame(Frame.Error.from(allocator, streamId, t)))
                     .doOnCancel(
                         () -> {
-                          sendOneFrame(Frame.Cancel.from(streamId));
+                          sendOneFrame(Frame.Cancel.from(allocator, streamId));
                           if (subscribedRequests != null) {
                             subscribedRequests.cancel();
                           }
                         })
                     .doFinally(
                         s -> {
-                          receivers.remove(streamId);
-                          senders.remove(streamId);
+                          streams.remove(streamId);
                         });
               }
             }));
   }
 
   private boolean contains(int streamId) {
-    return receivers.containsKey(streamId);
+    return streams.containsReceiver(streamId);
   }
 
   protected void cleanup() {
     closedError = CLOSED_CHANNEL_EXCEPTION;
     try {
-      for (UnicastProcessor<Payload> subscriber : receivers.values()) {
-        cleanUpSubscriber(subscriber);
-      }
-      for (LimitableRequestPublisher p : senders.values()) {
-        cleanUpLimitableRequestPublisher(p);
-      }
+      streams.forEachReceiver(this::cleanUpSubscriber);
+      streams.forEachSender(this::cleanUpSender);
     } finally {
-      senders.clear();
-      receivers.clear();
+      streams.clear();
     }
   }
 
-  private synchronized void cleanUpLimitableRequestPublisher(
-      LimitableRequestPublisher<?> limitableRequestPublisher) {
+  private synchronized void cleanUpSender(Subscription sender) {
     try {
-      limitableRequestPublisher.cancel();
+      sender.cancel();
     } catch (Throwable t) {
       errorConsumer.accept(t);
     }
   }
 
-  private synchronized void cleanUpSubscriber(UnicastProcessor<?> subscriber) {
+  private synchronized void cleanUpSubscriber(Subscriber<Payload> subscriber) {
     try {
-      subscriber.cancel();
+      if (subscriber instanceof UnicastProcessor) {
+        ((UnicastProcessor<Payload>) subscriber).cancel();
+      } else {
+        subscriber.onError(CLOSED_CHANNEL_EXCEPTION);
+      }
     } catch (Throwable t) {
       errorConsumer.accept(t);
     }
@@ -388,44 +425,47 @@ private void handleIncomingFrames(Frame frame) {
   private void handleFrame(Frame frame) {
     int streamId = frame.getStreamId();
     FrameType type = frame.getType();
-    Subscriber<Payload> receiver = receivers.get(streamId);
+    StreamState<Subscriber<Payload>> state = streams.get(streamId);
+    Subscriber<Payload> receiver = state == null ? null : state.receiver;
     if (receiver == null) {
       handleMissingResponseProcessor(streamId, type, frame);
     } else {
       switch (type) {
         case ERROR:
           receiver.onError(Exceptions.from(frame));
-          receivers.remove(streamId);
+          streams.removeReceiver(streamId);
+          sendProcessor.onTerminate(streamId);
           break;
         case NEXT_COMPLETE:
-          receiver.onNext(new PayloadImpl(frame));
+          receiver.onNext(payloadDecoder.apply(frame));
           receiver.onComplete();
           break;
         case CANCEL:
           {
-            LimitableRequestPublisher sender = senders.remove(streamId);
-            receivers.remove(streamId);
+            StreamState removed = streams.remove(streamId);
+            Subscription sender = removed == null ? null : removed.sender;
             if (sender != null) {
               sender.cancel();
             }
+            sendProcessor.onTerminate(streamId);
             break;
           }
         case NEXT:
-          receiver.onNext(new PayloadImpl(frame));
+          receiver.onNext(payloadDecoder.apply(frame));
           break;
         case REQUEST_N:
           {
-            LimitableRequestPublisher sender = senders.get(streamId);
+            Subscription sender = state.sender;
             if (sender != null) {
               int n = Frame.RequestN.requestN(frame);
-              sender.increaseRequestLimit(n);
+              sender.request(n);
               sendProcessor.drain();
             }
             break;
           }
         case COMPLETE:
           receiver.onComplete();
-          receivers.remove(streamId);
+          streams.removeReceiver(streamId);
           break;
         default:
           throw new IllegalStateException(
@@ -457,4 +497,191 @@ private void handleMissingResponseProcessor(int streamId, FrameType type, Frame
     // receiving a frame after a given stream has been cancelled/completed,
     // so ignore (cancellation is async so there is a race condition)
   }
+
+  /** Request-response without intermediate processor: see {@link RequestResponseStream} */
+  private static final class RequestResponseMono extends Mono<Payload> {
+    private final RSocketRequester requester;
+    private final Payload payload;
+
+    RequestResponseMono(RSocketRequester requester, Payload payload) {
+      this.requester = requester;
+      this.payload = payload;
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super Payload> actual) {
+      RequestResponseStream stream = new RequestResponseStream(requester, actual);
+      actual.onSubscribe(stream);
+      stream.sendRequest(payload);
+    }
+  }
+
+  /**
+   * Registers itself in stream table as both stream state and receiver, holds at most one response
+   * payload until it is requested. Receiver signals come from connection thread, request and cancel
+   * from any thread
+   */
+  private static final class RequestResponseStream extends StreamState<Subscriber<Payload>>
+      implements Subscriber<Payload>, Subscription {
+    private static final int NO_REQUEST_NO_VALUE = 0;
+    private static final int NO_REQUEST_HAS_VALUE = 1;
+    private static final int HAS_REQUEST_NO_VALUE = 2;
+    private static final int DONE = 3;
+
+    private static final AtomicIntegerFieldUpdater<RequestResponseStream> STATE =
+        AtomicIntegerFieldUpdater.newUpdater(RequestResponseStream.class, "state");
+
+    private final RSocketRequester requester;
+    private final CoreSubscriber<? super Payload> actual;
+    private volatile int streamId;
+    private volatile int state;
+    private @Nullable Payload value;
+    private volatile boolean terminated;
+
+    RequestResponseStream(RSocketRequester requester, CoreSubscriber<? super Payload> actual) {
+      this.requester = requester;
+      this.actual = actual;
+    }
+
+    void sendRequest(Payload payload) {
+      if (state == DONE) {
+        payload.release();
+        return;
+      }
+      RSocketRequester r = requester;
+      int streamId = r.streamIdSupplier.nextStreamId(r.isActiveStream);
+      Frame requestFrame =
+          Frame.Request.from(r.allocator, streamId, FrameType.REQUEST_RESPONSE, payload, 1);
+      payload.release();
+
+      this.receiver = this;
+      this.streamId = streamId;
+      r.streams.register(streamId, this);
+      r.sendProcessor.onNext(requestFrame);
+      /*cancelled before registration*/
+      if (state == DONE && r.streams.remove(streamId, this)) {
+        r.sendProcessor.onNext(Frame.Cancel.from(r.allocator, streamId));
+      }
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {}
+
+    @Override
+    public void onNext(Payload payload) {
+      if (terminated) {
+        payload.release();
+        return;
+      }
+      if (value != null) {
+        payload.release();
+        IndexOutOfBoundsException err =
+            new IndexOutOfBoundsException("Source emitted more than one item");
+        requester.sendProcessor.onNext(Frame.Error.from(requester.allocator, streamId, err));
+        onError(err);
+        return;
+      }
+      value = payload;
+    }
+
+    @Override
+    public void onComplete() {
+      if (terminated) {
+        return;
+      }
+      terminated = true;
+      requester.streams.remove(streamId, this);
+      Payload v = value;
+      if (v == null) {
+        if (STATE.getAndSet(this, DONE) != DONE) {
+          actual.onComplete();
+        }
+        return;
+      }
+      for (; ; ) {
+        int s = state;
+        if (s == HAS_REQUEST_NO_VALUE) {
+          if (STATE.compareAndSet(this, HAS_REQUEST_NO_VALUE, DONE)) {
+            value = null;
+            actual.onNext(v);
+            actual.onComplete();
+            return;
+          }
+        } else if (s == NO_REQUEST_NO_VALUE) {
+          if (STATE.compareAndSet(this, NO_REQUEST_NO_VALUE, NO_REQUEST_HAS_VALUE)) {
+            return;
+          }
+        } else {
+          value = null;
+          v.release();
+          return;
+        }
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      if (terminated) {
+        Operators.onErrorDropped(t, actual.currentContext());
+        return;
+      }
+      terminated = true;
+      requester.streams.remove(streamId, this);
+      Payload v = value;
+      if (v != null) {
+        value = null;
+        v.release();
+      }
+      if (STATE.getAndSet(this, DONE) != DONE) {
+        actual.onError(t);
+      } else {
+        Operators.onErrorDropped(t, actual.currentContext());
+      }
+    }
+
+    @Override
+    public void request(long n) {
+      if (!Operators.validate(n)) {
+        return;
+      }
+      for (; ; ) {
+        int s = state;
+        if (s == NO_REQUEST_HAS_VALUE) {
+          if (STATE.compareAndSet(this, NO_REQUEST_HAS_VALUE, DONE)) {
+            Payload v = value;
+            value = null;
+            actual.onNext(v);
+            actual.onComplete();
+            return;
+          }
+        } else if (s == NO_REQUEST_NO_VALUE) {
+          if (STATE.compareAndSet(this, NO_REQUEST_NO_VALUE, HAS_REQUEST_NO_VALUE)) {
+            return;
+          }
+        } else {
+          return;
+        }
+      }
+    }
+
+    @Override
+    public void cancel() {
+      int s = STATE.getAndSet(this, DONE);
+      if (s == DONE) {
+        return;
+      }
+      if (s == NO_REQUEST_HAS_VALUE) {
+        Payload v = value;
+        value = null;
+        if (v != null) {
+          v.release();
+        }
+      }
+      RSocketRequester r = requester;
+      int streamId = this.streamId;
+      if (streamId != 0 && r.streams.remove(streamId, this)) {
+        r.sendProcessor.onNext(Frame.Cancel.from(r.allocator, streamId));
+      }
+    }
+  }
 }
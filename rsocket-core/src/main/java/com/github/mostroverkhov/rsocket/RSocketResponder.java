@@ -21,11 +21,9 @@
 
 import com.github.mostroverkhov.rsocket.exceptions.ApplicationException;
 import com.github.mostroverkhov.rsocket.internal.LimitableRequestPublisher;
-import com.github.mostroverkhov.rsocket.internal.UnboundedProcessor;
-import com.github.mostroverkhov.rsocket.util.NonBlockingHashMapLong;
-import com.github.mostroverkhov.rsocket.util.PayloadImpl;
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import com.github.mostroverkhov.rsocket.internal.PrioritySendProcessor;
+import com.github.mostroverkhov.rsocket.internal.SendBufferWatermarks;
+import io.netty.buffer.ByteBufAllocator;
 import java.util.function.Consumer;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -42,24 +40,63 @@ class RSocketResponder implements RSocket {
   private final DuplexConnection connection;
   private final RSocket requestHandler;
   private final Consumer<Throwable> errorConsumer;
+  private final PayloadDecoder payloadDecoder;
+  private final ByteBufAllocator allocator;
 
-  private final NonBlockingHashMapLong<Subscription> sendingSubscriptions;
-  private final NonBlockingHashMapLong<UnicastProcessor<Payload>> channelProcessors;
+  private final ActiveStreams<UnicastProcessor<Payload>> streams;
 
-  private final UnboundedProcessor<Frame> sendProcessor;
+  private final PrioritySendProcessor sendProcessor;
   private Disposable receiveDisposable;
 
   RSocketResponder(
       DuplexConnection connection, RSocket requestHandler, Consumer<Throwable> errorConsumer) {
+    this(connection, requestHandler, errorConsumer, PayloadDecoder.DEFAULT);
+  }
+
+  RSocketResponder(
+      DuplexConnection connection,
+      RSocket requestHandler,
+      Consumer<Throwable> errorConsumer,
+      PayloadDecoder payloadDecoder) {
+    this(connection, requestHandler, errorConsumer, payloadDecoder, connection.alloc());
+  }
+
+  RSocketResponder(
+      DuplexConnection connection,
+      RSocket requestHandler,
+      Consumer<Throwable> errorConsumer,
+      PayloadDecoder payloadDecoder,
+      ByteBufAllocator allocator) {
+    this(
+        connection,
+        requestHandler,
+        errorConsumer,
+        payloadDecoder,
+        allocator,
+        SendScheduler.fifo(),
+        new SendBufferWatermarks());
+  }
+
+  RSocketResponder(
+      DuplexConnection connection,
+      RSocket requestHandler,
+      Consumer<Throwable> errorConsumer,
+      PayloadDecoder payloadDecoder,
+      ByteBufAllocator allocator,
+      SendScheduler sendScheduler,
+      SendBufferWatermarks sendBufferWatermarks) {
     this.connection = connection;
     this.requestHandler = requestHandler;
     this.errorConsumer = errorConsumer;
-    this.sendingSubscriptions = new NonBlockingHashMapLong<>();
-    this.channelProcessors = new NonBlockingHashMapLong<>();
+    this.payloadDecoder = payloadDecoder;
+    this.allocator = allocator;
+    this.streams = new ActiveStreams<>();
 
     // DO NOT Change the order here. The Send processor must be subscribed to before receiving
     // connections
-    this.sendProcessor = new UnboundedProcessor<>();
+    this.sendProcessor =
+        new PrioritySendProcessor(
+            SendQueueMetrics.Side.RESPONDER, sendScheduler, sendBufferWatermarks);
 
     connection
         .send(sendProcessor)
@@ -79,21 +116,8 @@ class RSocketResponder implements RSocket {
   }
 
   private void handleSendProcessorError(Throwable t) {
-    for (Subscription subscription : sendingSubscriptions.values()) {
-      try {
-        subscription.cancel();
-      } catch (Throwable e) {
-        errorConsumer.accept(e);
-      }
-    }
-
-    for (UnicastProcessor subscription : channelProcessors.values()) {
-      try {
-        subscription.cancel();
-      } catch (Throwable e) {
-        errorConsumer.accept(e);
-      }
-    }
+    streams.forEachSender(this::cancel);
+    streams.forEachReceiver(this::cancel);
   }
 
   private void handleSendProcessorCancel(SignalType t) {
@@ -101,21 +125,8 @@ private void handleSendProcessorCancel(SignalType t) {
       return;
     }
 
-    for (Subscription subscription : sendingSubscriptions.values()) {
-      try {
-        subscription.cancel();
-      } catch (Throwable e) {
-        errorConsumer.accept(e);
-      }
-    }
-
-    for (UnicastProcessor subscription : channelProcessors.values()) {
-      try {
-        subscription.cancel();
-      } catch (Throwable e) {
-        errorConsumer.accept(e);
-      }
-    }
+    streams.forEachSender(this::cancel);
+    streams.forEachReceiver(this::cancel);
   }
 
   @Override
@@ -173,33 +184,48 @@ public Mono<Void> onClose() {
     return connection.onClose();
   }
 
+  SendQueueMetrics sendQueueMetrics() {
+    return sendProcessor;
+  }
+
   private void cleanup() {
     cleanUpSendingSubscriptions();
     cleanUpChannelProcessors();
+    streams.clear();
 
     requestHandler.close().subscribe();
   }
 
+  private void cancel(Subscription subscription) {
+    try {
+      subscription.cancel();
+    } catch (Throwable e) {
+      errorConsumer.accept(e);
+    }
+  }
+
   private synchronized void cleanUpSendingSubscriptions() {
-    sendingSubscriptions.values().forEach(Subscription::cancel);
-    sendingSubscriptions.clear();
+    streams.forEachSender(Subscription::cancel);
   }
 
   private synchronized void cleanUpChannelProcessors() {
-    channelProcessors.values().forEach(Subscription::cancel);
-    channelProcessors.clear();
+    streams.forEachReceiver(Subscription::cancel);
   }
 
   private void handleFrame(Frame frame) {
     try {
       int streamId = frame.getStreamId();
+      FrameType type = frame.getType();
+      if (streamId != 0 && type.isRequestType()) {
+        sendProcessor.onRequest(frame);
+      }
       Subscriber<Payload> receiver;
-      switch (frame.getType()) {
+      switch (type) {
         case FIRE_AND_FORGET:
-          handleFireAndForget(streamId, fireAndForget(new PayloadImpl(frame)));
+          handleFireAndForget(streamId, fireAndForget(payloadDecoder.apply(frame)));
           break;
         case REQUEST_RESPONSE:
-          handleRequestResponse(streamId, requestResponse(new PayloadImpl(frame)));
+          handleRequestResponse(streamId, requestResponse(payloadDecoder.apply(frame)));
           break;
         case CANCEL:
           handleCancelFrame(streamId);
@@ -213,7 +239,7 @@ private void handleFrame(Frame frame) {
         case REQUEST_STREAM:
           handleStream(
               streamId,
-              requestStream(new PayloadImpl(frame)),
+              requestStream(payloadDecoder.apply(frame)),
               Frame.Request.initialRequestN(frame));
           break;
         case REQUEST_CHANNEL:
@@ -223,32 +249,33 @@ private void handleFrame(Frame frame) {
           // TODO: Hook in receiving socket.
           break;
         case METADATA_PUSH:
-          metadataPush(new PayloadImpl(frame));
+          metadataPush(payloadDecoder.apply(frame));
           break;
         case LEASE:
           break;
         case NEXT:
-          receiver = channelProcessors.get(streamId);
+          receiver = streams.receiver(streamId);
           if (receiver != null) {
-            receiver.onNext(new PayloadImpl(frame));
+            receiver.onNext(payloadDecoder.apply(frame));
           }
           break;
         case COMPLETE:
-          receiver = channelProcessors.get(streamId);
+          receiver = streams.receiver(streamId);
           if (receiver != null) {
             receiver.onComplete();
           }
           break;
         case ERROR:
-          receiver = channelProcessors.get(streamId);
+          receiver = streams.receiver(streamId);
           if (receiver != null) {
             receiver.onError(new ApplicationException(Frame.Error.message(frame)));
           }
+          sendProcessor.onTerminate(streamId);
           break;
         case NEXT_COMPLETE:
-          receiver = channelProcessors.get(streamId);
+          receiver = streams.receiver(streamId);
           if (receiver != null) {
-            receiver.onNext(new PayloadImpl(frame));
+            receiver.onNext(payloadDecoder.apply(frame));
             receiver.onComplete();
           }
           break;
@@ -269,17 +296,14 @@ private void handleFrame(Frame frame) {
 
   private void handleFireAndForget(int streamId, Mono<Void> result) {
     result
-        .doFinally(signalType -> sendingSubscriptions.remove(streamId))
+        .doFinally(signalType -> streams.removeSender(streamId))
         .subscribe(
-            null,
-            errorConsumer,
-            null,
-            subscription -> sendingSubscriptions.put(streamId, subscription));
+            null, errorConsumer, null, subscription -> streams.putSender(streamId, subscription));
   }
 
   private void handleRequestResponse(int streamId, Mono<Payload> response) {
     response
-        .doOnSubscribe(subscription -> sendingSubscriptions.put(streamId, subscription))
+        .doOnSubscribe(subscription -> streams.putSender(streamId, subscription))
         .map(
             payload -> {
               int flags = FLAGS_C;
@@ -287,10 +311,12 @@ private void handleRequestResponse(int streamId, Mono<Payload> response) {
                 flags = Frame.setFlag(flags, FLAGS_M);
               }
               final Frame frame =
-                  Frame.PayloadFrame.from(streamId, FrameType.NEXT_COMPLETE, payload, flags);
+                  Frame.PayloadFrame.from(
+                      allocator, streamId, FrameType.NEXT_COMPLETE, payload, flags);
+              payload.release();
               return frame;
             })
-        .doFinally(signalType -> sendingSubscriptions.remove(streamId))
+        .doFinally(signalType -> streams.removeSender(streamId))
         .subscribe(sendProcessor::onNext, t -> handleError(streamId, t));
   }
 
@@ -298,61 +324,64 @@ private void handleStream(int streamId, Flux<Payload> response, int initialReque
     response
         .map(
             payload -> {
-              final Frame frame = Frame.PayloadFrame.from(streamId, FrameType.NEXT, payload);
+              final Frame frame =
+                  Frame.PayloadFrame.from(allocator, streamId, FrameType.NEXT, payload);
+              payload.release();
               return frame;
             })
         .transform(
             frameFlux -> {
-              LimitableRequestPublisher<Frame> frames = LimitableRequestPublisher.wrap(frameFlux);
-              sendingSubscriptions.put(streamId, frames);
+              LimitableRequestPublisher<Frame> frames =
+                  LimitableRequestPublisher.wrap(frameFlux, sendProcessor.watermarks());
+              streams.putSender(streamId, frames);
               frames.increaseRequestLimit(initialRequestN);
               return frames;
             })
-        .concatWith(Mono.just(Frame.PayloadFrame.from(streamId, FrameType.COMPLETE)))
-        .doFinally(signalType -> sendingSubscriptions.remove(streamId))
+        .concatWith(Mono.just(Frame.PayloadFrame.from(allocator, streamId, FrameType.COMPLETE)))
+        .doFinally(signalType -> streams.removeSender(streamId))
         .subscribe(sendProcessor::onNext, t -> handleError(streamId, t));
   }
 
   private void handleChannel(int streamId, Frame firstFrame) {
     UnicastProcessor<Payload> frames = UnicastProcessor.create();
-    channelProcessors.put(streamId, frames);
+    streams.putReceiver(streamId, frames);
 
     Flux<Payload> payloads =
         frames
-            .doOnCancel(() -> sendProcessor.onNext(Frame.Cancel.from(streamId)))
-            .doOnError(t -> sendProcessor.onNext(Frame.Error.from(streamId, t)))
-            .doOnRequest(l -> sendProcessor.onNext(Frame.RequestN.from(streamId, l)))
-            .doFinally(signalType -> channelProcessors.remove(streamId));
+            .doOnCancel(() -> sendProcessor.onNext(Frame.Cancel.from(allocator, streamId)))
+            .doOnError(t -> sendProcessor.onNext(Frame.Error.from(allocator, streamId, t)))
+            .doOnRequest(l -> sendProcessor.onNext(Frame.RequestN.from(allocator, streamId, l)))
+            .doFinally(signalType -> streams.removeReceiver(streamId));
 
     // not chained, as the payload should be enqueued in the Unicast processor before this method
     // returns
     // and any later payload can be processed
-    frames.onNext(new PayloadImpl(firstFrame));
+    frames.onNext(payloadDecoder.apply(firstFrame));
 
     handleStream(streamId, requestChannel(payloads), Frame.Request.initialRequestN(firstFrame));
   }
 
   private void handleKeepAliveFrame(Frame frame) {
     if (Frame.Keepalive.hasRespondFlag(frame)) {
-      ByteBuf data = Unpooled.wrappedBuffer(frame.getData());
-      sendProcessor.onNext(Frame.Keepalive.from(data, false));
+      sendProcessor.onNext(Frame.Keepalive.from(allocator, frame.sliceData(), false));
     }
   }
 
   private void handleCancelFrame(int streamId) {
-    Subscription subscription = sendingSubscriptions.remove(streamId);
+    Subscription subscription = streams.removeSender(streamId);
     if (subscription != null) {
       subscription.cancel();
     }
+    sendProcessor.onTerminate(streamId);
   }
 
   private void handleError(int streamId, Throwable t) {
     errorConsumer.accept(t);
-    sendProcessor.onNext(Frame.Error.from(streamId, t));
+    sendProcessor.onNext(Frame.Error.from(allocator, streamId, t));
   }
 
   private void handleRequestN(int streamId, Frame frame) {
-    final Subscription subscription = sendingSubscriptions.get(streamId);
+    final Subscription subscription = streams.sender(streamId);
     if (subscription != null) {
       int n = Frame.RequestN.requestN(frame);
       subscription.request(n >= Integer.MAX_VALUE ? Long.MAX_VALUE : n);
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket;
+
+/** Occupancy of outbound frames queue of requester or responder */
+public interface SendQueueMetrics {
+
+  Side side();
+
+  /** @return frames waiting in control lane: stream 0, REQUEST_N, CANCEL and ERROR frames */
+  int controlLaneSize();
+
+  /** @return frames waiting in data lane */
+  int dataLaneSize();
+
+  /** @return total frames sent from control lane */
+  long controlFrames();
+
+  /** @return total frames sent from data lane */
+  long dataFrames();
+
+  /** @return bytes of frames waiting in both lanes */
+  long bufferedBytes();
+
+  enum Side {
+    REQUESTER,
+    RESPONDER
+  }
+}
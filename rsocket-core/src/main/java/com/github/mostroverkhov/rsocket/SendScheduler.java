@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket;
+
+import com.github.mostroverkhov.rsocket.internal.FifoSendScheduler;
+import com.github.mostroverkhov.rsocket.internal.WeightedRoundRobinSendScheduler;
+import java.util.function.ToIntFunction;
+import javax.annotation.Nullable;
+
+/**
+ * Orders payload frames of multiplexed streams before they are sent. Frames are offered from any
+ * thread, and polled by single draining thread. Frames of one stream must be polled in offered
+ * order
+ */
+public interface SendScheduler {
+
+  boolean offer(Frame frame);
+
+  @Nullable
+  Frame poll();
+
+  int size();
+
+  default boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Called with request frame of each stream: sent one for requester, received one for responder,
+   * before any frame of that stream is offered. Request frame must not be retained
+   */
+  default void onRequest(Frame requestFrame) {}
+
+  /**
+   * Called when stream is not going to offer frames anymore: after its terminal frame is offered,
+   * or when it is cancelled or failed by peer. Frames of that stream offered earlier are still
+   * polled
+   */
+  default void onTerminate(int streamId) {}
+
+  /** @return single queue for frames of all streams */
+  static SendScheduler fifo() {
+    return new FifoSendScheduler();
+  }
+
+  /** @return round robin between streams, each stream sends 1 frame per round */
+  static SendScheduler roundRobin() {
+    return new WeightedRoundRobinSendScheduler(requestFrame -> 1);
+  }
+
+  /**
+   * @param weights weight of stream from its request frame, e.g. priority from request metadata
+   * @return round robin between streams, each stream sends up to weight frames per round
+   */
+  static SendScheduler weightedRoundRobin(ToIntFunction<Frame> weights) {
+    return new WeightedRoundRobinSendScheduler(weights);
+  }
+}
@@ -16,28 +16,66 @@
 
 package com.github.mostroverkhov.rsocket;
 
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.IntPredicate;
+
+/**
+ * Lock-free allocator of stream ids of single parity. Once id space is exhausted, allocation wraps
+ * around and skips ids which are still active.
+ */
 final class StreamIdSupplier {
+  private static final int MAX_STREAM_ID = Integer.MAX_VALUE;
+
+  private static final AtomicLongFieldUpdater<StreamIdSupplier> ISSUED =
+      AtomicLongFieldUpdater.newUpdater(StreamIdSupplier.class, "issued");
+
+  private final int initialStreamId;
+  private final long idsPerCycle;
+  /*total number of ids issued, never wraps*/
+  private volatile long issued;
 
-  private int streamId;
+  StreamIdSupplier(int initialStreamId, int maxStreamId) {
+    this.initialStreamId = initialStreamId;
+    this.idsPerCycle = ((long) maxStreamId - initialStreamId) / 2;
+  }
+
+  int nextStreamId() {
+    return nextStreamId(streamId -> false);
+  }
 
-  private StreamIdSupplier(int streamId) {
-    this.streamId = streamId;
+  int nextStreamId(IntPredicate isActive) {
+    for (long skipped = 0; skipped < idsPerCycle; skipped++) {
+      long n = ISSUED.incrementAndGet(this);
+      int streamId = streamId(n);
+      if (n <= idsPerCycle || !isActive.test(streamId)) {
+        return streamId;
+      }
+    }
+    throw new IllegalStateException("No stream ids available");
   }
 
-  synchronized int nextStreamId() {
-    streamId += 2;
-    return streamId;
+  /**
+   * @return true if stream id was issued by this supplier, or is of other parity and not greater
+   *     than last issued one. After wraparound every positive stream id was issued, so frames of
+   *     recycled ids are still recognized as late frames
+   */
+  boolean isBeforeOrCurrent(int streamId) {
+    long n = issued;
+    return streamId > 0 && (n > idsPerCycle || streamId <= streamId(n));
   }
 
-  synchronized boolean isBeforeOrCurrent(int streamId) {
-    return this.streamId >= streamId && streamId > 0;
+  private int streamId(long n) {
+    if (n == 0) {
+      return initialStreamId;
+    }
+    return (int) (initialStreamId + 2 * ((n - 1) % idsPerCycle + 1));
   }
 
   static StreamIdSupplier clientSupplier() {
-    return new StreamIdSupplier(-1);
+    return new StreamIdSupplier(-1, MAX_STREAM_ID);
   }
 
   static StreamIdSupplier serverSupplier() {
-    return new StreamIdSupplier(0);
+    return new StreamIdSupplier(0, MAX_STREAM_ID);
   }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket;
+
+import javax.annotation.Nullable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Single entry of {@link ActiveStreams}: receiver of inbound payloads, sender of outbound ones.
+ * Streams with dedicated operator may extend it to register themselves
+ */
+class StreamState<R extends Subscriber<Payload>> {
+  volatile @Nullable R receiver;
+  volatile @Nullable Subscription sender;
+
+  boolean isEmpty() {
+    return receiver == null && sender == null;
+  }
+}
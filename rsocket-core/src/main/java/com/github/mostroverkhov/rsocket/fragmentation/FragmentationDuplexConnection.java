@@ -19,6 +19,7 @@
 import com.github.mostroverkhov.rsocket.DuplexConnection;
 import com.github.mostroverkhov.rsocket.Frame;
 import com.github.mostroverkhov.rsocket.frame.FrameHeaderFlyweight;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.util.collection.IntObjectHashMap;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -33,7 +34,7 @@ public class FragmentationDuplexConnection implements DuplexConnection {
 
   public FragmentationDuplexConnection(DuplexConnection source, int mtu) {
     this.source = source;
-    this.frameFragmenter = new FrameFragmenter(mtu);
+    this.frameFragmenter = new FrameFragmenter(mtu, source.alloc());
   }
 
   public static int getDefaultMTU() {
@@ -49,6 +50,11 @@ public double availability() {
     return source.availability();
   }
 
+  @Override
+  public ByteBufAllocator alloc() {
+    return source.alloc();
+  }
+
   @Override
   public Mono<Void> send(Publisher<Frame> frames) {
     return Flux.from(frames).concatMap(this::sendOne).then();
@@ -18,7 +18,6 @@
 
 import com.github.mostroverkhov.rsocket.Frame;
 import com.github.mostroverkhov.rsocket.FrameType;
-import com.github.mostroverkhov.rsocket.frame.FrameHeaderFlyweight;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
@@ -41,21 +40,13 @@ public FrameReassembler(Frame frame) {
   }
 
   public synchronized void append(Frame frame) {
-    final ByteBuf byteBuf = frame.content();
-    final FrameType frameType = FrameHeaderFlyweight.frameType(byteBuf);
-    final int frameLength = FrameHeaderFlyweight.frameLength(byteBuf);
-    final int metadataLength = FrameHeaderFlyweight.metadataLength(byteBuf, frameType, frameLength);
-    final int dataLength = FrameHeaderFlyweight.dataLength(byteBuf, frameType);
-    if (0 < metadataLength) {
-      int metadataOffset = FrameHeaderFlyweight.metadataOffset(byteBuf);
-      if (FrameHeaderFlyweight.hasMetadataLengthField(frameType)) {
-        metadataOffset += FrameHeaderFlyweight.FRAME_LENGTH_SIZE;
-      }
-      metadataBuffer.addComponent(true, byteBuf.retainedSlice(metadataOffset, metadataLength));
+    final ByteBuf metadata = frame.sliceMetadata();
+    if (metadata.isReadable()) {
+      metadataBuffer.addComponent(true, metadata.retain());
     }
-    if (0 < dataLength) {
-      final int dataOffset = FrameHeaderFlyweight.dataOffset(byteBuf, frameType, frameLength);
-      dataBuffer.addComponent(true, byteBuf.retainedSlice(dataOffset, dataLength));
+    final ByteBuf data = frame.sliceData();
+    if (data.isReadable()) {
+      dataBuffer.addComponent(true, data.retain());
     }
   }
 
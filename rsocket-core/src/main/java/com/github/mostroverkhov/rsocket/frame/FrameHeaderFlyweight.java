@@ -132,13 +132,41 @@ public static int encode(
       final FrameType frameType,
       final @Nullable ByteBuf metadata,
       final ByteBuf data) {
-    if (Frame.isFlagSet(flags, FLAGS_M) != (metadata != null)) {
+    int length =
+        encodeHeader(
+            byteBuf,
+            streamId,
+            flags,
+            frameType,
+            metadata != null ? metadata.readableBytes() : null,
+            data.readableBytes());
+
+    if (metadata != null) {
+      length += encodeData(byteBuf, length, metadata);
+    }
+    length += encodeData(byteBuf, length, data);
+
+    return length;
+  }
+
+  /**
+   * Encodes frame header and metadata length field, but not metadata and data themselves. Frame
+   * length accounts for both, so they must follow the header as separate buffers.
+   *
+   * @return length of encoded header
+   */
+  public static int encodeHeader(
+      final ByteBuf byteBuf,
+      final int streamId,
+      int flags,
+      final FrameType frameType,
+      final @Nullable Integer metadataLength,
+      final int dataLength) {
+    if (Frame.isFlagSet(flags, FLAGS_M) != (metadataLength != null)) {
       throw new IllegalStateException("bad value for metadata flag");
     }
 
-    final int frameLength =
-        computeFrameHeaderLength(
-            frameType, metadata != null ? metadata.readableBytes() : null, data.readableBytes());
+    final int frameLength = computeFrameHeaderLength(frameType, metadataLength, dataLength);
 
     final FrameType outFrameType;
     switch (frameType) {
@@ -163,13 +191,34 @@ public static int encode(
     }
 
     int length = encodeFrameHeader(byteBuf, frameLength, flags, outFrameType, streamId);
+    length += encodeMetadataLength(byteBuf, frameType, length, metadataLength);
 
-    length += encodeMetadata(byteBuf, frameType, length, metadata);
-    length += encodeData(byteBuf, length, data);
+    return length;
+  }
 
+  /** Length of header written by {@link #encodeHeader}. */
+  public static int computeHeaderLength(
+      final FrameType frameType, final @Nullable Integer metadataLength) {
+    return PAYLOAD_OFFSET + computeMetadataLengthFieldLength(frameType, metadataLength);
+  }
+
+  public static int encodeMetadataLength(
+      final ByteBuf byteBuf,
+      final FrameType frameType,
+      final int metadataOffset,
+      final @Nullable Integer metadataLength) {
+    final int length = computeMetadataLengthFieldLength(frameType, metadataLength);
+    if (length > 0) {
+      encodeLength(byteBuf, metadataOffset, metadataLength);
+    }
     return length;
   }
 
+  static int computeMetadataLengthFieldLength(
+      final FrameType frameType, final @Nullable Integer metadataLength) {
+    return metadataLength != null && hasMetadataLengthField(frameType) ? FRAME_LENGTH_SIZE : 0;
+  }
+
   public static int flags(final ByteBuf byteBuf) {
     short typeAndFlags = byteBuf.getShort(FRAME_TYPE_AND_FLAGS_FIELD_OFFSET);
     return typeAndFlags & FRAME_FLAGS_MASK;
@@ -290,7 +339,7 @@ public static void encodeLength(final ByteBuf byteBuf, final int offset, final i
     byteBuf.setByte(offset + 2, length);
   }
 
-  private static int decodeLength(final ByteBuf byteBuf, final int offset) {
+  public static int decodeLength(final ByteBuf byteBuf, final int offset) {
     int length = (byteBuf.getByte(offset) & 0xFF) << 16;
     length |= (byteBuf.getByte(offset + 1) & 0xFF) << 8;
     length |= byteBuf.getByte(offset + 2) & 0xFF;
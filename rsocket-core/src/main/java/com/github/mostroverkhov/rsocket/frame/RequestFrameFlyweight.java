@@ -47,13 +47,57 @@ public static int encode(
       final int initialRequestN,
       final @Nullable ByteBuf metadata,
       final ByteBuf data) {
-    if (Frame.isFlagSet(flags, FrameHeaderFlyweight.FLAGS_M) != (metadata != null)) {
+    int length =
+        encodeHeader(
+            byteBuf,
+            streamId,
+            flags,
+            type,
+            initialRequestN,
+            metadata != null ? metadata.readableBytes() : null,
+            data.readableBytes());
+
+    return encodePayload(byteBuf, length, metadata, data);
+  }
+
+  public static int encode(
+      final ByteBuf byteBuf,
+      final int streamId,
+      final int flags,
+      final FrameType type,
+      final @Nullable ByteBuf metadata,
+      final ByteBuf data) {
+    int length =
+        encodeHeader(
+            byteBuf,
+            streamId,
+            flags,
+            type,
+            metadata != null ? metadata.readableBytes() : null,
+            data.readableBytes());
+
+    return encodePayload(byteBuf, length, metadata, data);
+  }
+
+  /**
+   * Encodes request frame header, initial request N and metadata length field. Metadata and data
+   * must follow as separate buffers.
+   *
+   * @return length of encoded header
+   */
+  public static int encodeHeader(
+      final ByteBuf byteBuf,
+      final int streamId,
+      int flags,
+      final FrameType type,
+      final int initialRequestN,
+      final @Nullable Integer metadataLength,
+      final int dataLength) {
+    if (Frame.isFlagSet(flags, FrameHeaderFlyweight.FLAGS_M) != (metadataLength != null)) {
       throw new IllegalArgumentException("metadata flag set incorrectly");
     }
 
-    final int frameLength =
-        computeFrameLength(
-            type, metadata != null ? metadata.readableBytes() : null, data.readableBytes());
+    final int frameLength = computeFrameLength(type, metadataLength, dataLength);
 
     int length =
         FrameHeaderFlyweight.encodeFrameHeader(byteBuf, frameLength, flags, type, streamId);
@@ -61,33 +105,57 @@ public static int encode(
     byteBuf.setInt(INITIAL_REQUEST_N_FIELD_OFFSET, initialRequestN);
     length += Integer.BYTES;
 
-    length += FrameHeaderFlyweight.encodeMetadata(byteBuf, type, length, metadata);
-    length += FrameHeaderFlyweight.encodeData(byteBuf, length, data);
+    length += FrameHeaderFlyweight.encodeMetadataLength(byteBuf, type, length, metadataLength);
 
     return length;
   }
 
-  public static int encode(
+  /**
+   * Encodes request frame header and metadata length field, for types without initial request N.
+   * Metadata and data must follow as separate buffers.
+   *
+   * @return length of encoded header
+   */
+  public static int encodeHeader(
       final ByteBuf byteBuf,
       final int streamId,
       final int flags,
       final FrameType type,
-      final @Nullable ByteBuf metadata,
-      final ByteBuf data) {
-    if (Frame.isFlagSet(flags, FrameHeaderFlyweight.FLAGS_M) != (metadata != null)) {
+      final @Nullable Integer metadataLength,
+      final int dataLength) {
+    if (Frame.isFlagSet(flags, FrameHeaderFlyweight.FLAGS_M) != (metadataLength != null)) {
       throw new IllegalArgumentException("metadata flag set incorrectly");
     }
     if (type.hasInitialRequestN()) {
       throw new AssertionError(type + " must not be encoded without initial request N");
     }
-    final int frameLength =
-        computeFrameLength(
-            type, metadata != null ? metadata.readableBytes() : null, data.readableBytes());
+    final int frameLength = computeFrameLength(type, metadataLength, dataLength);
 
     int length =
         FrameHeaderFlyweight.encodeFrameHeader(byteBuf, frameLength, flags, type, streamId);
 
-    length += FrameHeaderFlyweight.encodeMetadata(byteBuf, type, length, metadata);
+    length += FrameHeaderFlyweight.encodeMetadataLength(byteBuf, type, length, metadataLength);
+
+    return length;
+  }
+
+  /** Length of header written by {@code encodeHeader}. */
+  public static int computeHeaderLength(
+      final FrameType type, final @Nullable Integer metadataLength) {
+    int length = FrameHeaderFlyweight.computeHeaderLength(type, metadataLength);
+
+    if (type.hasInitialRequestN()) {
+      length += Integer.BYTES;
+    }
+
+    return length;
+  }
+
+  private static int encodePayload(
+      final ByteBuf byteBuf, int length, final @Nullable ByteBuf metadata, final ByteBuf data) {
+    if (metadata != null) {
+      length += FrameHeaderFlyweight.encodeData(byteBuf, length, metadata);
+    }
     length += FrameHeaderFlyweight.encodeData(byteBuf, length, data);
 
     return length;
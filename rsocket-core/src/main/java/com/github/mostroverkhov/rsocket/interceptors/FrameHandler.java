@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.interceptors;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import javax.annotation.Nullable;
+
+/**
+ * Synchronous per-frame hook. Handlers of frame handler interceptors registered one after another
+ * are fused into single pipeline stage per direction, see {@link FrameHandlerInterceptor}.
+ *
+ * <p>Handler passes frame by returning it, replaces frame by returning other one, or consumes frame
+ * by returning {@code null}. Handler which replaces or consumes frame is responsible for releasing
+ * it.
+ */
+public interface FrameHandler {
+
+  @Nullable
+  default Frame onInbound(Frame frame) {
+    return frame;
+  }
+
+  @Nullable
+  default Frame onOutbound(Frame frame) {
+    return frame;
+  }
+}
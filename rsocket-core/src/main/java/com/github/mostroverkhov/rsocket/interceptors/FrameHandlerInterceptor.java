@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.interceptors;
+
+import com.github.mostroverkhov.rsocket.DuplexConnection;
+import com.github.mostroverkhov.rsocket.internal.FrameHandlerConnection;
+import java.util.Collections;
+import java.util.function.BiFunction;
+
+/**
+ * Creates {@link FrameHandler} for given connection type, or returns {@code null} if type is not
+ * intercepted. Given connection is the stage of handler, so frames sent to it by handler pass
+ * outbound path of all handlers of the stage, including this one
+ */
+public @FunctionalInterface interface FrameHandlerInterceptor
+    extends BiFunction<DuplexConnectionInterceptor.Type, DuplexConnection, FrameHandler> {
+
+  /** @return interceptor which applies handlers of this interceptor as separate stage */
+  default DuplexConnectionInterceptor asConnectionInterceptor() {
+    return (type, connection) ->
+        FrameHandlerConnection.create(type, connection, Collections.singletonList(this));
+  }
+}
@@ -43,6 +43,11 @@ public InterceptorFactory headInterceptorSet(Supplier<InterceptorSet> intercepto
     return this;
   }
 
+  public InterceptorFactory addFrameHandlerInterceptor(FrameHandlerInterceptor interceptor) {
+    tailInterceptorSet(() -> new InterceptorSet().frameHandler(interceptor));
+    return this;
+  }
+
   public InterceptorFactory addConnectionInterceptor(DuplexConnectionInterceptor interceptor) {
     tailInterceptorSet(() -> new InterceptorSet().connection(interceptor));
     return this;
@@ -63,6 +68,7 @@ public InterceptorRegistry create() {
     interceptors.forEach(
         interceptorF -> {
           InterceptorSet interceptorSet = interceptorF.get();
+          interceptorSet.frameHandlerInterceptors.forEach(registry::addFrameHandlerInterceptor);
           interceptorSet.connInterceptors.forEach(registry::addConnectionInterceptor);
           interceptorSet.requesterInterceptors.forEach(registry::addRequesterInterceptor);
           interceptorSet.handlerInterceptors.forEach(registry::addHandlerInterceptor);
@@ -71,10 +77,16 @@ public InterceptorRegistry create() {
   }
 
   public static class InterceptorSet {
+    private final List<FrameHandlerInterceptor> frameHandlerInterceptors = new ArrayList<>();
     private final List<DuplexConnectionInterceptor> connInterceptors = new ArrayList<>();
     private final List<RSocketInterceptor> requesterInterceptors = new ArrayList<>();
     private final List<RSocketInterceptor> handlerInterceptors = new ArrayList<>();
 
+    public InterceptorSet frameHandler(FrameHandlerInterceptor interceptor) {
+      frameHandlerInterceptors.add(interceptor);
+      return this;
+    }
+
     public InterceptorSet connection(DuplexConnectionInterceptor interceptor) {
       connInterceptors.add(interceptor);
       return this;
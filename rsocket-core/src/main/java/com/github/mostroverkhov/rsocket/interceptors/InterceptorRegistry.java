@@ -18,9 +18,15 @@
 
 import com.github.mostroverkhov.rsocket.DuplexConnection;
 import com.github.mostroverkhov.rsocket.RSocket;
+import com.github.mostroverkhov.rsocket.internal.FrameHandlerConnection;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Connection and frame handler interceptors are applied in registration order: first registered
+ * one is closest to transport. Frame handlers of adjacent frame handler interceptors are fused into
+ * single stage, see {@link FrameHandlerConnection}
+ */
 public class InterceptorRegistry {
   private final List<DuplexConnectionInterceptor> connections = new ArrayList<>();
   private final List<RSocketInterceptor> requesters = new ArrayList<>();
@@ -28,6 +34,17 @@ public class InterceptorRegistry {
 
   public InterceptorRegistry() {}
 
+  public void addFrameHandlerInterceptor(FrameHandlerInterceptor interceptor) {
+    int last = connections.size() - 1;
+    if (last >= 0 && connections.get(last) instanceof FrameHandlerStage) {
+      ((FrameHandlerStage) connections.get(last)).interceptors.add(interceptor);
+    } else {
+      FrameHandlerStage stage = new FrameHandlerStage();
+      stage.interceptors.add(interceptor);
+      connections.add(stage);
+    }
+  }
+
   public void addConnectionInterceptor(DuplexConnectionInterceptor interceptor) {
     connections.add(interceptor);
   }
@@ -62,4 +79,15 @@ public DuplexConnection interceptConnection(
     }
     return connection;
   }
+
+  /*frame handler interceptors registered one after another*/
+  private static final class FrameHandlerStage implements DuplexConnectionInterceptor {
+    private final List<FrameHandlerInterceptor> interceptors = new ArrayList<>();
+
+    @Override
+    public DuplexConnection apply(
+        DuplexConnectionInterceptor.Type type, DuplexConnection connection) {
+      return FrameHandlerConnection.create(type, connection, interceptors);
+    }
+  }
 }
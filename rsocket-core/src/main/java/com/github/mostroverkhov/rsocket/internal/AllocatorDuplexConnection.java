@@ -14,30 +14,23 @@
  *  limitations under the License.
  */
 
-package com.github.mostroverkhov.rsocket.lease;
+package com.github.mostroverkhov.rsocket.internal;
 
 import com.github.mostroverkhov.rsocket.DuplexConnection;
 import com.github.mostroverkhov.rsocket.DuplexConnectionProxy;
-import com.github.mostroverkhov.rsocket.Frame;
-import com.github.mostroverkhov.rsocket.FrameType;
-import reactor.core.publisher.Flux;
+import io.netty.buffer.ByteBufAllocator;
 
-class ServerLeaseEnablingConnection extends DuplexConnectionProxy {
-  private final LeaseContext leaseContext;
+/** Overrides {@link ByteBufAllocator} of source connection with one configured on RSocketFactory */
+public class AllocatorDuplexConnection extends DuplexConnectionProxy {
+  private final ByteBufAllocator allocator;
 
-  public ServerLeaseEnablingConnection(
-      DuplexConnection setupConnection, LeaseContext leaseContext) {
-    super(setupConnection);
-    this.leaseContext = leaseContext;
+  public AllocatorDuplexConnection(DuplexConnection source, ByteBufAllocator allocator) {
+    super(source);
+    this.allocator = allocator;
   }
 
   @Override
-  public Flux<Frame> receive() {
-    return super.receive()
-        .doOnNext(
-            f -> {
-              boolean enabled = f.getType().equals(FrameType.SETUP) && Frame.Setup.supportsLease(f);
-              leaseContext.leaseEnabled(enabled);
-            });
+  public ByteBufAllocator alloc() {
+    return allocator;
   }
 }
@@ -21,12 +21,12 @@
 import com.github.mostroverkhov.rsocket.FrameType;
 import com.github.mostroverkhov.rsocket.interceptors.DuplexConnectionInterceptor;
 import com.github.mostroverkhov.rsocket.interceptors.InterceptorRegistry;
+import io.netty.buffer.ByteBufAllocator;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoProcessor;
 
 /**
  * {@link DuplexConnection#receive()} is a single stream on which the following type of frames
@@ -40,6 +40,9 @@
  * <p>The only way to differentiate these two frames is determining whether the stream Id is odd or
  * even. Even IDs are for the streams initiated by server and odds are for streams initiated by the
  * client.
+ *
+ * <p>Frames are routed on receiving thread straight to subscriber of respective connection, see
+ * {@link FrameRoute}.
  */
 public class ConnectionDemux {
   private static final Logger LOGGER =
@@ -53,10 +56,10 @@ public class ConnectionDemux {
 
   public ConnectionDemux(DuplexConnection source, InterceptorRegistry interceptors) {
     this.source = source;
-    final MonoProcessor<Flux<Frame>> streamInit = MonoProcessor.create();
-    final MonoProcessor<Flux<Frame>> streamZero = MonoProcessor.create();
-    final MonoProcessor<Flux<Frame>> server = MonoProcessor.create();
-    final MonoProcessor<Flux<Frame>> client = MonoProcessor.create();
+    final FrameRoute streamInit = new FrameRoute();
+    final FrameRoute streamZero = new FrameRoute();
+    final FrameRoute server = new FrameRoute();
+    final FrameRoute client = new FrameRoute();
 
     source = interceptors.interceptConnection(DuplexConnectionInterceptor.Type.SOURCE, source);
     initConnection =
@@ -76,40 +79,32 @@ public ConnectionDemux(DuplexConnection source, InterceptorRegistry interceptors
 
     source
         .receive()
-        .groupBy(
+        .subscribe(
             frame -> {
               int streamId = frame.getStreamId();
-              final DuplexConnectionInterceptor.Type type;
               if (streamId == 0) {
                 if (isInitFrame(frame)) {
-                  type = DuplexConnectionInterceptor.Type.INIT;
+                  streamInit.onNext(frame);
                 } else {
-                  type = DuplexConnectionInterceptor.Type.STREAM_ZERO;
+                  streamZero.onNext(frame);
                 }
               } else if ((streamId & 0b1) == 0) {
-                type = DuplexConnectionInterceptor.Type.SERVER;
+                server.onNext(frame);
               } else {
-                type = DuplexConnectionInterceptor.Type.CLIENT;
-              }
-              return type;
-            })
-        .subscribe(
-            group -> {
-              switch (group.key()) {
-                case STREAM_ZERO:
-                  streamZero.onNext(group);
-                  break;
-
-                case SERVER:
-                  server.onNext(group);
-                  break;
-
-                case CLIENT:
-                  client.onNext(group);
-                  break;
-                case INIT:
-                  streamInit.onNext(group);
+                client.onNext(frame);
               }
+            },
+            err -> {
+              streamInit.onError(err);
+              streamZero.onError(err);
+              server.onError(err);
+              client.onError(err);
+            },
+            () -> {
+              streamInit.onComplete();
+              streamZero.onComplete();
+              server.onComplete();
+              client.onComplete();
             });
   }
 
@@ -141,18 +136,22 @@ public Mono<Void> close() {
     return source.close();
   }
 
+  public ByteBufAllocator alloc() {
+    return source.alloc();
+  }
+
   private static boolean isInitFrame(Frame frame) {
     return frame.getType() == FrameType.SETUP;
   }
 
   private static class InternalDuplexConnection implements DuplexConnection {
     private final DuplexConnection source;
-    private final MonoProcessor<Flux<Frame>> processor;
+    private final FrameRoute route;
     private final boolean debugEnabled;
 
-    public InternalDuplexConnection(DuplexConnection source, MonoProcessor<Flux<Frame>> processor) {
+    public InternalDuplexConnection(DuplexConnection source, FrameRoute route) {
       this.source = source;
-      this.processor = processor;
+      this.route = route;
       this.debugEnabled = LOGGER.isDebugEnabled();
     }
 
@@ -176,14 +175,11 @@ public Mono<Void> sendOne(Frame frame) {
 
     @Override
     public Flux<Frame> receive() {
-      return processor.flatMapMany(
-          f -> {
-            if (debugEnabled) {
-              return f.doOnNext(frame -> LOGGER.debug("receiving -> " + frame.toString()));
-            } else {
-              return f;
-            }
-          });
+      if (debugEnabled) {
+        return route.doOnNext(frame -> LOGGER.debug("receiving -> " + frame.toString()));
+      } else {
+        return route;
+      }
     }
 
     @Override
@@ -200,5 +196,10 @@ public Mono<Void> onClose() {
     public double availability() {
       return source.availability();
     }
+
+    @Override
+    public ByteBufAllocator alloc() {
+      return source.alloc();
+    }
   }
 }
@@ -17,15 +17,17 @@
 package com.github.mostroverkhov.rsocket.internal;
 
 import com.github.mostroverkhov.rsocket.DuplexConnection;
-import com.github.mostroverkhov.rsocket.interceptors.DuplexConnectionInterceptor;
+import com.github.mostroverkhov.rsocket.interceptors.DuplexConnectionInterceptor.Type;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandler;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandlerInterceptor;
 
-public class ConnectionErrorInterceptor implements DuplexConnectionInterceptor {
+public class ConnectionErrorInterceptor implements FrameHandlerInterceptor {
   @Override
-  public DuplexConnection apply(Type type, DuplexConnection connection) {
+  public FrameHandler apply(Type type, DuplexConnection connection) {
     if (type == Type.STREAM_ZERO) {
-      return new ZeroErrorHandlingConnection(connection);
+      return ZeroErrorFrameHandler.INSTANCE;
     } else {
-      return connection;
+      return null;
     }
   }
 }
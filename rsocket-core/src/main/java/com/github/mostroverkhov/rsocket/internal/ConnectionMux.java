@@ -20,6 +20,7 @@
 
 import com.github.mostroverkhov.rsocket.DuplexConnection;
 import com.github.mostroverkhov.rsocket.Frame;
+import io.netty.buffer.ByteBufAllocator;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
@@ -51,6 +52,11 @@ public double availability() {
     return sender.availability();
   }
 
+  @Override
+  public ByteBufAllocator alloc() {
+    return sender.alloc();
+  }
+
   @Override
   public Mono<Void> close() {
     return whenCompleted(DuplexConnection::close);
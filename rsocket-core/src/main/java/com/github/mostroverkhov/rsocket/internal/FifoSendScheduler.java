@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.internal;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.SendScheduler;
+import io.netty.util.internal.shaded.org.jctools.queues.atomic.MpscGrowableAtomicArrayQueue;
+import java.util.Queue;
+import javax.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+
+/** Frames of all streams are sent in offered order */
+public final class FifoSendScheduler implements SendScheduler {
+  private final Queue<Frame> queue =
+      new MpscGrowableAtomicArrayQueue<>(Queues.SMALL_BUFFER_SIZE, 1 << 24);
+
+  @Override
+  public boolean offer(Frame frame) {
+    return queue.offer(frame);
+  }
+
+  @Nullable
+  @Override
+  public Frame poll() {
+    return queue.poll();
+  }
+
+  @Override
+  public int size() {
+    return queue.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return queue.isEmpty();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.internal;
+
+import com.github.mostroverkhov.rsocket.DuplexConnection;
+import com.github.mostroverkhov.rsocket.DuplexConnectionProxy;
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.interceptors.DuplexConnectionInterceptor;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandler;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandlerInterceptor;
+import java.util.ArrayList;
+import java.util.List;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+
+/**
+ * Applies {@link FrameHandler}s with single operator per direction. Inbound frames are passed to
+ * handlers in order, outbound frames in reverse order - same as nested connection wrappers would
+ * see them
+ */
+public class FrameHandlerConnection extends DuplexConnectionProxy {
+  /*set once handlers of interceptors are created, see create()*/
+  private volatile FrameHandler[] handlers;
+
+  public FrameHandlerConnection(DuplexConnection source, FrameHandler... handlers) {
+    super(source);
+    this.handlers = handlers;
+  }
+
+  /**
+   * Creates stage with handlers of given interceptors. Interceptors are given this stage as
+   * connection, so frames sent by handlers pass outbound path of every handler of the stage
+   *
+   * @param type type of connection
+   * @param source connection beneath the stage
+   * @param interceptors interceptors creating handlers, in order of inbound path
+   * @return stage, or source if none of interceptors handles connection type
+   */
+  public static DuplexConnection create(
+      DuplexConnectionInterceptor.Type type,
+      DuplexConnection source,
+      List<FrameHandlerInterceptor> interceptors) {
+    FrameHandlerConnection stage = new FrameHandlerConnection(source);
+    List<FrameHandler> handlers = new ArrayList<>(interceptors.size());
+    for (FrameHandlerInterceptor interceptor : interceptors) {
+      FrameHandler handler = interceptor.apply(type, stage);
+      if (handler != null) {
+        handlers.add(handler);
+      }
+    }
+    if (handlers.isEmpty()) {
+      return source;
+    }
+    stage.handlers = handlers.toArray(new FrameHandler[0]);
+    return stage;
+  }
+
+  @Override
+  public Mono<Void> send(Publisher<Frame> frames) {
+    return super.send(Flux.from(frames).handle(this::outbound));
+  }
+
+  @Override
+  public Flux<Frame> receive() {
+    return super.receive().handle(this::inbound);
+  }
+
+  private void inbound(Frame frame, SynchronousSink<Frame> sink) {
+    FrameHandler[] hs = handlers;
+    for (int i = 0; i < hs.length; i++) {
+      frame = hs[i].onInbound(frame);
+      if (frame == null) {
+        return;
+      }
+    }
+    sink.next(frame);
+  }
+
+  private void outbound(Frame frame, SynchronousSink<Frame> sink) {
+    FrameHandler[] hs = handlers;
+    for (int i = hs.length - 1; i >= 0; i--) {
+      frame = hs[i].onOutbound(frame);
+      if (frame == null) {
+        return;
+      }
+    }
+    sink.next(frame);
+  }
+}
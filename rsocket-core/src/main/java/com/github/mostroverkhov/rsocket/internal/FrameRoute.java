@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.internal;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.util.concurrent.Queues;
+import reactor.util.context.Context;
+
+/**
+ * Frames of single stream class routed by {@link ConnectionDemux}. Frame is passed to subscriber
+ * directly on receiving thread, and queued only while there is no subscriber or demand for it.
+ *
+ * <p>Allows only a single subscriber. Frames arriving after subscriber cancelled are released.
+ */
+final class FrameRoute extends Flux<Frame> implements Subscription {
+
+  static final AtomicIntegerFieldUpdater<FrameRoute> ONCE =
+      AtomicIntegerFieldUpdater.newUpdater(FrameRoute.class, "once");
+
+  static final AtomicIntegerFieldUpdater<FrameRoute> WIP =
+      AtomicIntegerFieldUpdater.newUpdater(FrameRoute.class, "wip");
+
+  static final AtomicLongFieldUpdater<FrameRoute> REQUESTED =
+      AtomicLongFieldUpdater.newUpdater(FrameRoute.class, "requested");
+
+  /*single producer: connection receive thread*/
+  final Queue<Frame> queue = Queues.<Frame>unbounded(Queues.XS_BUFFER_SIZE).get();
+
+  volatile CoreSubscriber<? super Frame> actual;
+  volatile boolean done;
+  Throwable error;
+  volatile boolean cancelled;
+  volatile int once;
+  volatile int wip;
+  volatile long requested;
+
+  void onNext(Frame frame) {
+    if (done || cancelled) {
+      frame.release();
+      return;
+    }
+
+    if (wip == 0 && WIP.compareAndSet(this, 0, 1)) {
+      CoreSubscriber<? super Frame> a = actual;
+      long r = requested;
+      if (a != null && r != 0 && queue.isEmpty()) {
+        a.onNext(frame);
+        if (r != Long.MAX_VALUE) {
+          REQUESTED.decrementAndGet(this);
+        }
+      } else {
+        queue.offer(frame);
+      }
+      if (WIP.decrementAndGet(this) == 0) {
+        return;
+      }
+    } else {
+      queue.offer(frame);
+      if (WIP.getAndIncrement(this) != 0) {
+        return;
+      }
+    }
+    drainLoop();
+  }
+
+  void onError(Throwable t) {
+    if (done || cancelled) {
+      Operators.onErrorDropped(t, Context.empty());
+      return;
+    }
+    error = t;
+    done = true;
+    drain();
+  }
+
+  void onComplete() {
+    if (done || cancelled) {
+      return;
+    }
+    done = true;
+    drain();
+  }
+
+  @Override
+  public void subscribe(CoreSubscriber<? super Frame> actual) {
+    Objects.requireNonNull(actual, "subscribe");
+    if (once == 0 && ONCE.compareAndSet(this, 0, 1)) {
+      actual.onSubscribe(this);
+      this.actual = actual;
+      drain();
+    } else {
+      Operators.error(
+          actual, new IllegalStateException("FrameRoute allows only a single Subscriber"));
+    }
+  }
+
+  @Override
+  public void request(long n) {
+    if (Operators.validate(n)) {
+      Operators.addCap(REQUESTED, this, n);
+      drain();
+    }
+  }
+
+  @Override
+  public void cancel() {
+    if (cancelled) {
+      return;
+    }
+    cancelled = true;
+    drain();
+  }
+
+  private void drain() {
+    if (WIP.getAndIncrement(this) != 0) {
+      return;
+    }
+    drainLoop();
+  }
+
+  private void drainLoop() {
+    int missed = 1;
+    final Queue<Frame> q = queue;
+
+    for (; ; ) {
+      CoreSubscriber<? super Frame> a = actual;
+      if (a != null) {
+        long r = requested;
+        long e = 0L;
+
+        while (r != e) {
+          boolean d = done;
+          Frame f = q.poll();
+          boolean empty = f == null;
+
+          if (checkTerminated(d, empty, a)) {
+            return;
+          }
+          if (empty) {
+            break;
+          }
+          a.onNext(f);
+          e++;
+        }
+
+        if (r == e && checkTerminated(done, q.isEmpty(), a)) {
+          return;
+        }
+
+        if (e != 0 && r != Long.MAX_VALUE) {
+          REQUESTED.addAndGet(this, -e);
+        }
+      }
+
+      missed = WIP.addAndGet(this, -missed);
+      if (missed == 0) {
+        break;
+      }
+    }
+  }
+
+  private boolean checkTerminated(boolean d, boolean empty, CoreSubscriber<? super Frame> a) {
+    if (cancelled) {
+      clear();
+      actual = null;
+      return true;
+    }
+    if (d && empty) {
+      actual = null;
+      Throwable e = error;
+      if (e != null) {
+        a.onError(e);
+      } else {
+        a.onComplete();
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private void clear() {
+    Frame f;
+    while ((f = queue.poll()) != null) {
+      f.release();
+    }
+  }
+}
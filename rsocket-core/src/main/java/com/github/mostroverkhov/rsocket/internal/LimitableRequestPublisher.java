@@ -27,8 +27,19 @@
 
 /** */
 public class LimitableRequestPublisher<T> extends Flux<T> implements Subscription {
+  /*max items requested from source while send buffer is bounded*/
+  private static final int BOUNDED_PREFETCH = 64;
+
   private final Publisher<T> source;
 
+  private final @Nullable SendBufferWatermarks watermarks;
+
+  private final Runnable resume = this::resume;
+
+  private boolean waitingWritable;
+
+  private long outstanding;
+
   private final AtomicBoolean canceled;
 
   private long internalRequested;
@@ -39,13 +50,24 @@
 
   private volatile @Nullable Subscription internalSubscription;
 
-  private LimitableRequestPublisher(Publisher<T> source) {
+  private LimitableRequestPublisher(
+      Publisher<T> source, @Nullable SendBufferWatermarks watermarks) {
     this.source = source;
+    this.watermarks = watermarks;
     this.canceled = new AtomicBoolean();
   }
 
   public static <T> LimitableRequestPublisher<T> wrap(Publisher<T> source) {
-    return new LimitableRequestPublisher<>(source);
+    return new LimitableRequestPublisher<>(source, null);
+  }
+
+  /**
+   * @param watermarks source is not requested while send buffer is not writable, and only bounded
+   *     number of items is requested from source at a time
+   */
+  public static <T> LimitableRequestPublisher<T> wrap(
+      Publisher<T> source, SendBufferWatermarks watermarks) {
+    return new LimitableRequestPublisher<>(source, watermarks);
   }
 
   @Override
@@ -77,18 +99,51 @@ public void request(long n) {
 
   private void requestN() {
     long r;
+    boolean waitWritable = false;
+    Subscription subscription;
     synchronized (this) {
-      if (internalSubscription == null) {
+      subscription = internalSubscription;
+      if (subscription == null) {
         return;
       }
 
       r = Math.min(internalRequested, externalRequested);
+      SendBufferWatermarks w = watermarks;
+      if (w != null && r > 0) {
+        if (!w.isWritable()) {
+          r = 0;
+          waitWritable = !waitingWritable;
+          waitingWritable = true;
+        } else {
+          r = Math.min(r, BOUNDED_PREFETCH - outstanding);
+          outstanding += r;
+        }
+      }
       externalRequested -= r;
       internalRequested -= r;
     }
 
     if (r > 0) {
-      internalSubscription.request(r);
+      subscription.request(r);
+    }
+    if (waitWritable) {
+      watermarks.onWritable(resume);
+    }
+  }
+
+  private void resume() {
+    synchronized (this) {
+      waitingWritable = false;
+    }
+    requestN();
+  }
+
+  private void received() {
+    if (watermarks != null) {
+      synchronized (this) {
+        outstanding--;
+      }
+      requestN();
     }
   }
 
@@ -128,7 +183,9 @@ public void onNext(T t) {
         destination.onNext(t);
       } catch (Throwable e) {
         onError(e);
+        return;
       }
+      received();
     }
 
     @Override
@@ -0,0 +1,413 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.internal;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.FrameType;
+import com.github.mostroverkhov.rsocket.SendQueueMetrics;
+import com.github.mostroverkhov.rsocket.SendScheduler;
+import io.netty.util.internal.shaded.org.jctools.queues.atomic.MpscGrowableAtomicArrayQueue;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.FluxProcessor;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+import reactor.util.context.Context;
+
+/**
+ * Single subscriber outbound frames processor with 2 lanes: control lane (stream 0 frames, and
+ * REQUEST_N, CANCEL, ERROR frames) is drained ahead of data lane, so flow control frames do not
+ * wait behind payload frames of other streams.
+ *
+ * <p>Order of data lane frames of different streams is defined by {@link SendScheduler}.
+ *
+ * <p>Frames of same stream keep their order: flow control frame is queued into data lane while
+ * frames of its stream are pending there. Pending frames are counted per stream id slot, so
+ * colliding streams fall back to FIFO order of data lane.
+ *
+ * <p>Bytes of queued frames are counted by {@link SendBufferWatermarks}
+ */
+public final class PrioritySendProcessor extends FluxProcessor<Frame, Frame>
+    implements Subscription, SendQueueMetrics {
+  private static final int PENDING_SLOTS = 256;
+
+  private static final AtomicIntegerFieldUpdater<PrioritySendProcessor> ONCE =
+      AtomicIntegerFieldUpdater.newUpdater(PrioritySendProcessor.class, "once");
+
+  private static final AtomicIntegerFieldUpdater<PrioritySendProcessor> WIP =
+      AtomicIntegerFieldUpdater.newUpdater(PrioritySendProcessor.class, "wip");
+
+  private static final AtomicLongFieldUpdater<PrioritySendProcessor> REQUESTED =
+      AtomicLongFieldUpdater.newUpdater(PrioritySendProcessor.class, "requested");
+
+  private final Side side;
+  private final Queue<Frame> control;
+  private final SendScheduler data;
+  private final SendBufferWatermarks watermarks;
+  private final AtomicIntegerArray pending = new AtomicIntegerArray(PENDING_SLOTS);
+
+  private volatile boolean done;
+  private Throwable error;
+  private volatile CoreSubscriber<? super Frame> actual;
+  private volatile boolean cancelled;
+  private volatile int once;
+  private volatile int wip;
+  private volatile long requested;
+  /*written by draining thread only*/
+  private volatile long controlFrames;
+  private volatile long dataFrames;
+
+  public PrioritySendProcessor(Side side) {
+    this(side, SendScheduler.fifo());
+  }
+
+  public PrioritySendProcessor(Side side, SendScheduler data) {
+    this(side, data, new SendBufferWatermarks());
+  }
+
+  public PrioritySendProcessor(Side side, SendScheduler data, SendBufferWatermarks watermarks) {
+    this.side = side;
+    this.control = new MpscGrowableAtomicArrayQueue<>(Queues.XS_BUFFER_SIZE, 1 << 24);
+    this.data = data;
+    this.watermarks = watermarks;
+  }
+
+  public SendBufferWatermarks watermarks() {
+    return watermarks;
+  }
+
+  /** @param requestFrame received request frame of stream started by peer */
+  public void onRequest(Frame requestFrame) {
+    data.onRequest(requestFrame);
+  }
+
+  /** @param streamId stream cancelled or failed by peer */
+  public void onTerminate(int streamId) {
+    data.onTerminate(streamId);
+  }
+
+  @Override
+  public Side side() {
+    return side;
+  }
+
+  @Override
+  public int controlLaneSize() {
+    return control.size();
+  }
+
+  @Override
+  public int dataLaneSize() {
+    return data.size();
+  }
+
+  @Override
+  public long controlFrames() {
+    return controlFrames;
+  }
+
+  @Override
+  public long dataFrames() {
+    return dataFrames;
+  }
+
+  @Override
+  public long bufferedBytes() {
+    return watermarks.bufferedBytes();
+  }
+
+  @Override
+  public int getBufferSize() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  public void onSubscribe(Subscription s) {
+    if (done || cancelled) {
+      s.cancel();
+    } else {
+      s.request(Long.MAX_VALUE);
+    }
+  }
+
+  @Override
+  public void onNext(Frame frame) {
+    if (done || cancelled) {
+      frame.release();
+      return;
+    }
+    boolean offered;
+    int bytes = frame.content().readableBytes();
+    watermarks.added(bytes);
+    int streamId = frame.getStreamId();
+    if (streamId == 0) {
+      offered = control.offer(frame);
+    } else {
+      int slot = slot(streamId);
+      FrameType type = frame.getType();
+      if (isFlowControl(type) && pending.get(slot) == 0) {
+        offered = control.offer(frame);
+      } else {
+        if (type.isRequestType()) {
+          data.onRequest(frame);
+        }
+        pending.incrementAndGet(slot);
+        offered = data.offer(frame);
+      }
+    }
+    if (!offered) {
+      watermarks.removed(bytes);
+      Throwable ex =
+          Operators.onOperatorError(null, Exceptions.failWithOverflow(), frame, currentContext());
+      onError(ex);
+      return;
+    }
+    if (streamId != 0 && isTerminal(frame)) {
+      data.onTerminate(streamId);
+    }
+    drain();
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    if (done || cancelled) {
+      Operators.onErrorDropped(t, currentContext());
+      return;
+    }
+    error = t;
+    done = true;
+    drain();
+  }
+
+  @Override
+  public void onComplete() {
+    if (done || cancelled) {
+      return;
+    }
+    done = true;
+    drain();
+  }
+
+  @Override
+  public void subscribe(CoreSubscriber<? super Frame> actual) {
+    Objects.requireNonNull(actual, "subscribe");
+    if (once == 0 && ONCE.compareAndSet(this, 0, 1)) {
+      this.actual = actual;
+      actual.onSubscribe(this);
+      if (cancelled) {
+        this.actual = null;
+      } else {
+        drain();
+      }
+    } else {
+      Operators.error(
+          actual,
+          new IllegalStateException("PrioritySendProcessor allows only a single Subscriber"));
+    }
+  }
+
+  @Override
+  public void request(long n) {
+    if (Operators.validate(n)) {
+      Operators.addCap(REQUESTED, this, n);
+      drain();
+    }
+  }
+
+  @Override
+  public void cancel() {
+    if (cancelled) {
+      return;
+    }
+    cancelled = true;
+    if (WIP.getAndIncrement(this) == 0) {
+      clear();
+    }
+  }
+
+  public void drain() {
+    if (WIP.getAndIncrement(this) != 0) {
+      return;
+    }
+    int missed = 1;
+    for (; ; ) {
+      Subscriber<? super Frame> a = actual;
+      if (a != null) {
+        drainRegular(a);
+        return;
+      }
+      missed = WIP.addAndGet(this, -missed);
+      if (missed == 0) {
+        break;
+      }
+    }
+  }
+
+  private void drainRegular(Subscriber<? super Frame> a) {
+    int missed = 1;
+    for (; ; ) {
+      long r = requested;
+      long e = 0L;
+      long c = controlFrames;
+      long d = dataFrames;
+
+      while (r != e) {
+        boolean isDone = done;
+        Frame f = control.poll();
+        if (f != null) {
+          c++;
+        } else {
+          f = data.poll();
+          if (f != null) {
+            pending.decrementAndGet(slot(f.getStreamId()));
+            d++;
+          }
+        }
+        boolean empty = f == null;
+
+        if (checkTerminated(isDone, empty, a)) {
+          if (f != null) {
+            watermarks.removed(f.content().readableBytes());
+            f.release();
+          }
+          return;
+        }
+        if (empty) {
+          break;
+        }
+        int bytes = f.content().readableBytes();
+        a.onNext(f);
+        watermarks.removed(bytes);
+        e++;
+      }
+
+      if (r == e) {
+        if (checkTerminated(done, control.isEmpty() && data.isEmpty(), a)) {
+          return;
+        }
+      }
+      controlFrames = c;
+      dataFrames = d;
+
+      if (e != 0 && r != Long.MAX_VALUE) {
+        REQUESTED.addAndGet(this, -e);
+      }
+
+      missed = WIP.addAndGet(this, -missed);
+      if (missed == 0) {
+        break;
+      }
+    }
+  }
+
+  private boolean checkTerminated(boolean d, boolean empty, Subscriber<? super Frame> a) {
+    if (cancelled) {
+      clear();
+      actual = null;
+      return true;
+    }
+    if (d && empty) {
+      Throwable e = error;
+      actual = null;
+      if (e != null) {
+        a.onError(e);
+      } else {
+        a.onComplete();
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private void clear() {
+    Frame f;
+    while ((f = control.poll()) != null) {
+      watermarks.removed(f.content().readableBytes());
+      f.release();
+    }
+    while ((f = data.poll()) != null) {
+      watermarks.removed(f.content().readableBytes());
+      f.release();
+    }
+  }
+
+  @Override
+  public Context currentContext() {
+    CoreSubscriber<? super Frame> actual = this.actual;
+    return actual != null ? actual.currentContext() : Context.empty();
+  }
+
+  @Override
+  public boolean isDisposed() {
+    return cancelled || done;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return done;
+  }
+
+  @Override
+  @Nullable
+  public Throwable getError() {
+    return error;
+  }
+
+  @Override
+  public long downstreamCount() {
+    return hasDownstreams() ? 1L : 0L;
+  }
+
+  @Override
+  public boolean hasDownstreams() {
+    return actual != null;
+  }
+
+  private static int slot(int streamId) {
+    return (streamId >>> 1) & (PENDING_SLOTS - 1);
+  }
+
+  /*last frame of stream sent by this side: requester of non-channel request sends nothing else*/
+  private static boolean isTerminal(Frame frame) {
+    switch (frame.getType()) {
+      case CANCEL:
+      case ERROR:
+      case COMPLETE:
+      case NEXT_COMPLETE:
+      case FIRE_AND_FORGET:
+      case REQUEST_RESPONSE:
+      case REQUEST_STREAM:
+        return true;
+      case REQUEST_CHANNEL:
+        return Frame.Request.isRequestChannelComplete(frame);
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isFlowControl(FrameType type) {
+    return type == FrameType.REQUEST_N || type == FrameType.CANCEL || type == FrameType.ERROR;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Counts bytes of frames buffered for sending. Buffer becomes unwritable once buffered bytes exceed
+ * high watermark, and writable again once they drop to low watermark: then waiting publishers are
+ * resumed
+ */
+public final class SendBufferWatermarks {
+  public static final int DEFAULT_LOW_WATERMARK = 1 << 20;
+  public static final int DEFAULT_HIGH_WATERMARK = 4 << 20;
+
+  private static final AtomicLongFieldUpdater<SendBufferWatermarks> BUFFERED =
+      AtomicLongFieldUpdater.newUpdater(SendBufferWatermarks.class, "buffered");
+
+  private final long lowWatermark;
+  private final long highWatermark;
+  private final Queue<Runnable> waiters = new ConcurrentLinkedQueue<>();
+  private volatile long buffered;
+  private volatile boolean unwritable;
+
+  public SendBufferWatermarks(long lowWatermark, long highWatermark) {
+    if (lowWatermark < 0 || highWatermark < lowWatermark) {
+      throw new IllegalArgumentException(
+          "Watermarks should satisfy 0 <= low <= high: "
+              + "low="
+              + lowWatermark
+              + ", high="
+              + highWatermark);
+    }
+    this.lowWatermark = lowWatermark;
+    this.highWatermark = highWatermark;
+  }
+
+  public SendBufferWatermarks() {
+    this(DEFAULT_LOW_WATERMARK, DEFAULT_HIGH_WATERMARK);
+  }
+
+  public long bufferedBytes() {
+    return buffered;
+  }
+
+  public boolean isWritable() {
+    return !unwritable;
+  }
+
+  public void added(int bytes) {
+    long b = BUFFERED.addAndGet(this, bytes);
+    if (b > highWatermark && !unwritable) {
+      unwritable = true;
+      /*drained concurrently before flag was set*/
+      if (buffered <= lowWatermark) {
+        writable();
+      }
+    }
+  }
+
+  public void removed(int bytes) {
+    long b = BUFFERED.addAndGet(this, -bytes);
+    if (b <= lowWatermark && unwritable) {
+      writable();
+    }
+  }
+
+  /**
+   * @param waiter run once buffer becomes writable. Runs immediately if buffer became writable
+   *     concurrently with this call
+   */
+  public void onWritable(Runnable waiter) {
+    waiters.offer(waiter);
+    if (!unwritable) {
+      resumeWaiters();
+    }
+  }
+
+  private void writable() {
+    unwritable = false;
+    resumeWaiters();
+  }
+
+  private void resumeWaiters() {
+    Runnable waiter;
+    while (!unwritable && (waiter = waiters.poll()) != null) {
+      waiter.run();
+    }
+  }
+}
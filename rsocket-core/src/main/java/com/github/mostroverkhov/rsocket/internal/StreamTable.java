@@ -0,0 +1,293 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.internal;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+/**
+ * Open addressing table of active streams keyed by non-zero int stream id.
+ *
+ * <p>Stream ids of single table have the same parity and are allocated sequentially, so slot index
+ * is {@code streamId >>> 1}: live streams occupy adjacent slots and linear probing rarely collides.
+ * Table tracks max probe distance, so removed entry slot is emptied right away unless some entry
+ * within that distance was displaced over it - then it is marked with tombstone. Table grows when
+ * live and removed entries exceed 3/4 of capacity, and shrinks when live entries drop below 1/8 of
+ * capacity.
+ *
+ * <p>Lookups are lock-free and may run concurrently with updates, updates are serialized on table
+ * monitor. Callers may synchronize on table to make compound updates atomic.
+ */
+public final class StreamTable<T> {
+  private static final int EMPTY = 0;
+  private static final Object REMOVED = new Object();
+  private static final int MIN_CAPACITY = 16;
+
+  private final int initialCapacity;
+  private volatile Slots slots;
+  private volatile int size;
+  private int removed;
+  private int maxProbe;
+
+  public StreamTable() {
+    this(MIN_CAPACITY);
+  }
+
+  public StreamTable(int initialCapacity) {
+    this.initialCapacity = capacityFor(initialCapacity);
+    this.slots = new Slots(this.initialCapacity);
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public T get(int streamId) {
+    Slots s = slots;
+    int mask = s.mask;
+    for (int i = index(streamId, mask); ; i = (i + 1) & mask) {
+      int key = s.keys.get(i);
+      if (key == streamId) {
+        Object value = s.values.get(i);
+        /*slot may have been reused for another stream after key was read, then value is not ours*/
+        if (value == REMOVED || s.keys.get(i) != streamId) {
+          return null;
+        }
+        return (T) value;
+      }
+      if (key == EMPTY) {
+        return null;
+      }
+    }
+  }
+
+  public boolean containsKey(int streamId) {
+    return get(streamId) != null;
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public synchronized T put(int streamId, T value) {
+    if (streamId == EMPTY) {
+      throw new IllegalArgumentException("Stream id should be non-zero");
+    }
+    Slots s = slots;
+    int mask = s.mask;
+    int tombstone = -1;
+    int i = index(streamId, mask);
+    for (; ; i = (i + 1) & mask) {
+      int key = s.keys.get(i);
+      if (key == streamId) {
+        Object prev = s.values.get(i);
+        s.values.set(i, value);
+        if (prev != REMOVED) {
+          return (T) prev;
+        }
+        removed--;
+        size++;
+        return null;
+      }
+      if (key == EMPTY) {
+        break;
+      }
+      if (tombstone < 0 && s.values.get(i) == REMOVED) {
+        tombstone = i;
+      }
+    }
+    if (tombstone >= 0) {
+      i = tombstone;
+      removed--;
+    }
+    /*key goes first, so lookup that reads new value also reads new key on recheck*/
+    s.keys.set(i, streamId);
+    s.values.set(i, value);
+    size++;
+    maxProbe = Math.max(maxProbe, probe(streamId, i, mask));
+
+    int capacity = mask + 1;
+    if ((size + removed) * 4 > capacity * 3) {
+      resize(size * 2 > capacity ? capacity * 2 : capacity);
+    }
+    return null;
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public synchronized T remove(int streamId) {
+    Slots s = slots;
+    int mask = s.mask;
+    for (int i = index(streamId, mask); ; i = (i + 1) & mask) {
+      int key = s.keys.get(i);
+      if (key == streamId) {
+        Object prev = s.values.get(i);
+        if (prev == REMOVED) {
+          return null;
+        }
+        removeAt(s, i);
+        return (T) prev;
+      }
+      if (key == EMPTY) {
+        return null;
+      }
+    }
+  }
+
+  public synchronized boolean remove(int streamId, T value) {
+    Slots s = slots;
+    int mask = s.mask;
+    for (int i = index(streamId, mask); ; i = (i + 1) & mask) {
+      int key = s.keys.get(i);
+      if (key == streamId) {
+        if (s.values.get(i) != value) {
+          return false;
+        }
+        removeAt(s, i);
+        return true;
+      }
+      if (key == EMPTY) {
+        return false;
+      }
+    }
+  }
+
+  /** Iterates over entries live at the moment of call, entries may be removed by action */
+  @SuppressWarnings("unchecked")
+  public void forEach(Consumer<? super T> action) {
+    Slots s = slots;
+    AtomicReferenceArray<Object> values = s.values;
+    for (int i = 0; i < values.length(); i++) {
+      Object value = values.get(i);
+      if (value != null && value != REMOVED) {
+        action.accept((T) value);
+      }
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public synchronized void clear() {
+    slots = new Slots(initialCapacity);
+    size = 0;
+    removed = 0;
+    maxProbe = 0;
+  }
+
+  public int capacity() {
+    return slots.mask + 1;
+  }
+
+  private void removeAt(Slots s, int i) {
+    int mask = s.mask;
+    size--;
+    if (isProbed(s, i)) {
+      s.values.set(i, REMOVED);
+      removed++;
+    } else {
+      clearAt(s, i);
+      /*preceding tombstones may be no longer needed*/
+      for (int j = (i - 1) & mask;
+          s.values.get(j) == REMOVED && !isProbed(s, j);
+          j = (j - 1) & mask) {
+        clearAt(s, j);
+        removed--;
+      }
+    }
+
+    int capacity = mask + 1;
+    if (capacity > initialCapacity && size * 8 < capacity) {
+      resize(capacity / 2);
+    }
+  }
+
+  /*true if some live entry after slot was displaced over it, so lookups must probe through it*/
+  private boolean isProbed(Slots s, int i) {
+    int mask = s.mask;
+    for (int distance = 1; distance <= maxProbe; distance++) {
+      int j = (i + distance) & mask;
+      int key = s.keys.get(j);
+      if (key == EMPTY) {
+        return false;
+      }
+      if (s.values.get(j) != REMOVED && probe(key, j, mask) >= distance) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void clearAt(Slots s, int i) {
+    s.values.set(i, null);
+    s.keys.set(i, EMPTY);
+  }
+
+  private void resize(int capacity) {
+    Slots from = slots;
+    Slots to = new Slots(capacity);
+    int mask = to.mask;
+    int maxProbe = 0;
+    for (int i = 0; i < from.values.length(); i++) {
+      Object value = from.values.get(i);
+      if (value != null && value != REMOVED) {
+        int key = from.keys.get(i);
+        int j = index(key, mask);
+        while (to.keys.get(j) != EMPTY) {
+          j = (j + 1) & mask;
+        }
+        to.keys.lazySet(j, key);
+        to.values.lazySet(j, value);
+        maxProbe = Math.max(maxProbe, probe(key, j, mask));
+      }
+    }
+    this.maxProbe = maxProbe;
+    removed = 0;
+    slots = to;
+  }
+
+  private static int index(int streamId, int mask) {
+    return (streamId >>> 1) & mask;
+  }
+
+  private static int probe(int streamId, int slot, int mask) {
+    return (slot - index(streamId, mask)) & mask;
+  }
+
+  private static int capacityFor(int n) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < n) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  private static final class Slots {
+    final AtomicIntegerArray keys;
+    final AtomicReferenceArray<Object> values;
+    final int mask;
+
+    Slots(int capacity) {
+      this.keys = new AtomicIntegerArray(capacity);
+      this.values = new AtomicReferenceArray<>(capacity);
+      this.mask = capacity - 1;
+    }
+  }
+}
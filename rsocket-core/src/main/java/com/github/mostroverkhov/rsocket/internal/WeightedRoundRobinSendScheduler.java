@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.internal;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.SendScheduler;
+import java.util.ArrayDeque;
+import java.util.function.ToIntFunction;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps queue per stream and round-robins between streams with pending frames: each stream sends up
+ * to its weight frames per round, so a stream with lots of frames does not delay replies of other
+ * streams.
+ *
+ * <p>Weight is taken from stream request frame, and kept in stream record until stream is
+ * terminated and its frames are polled
+ */
+public final class WeightedRoundRobinSendScheduler implements SendScheduler {
+  private static final int MAX_WEIGHT = 1 << 16;
+  private static final int MAX_RECYCLED = 16;
+
+  private final ToIntFunction<Frame> weights;
+
+  private final StreamTable<StreamQueue> queues = new StreamTable<>();
+  private final ArrayDeque<StreamQueue> round = new ArrayDeque<>();
+  private final ArrayDeque<StreamQueue> recycled = new ArrayDeque<>();
+  private @Nullable StreamQueue current;
+  private int credits;
+  private volatile int size;
+
+  public WeightedRoundRobinSendScheduler(ToIntFunction<Frame> weights) {
+    this.weights = weights;
+  }
+
+  @Override
+  public void onRequest(Frame requestFrame) {
+    int weight = Math.max(1, Math.min(MAX_WEIGHT, weights.applyAsInt(requestFrame)));
+    int streamId = requestFrame.getStreamId();
+    synchronized (this) {
+      StreamQueue queue = queues.get(streamId);
+      if (queue == null) {
+        queue = newQueue(streamId);
+      }
+      queue.weight = weight;
+      queue.terminated = false;
+    }
+  }
+
+  @Override
+  public synchronized void onTerminate(int streamId) {
+    StreamQueue queue = queues.get(streamId);
+    if (queue != null) {
+      if (queue.frames.isEmpty()) {
+        removeQueue(queue);
+      } else {
+        queue.terminated = true;
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean offer(Frame frame) {
+    int streamId = frame.getStreamId();
+    StreamQueue queue = queues.get(streamId);
+    if (queue == null) {
+      /*stream without request frame, or already terminated one: keep only while frames pending*/
+      queue = newQueue(streamId);
+      queue.terminated = true;
+    }
+    if (queue.frames.isEmpty()) {
+      round.offer(queue);
+    }
+    queue.frames.offer(frame);
+    size++;
+    return true;
+  }
+
+  @Nullable
+  @Override
+  public synchronized Frame poll() {
+    StreamQueue queue = current;
+    if (queue == null || credits == 0) {
+      if (queue != null) {
+        round.offer(queue);
+      }
+      queue = round.poll();
+      if (queue == null) {
+        current = null;
+        return null;
+      }
+      current = queue;
+      credits = queue.weight;
+    }
+    Frame frame = queue.frames.poll();
+    credits--;
+    size--;
+    if (queue.frames.isEmpty()) {
+      current = null;
+      if (queue.terminated) {
+        removeQueue(queue);
+      }
+    }
+    return frame;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  private StreamQueue newQueue(int streamId) {
+    StreamQueue queue = recycled.poll();
+    if (queue == null) {
+      queue = new StreamQueue();
+    }
+    queue.streamId = streamId;
+    queue.weight = 1;
+    queue.terminated = false;
+    queues.put(streamId, queue);
+    return queue;
+  }
+
+  private void removeQueue(StreamQueue queue) {
+    queues.remove(queue.streamId);
+    if (recycled.size() < MAX_RECYCLED) {
+      recycled.offer(queue);
+    }
+  }
+
+  private static final class StreamQueue {
+    final ArrayDeque<Frame> frames = new ArrayDeque<>();
+    int streamId;
+    int weight;
+    boolean terminated;
+  }
+}
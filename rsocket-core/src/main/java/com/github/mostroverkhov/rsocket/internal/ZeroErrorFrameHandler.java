@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.internal;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.FrameType;
+import com.github.mostroverkhov.rsocket.exceptions.Exceptions;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandler;
+
+public class ZeroErrorFrameHandler implements FrameHandler {
+  public static final ZeroErrorFrameHandler INSTANCE = new ZeroErrorFrameHandler();
+
+  private ZeroErrorFrameHandler() {}
+
+  @Override
+  public Frame onInbound(Frame f) {
+    if (isZeroStreamError(f)) {
+      RuntimeException err = Exceptions.from(f);
+      f.release();
+      throw err;
+    }
+    return f;
+  }
+
+  private boolean isZeroStreamError(Frame f) {
+    return f.getStreamId() == 0 && f.getType() == FrameType.ERROR;
+  }
+}
@@ -17,32 +17,10 @@
 package com.github.mostroverkhov.rsocket.internal;
 
 import com.github.mostroverkhov.rsocket.DuplexConnection;
-import com.github.mostroverkhov.rsocket.DuplexConnectionProxy;
-import com.github.mostroverkhov.rsocket.Frame;
-import com.github.mostroverkhov.rsocket.FrameType;
-import com.github.mostroverkhov.rsocket.exceptions.Exceptions;
-import reactor.core.publisher.Flux;
 
-public class ZeroErrorHandlingConnection extends DuplexConnectionProxy {
+public class ZeroErrorHandlingConnection extends FrameHandlerConnection {
 
   public ZeroErrorHandlingConnection(DuplexConnection source) {
-    super(source);
-  }
-
-  @Override
-  public Flux<Frame> receive() {
-    return super.receive()
-        .doOnNext(
-            f -> {
-              if (isZeroStreamError(f)) {
-                RuntimeException err = Exceptions.from(f);
-                f.release();
-                throw err;
-              }
-            });
-  }
-
-  private boolean isZeroStreamError(Frame f) {
-    return f.getStreamId() == 0 && f.getType() == FrameType.ERROR;
+    super(source, ZeroErrorFrameHandler.INSTANCE);
   }
 }
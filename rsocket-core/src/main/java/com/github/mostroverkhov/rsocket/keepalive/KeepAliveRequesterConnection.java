@@ -30,7 +30,6 @@
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxProcessor;
-import reactor.core.publisher.Mono;
 import reactor.core.publisher.UnicastProcessor;
 
 public class KeepAliveRequesterConnection extends DuplexConnectionProxy {
@@ -42,6 +41,7 @@ public class KeepAliveRequesterConnection extends DuplexConnectionProxy {
       UnicastProcessor.<KeepAliveMissing>create().serialize();
 
   private final Duration tickPeriod;
+  private final KeepAliveTimer timer;
   private final int timeoutTicks;
   private final Supplier<ByteBuffer> frameDataFactory;
   private final KeepAliveMissing keepAliveMissing;
@@ -51,6 +51,7 @@ public class KeepAliveRequesterConnection extends DuplexConnectionProxy {
   private final AtomicInteger missedAckCounter = new AtomicInteger();
   private volatile Disposable keepAliveSubs;
   private final AtomicBoolean missingSent = new AtomicBoolean();
+  private final AtomicBoolean keepAliveFailed = new AtomicBoolean();
 
   public KeepAliveRequesterConnection(
       DuplexConnection zero,
@@ -58,8 +59,23 @@ public KeepAliveRequesterConnection(
       int timeoutTicks,
       Supplier<ByteBuffer> frameDataFactory,
       Consumer<Throwable> errConsumer) {
+    this(zero, tickPeriod, timeoutTicks, frameDataFactory, errConsumer, KeepAliveTimer.shared());
+  }
+
+  /**
+   * @param timer timer sending keep-alives of this connection, along with keep-alives of other
+   *     connections sharing it
+   */
+  public KeepAliveRequesterConnection(
+      DuplexConnection zero,
+      Duration tickPeriod,
+      int timeoutTicks,
+      Supplier<ByteBuffer> frameDataFactory,
+      Consumer<Throwable> errConsumer,
+      KeepAliveTimer timer) {
     super(zero);
     this.tickPeriod = tickPeriod;
+    this.timer = timer;
     this.timeoutTicks = timeoutTicks;
     this.frameDataFactory = frameDataFactory;
     this.errConsumer = errConsumer;
@@ -88,17 +104,17 @@ private boolean isKeepAliveResponse(Frame f) {
   }
 
   private void startPeriodicKeepAlive() {
-    timeLastTickReceived = System.currentTimeMillis();
-    keepAliveSubs =
-        Flux.interval(tickPeriod)
-            .concatMap(i -> sendAndCheckKeepAlive())
-            .subscribe(
-                __ -> {},
-                err -> {
-                  complete();
-                  errConsumer.accept(err);
-                  close().subscribe();
-                });
+    timeLastTickReceived = timer.now();
+    keepAliveSubs = timer.schedulePeriodically(tickPeriod, this::sendAndCheckKeepAlive);
+  }
+
+  private void keepAliveError(Throwable err) {
+    if (keepAliveFailed.compareAndSet(false, true)) {
+      keepAliveSubs.dispose();
+      complete();
+      errConsumer.accept(err);
+      close().subscribe();
+    }
   }
 
   private void complete() {
@@ -113,13 +129,19 @@ private void disposeKeepAlive() {
     complete();
   }
 
-  private Mono<Void> sendAndCheckKeepAlive() {
-    checkKeepAliveMissing();
-    return sendOne(Frame.Keepalive.from(Unpooled.wrappedBuffer(frameDataFactory.get()), true));
+  /*runs on timer thread, so only subscribes to send*/
+  private void sendAndCheckKeepAlive() {
+    try {
+      checkKeepAliveMissing();
+      sendOne(Frame.Keepalive.from(alloc(), Unpooled.wrappedBuffer(frameDataFactory.get()), true))
+          .subscribe(__ -> {}, this::keepAliveError);
+    } catch (Throwable err) {
+      keepAliveError(err);
+    }
   }
 
   private void checkKeepAliveMissing() {
-    long now = System.currentTimeMillis();
+    long now = timer.now();
     if (now - timeLastTickReceived > timeoutMillis) {
       if (missedAckCounter.incrementAndGet() >= timeoutTicks) {
         if (missingSent.compareAndSet(false, true)) {
@@ -133,7 +155,7 @@ private void handleKeepAliveAvailable(Frame f) {
     if (isKeepAliveResponse(f)) {
       missedAckCounter.set(0);
       availableEvents.onNext(f.getData());
-      timeLastTickReceived = System.currentTimeMillis();
+      timeLastTickReceived = timer.now();
       missingSent.set(false);
     }
   }
@@ -29,6 +29,7 @@ public class KeepAliveRequesterInterceptor implements DuplexConnectionIntercepto
   private final Supplier<ByteBuffer> payloadSupplier;
   private final Consumer<Throwable> errorConsumer;
   private final Consumer<KeepAlives> keepAlivesConsumer;
+  private final KeepAliveTimer timer;
 
   public KeepAliveRequesterInterceptor(
       Duration period,
@@ -36,11 +37,28 @@ public KeepAliveRequesterInterceptor(
       Supplier<ByteBuffer> payloadSupplier,
       Consumer<Throwable> errorConsumer,
       Consumer<KeepAlives> keepAlivesConsumer) {
+    this(
+        period,
+        ticksTimeout,
+        payloadSupplier,
+        errorConsumer,
+        keepAlivesConsumer,
+        KeepAliveTimer.shared());
+  }
+
+  public KeepAliveRequesterInterceptor(
+      Duration period,
+      int ticksTimeout,
+      Supplier<ByteBuffer> payloadSupplier,
+      Consumer<Throwable> errorConsumer,
+      Consumer<KeepAlives> keepAlivesConsumer,
+      KeepAliveTimer timer) {
     this.period = period;
     this.ticksTimeout = ticksTimeout;
     this.payloadSupplier = payloadSupplier;
     this.errorConsumer = errorConsumer;
     this.keepAlivesConsumer = keepAlivesConsumer;
+    this.timer = timer;
   }
 
   @Override
@@ -48,7 +66,7 @@ public DuplexConnection apply(Type type, DuplexConnection connection) {
     if (type == Type.STREAM_ZERO) {
       KeepAliveRequesterConnection keepAliveRequesterConnection =
           new KeepAliveRequesterConnection(
-              connection, period, ticksTimeout, payloadSupplier, errorConsumer);
+              connection, period, ticksTimeout, payloadSupplier, errorConsumer, timer);
       keepAlivesConsumer.accept(
           new KeepAlives(
               keepAliveRequesterConnection.keepAliveAvailable(),
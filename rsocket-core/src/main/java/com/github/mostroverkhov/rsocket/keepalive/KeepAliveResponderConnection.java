@@ -17,37 +17,11 @@
 package com.github.mostroverkhov.rsocket.keepalive;
 
 import com.github.mostroverkhov.rsocket.DuplexConnection;
-import com.github.mostroverkhov.rsocket.DuplexConnectionProxy;
-import com.github.mostroverkhov.rsocket.Frame;
-import com.github.mostroverkhov.rsocket.FrameType;
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
-import reactor.core.publisher.Flux;
-import reactor.core.publisher.FluxProcessor;
-import reactor.core.publisher.UnicastProcessor;
+import com.github.mostroverkhov.rsocket.internal.FrameHandlerConnection;
 
-public class KeepAliveResponderConnection extends DuplexConnectionProxy {
-
-  private final FluxProcessor<Frame, Frame> sender = UnicastProcessor.create();
+public class KeepAliveResponderConnection extends FrameHandlerConnection {
 
   public KeepAliveResponderConnection(DuplexConnection zeroConn) {
-    super(zeroConn);
-    zeroConn.send(sender).subscribe(Void -> {}, err -> {});
-  }
-
-  @Override
-  public Flux<Frame> receive() {
-    return super.receive()
-        .doOnNext(
-            f -> {
-              if (isKeepAliveRequest(f)) {
-                ByteBuf data = Unpooled.wrappedBuffer(f.getData());
-                sender.onNext(Frame.Keepalive.from(data, false));
-              }
-            });
-  }
-
-  private boolean isKeepAliveRequest(Frame f) {
-    return f.getType().equals(FrameType.KEEPALIVE) && Frame.Keepalive.hasRespondFlag(f);
+    super(zeroConn, new KeepAliveResponderFrameHandler(zeroConn));
   }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.keepalive;
+
+import com.github.mostroverkhov.rsocket.DuplexConnection;
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.FrameType;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandler;
+import reactor.core.publisher.FluxProcessor;
+import reactor.core.publisher.UnicastProcessor;
+
+class KeepAliveResponderFrameHandler implements FrameHandler {
+  private final FluxProcessor<Frame, Frame> sender = UnicastProcessor.create();
+  private final DuplexConnection zeroConn;
+
+  public KeepAliveResponderFrameHandler(DuplexConnection zeroConn) {
+    this.zeroConn = zeroConn;
+    zeroConn.send(sender).subscribe(Void -> {}, err -> {});
+  }
+
+  @Override
+  public Frame onInbound(Frame f) {
+    if (isKeepAliveRequest(f)) {
+      sender.onNext(Frame.Keepalive.from(zeroConn.alloc(), f.sliceData(), false));
+    }
+    return f;
+  }
+
+  private boolean isKeepAliveRequest(Frame f) {
+    return f.getType().equals(FrameType.KEEPALIVE) && Frame.Keepalive.hasRespondFlag(f);
+  }
+}
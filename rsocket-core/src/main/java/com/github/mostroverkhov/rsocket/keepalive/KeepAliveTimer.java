@@ -0,0 +1,199 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.keepalive;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Hashed wheel timer running periodic keep-alive tasks of many connections on single thread. Each
+ * tick runs tasks of one wheel bucket that are due, and refreshes coarse clock read with {@link
+ * #now()}, so connections do not need scheduled task and clock call of their own
+ */
+public final class KeepAliveTimer implements Disposable {
+  private static final Logger logger = LoggerFactory.getLogger(KeepAliveTimer.class);
+  static final Duration DEFAULT_TICK = Duration.ofMillis(20);
+  static final int DEFAULT_WHEEL_SIZE = 512;
+
+  private final long tickMillis;
+  private final int mask;
+  private final List<Task>[] wheel;
+  private final Queue<Task> added = new ConcurrentLinkedQueue<>();
+  private final Scheduler scheduler;
+  private final Disposable ticks;
+  /*used by timer thread only*/
+  private final List<Task> rescheduled = new ArrayList<>();
+  private long tick;
+
+  private volatile long now = System.currentTimeMillis();
+
+  @SuppressWarnings("unchecked")
+  private KeepAliveTimer(String name, Duration tickDuration, int wheelSize) {
+    Objects.requireNonNull(tickDuration, "tickDuration");
+    if (tickDuration.toMillis() < 1) {
+      throw new IllegalArgumentException("tick must be at least 1 millisecond: " + tickDuration);
+    }
+    if (wheelSize < 1 || Integer.bitCount(wheelSize) != 1) {
+      throw new IllegalArgumentException("wheel size must be power of 2: " + wheelSize);
+    }
+    this.tickMillis = tickDuration.toMillis();
+    this.mask = wheelSize - 1;
+    this.wheel = new List[wheelSize];
+    for (int i = 0; i < wheelSize; i++) {
+      wheel[i] = new ArrayList<>();
+    }
+    this.scheduler = Schedulers.newSingle(name, true);
+    this.ticks =
+        scheduler.schedulePeriodically(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @return timer shared by connections of all factories which are not given timer of their own
+   */
+  public static KeepAliveTimer shared() {
+    return SharedHolder.INSTANCE;
+  }
+
+  /**
+   * @param name name of timer thread
+   * @param tickDuration period of clock updates and resolution of tasks
+   * @param wheelSize number of wheel buckets, power of 2
+   * @return new timer
+   */
+  public static KeepAliveTimer create(String name, Duration tickDuration, int wheelSize) {
+    return new KeepAliveTimer(name, tickDuration, wheelSize);
+  }
+
+  /**
+   * Schedules task to run periodically on timer thread, first time after one period. Task must not
+   * block
+   *
+   * @param period period of task, rounded up to whole ticks
+   * @param task task to run
+   * @return disposable cancelling task
+   */
+  public Disposable schedulePeriodically(Duration period, Runnable task) {
+    Objects.requireNonNull(task, "task");
+    long periodTicks = Math.max(1, (period.toMillis() + tickMillis - 1) / tickMillis);
+    Task t = new Task(task, periodTicks);
+    added.offer(t);
+    return t;
+  }
+
+  /** @return current time in milliseconds, updated once per tick */
+  public long now() {
+    return now;
+  }
+
+  @Override
+  public void dispose() {
+    ticks.dispose();
+    scheduler.dispose();
+  }
+
+  @Override
+  public boolean isDisposed() {
+    return ticks.isDisposed();
+  }
+
+  private void tick() {
+    now = System.currentTimeMillis();
+    long current = ++tick;
+
+    Task task;
+    while ((task = added.poll()) != null) {
+      if (!task.disposed) {
+        task.deadline = current + task.periodTicks;
+        wheel[(int) (task.deadline & mask)].add(task);
+      }
+    }
+
+    /*due tasks are run and compacted out of the bucket, others stay for next rounds*/
+    List<Task> bucket = wheel[(int) (current & mask)];
+    int kept = 0;
+    for (int i = 0, size = bucket.size(); i < size; i++) {
+      task = bucket.get(i);
+      if (task.disposed) {
+        continue;
+      }
+      if (task.deadline <= current) {
+        task.run();
+        if (!task.disposed) {
+          task.deadline = current + task.periodTicks;
+          rescheduled.add(task);
+        }
+      } else {
+        bucket.set(kept++, task);
+      }
+    }
+    bucket.subList(kept, bucket.size()).clear();
+
+    for (int i = 0; i < rescheduled.size(); i++) {
+      task = rescheduled.get(i);
+      wheel[(int) (task.deadline & mask)].add(task);
+    }
+    rescheduled.clear();
+  }
+
+  private static final class Task implements Disposable {
+    private final Runnable action;
+    private final long periodTicks;
+    /*used by timer thread only*/
+    private long deadline;
+    private volatile boolean disposed;
+
+    Task(Runnable action, long periodTicks) {
+      this.action = action;
+      this.periodTicks = periodTicks;
+    }
+
+    void run() {
+      try {
+        action.run();
+      } catch (Throwable t) {
+        /*keep other connections ticking*/
+        disposed = true;
+        logger.error("Keep-alive task failed, cancelling it", t);
+      }
+    }
+
+    @Override
+    public void dispose() {
+      disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return disposed;
+    }
+  }
+
+  private static class SharedHolder {
+    static final KeepAliveTimer INSTANCE =
+        new KeepAliveTimer("rsocket-keepalive-timer", DEFAULT_TICK, DEFAULT_WHEEL_SIZE);
+  }
+}
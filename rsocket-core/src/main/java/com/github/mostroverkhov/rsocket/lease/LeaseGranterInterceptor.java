@@ -17,10 +17,12 @@
 package com.github.mostroverkhov.rsocket.lease;
 
 import com.github.mostroverkhov.rsocket.DuplexConnection;
-import com.github.mostroverkhov.rsocket.interceptors.DuplexConnectionInterceptor;
+import com.github.mostroverkhov.rsocket.interceptors.DuplexConnectionInterceptor.Type;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandler;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandlerInterceptor;
 import java.util.function.Consumer;
 
-class LeaseGranterInterceptor implements DuplexConnectionInterceptor {
+class LeaseGranterInterceptor implements FrameHandlerInterceptor {
   private final LeaseContext leaseContext;
   private final LeaseManager sender;
   private final LeaseManager receiver;
@@ -38,15 +40,14 @@ public LeaseGranterInterceptor(
   }
 
   @Override
-  public DuplexConnection apply(Type type, DuplexConnection connection) {
+  public FrameHandler apply(Type type, DuplexConnection connection) {
     if (type == Type.STREAM_ZERO) {
-      LeaseGranterConnection leaseGranterConnection =
-          new LeaseGranterConnection(leaseContext, connection, sender, receiver);
-      leaseHandle.accept(
-          new LeaseConnectionRef(leaseGranterConnection, leaseGranterConnection.onClose()));
-      return leaseGranterConnection;
+      LeaseGranterFrameHandler leaseGranter =
+          new LeaseGranterFrameHandler(leaseContext, connection, sender, receiver);
+      leaseHandle.accept(new LeaseConnectionRef(leaseGranter, connection.onClose()));
+      return leaseGranter;
     } else {
-      return connection;
+      return null;
     }
   }
 }
@@ -41,9 +41,9 @@ public static Supplier<InterceptorFactory.InterceptorSet> forServer(
           /*handler rsocket is Lease aware*/
           .handlerRSocket(new LeaseInterceptor(leaseContext, "server responder", receiver))
           /*grants Lease quotas of above rsockets*/
-          .connection(new LeaseGranterInterceptor(leaseContext, sender, receiver, leaseHandle))
+          .frameHandler(new LeaseGranterInterceptor(leaseContext, sender, receiver, leaseHandle))
           /*enables lease for particular connection*/
-          .connection(new ServerLeaseEnablingInterceptor(leaseContext));
+          .frameHandler(new ServerLeaseEnablingInterceptor(leaseContext));
     };
   }
 
@@ -59,7 +59,7 @@ public static Supplier<InterceptorFactory.InterceptorSet> forClient(
           /*handler rsocket is Lease aware*/
           .handlerRSocket(new LeaseInterceptor(leaseEnabled, "client responder", receiver))
           /*grants Lease quotas to above rsockets*/
-          .connection(new LeaseGranterInterceptor(leaseEnabled, sender, receiver, leaseHandle));
+          .frameHandler(new LeaseGranterInterceptor(leaseEnabled, sender, receiver, leaseHandle));
     };
   }
 }
@@ -17,9 +17,13 @@
 package com.github.mostroverkhov.rsocket.lease;
 
 import com.github.mostroverkhov.rsocket.DuplexConnection;
-import com.github.mostroverkhov.rsocket.interceptors.DuplexConnectionInterceptor;
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.FrameType;
+import com.github.mostroverkhov.rsocket.interceptors.DuplexConnectionInterceptor.Type;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandler;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandlerInterceptor;
 
-class ServerLeaseEnablingInterceptor implements DuplexConnectionInterceptor {
+class ServerLeaseEnablingInterceptor implements FrameHandlerInterceptor {
   private final LeaseContext leaseContext;
 
   public ServerLeaseEnablingInterceptor(LeaseContext leaseContext) {
@@ -27,11 +31,26 @@ public ServerLeaseEnablingInterceptor(LeaseContext leaseContext) {
   }
 
   @Override
-  public DuplexConnection apply(Type type, DuplexConnection connection) {
+  public FrameHandler apply(Type type, DuplexConnection connection) {
     if (type == Type.INIT) {
-      return new ServerLeaseEnablingConnection(connection, leaseContext);
+      return new ServerLeaseEnablingFrameHandler(leaseContext);
     } else {
-      return connection;
+      return null;
+    }
+  }
+
+  private static class ServerLeaseEnablingFrameHandler implements FrameHandler {
+    private final LeaseContext leaseContext;
+
+    public ServerLeaseEnablingFrameHandler(LeaseContext leaseContext) {
+      this.leaseContext = leaseContext;
+    }
+
+    @Override
+    public Frame onInbound(Frame f) {
+      boolean enabled = f.getType().equals(FrameType.SETUP) && Frame.Setup.supportsLease(f);
+      leaseContext.leaseEnabled(enabled);
+      return f;
     }
   }
 }
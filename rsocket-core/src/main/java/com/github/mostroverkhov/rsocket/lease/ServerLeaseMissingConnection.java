@@ -43,7 +43,7 @@ public Flux<Frame> receive() {
                 frame.release();
                 UnsupportedSetupException error =
                     new UnsupportedSetupException("Server does not support Lease");
-                sendOne(Frame.Error.from(0, error))
+                sendOne(Frame.Error.from(alloc(), 0, error))
                     .then(close())
                     .onErrorResume(err -> Mono.empty())
                     .subscribe();
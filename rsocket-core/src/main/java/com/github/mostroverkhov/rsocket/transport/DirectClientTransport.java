@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport;
+
+import com.github.mostroverkhov.rsocket.SocketAcceptor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Client transport which may connect to server of same JVM directly: requests and responses are
+ * passed to peer as {@code Payload} objects, without encoding frames
+ */
+public interface DirectClientTransport extends ClientTransport {
+
+  /**
+   * Returns a {@code Publisher}, every subscription to which returns acceptor of server RSocket.
+   * Acceptor is called once per connection with client setup and client handler RSocket, and
+   * returns server handler RSocket.
+   *
+   * @return {@code Publisher} of server acceptor
+   */
+  Mono<SocketAcceptor> connectDirect();
+}
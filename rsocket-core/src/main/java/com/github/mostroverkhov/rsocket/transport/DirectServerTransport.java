@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport;
+
+import com.github.mostroverkhov.rsocket.Closeable;
+import com.github.mostroverkhov.rsocket.SocketAcceptor;
+import reactor.core.publisher.Mono;
+
+/** Server transport accepting both frame connections and direct clients of same JVM */
+public interface DirectServerTransport<T extends Closeable> extends ServerTransport<T> {
+
+  /**
+   * Starts this server.
+   *
+   * @param acceptor An acceptor to process a newly accepted {@code DuplexConnection}
+   * @param directAcceptor An acceptor of {@link DirectClientTransport} clients
+   * @return A handle to retrieve information about a started server.
+   */
+  Mono<T> start(ConnectionAcceptor acceptor, SocketAcceptor directAcceptor);
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.util;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.Payload;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.IllegalReferenceCountException;
+import io.netty.util.Recycler;
+import io.netty.util.Recycler.Handle;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nullable;
+
+/**
+ * {@link ByteBuf} backed, reference counted implementation of {@link Payload}. Data and metadata
+ * are retained views of their source buffers, so creating a payload from a received {@link Frame}
+ * does not copy frame content. Instances are recycled once the reference count reaches {@code 0},
+ * and must not be accessed after being released.
+ */
+public final class ByteBufPayload extends AbstractReferenceCounted implements Payload {
+  private static final Recycler<ByteBufPayload> RECYCLER =
+      new Recycler<ByteBufPayload>() {
+        protected ByteBufPayload newObject(Handle<ByteBufPayload> handle) {
+          return new ByteBufPayload(handle);
+        }
+      };
+
+  private final Handle<ByteBufPayload> handle;
+  private ByteBuf data;
+  private @Nullable ByteBuf metadata;
+
+  private ByteBufPayload(final Handle<ByteBufPayload> handle) {
+    this.handle = handle;
+  }
+
+  /**
+   * Creates payload which shares content of given frame. The frame itself is not retained, and may
+   * be released independently of returned payload.
+   *
+   * @param frame received frame
+   * @return payload sharing frame data and metadata
+   */
+  public static ByteBufPayload create(Frame frame) {
+    return create(
+        frame.sliceData().retain(), frame.hasMetadata() ? frame.sliceMetadata().retain() : null);
+  }
+
+  /**
+   * Creates payload which takes ownership of given buffers: they are released along with this
+   * payload.
+   *
+   * @param data payload data
+   * @param metadata payload metadata, or {@code null} if payload has no metadata
+   * @return payload
+   */
+  public static ByteBufPayload create(ByteBuf data, @Nullable ByteBuf metadata) {
+    ByteBufPayload payload = RECYCLER.get();
+    payload.setRefCnt(1);
+    payload.data = data;
+    payload.metadata = metadata;
+    return payload;
+  }
+
+  public static ByteBufPayload create(ByteBuf data) {
+    return create(data, null);
+  }
+
+  public static ByteBufPayload create(String data) {
+    return create(ByteBufUtil.writeUtf8(ByteBufAllocator.DEFAULT, data), null);
+  }
+
+  public static ByteBufPayload create(String data, @Nullable String metadata) {
+    return create(
+        ByteBufUtil.writeUtf8(ByteBufAllocator.DEFAULT, data),
+        metadata == null ? null : ByteBufUtil.writeUtf8(ByteBufAllocator.DEFAULT, metadata));
+  }
+
+  @Override
+  public boolean hasMetadata() {
+    ensureAccessible();
+    return metadata != null;
+  }
+
+  @Override
+  public ByteBuf sliceMetadata() {
+    ensureAccessible();
+    return metadata == null ? Unpooled.EMPTY_BUFFER : metadata.slice();
+  }
+
+  @Override
+  public ByteBuf sliceData() {
+    ensureAccessible();
+    return data.slice();
+  }
+
+  /**
+   * Returns NIO view of payload metadata. Content is not copied unless metadata is a composite of
+   * several buffers.
+   */
+  @Override
+  public ByteBuffer getMetadata() {
+    return sliceMetadata().nioBuffer();
+  }
+
+  /**
+   * Returns NIO view of payload data. Content is not copied unless data is a composite of several
+   * buffers.
+   */
+  @Override
+  public ByteBuffer getData() {
+    return sliceData().nioBuffer();
+  }
+
+  @Override
+  public String getMetadataUtf8() {
+    return sliceMetadata().toString(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String getDataUtf8() {
+    return sliceData().toString(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public ByteBufPayload retain() {
+    super.retain();
+    return this;
+  }
+
+  @Override
+  public ByteBufPayload retain(int increment) {
+    super.retain(increment);
+    return this;
+  }
+
+  @Override
+  public ByteBufPayload touch() {
+    data.touch();
+    if (metadata != null) {
+      metadata.touch();
+    }
+    return this;
+  }
+
+  @Override
+  public ByteBufPayload touch(@Nullable Object hint) {
+    data.touch(hint);
+    if (metadata != null) {
+      metadata.touch(hint);
+    }
+    return this;
+  }
+
+  @Override
+  protected void deallocate() {
+    data.release();
+    data = null;
+    if (metadata != null) {
+      metadata.release();
+      metadata = null;
+    }
+    handle.recycle(this);
+  }
+
+  private void ensureAccessible() {
+    if (refCnt() <= 0) {
+      throw new IllegalReferenceCountException(refCnt());
+    }
+  }
+}
@@ -26,6 +26,9 @@
 /**
  * An implementation of {@link Payload}. This implementation is <b>not</b> thread-safe, and hence
  * any method can not be invoked concurrently.
+ *
+ * <p>Payloads created from {@link Frame} copy its content, see {@link
+ * com.github.mostroverkhov.rsocket.PayloadDecoder#COPY}. Reference counting is no-op.
  */
 public class PayloadImpl implements Payload {
 
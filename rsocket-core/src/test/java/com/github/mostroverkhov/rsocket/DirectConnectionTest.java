@@ -0,0 +1,156 @@
+package com.github.mostroverkhov.rsocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.github.mostroverkhov.rsocket.exceptions.ApplicationException;
+import com.github.mostroverkhov.rsocket.exceptions.RejectedException;
+import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+public class DirectConnectionTest {
+  private List<Long> requested;
+  private AtomicBoolean cancelled;
+  private AtomicBoolean handlerClosed;
+  private DirectConnection connection;
+  private RSocket requester;
+
+  @Before
+  public void setUp() {
+    requested = new ArrayList<>();
+    cancelled = new AtomicBoolean();
+    handlerClosed = new AtomicBoolean();
+    connection = new DirectConnection(Throwable::printStackTrace);
+    requester = connection.clientRequester();
+  }
+
+  @Test
+  public void requestNAndCancelReachHandler() {
+    connection.accepted(streamHandler(Flux.range(0, 10).map(i -> new PayloadImpl("" + i))));
+    Receiver receiver = new Receiver();
+    requester.requestStream(new PayloadImpl("request")).subscribe(receiver);
+
+    receiver.request(2);
+    receiver.request(3);
+    assertEquals(5, receiver.payloads.size());
+    receiver.cancel();
+
+    assertEquals(2L, (long) requested.get(0));
+    assertEquals(3L, (long) requested.get(1));
+    assertTrue(cancelled.get());
+  }
+
+  @Test
+  public void requestBeforeAccepted() {
+    Receiver receiver = new Receiver();
+    requester.requestStream(new PayloadImpl("request")).subscribe(receiver);
+    receiver.request(Long.MAX_VALUE);
+
+    connection.accepted(streamHandler(Flux.just(new PayloadImpl("response"))));
+    assertEquals(1, receiver.payloads.size());
+    assertEquals(SignalType.ON_COMPLETE, receiver.terminal);
+  }
+
+  @Test
+  public void handlerErrorsMappedAsErrorFrames() {
+    connection.accepted(streamHandler(Flux.error(new IllegalStateException("error"))));
+    Receiver receiver = new Receiver();
+    requester.requestStream(new PayloadImpl("request")).subscribe(receiver);
+    receiver.request(1);
+    assertTrue(receiver.error instanceof ApplicationException);
+    assertEquals("error", receiver.error.getMessage());
+  }
+
+  @Test
+  public void rSocketErrorsPassedAsIs() {
+    connection.accepted(streamHandler(Flux.error(new RejectedException("rejected"))));
+    Receiver receiver = new Receiver();
+    requester.requestStream(new PayloadImpl("request")).subscribe(receiver);
+    receiver.request(1);
+    assertTrue(receiver.error instanceof RejectedException);
+  }
+
+  @Test
+  public void closeErrorsActiveStreamsAndClosesHandlers() {
+    connection.accepted(streamHandler(Flux.never()));
+    Receiver receiver = new Receiver();
+    requester.requestStream(new PayloadImpl("request")).subscribe(receiver);
+    receiver.request(1);
+
+    requester.close().block();
+    assertTrue(receiver.error instanceof ClosedChannelException);
+    assertTrue(cancelled.get());
+    assertTrue(handlerClosed.get());
+    assertEquals(0.0, requester.availability(), 0.0);
+
+    Receiver afterClose = new Receiver();
+    requester.requestStream(new PayloadImpl("request")).subscribe(afterClose);
+    assertTrue(afterClose.error instanceof ClosedChannelException);
+  }
+
+  @Test
+  public void closeErrorsActiveResponse() {
+    connection.accepted(
+        new AbstractRSocket() {
+          @Override
+          public Mono<Payload> requestResponse(Payload payload) {
+            return Mono.<Payload>never().doOnCancel(() -> cancelled.set(true));
+          }
+        });
+    Receiver receiver = new Receiver();
+    requester.requestResponse(new PayloadImpl("request")).subscribe(receiver);
+    receiver.request(1);
+
+    requester.close().block();
+    assertTrue(receiver.error instanceof ClosedChannelException);
+    assertTrue(cancelled.get());
+  }
+
+  private RSocket streamHandler(Flux<Payload> response) {
+    return new AbstractRSocket() {
+      @Override
+      public Flux<Payload> requestStream(Payload payload) {
+        return response.doOnRequest(requested::add).doOnCancel(() -> cancelled.set(true));
+      }
+
+      @Override
+      public Mono<Void> close() {
+        return Mono.fromRunnable(() -> handlerClosed.set(true));
+      }
+    };
+  }
+
+  private static class Receiver extends BaseSubscriber<Payload> {
+    final List<Payload> payloads = new ArrayList<>();
+    Throwable error;
+    SignalType terminal;
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {}
+
+    @Override
+    protected void hookOnNext(Payload payload) {
+      payloads.add(payload);
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    protected void hookFinally(SignalType type) {
+      terminal = type;
+    }
+  }
+}
@@ -1,9 +1,20 @@
 package com.github.mostroverkhov.rsocket;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import com.github.mostroverkhov.rsocket.frame.FrameHeaderFlyweight;
+import com.github.mostroverkhov.rsocket.frame.RequestFrameFlyweight;
+import com.github.mostroverkhov.rsocket.util.ByteBufPayload;
 import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import java.nio.charset.StandardCharsets;
 import org.junit.Test;
 
 public class FrameTest {
@@ -33,4 +44,101 @@ public void testPayload() {
             1, FrameType.NEXT_COMPLETE, new PayloadImpl("Hello"), FrameHeaderFlyweight.FLAGS_C);
     frame.toString();
   }
+
+  @Test
+  public void testLargeRequestIsComposedOfPayloadBuffers() {
+    String data = largeString();
+    ByteBufPayload payload = ByteBufPayload.create(data, "metadata");
+    Frame frame = Frame.Request.from(1, FrameType.REQUEST_STREAM, payload, 42);
+
+    assertTrue(frame.content() instanceof CompositeByteBuf);
+    assertEquals(2, payload.sliceData().refCnt());
+
+    ByteBuf expected =
+        Unpooled.buffer(
+            RequestFrameFlyweight.computeFrameLength(
+                FrameType.REQUEST_STREAM, "metadata".length(), data.length()));
+    expected.writerIndex(
+        RequestFrameFlyweight.encode(
+            expected,
+            1,
+            FrameHeaderFlyweight.FLAGS_M,
+            FrameType.REQUEST_STREAM,
+            42,
+            Unpooled.copiedBuffer("metadata", StandardCharsets.UTF_8),
+            Unpooled.copiedBuffer(data, StandardCharsets.UTF_8)));
+    assertTrue(ByteBufUtil.equals(expected, frame.content()));
+    assertEquals(42, Frame.Request.initialRequestN(frame));
+    assertEquals(data, frame.getDataUtf8());
+    assertEquals("metadata", frame.sliceMetadata().toString(StandardCharsets.UTF_8));
+
+    frame.release();
+    assertEquals(1, payload.sliceData().refCnt());
+    payload.release();
+  }
+
+  @Test
+  public void testLargePayloadIsComposedOfPayloadBuffers() {
+    String data = largeString();
+    ByteBufPayload payload = ByteBufPayload.create(data);
+    Frame frame = Frame.PayloadFrame.from(3, FrameType.NEXT_COMPLETE, payload);
+
+    assertTrue(frame.content() instanceof CompositeByteBuf);
+    assertEquals(FrameType.NEXT_COMPLETE, frame.getType());
+    assertEquals(3, frame.getStreamId());
+    assertEquals(data, frame.getDataUtf8());
+    assertEquals(
+        FrameHeaderFlyweight.computeFrameHeaderLength(FrameType.NEXT_COMPLETE, null, data.length()),
+        frame.content().readableBytes());
+
+    frame.release();
+    payload.release();
+    assertEquals(0, payload.refCnt());
+  }
+
+  @Test
+  public void testFramesAreAllocatedWithGivenAllocator() {
+    ByteBufAllocator allocator = new UnpooledByteBufAllocator(false);
+
+    Frame requestN = Frame.RequestN.from(allocator, 1, 42);
+    Frame payload = Frame.PayloadFrame.from(allocator, 1, FrameType.NEXT, new PayloadImpl("data"));
+    Frame composite =
+        Frame.PayloadFrame.from(allocator, 1, FrameType.NEXT, ByteBufPayload.create(largeString()));
+
+    assertSame(allocator, requestN.content().alloc());
+    assertSame(allocator, payload.content().alloc());
+    assertSame(allocator, composite.content().alloc());
+  }
+
+  @Test
+  public void testHeaderIsDecodedForEachRecycledFrame() {
+    Frame cancel = Frame.Cancel.from(5);
+    assertEquals(FrameType.CANCEL, cancel.getType());
+    cancel.release();
+
+    Frame requestN = Frame.RequestN.from(7, 10);
+    assertEquals(FrameType.REQUEST_N, requestN.getType());
+    assertEquals(7, requestN.getStreamId());
+    assertEquals(10, Frame.RequestN.requestN(requestN));
+    requestN.release();
+  }
+
+  @Test
+  public void testMetadataOnlyFrame() {
+    Frame frame =
+        Frame.Request.from(0, FrameType.METADATA_PUSH, new PayloadImpl("", "metadata"), 1);
+
+    assertEquals("metadata", frame.sliceMetadata().toString(StandardCharsets.UTF_8));
+    assertEquals(0, frame.sliceData().readableBytes());
+    assertEquals(FrameHeaderFlyweight.sliceFrameMetadata(frame.content()), frame.sliceMetadata());
+    frame.release();
+  }
+
+  private static String largeString() {
+    StringBuilder sb = new StringBuilder();
+    while (sb.length() < Frame.getZeroCopyThreshold()) {
+      sb.append("zero copy ");
+    }
+    return sb.toString();
+  }
 }
@@ -192,6 +192,54 @@ public void testLazyRequestResponse() {
     assertThat("Stream ID reused.", streamId2, not(equalTo(streamId)));
   }
 
+  @Test(timeout = 2_000)
+  public void testRequestResponseDeliveredOnRequest() {
+    Mono<Payload> response = rule.socket.requestResponse(PayloadImpl.EMPTY);
+    BaseSubscriber<Payload> subscriber =
+        new BaseSubscriber<Payload>() {
+          @Override
+          protected void hookOnSubscribe(Subscription subscription) {}
+        };
+    List<Payload> received = new ArrayList<>();
+    response.doOnNext(received::add).subscribe(subscriber);
+
+    int streamId = rule.getStreamIdForRequestType(REQUEST_RESPONSE);
+    rule.connection.addToReceivedBuffer(
+        Frame.PayloadFrame.from(streamId, NEXT_COMPLETE, new PayloadImpl("response")));
+    assertThat("Response emitted before request.", received, hasSize(0));
+
+    subscriber.request(1);
+    assertThat("Response not emitted.", received, hasSize(1));
+    assertThat(received.get(0).getDataUtf8(), is("response"));
+  }
+
+  @Test(timeout = 2_000)
+  public void testRequestResponseEmpty() {
+    Mono<Payload> response = rule.socket.requestResponse(PayloadImpl.EMPTY);
+    StepVerifier.create(response)
+        .then(
+            () -> {
+              int streamId = rule.getStreamIdForRequestType(REQUEST_RESPONSE);
+              rule.connection.addToReceivedBuffer(Frame.PayloadFrame.from(streamId, COMPLETE));
+            })
+        .expectComplete()
+        .verify(Duration.ofSeconds(1));
+  }
+
+  @Test(timeout = 2_000)
+  public void testRequestResponseCancelRemovesStream() {
+    Mono<Payload> response = rule.socket.requestResponse(PayloadImpl.EMPTY);
+    response.subscribe().dispose();
+
+    int streamId = rule.getStreamIdForRequestType(REQUEST_RESPONSE);
+    assertThat(rule.getStreamIdForRequestType(CANCEL), is(streamId));
+
+    /*late response for cancelled stream is ignored*/
+    rule.connection.addToReceivedBuffer(
+        Frame.PayloadFrame.from(streamId, NEXT_COMPLETE, PayloadImpl.EMPTY));
+    assertThat("Unexpected errors.", rule.errors, hasSize(0));
+  }
+
   private int sendRequestResponse(Publisher<Payload> response) {
     Subscriber<Payload> sub = TestSubscriber.create();
     response.subscribe(sub);
@@ -20,6 +20,9 @@
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import org.junit.Test;
 
 public class StreamIdSupplierTest {
@@ -82,4 +85,63 @@ public void testServerIsValid() {
     // client also accepted (checked externally)
     assertTrue(s.isBeforeOrCurrent(1));
   }
+
+  @Test
+  public void testClientMaxStreamId() {
+    StreamIdSupplier s = new StreamIdSupplier(Integer.MAX_VALUE - 4, Integer.MAX_VALUE);
+    assertEquals(Integer.MAX_VALUE - 2, s.nextStreamId());
+    assertEquals(Integer.MAX_VALUE, s.nextStreamId());
+    assertEquals(Integer.MAX_VALUE - 2, s.nextStreamId());
+  }
+
+  @Test
+  public void testWrapAround() {
+    StreamIdSupplier s = new StreamIdSupplier(-1, 7);
+    assertEquals(1, s.nextStreamId());
+    assertEquals(3, s.nextStreamId());
+    assertEquals(5, s.nextStreamId());
+    assertEquals(7, s.nextStreamId());
+    assertEquals(1, s.nextStreamId());
+    assertEquals(3, s.nextStreamId());
+  }
+
+  @Test
+  public void testWrapAroundSkipsActiveStreams() {
+    StreamIdSupplier s = new StreamIdSupplier(0, 8);
+    Set<Integer> active = new HashSet<>();
+    for (int i = 0; i < 4; i++) {
+      active.add(s.nextStreamId(active::contains));
+    }
+    assertEquals(new HashSet<>(Arrays.asList(2, 4, 6, 8)), active);
+
+    active.remove(4);
+    active.remove(8);
+    assertEquals(4, s.nextStreamId(active::contains));
+    assertEquals(8, s.nextStreamId(active::contains));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNoStreamIdsAvailable() {
+    StreamIdSupplier s = new StreamIdSupplier(0, 8);
+    for (int i = 0; i < 4; i++) {
+      s.nextStreamId();
+    }
+    s.nextStreamId(streamId -> true);
+  }
+
+  @Test
+  public void testIsValidAfterWrapAround() {
+    StreamIdSupplier s = new StreamIdSupplier(-1, 7);
+    for (int i = 0; i < 4; i++) {
+      s.nextStreamId();
+    }
+    assertTrue(s.isBeforeOrCurrent(7));
+    s.nextStreamId();
+
+    // recycled ids are all issued before
+    assertTrue(s.isBeforeOrCurrent(1));
+    assertTrue(s.isBeforeOrCurrent(7));
+    assertFalse(s.isBeforeOrCurrent(0));
+    assertFalse(s.isBeforeOrCurrent(-1));
+  }
 }
@@ -26,6 +26,7 @@
 import com.github.mostroverkhov.rsocket.Frame;
 import com.github.mostroverkhov.rsocket.FrameType;
 import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import io.netty.buffer.ByteBufAllocator;
 import java.nio.ByteBuffer;
 import java.util.concurrent.ThreadLocalRandom;
 import org.junit.Test;
@@ -40,6 +41,7 @@ public class FragmentationDuplexConnectionTest {
   @Test
   public void testSendOneWithFragmentation() {
     DuplexConnection mockConnection = mock(DuplexConnection.class);
+    when(mockConnection.alloc()).thenReturn(ByteBufAllocator.DEFAULT);
     when(mockConnection.send(any()))
         .then(
             invocation -> {
@@ -66,6 +68,7 @@ public void testSendOneWithFragmentation() {
   @Test
   public void testShouldNotFragment() {
     DuplexConnection mockConnection = mock(DuplexConnection.class);
+    when(mockConnection.alloc()).thenReturn(ByteBufAllocator.DEFAULT);
     when(mockConnection.sendOne(any(Frame.class))).thenReturn(Mono.empty());
 
     ByteBuffer data = createRandomBytes(16);
@@ -84,6 +87,7 @@ public void testShouldNotFragment() {
   @Test
   public void testShouldFragmentMultiple() {
     DuplexConnection mockConnection = mock(DuplexConnection.class);
+    when(mockConnection.alloc()).thenReturn(ByteBufAllocator.DEFAULT);
     when(mockConnection.send(any()))
         .then(
             invocation -> {
@@ -123,6 +127,7 @@ public void testReassembleFragmentFrame() {
     Flux<Frame> fragmentedFrames = frameFragmenter.fragment(frame);
     EmitterProcessor<Frame> processor = EmitterProcessor.create(128);
     DuplexConnection mockConnection = mock(DuplexConnection.class);
+    when(mockConnection.alloc()).thenReturn(ByteBufAllocator.DEFAULT);
     when(mockConnection.receive()).then(answer -> processor);
 
     FragmentationDuplexConnection duplexConnection =
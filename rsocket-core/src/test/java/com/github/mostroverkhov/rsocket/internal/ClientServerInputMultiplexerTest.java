@@ -23,10 +23,12 @@
 import com.github.mostroverkhov.rsocket.interceptors.InterceptorRegistry;
 import com.github.mostroverkhov.rsocket.test.util.TestDuplexConnection;
 import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import io.netty.buffer.ByteBuf;
 import java.time.Duration;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
+import reactor.test.StepVerifier;
 
 public class ClientServerInputMultiplexerTest {
   private TestDuplexConnection source;
@@ -97,6 +99,40 @@ public void testSplits() {
     assertEquals(1, initFrames.get());
   }
 
+  @Test
+  public void testFramesBeforeSubscriptionAreDelivered() {
+    source.addToReceivedBuffer(Frame.Error.from(1, new Exception()));
+    source.addToReceivedBuffer(Frame.Error.from(3, new Exception()));
+
+    StepVerifier.create(multiplexer.asClientConnection().receive(), 0)
+        .thenRequest(1)
+        .expectNextMatches(f -> f.getStreamId() == 1)
+        .then(() -> source.addToReceivedBuffer(Frame.Error.from(5, new Exception())))
+        .thenRequest(2)
+        .expectNextMatches(f -> f.getStreamId() == 3)
+        .expectNextMatches(f -> f.getStreamId() == 5)
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  public void testFramesAfterCancelAreReleased() {
+    multiplexer.asServerConnection().receive().subscribe().dispose();
+
+    Frame frame = Frame.Error.from(2, new Exception());
+    ByteBuf content = frame.content();
+    source.addToReceivedBuffer(frame);
+    assertEquals(0, content.refCnt());
+  }
+
+  @Test
+  public void testSingleSubscriber() {
+    multiplexer.asClientConnection().receive().subscribe();
+    StepVerifier.create(multiplexer.asClientConnection().receive())
+        .expectError(IllegalStateException.class)
+        .verify();
+  }
+
   private Frame setupFrame() {
     int duration = (int) Duration.ZERO.toMillis();
     Frame setupFrame =
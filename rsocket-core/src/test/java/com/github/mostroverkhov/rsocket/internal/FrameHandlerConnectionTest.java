@@ -0,0 +1,207 @@
+package com.github.mostroverkhov.rsocket.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.github.mostroverkhov.rsocket.DuplexConnection;
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.FrameType;
+import com.github.mostroverkhov.rsocket.interceptors.DuplexConnectionInterceptor;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandler;
+import com.github.mostroverkhov.rsocket.interceptors.InterceptorFactory;
+import com.github.mostroverkhov.rsocket.interceptors.InterceptorRegistry;
+import com.github.mostroverkhov.rsocket.test.util.LocalDuplexConnection;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.DirectProcessor;
+
+public class FrameHandlerConnectionTest {
+  private DirectProcessor<Frame> sender;
+  private DirectProcessor<Frame> receiver;
+  private LocalDuplexConnection source;
+  private List<String> events;
+
+  @Before
+  public void setUp() {
+    sender = DirectProcessor.create();
+    receiver = DirectProcessor.create();
+    source = new LocalDuplexConnection("test", sender, receiver);
+    events = new ArrayList<>();
+  }
+
+  @Test
+  public void inboundHandlersAppliedInOrder() {
+    FrameHandlerConnection conn =
+        new FrameHandlerConnection(source, new Recording("first"), new Recording("second"));
+    List<Frame> received = new ArrayList<>();
+    conn.receive().subscribe(received::add);
+    Frame frame = Frame.Cancel.from(1);
+    receiver.onNext(frame);
+
+    assertEquals(1, received.size());
+    assertSame(frame, received.get(0));
+    assertEquals("first in,second in", String.join(",", events));
+  }
+
+  @Test
+  public void outboundHandlersAppliedInReverseOrder() {
+    FrameHandlerConnection conn =
+        new FrameHandlerConnection(source, new Recording("first"), new Recording("second"));
+    List<Frame> sent = new ArrayList<>();
+    sender.subscribe(sent::add);
+    conn.sendOne(Frame.Cancel.from(1)).subscribe();
+
+    assertEquals(1, sent.size());
+    assertEquals("second out,first out", String.join(",", events));
+  }
+
+  @Test
+  public void consumedFrameSkipsRestOfPipeline() {
+    FrameHandler consumer =
+        new FrameHandler() {
+          @Override
+          public Frame onInbound(Frame frame) {
+            frame.release();
+            return null;
+          }
+        };
+    FrameHandlerConnection conn =
+        new FrameHandlerConnection(source, consumer, new Recording("next"));
+    List<Frame> received = new ArrayList<>();
+    conn.receive().subscribe(received::add);
+    receiver.onNext(Frame.Cancel.from(1));
+
+    assertTrue(received.isEmpty());
+    assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void replacedFramePassedToRestOfPipeline() {
+    FrameHandler replacer =
+        new FrameHandler() {
+          @Override
+          public Frame onInbound(Frame frame) {
+            frame.release();
+            return Frame.RequestN.from(1, 42);
+          }
+        };
+    FrameHandlerConnection conn =
+        new FrameHandlerConnection(source, replacer, new Recording("next"));
+    List<Frame> received = new ArrayList<>();
+    conn.receive().subscribe(received::add);
+    receiver.onNext(Frame.Cancel.from(1));
+
+    assertEquals(1, received.size());
+    assertEquals(FrameType.REQUEST_N, received.get(0).getType());
+    assertEquals(42, Frame.RequestN.requestN(received.get(0)));
+    assertEquals("next in", String.join(",", events));
+  }
+
+  @Test
+  public void inboundHandlerErrorTerminatesReceive() {
+    FrameHandlerConnection conn =
+        new FrameHandlerConnection(source, ZeroErrorFrameHandler.INSTANCE);
+    List<Throwable> errors = new ArrayList<>();
+    conn.receive().subscribe(f -> {}, errors::add);
+    receiver.onNext(Frame.Error.from(0, new RuntimeException("boom")));
+
+    assertEquals(1, errors.size());
+  }
+
+  @Test
+  public void registryAppliesInterceptorsInRegistrationOrder() {
+    List<DuplexConnection> intercepted = new ArrayList<>();
+    DuplexConnectionInterceptor recording =
+        (type, connection) -> {
+          intercepted.add(connection);
+          return connection;
+        };
+    InterceptorRegistry registry =
+        new InterceptorFactory()
+            .addConnectionInterceptor(recording)
+            .addFrameHandlerInterceptor((type, connection) -> new Recording("first"))
+            .addFrameHandlerInterceptor(
+                (type, connection) ->
+                    type == DuplexConnectionInterceptor.Type.STREAM_ZERO
+                        ? new Recording("second")
+                        : null)
+            .addConnectionInterceptor(recording)
+            .create();
+
+    DuplexConnection conn =
+        registry.interceptConnection(DuplexConnectionInterceptor.Type.STREAM_ZERO, source);
+    assertTrue(conn instanceof FrameHandlerConnection);
+    assertEquals(2, intercepted.size());
+    assertSame(source, intercepted.get(0));
+    assertSame(conn, intercepted.get(1));
+
+    /*adjacent frame handler interceptors are fused into single stage*/
+    conn.receive().subscribe();
+    receiver.onNext(Frame.Cancel.from(1));
+    assertEquals("first in,second in", String.join(",", events));
+  }
+
+  @Test
+  public void framesSentByHandlerPassOutboundPathOfStage() {
+    List<DuplexConnection> stage = new ArrayList<>();
+    InterceptorRegistry registry =
+        new InterceptorFactory()
+            .addFrameHandlerInterceptor((type, connection) -> new Recording("first"))
+            .addFrameHandlerInterceptor(
+                (type, connection) -> {
+                  stage.add(connection);
+                  return new Recording("second");
+                })
+            .create();
+
+    DuplexConnection conn =
+        registry.interceptConnection(DuplexConnectionInterceptor.Type.STREAM_ZERO, source);
+    assertSame(conn, stage.get(0));
+
+    List<Frame> sent = new ArrayList<>();
+    sender.subscribe(sent::add);
+    stage.get(0).sendOne(Frame.Cancel.from(0)).subscribe();
+
+    assertEquals(1, sent.size());
+    assertEquals("second out,first out", String.join(",", events));
+  }
+
+  @Test
+  public void registryCreatesHandlersPerConnectionType() {
+    InterceptorRegistry registry =
+        new InterceptorFactory()
+            .addFrameHandlerInterceptor(
+                (type, connection) ->
+                    type == DuplexConnectionInterceptor.Type.STREAM_ZERO
+                        ? new Recording("zero")
+                        : null)
+            .create();
+
+    DuplexConnection conn =
+        registry.interceptConnection(DuplexConnectionInterceptor.Type.CLIENT, source);
+    assertSame(source, conn);
+  }
+
+  private class Recording implements FrameHandler {
+    private final String name;
+
+    Recording(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Frame onInbound(Frame frame) {
+      events.add(name + " in");
+      return frame;
+    }
+
+    @Override
+    public Frame onOutbound(Frame frame) {
+      events.add(name + " out");
+      return frame;
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package com.github.mostroverkhov.rsocket.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.FrameType;
+import com.github.mostroverkhov.rsocket.SendQueueMetrics;
+import com.github.mostroverkhov.rsocket.SendScheduler;
+import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+public class PrioritySendProcessorTest {
+  private PrioritySendProcessor processor;
+  private Receiver subscriber;
+
+  @Before
+  public void setUp() {
+    processor = new PrioritySendProcessor(SendQueueMetrics.Side.RESPONDER);
+    subscriber = new Receiver();
+    processor.subscribe(subscriber);
+  }
+
+  @Test
+  public void controlFramesOvertakeDataOfOtherStreams() {
+    processor.onNext(next(1));
+    processor.onNext(next(1));
+    processor.onNext(Frame.RequestN.from(3, 42));
+    processor.onNext(Frame.Cancel.from(5));
+    processor.onNext(Frame.Error.from(0, new RuntimeException("error")));
+
+    assertEquals(3, processor.controlLaneSize());
+    assertEquals(2, processor.dataLaneSize());
+
+    subscriber.request(Long.MAX_VALUE);
+    assertEquals("REQUEST_N:3 CANCEL:5 ERROR:0 NEXT:1 NEXT:1", received());
+    assertEquals(3, processor.controlFrames());
+    assertEquals(2, processor.dataFrames());
+    assertEquals(0, processor.controlLaneSize());
+    assertEquals(0, processor.dataLaneSize());
+  }
+
+  @Test
+  public void controlFramesKeepOrderWithinStream() {
+    processor.onNext(next(1));
+    processor.onNext(Frame.Error.from(1, new RuntimeException("error")));
+    processor.onNext(Frame.Cancel.from(3));
+
+    subscriber.request(Long.MAX_VALUE);
+    assertEquals("CANCEL:3 NEXT:1 ERROR:1", received());
+  }
+
+  @Test
+  public void controlFramesUseControlLaneOnceStreamDataSent() {
+    processor.onNext(next(1));
+    subscriber.request(1);
+    processor.onNext(next(3));
+    processor.onNext(Frame.RequestN.from(1, 1));
+
+    subscriber.request(Long.MAX_VALUE);
+    assertEquals("NEXT:1 REQUEST_N:1 NEXT:3", received());
+  }
+
+  @Test
+  public void dataLaneOrderedByScheduler() {
+    processor =
+        new PrioritySendProcessor(
+            SendQueueMetrics.Side.REQUESTER,
+            SendScheduler.weightedRoundRobin(f -> f.getDataUtf8().length()));
+    subscriber = new Receiver();
+    processor.subscribe(subscriber);
+
+    processor.onNext(Frame.Request.from(1, FrameType.REQUEST_CHANNEL, new PayloadImpl("xx"), 1));
+    processor.onNext(next(1));
+    processor.onNext(next(1));
+    processor.onNext(Frame.Request.from(3, FrameType.REQUEST_CHANNEL, new PayloadImpl("x"), 1));
+    processor.onNext(next(3));
+
+    subscriber.request(Long.MAX_VALUE);
+    assertEquals("REQUEST_CHANNEL:1 NEXT:1 REQUEST_CHANNEL:3 NEXT:1 NEXT:3", received());
+  }
+
+  @Test
+  public void terminalFramesTerminateSchedulerStreams() {
+    List<Integer> terminated = new ArrayList<>();
+    SendScheduler fifo = SendScheduler.fifo();
+    processor =
+        new PrioritySendProcessor(
+            SendQueueMetrics.Side.REQUESTER,
+            new SendScheduler() {
+              @Override
+              public boolean offer(Frame frame) {
+                return fifo.offer(frame);
+              }
+
+              @Override
+              public Frame poll() {
+                return fifo.poll();
+              }
+
+              @Override
+              public int size() {
+                return fifo.size();
+              }
+
+              @Override
+              public void onTerminate(int streamId) {
+                terminated.add(streamId);
+              }
+            });
+
+    processor.onNext(Frame.Request.from(1, FrameType.REQUEST_STREAM, new PayloadImpl("x"), 1));
+    processor.onNext(Frame.Request.from(3, FrameType.REQUEST_CHANNEL, new PayloadImpl("x"), 1));
+    processor.onNext(next(3));
+    processor.onNext(Frame.RequestN.from(3, 1));
+    processor.onNext(Frame.PayloadFrame.from(3, FrameType.COMPLETE));
+    processor.onNext(Frame.Cancel.from(5));
+    processor.onTerminate(7);
+
+    assertEquals(Arrays.asList(1, 3, 5, 7), terminated);
+  }
+
+  @Test
+  public void completesAfterDrain() {
+    processor.onNext(next(1));
+    processor.onComplete();
+    assertFalse(subscriber.completed);
+
+    subscriber.request(1);
+    assertTrue(subscriber.completed);
+  }
+
+  private String received() {
+    return subscriber
+        .frames
+        .stream()
+        .map(f -> f.getType() + ":" + f.getStreamId())
+        .collect(Collectors.joining(" "));
+  }
+
+  private static Frame next(int streamId) {
+    return Frame.PayloadFrame.from(streamId, FrameType.NEXT, new PayloadImpl("data"));
+  }
+
+  private static class Receiver extends BaseSubscriber<Frame> {
+    final List<Frame> frames = new ArrayList<>();
+    boolean completed;
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {}
+
+    @Override
+    protected void hookOnNext(Frame frame) {
+      frames.add(frame);
+    }
+
+    @Override
+    protected void hookOnComplete() {
+      completed = true;
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.github.mostroverkhov.rsocket.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+public class SendBufferWatermarksTest {
+
+  @Test
+  public void unwritableAboveHighWritableAtLowWatermark() {
+    SendBufferWatermarks watermarks = new SendBufferWatermarks(10, 20);
+    watermarks.added(20);
+    assertTrue(watermarks.isWritable());
+    watermarks.added(1);
+    assertFalse(watermarks.isWritable());
+    watermarks.removed(10);
+    assertFalse(watermarks.isWritable());
+    watermarks.removed(1);
+    assertTrue(watermarks.isWritable());
+    assertEquals(10, watermarks.bufferedBytes());
+  }
+
+  @Test
+  public void waitersResumedOnceWritable() {
+    SendBufferWatermarks watermarks = new SendBufferWatermarks(0, 0);
+    AtomicInteger resumed = new AtomicInteger();
+    watermarks.added(1);
+    watermarks.onWritable(resumed::incrementAndGet);
+    assertEquals(0, resumed.get());
+
+    watermarks.removed(1);
+    assertEquals(1, resumed.get());
+    watermarks.added(1);
+    watermarks.removed(1);
+    assertEquals(1, resumed.get());
+  }
+
+  @Test
+  public void waiterRunsImmediatelyIfWritable() {
+    SendBufferWatermarks watermarks = new SendBufferWatermarks(0, 0);
+    AtomicInteger resumed = new AtomicInteger();
+    watermarks.onWritable(resumed::incrementAndGet);
+    assertEquals(1, resumed.get());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void lowWatermarkAboveHigh() {
+    new SendBufferWatermarks(2, 1);
+  }
+
+  @Test
+  public void publisherNotRequestedWhileUnwritable() {
+    SendBufferWatermarks watermarks = new SendBufferWatermarks(1, 2);
+    List<Integer> received = new ArrayList<>();
+    List<Long> requests = new ArrayList<>();
+    LimitableRequestPublisher<Integer> publisher =
+        LimitableRequestPublisher.wrap(Flux.range(0, 1000).doOnRequest(requests::add), watermarks);
+    publisher.subscribe(
+        i -> {
+          received.add(i);
+          if (i == 4) {
+            watermarks.added(3);
+          }
+        });
+    publisher.increaseRequestLimit(500);
+    int pausedReceived = received.size();
+    assertTrue(pausedReceived < 500);
+    assertTrue(requests.stream().allMatch(r -> r <= 64));
+
+    watermarks.removed(1);
+    assertEquals(pausedReceived, received.size());
+    watermarks.removed(2);
+    assertEquals(500, received.size());
+  }
+}
@@ -0,0 +1,167 @@
+package com.github.mostroverkhov.rsocket.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+public class StreamTableTest {
+
+  @Test
+  public void putGetRemove() {
+    StreamTable<String> table = new StreamTable<>();
+    assertNull(table.put(1, "1"));
+    assertNull(table.put(3, "3"));
+    assertEquals("1", table.put(1, "one"));
+
+    assertEquals("one", table.get(1));
+    assertEquals("3", table.get(3));
+    assertNull(table.get(5));
+    assertEquals(2, table.size());
+
+    assertEquals("one", table.remove(1));
+    assertNull(table.get(1));
+    assertNull(table.remove(1));
+    assertFalse(table.remove(3, "other"));
+    assertTrue(table.remove(3, "3"));
+    assertTrue(table.isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroStreamIdRejected() {
+    new StreamTable<String>().put(0, "0");
+  }
+
+  @Test
+  public void growsAndShrinks() {
+    StreamTable<Integer> table = new StreamTable<>();
+    int initial = table.capacity();
+    int count = 100_000;
+    for (int i = 0; i < count; i++) {
+      table.put(streamId(i), i);
+    }
+    assertEquals(count, table.size());
+    assertTrue(table.capacity() >= count);
+    for (int i = 0; i < count; i++) {
+      assertEquals(i, (int) table.get(streamId(i)));
+    }
+
+    for (int i = 0; i < count; i++) {
+      assertEquals(i, (int) table.remove(streamId(i)));
+    }
+    assertTrue(table.isEmpty());
+    assertEquals(initial, table.capacity());
+  }
+
+  @Test
+  public void slidingWindowKeepsCapacity() {
+    StreamTable<Integer> table = new StreamTable<>();
+    int window = 10;
+    for (int i = 0; i < 100_000; i++) {
+      table.put(streamId(i), i);
+      if (i >= window) {
+        assertEquals(i - window, (int) table.remove(streamId(i - window)));
+      }
+    }
+    assertEquals(window, table.size());
+    assertEquals(16, table.capacity());
+    for (int i = 100_000 - window; i < 100_000; i++) {
+      assertEquals(i, (int) table.get(streamId(i)));
+    }
+  }
+
+  @Test
+  public void collidingIdsSurviveRemovals() {
+    StreamTable<Integer> table = new StreamTable<>();
+    int capacity = table.capacity();
+    /*all ids map to the same slot*/
+    int[] ids = {1, 1 + 2 * capacity, 1 + 4 * capacity, 1 + 6 * capacity};
+    for (int id : ids) {
+      table.put(id, id);
+    }
+    table.remove(ids[1]);
+    assertEquals(ids[2], (int) table.get(ids[2]));
+    assertEquals(ids[3], (int) table.get(ids[3]));
+
+    table.put(ids[1], -1);
+    assertEquals(-1, (int) table.get(ids[1]));
+    table.remove(ids[3]);
+    table.remove(ids[2]);
+    assertEquals(-1, (int) table.get(ids[1]));
+    assertEquals(2, table.size());
+  }
+
+  @Test
+  public void forEachToleratesRemoval() {
+    StreamTable<Integer> table = new StreamTable<>();
+    for (int i = 0; i < 100; i++) {
+      table.put(streamId(i), i);
+    }
+    List<Integer> visited = new ArrayList<>();
+    table.forEach(
+        v -> {
+          visited.add(v);
+          table.remove(streamId(v));
+        });
+    assertEquals(100, visited.size());
+    assertTrue(table.isEmpty());
+  }
+
+  @Test
+  public void concurrentLookupNeverSeesOtherStream() throws Exception {
+    StreamTable<Integer> table = new StreamTable<>();
+    int capacity = table.capacity();
+    int rounds = 500_000;
+    int window = 3;
+    AtomicInteger written = new AtomicInteger();
+    AtomicReference<String> failure = new AtomicReference<>();
+
+    List<Thread> readers = new ArrayList<>();
+    for (int r = 0; r < 2; r++) {
+      Thread reader =
+          new Thread(
+              () -> {
+                while (written.get() < rounds && failure.get() == null) {
+                  int last = written.get();
+                  for (int i = Math.max(0, last - 2 * window); i <= last; i++) {
+                    int id = collidingId(i, capacity);
+                    Integer value = table.get(id);
+                    if (value != null && value != id) {
+                      failure.set("stream " + id + " resolved to " + value);
+                    }
+                  }
+                }
+              });
+      reader.start();
+      readers.add(reader);
+    }
+
+    /*all ids share one home slot, so removed entries become tombstones reused by next puts*/
+    for (int i = 0; i < rounds; i++) {
+      table.put(collidingId(i, capacity), collidingId(i, capacity));
+      if (i >= window) {
+        table.remove(collidingId(i - window, capacity));
+      }
+      written.set(i);
+    }
+    written.set(rounds);
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    assertNull(failure.get());
+  }
+
+  private static int collidingId(int i, int capacity) {
+    return 1 + 2 * capacity * i;
+  }
+
+  private static int streamId(int i) {
+    return 2 * i + 1;
+  }
+}
@@ -0,0 +1,132 @@
+package com.github.mostroverkhov.rsocket.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.FrameType;
+import com.github.mostroverkhov.rsocket.SendScheduler;
+import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class WeightedRoundRobinSendSchedulerTest {
+
+  @Test
+  public void streamsAreRoundRobined() {
+    SendScheduler scheduler = SendScheduler.roundRobin();
+    scheduler.offer(next(1, "a"));
+    scheduler.offer(next(1, "b"));
+    scheduler.offer(next(1, "c"));
+    scheduler.offer(next(3, "d"));
+    scheduler.offer(next(5, "e"));
+
+    assertEquals(5, scheduler.size());
+    assertEquals("1:a 3:d 5:e 1:b 1:c", drain(scheduler));
+    assertEquals(0, scheduler.size());
+    assertNull(scheduler.poll());
+  }
+
+  @Test
+  public void streamsSendUpToWeightFramesPerRound() {
+    SendScheduler scheduler =
+        SendScheduler.weightedRoundRobin(f -> f.getDataUtf8().equals("high") ? 3 : 1);
+    scheduler.onRequest(request(1, "high"));
+    scheduler.onRequest(request(3, "low"));
+    for (int i = 0; i < 4; i++) {
+      scheduler.offer(next(1, "h" + i));
+    }
+    for (int i = 0; i < 2; i++) {
+      scheduler.offer(next(3, "l" + i));
+    }
+
+    assertEquals("1:h0 1:h1 1:h2 3:l0 1:h3 3:l1", drain(scheduler));
+  }
+
+  @Test
+  public void streamRejoinsAfterDrained() {
+    SendScheduler scheduler = SendScheduler.roundRobin();
+    scheduler.offer(next(1, "a"));
+    assertEquals("1:a", drain(scheduler));
+
+    scheduler.offer(next(3, "b"));
+    scheduler.offer(next(1, "c"));
+    scheduler.offer(next(1, "d"));
+    scheduler.offer(next(3, "e"));
+    assertEquals("3:b 1:c 3:e 1:d", drain(scheduler));
+  }
+
+  @Test
+  public void weightsAreKeptPerStreamId() {
+    SendScheduler scheduler = weighted();
+    scheduler.onRequest(request(1, "high"));
+    /*same slot of former fixed size weights array*/
+    scheduler.onRequest(request(513, "low"));
+    for (int i = 0; i < 4; i++) {
+      scheduler.offer(next(1, "h" + i));
+    }
+    for (int i = 0; i < 2; i++) {
+      scheduler.offer(next(513, "l" + i));
+    }
+
+    assertEquals("1:h0 1:h1 1:h2 513:l0 1:h3 513:l1", drain(scheduler));
+  }
+
+  @Test
+  public void weightIsKeptAfterStreamQueueDrained() {
+    SendScheduler scheduler = weighted();
+    scheduler.onRequest(request(1, "high"));
+    scheduler.onRequest(request(3, "low"));
+    scheduler.offer(next(1, "a"));
+    assertEquals("1:a", drain(scheduler));
+
+    for (int i = 0; i < 4; i++) {
+      scheduler.offer(next(1, "h" + i));
+    }
+    for (int i = 0; i < 2; i++) {
+      scheduler.offer(next(3, "l" + i));
+    }
+    assertEquals("1:h0 1:h1 1:h2 3:l0 1:h3 3:l1", drain(scheduler));
+  }
+
+  @Test
+  public void weightIsRemovedOnceTerminatedStreamIsDrained() {
+    SendScheduler scheduler = weighted();
+    scheduler.onRequest(request(1, "high"));
+    scheduler.offer(next(1, "a"));
+    scheduler.offer(next(1, "b"));
+    scheduler.onTerminate(1);
+    scheduler.offer(next(3, "c"));
+    /*frames offered before termination keep stream weight*/
+    assertEquals("1:a 1:b 3:c", drain(scheduler));
+
+    scheduler.offer(next(1, "d"));
+    scheduler.offer(next(1, "e"));
+    scheduler.offer(next(3, "f"));
+    scheduler.offer(next(3, "g"));
+    assertEquals("1:d 3:f 1:e 3:g", drain(scheduler));
+  }
+
+  private static SendScheduler weighted() {
+    return SendScheduler.weightedRoundRobin(f -> f.getDataUtf8().equals("high") ? 3 : 1);
+  }
+
+  private static String drain(SendScheduler scheduler) {
+    List<String> frames = new ArrayList<>();
+    Frame frame;
+    while ((frame = scheduler.poll()) != null) {
+      frames.add(frame.getStreamId() + ":" + frame.getDataUtf8());
+      frame.release();
+    }
+    return String.join(" ", frames);
+  }
+
+  private static Frame request(int streamId, String data) {
+    return Frame.Request.from(streamId, FrameType.REQUEST_STREAM, new PayloadImpl(data), 1);
+  }
+
+  private static Frame next(int streamId, String data) {
+    return Frame.PayloadFrame.from(streamId, FrameType.NEXT, new PayloadImpl(data));
+  }
+}
@@ -0,0 +1,80 @@
+package com.github.mostroverkhov.rsocket.keepalive;
+
+import static java.time.Duration.ofMillis;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.Disposable;
+
+public class KeepAliveTimerTest {
+  private KeepAliveTimer timer;
+
+  @Before
+  public void setUp() {
+    timer = KeepAliveTimer.create("test-keepalive-timer", ofMillis(10), 8);
+  }
+
+  @After
+  public void tearDown() {
+    timer.dispose();
+  }
+
+  @Test
+  public void tasksRunPeriodically() throws Exception {
+    CountDownLatch fast = new CountDownLatch(5);
+    /*period longer than wheel revolution*/
+    CountDownLatch slow = new CountDownLatch(2);
+    timer.schedulePeriodically(ofMillis(20), fast::countDown);
+    timer.schedulePeriodically(ofMillis(150), slow::countDown);
+
+    assertTrue(fast.await(2, TimeUnit.SECONDS));
+    assertTrue(slow.await(2, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void disposedTaskStops() throws Exception {
+    AtomicInteger runs = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    Disposable task =
+        timer.schedulePeriodically(
+            ofMillis(10),
+            () -> {
+              runs.incrementAndGet();
+              started.countDown();
+            });
+
+    assertTrue(started.await(2, TimeUnit.SECONDS));
+    task.dispose();
+    /*at most one run may race with dispose*/
+    Thread.sleep(50);
+    int disposedRuns = runs.get();
+    Thread.sleep(100);
+    assertEquals(disposedRuns, runs.get());
+  }
+
+  @Test
+  public void failedTaskDoesNotStopOthers() throws Exception {
+    CountDownLatch latch = new CountDownLatch(3);
+    timer.schedulePeriodically(
+        ofMillis(10),
+        () -> {
+          throw new IllegalStateException("test");
+        });
+    timer.schedulePeriodically(ofMillis(10), latch::countDown);
+
+    assertTrue(latch.await(2, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void clockAdvancesWithTicks() throws Exception {
+    long start = timer.now();
+    Thread.sleep(100);
+    assertTrue(timer.now() > start);
+  }
+}
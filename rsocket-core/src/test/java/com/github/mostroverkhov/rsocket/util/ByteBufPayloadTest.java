@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.FrameType;
+import com.github.mostroverkhov.rsocket.Payload;
+import io.netty.util.IllegalReferenceCountException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class ByteBufPayloadTest {
+  public static final String DATA_VAL = "data";
+  public static final String METADATA_VAL = "metadata";
+
+  @Test
+  public void fromFrameSharesContent() {
+    Frame frame =
+        Frame.PayloadFrame.from(1, FrameType.NEXT, new PayloadImpl(DATA_VAL, METADATA_VAL));
+    Payload payload = ByteBufPayload.create(frame);
+    assertThat("Frame not retained", frame.refCnt(), equalTo(3));
+
+    frame.release();
+    assertThat("Unexpected data", payload.getDataUtf8(), equalTo(DATA_VAL));
+    assertThat("Metadata absent", payload.hasMetadata(), equalTo(true));
+    assertThat("Unexpected metadata", payload.getMetadataUtf8(), equalTo(METADATA_VAL));
+
+    assertThat("Payload not released", payload.release(), equalTo(true));
+  }
+
+  @Test
+  public void fromFrameNoMetadata() {
+    Frame frame = Frame.PayloadFrame.from(1, FrameType.NEXT, new PayloadImpl(DATA_VAL));
+    Payload payload = ByteBufPayload.create(frame);
+    frame.release();
+
+    assertThat("Metadata present", payload.hasMetadata(), equalTo(false));
+    assertThat("Unexpected metadata", payload.sliceMetadata().readableBytes(), equalTo(0));
+    assertThat("Unexpected data", payload.getDataUtf8(), equalTo(DATA_VAL));
+    payload.release();
+  }
+
+  @Test
+  public void retainRelease() {
+    Payload payload = ByteBufPayload.create(DATA_VAL, METADATA_VAL);
+    payload.retain();
+    assertThat(payload.release(), equalTo(false));
+    assertThat(payload.release(), equalTo(true));
+    assertThat(payload.refCnt(), equalTo(0));
+  }
+
+  @Test(expected = IllegalReferenceCountException.class)
+  public void accessAfterRelease() {
+    Payload payload = ByteBufPayload.create(DATA_VAL);
+    payload.release();
+    payload.sliceData();
+  }
+
+  @Test
+  public void encodeAsFrame() {
+    Payload payload = ByteBufPayload.create(DATA_VAL, METADATA_VAL);
+    Frame frame = Frame.Request.from(1, FrameType.REQUEST_RESPONSE, payload, 1);
+    payload.release();
+
+    assertThat(frame.getDataUtf8(), equalTo(DATA_VAL));
+    assertThat(frame.sliceMetadata().toString(StandardCharsets.UTF_8), equalTo(METADATA_VAL));
+    frame.release();
+  }
+}
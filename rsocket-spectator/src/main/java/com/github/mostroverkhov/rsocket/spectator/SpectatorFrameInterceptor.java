@@ -19,15 +19,14 @@
 import com.github.mostroverkhov.rsocket.DuplexConnection;
 import com.github.mostroverkhov.rsocket.Frame;
 import com.github.mostroverkhov.rsocket.FrameType;
-import com.github.mostroverkhov.rsocket.interceptors.DuplexConnectionInterceptor;
+import com.github.mostroverkhov.rsocket.interceptors.DuplexConnectionInterceptor.Type;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandler;
+import com.github.mostroverkhov.rsocket.interceptors.FrameHandlerInterceptor;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Registry;
-import org.reactivestreams.Publisher;
-import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 
-/** An implementation of {@link DuplexConnectionInterceptor} that uses Spectator */
-public class SpectatorFrameInterceptor implements DuplexConnectionInterceptor {
+/** An implementation of {@link FrameHandlerInterceptor} that uses Spectator */
+public class SpectatorFrameInterceptor implements FrameHandlerInterceptor {
   private final Registry registry;
 
   public SpectatorFrameInterceptor(Registry registry) {
@@ -35,8 +34,8 @@ public SpectatorFrameInterceptor(Registry registry) {
   }
 
   @Override
-  public DuplexConnection apply(Type type, DuplexConnection connection) {
-    return new DuplexConnection() {
+  public FrameHandler apply(Type type, DuplexConnection connection) {
+    return new FrameHandler() {
       Counter cancelCounter = registry.counter(FrameType.CANCEL.name(), type.name());
       Counter requestChannelCounter =
           registry.counter(FrameType.REQUEST_CHANNEL.name(), type.name());
@@ -61,37 +60,15 @@ public DuplexConnection apply(Type type, DuplexConnection connection) {
       Counter undefinedCounter = registry.counter(FrameType.UNDEFINED.name(), type.name());
 
       @Override
-      public Mono<Void> send(Publisher<Frame> frame) {
-        return connection.send(Flux.from(frame).doOnNext(this::count));
+      public Frame onInbound(Frame frame) {
+        count(frame);
+        return frame;
       }
 
       @Override
-      public Mono<Void> sendOne(Frame frame) {
-        return Mono.defer(
-            () -> {
-              count(frame);
-              return connection.sendOne(frame);
-            });
-      }
-
-      @Override
-      public Flux<Frame> receive() {
-        return connection.receive().doOnNext(this::count);
-      }
-
-      @Override
-      public Mono<Void> close() {
-        return connection.close();
-      }
-
-      @Override
-      public Mono<Void> onClose() {
-        return connection.onClose();
-      }
-
-      @Override
-      public double availability() {
-        return connection.availability();
+      public Frame onOutbound(Frame frame) {
+        count(frame);
+        return frame;
       }
 
       private void count(Frame frame) {
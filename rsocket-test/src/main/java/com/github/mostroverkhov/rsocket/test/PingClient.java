@@ -50,6 +50,18 @@ public Recorder startTracker(Duration interval) {
   }
 
   public Flux<Payload> startPingPong(int count, final Recorder histogram) {
+    return startPingPong(count, histogram, Interaction.REQUEST_RESPONSE);
+  }
+
+  /**
+   * @param count number of pings
+   * @param histogram records latency of every ping: until its single pong is received, or until
+   *     it is sent for fire-and-forget
+   * @param interaction interaction model of pings
+   * @return pongs
+   */
+  public Flux<Payload> startPingPong(
+      int count, final Recorder histogram, Interaction interaction) {
     return client
         .flatMapMany(
             rsocket ->
@@ -57,8 +69,7 @@ public Flux<Payload> startPingPong(int count, final Recorder histogram) {
                     .flatMap(
                         i -> {
                           long start = System.nanoTime();
-                          return rsocket
-                              .requestResponse(payload)
+                          return ping(rsocket, interaction)
                               .doFinally(
                                   signalType -> {
                                     long diff = System.nanoTime() - start;
@@ -68,4 +79,26 @@ public Flux<Payload> startPingPong(int count, final Recorder histogram) {
                         64))
         .doOnError(Throwable::printStackTrace);
   }
+
+  private Flux<Payload> ping(RSocket rsocket, Interaction interaction) {
+    switch (interaction) {
+      case FIRE_AND_FORGET:
+        return rsocket.fireAndForget(payload).thenMany(Flux.empty());
+      case REQUEST_RESPONSE:
+        return rsocket.requestResponse(payload).flux();
+      case REQUEST_STREAM:
+        return rsocket.requestStream(payload);
+      case REQUEST_CHANNEL:
+        return rsocket.requestChannel(Mono.just(payload));
+      default:
+        throw new IllegalArgumentException("unknown interaction: " + interaction);
+    }
+  }
+
+  public enum Interaction {
+    FIRE_AND_FORGET,
+    REQUEST_RESPONSE,
+    REQUEST_STREAM,
+    REQUEST_CHANNEL
+  }
 }
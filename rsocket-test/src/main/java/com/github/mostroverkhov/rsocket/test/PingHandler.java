@@ -23,6 +23,8 @@
 import com.github.mostroverkhov.rsocket.SocketAcceptor;
 import com.github.mostroverkhov.rsocket.util.PayloadImpl;
 import java.util.concurrent.ThreadLocalRandom;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public class PingHandler implements SocketAcceptor {
@@ -43,10 +45,25 @@ public PingHandler(byte[] data) {
   public Mono<RSocket> accept(ConnectionSetupPayload setup, RSocket sendingSocket) {
     return Mono.just(
         new AbstractRSocket() {
+          @Override
+          public Mono<Void> fireAndForget(Payload payload) {
+            return Mono.empty();
+          }
+
           @Override
           public Mono<Payload> requestResponse(Payload payload) {
             return Mono.just(pong);
           }
+
+          @Override
+          public Flux<Payload> requestStream(Payload payload) {
+            return Flux.just(pong);
+          }
+
+          @Override
+          public Flux<Payload> requestChannel(Publisher<Payload> payloads) {
+            return Flux.from(payloads).map(ping -> pong);
+          }
         });
   }
 }
@@ -18,18 +18,27 @@
 import com.github.mostroverkhov.rsocket.DuplexConnection;
 import com.github.mostroverkhov.rsocket.Frame;
 import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.AeronChannel;
-import io.netty.buffer.Unpooled;
+import com.github.mostroverkhov.rsocket.frame.FrameHeaderFlyweight;
+import io.netty.buffer.ByteBuf;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
+import reactor.util.concurrent.Queues;
 
 /** Implementation of {@link DuplexConnection} over Aeron using an {@link AeronChannel} */
 public class AeronDuplexConnection implements DuplexConnection {
   private final String name;
   private final AeronChannel channel;
   private final MonoProcessor<Void> emptySubject;
+  /*wraps memory of received frames, used by polling event loop only*/
+  private final UnsafeBuffer frameMemory = new UnsafeBuffer(0, 0);
 
   public AeronDuplexConnection(String name, AeronChannel channel) {
     this.name = name;
@@ -39,20 +48,60 @@ public AeronDuplexConnection(String name, AeronChannel channel) {
 
   @Override
   public Mono<Void> send(Publisher<Frame> frame) {
-    Flux<UnsafeBuffer> buffers =
-        Flux.from(frame).map(f -> new UnsafeBuffer(f.content().nioBuffer()));
+    return channel.sendPacked(Flux.from(frame).map(Frame::content), Queues.SMALL_BUFFER_SIZE);
+  }
 
-    return channel.send(buffers);
+  @Override
+  public Mono<Void> sendOne(Frame frame) {
+    return channel.sendPacked(Mono.fromCallable(frame::content), 1);
   }
 
   @Override
   public Flux<Frame> receive() {
     return channel
-        .receive()
-        .map(b -> Frame.from(Unpooled.wrappedBuffer(b.byteBuffer())))
+        .receiveViews()
+        .map(this::toFrames)
+        .flatMapIterable(Function.identity())
         .doOnError(Throwable::printStackTrace);
   }
 
+  /*message may pack several frames, each one is led by its length*/
+  private List<Frame> toFrames(DirectBuffer message) {
+    int length = message.capacity();
+    int frameLength = frameLength(message, 0);
+    if (frameLength >= length) {
+      return Collections.singletonList(toFrame(message, 0, length));
+    }
+    List<Frame> frames = new ArrayList<>();
+    int offset = 0;
+    while (offset < length) {
+      frameLength = frameLength(message, offset);
+      frames.add(toFrame(message, offset, frameLength));
+      offset += frameLength;
+    }
+    return frames;
+  }
+
+  private static int frameLength(DirectBuffer message, int offset) {
+    int length = (message.getByte(offset) & 0xFF) << 16;
+    length |= (message.getByte(offset + 1) & 0xFF) << 8;
+    length |= message.getByte(offset + 2) & 0xFF;
+    return length + FrameHeaderFlyweight.FRAME_LENGTH_SIZE;
+  }
+
+  /*copies frame straight into pooled buffer, view is valid for the duration of this call only*/
+  private Frame toFrame(DirectBuffer message, int offset, int length) {
+    ByteBuf content = alloc().directBuffer(length, length);
+    if (content.hasMemoryAddress()) {
+      frameMemory.wrap(content.memoryAddress(), length);
+      message.getBytes(offset, frameMemory, 0, length);
+    } else {
+      message.getBytes(offset, content.nioBuffer(0, length), length);
+    }
+    content.writerIndex(length);
+    return Frame.from(content);
+  }
+
   @Override
   public double availability() {
     return channel.isActive() ? 1.0 : 0.0;
@@ -18,8 +18,12 @@
 
 import com.github.mostroverkhov.rsocket.DuplexConnection;
 import com.github.mostroverkhov.rsocket.aeron.AeronDuplexConnection;
+import com.github.mostroverkhov.rsocket.aeron.internal.Constants;
+import com.github.mostroverkhov.rsocket.aeron.internal.EmbeddedMediaDriver;
+import com.github.mostroverkhov.rsocket.aeron.internal.EventLoopGroup;
 import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.AeronChannel;
 import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.AeronClientChannelConnector;
+import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.AeronSocketAddress;
 import com.github.mostroverkhov.rsocket.transport.ClientTransport;
 import java.util.Objects;
 import org.reactivestreams.Publisher;
@@ -38,6 +42,45 @@ public AeronClientTransport(
     this.config = config;
   }
 
+  /**
+   * Creates client transport over {@code aeron:ipc} of {@link EmbeddedMediaDriver#shared()}, for
+   * server created with {@code AeronServerTransport.ipc()}
+   *
+   * @return new client transport
+   */
+  public static AeronClientTransport ipc() {
+    return ipc(EmbeddedMediaDriver.shared());
+  }
+
+  /**
+   * @param driver embedded driver shared with server
+   * @return new client transport over {@code aeron:ipc} on {@link
+   *     EmbeddedMediaDriver#eventLoopGroup()}, closed along with driver
+   */
+  public static AeronClientTransport ipc(EmbeddedMediaDriver driver) {
+    return ipc(driver, driver.eventLoopGroup());
+  }
+
+  /**
+   * @param driver embedded driver shared with server
+   * @param eventLoopGroup event loops connections are polled on
+   * @return new client transport over {@code aeron:ipc}
+   */
+  public static AeronClientTransport ipc(
+      EmbeddedMediaDriver driver, EventLoopGroup eventLoopGroup) {
+    AeronSocketAddress address = AeronSocketAddress.ipc();
+    AeronClientChannelConnector.AeronClientConfig config =
+        AeronClientChannelConnector.AeronClientConfig.create(
+            address,
+            address,
+            Constants.CLIENT_STREAM_ID,
+            Constants.SERVER_STREAM_ID,
+            eventLoopGroup);
+    AeronClientChannelConnector connector =
+        AeronClientChannelConnector.create(driver.aeronWrapper(), address, eventLoopGroup);
+    return new AeronClientTransport(connector, config);
+  }
+
   @Override
   public Mono<DuplexConnection> connect() {
     Publisher<AeronChannel> channelPublisher = connector.apply(config);
@@ -31,14 +31,24 @@ public final class Constants {
   public static final int AERON_MTU_SIZE = Integer.getInteger("aeron.mtu.length", 4096);
 
   static {
+    EVENT_LOOP_IDLE_STRATEGY = newEventLoopIdleStrategy();
+  }
+
+  /**
+   * Idle strategy for an event loop, selected with {@code idleStrategy} system property. Each event
+   * loop needs its own instance
+   *
+   * @return new idle strategy
+   */
+  public static IdleStrategy newEventLoopIdleStrategy() {
     String idlStrategy = System.getProperty("idleStrategy");
 
     if (NoOpIdleStrategy.class.getName().equalsIgnoreCase(idlStrategy)) {
-      EVENT_LOOP_IDLE_STRATEGY = new NoOpIdleStrategy();
+      return new NoOpIdleStrategy();
     } else if (SleepingIdleStrategy.class.getName().equalsIgnoreCase(idlStrategy)) {
-      EVENT_LOOP_IDLE_STRATEGY = new SleepingIdleStrategy(TimeUnit.MILLISECONDS.toNanos(10));
+      return new SleepingIdleStrategy(TimeUnit.MILLISECONDS.toNanos(10));
     } else {
-      EVENT_LOOP_IDLE_STRATEGY = new BackoffIdleStrategy(1, 10, 1_000, 100_000);
+      return new BackoffIdleStrategy(1, 10, 1_000, 100_000);
     }
   }
 
@@ -32,11 +32,17 @@ public class DefaultAeronWrapper implements AeronWrapper {
   private Aeron aeron;
 
   public DefaultAeronWrapper() {
+    this(new Aeron.Context());
+  }
+
+  /**
+   * @param ctx Aeron client configuration, e.g. with directory of non-default media driver. Its
+   *     image handlers are replaced by ones of this wrapper
+   */
+  public DefaultAeronWrapper(Aeron.Context ctx) {
     this.availableImageHandlers = new CopyOnWriteArraySet<>();
     this.unavailableImageHandlers = new CopyOnWriteArraySet<>();
 
-    Aeron.Context ctx = new Aeron.Context();
-
     ctx.availableImageHandler(this::availableImageHandler);
     ctx.unavailableImageHandler(this::unavailableImageHandler);
 
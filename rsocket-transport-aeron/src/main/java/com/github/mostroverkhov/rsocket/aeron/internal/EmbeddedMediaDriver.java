@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.aeron.internal;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import java.io.File;
+import java.util.Objects;
+import org.agrona.IoUtil;
+
+/**
+ * {@link MediaDriver} running in this process in its own generated directory, with {@link
+ * AeronWrapper} connected to it. {@code aeron:ipc} channels only connect clients of the same
+ * driver, so client and server of an IPC transport must share an instance. IPC transports created
+ * without explicit event loops share {@link #eventLoopGroup()} of the driver
+ */
+public class EmbeddedMediaDriver implements AutoCloseable {
+  private final MediaDriver driver;
+  private final DefaultAeronWrapper aeronWrapper;
+  private volatile EventLoopGroup eventLoopGroup;
+  private volatile boolean closed;
+
+  private EmbeddedMediaDriver(MediaDriver driver) {
+    this.driver = driver;
+    this.aeronWrapper =
+        new DefaultAeronWrapper(
+            new Aeron.Context().aeronDirectoryName(driver.aeronDirectoryName()));
+  }
+
+  /**
+   * Launches driver with threading mode of {@code aeron.threading.mode} system property
+   *
+   * @return new embedded driver
+   */
+  public static EmbeddedMediaDriver launch() {
+    return launch(new MediaDriver.Context());
+  }
+
+  /**
+   * @param threadingMode threading mode of driver: {@link ThreadingMode#SHARED} runs conductor,
+   *     sender and receiver on one thread, {@link ThreadingMode#DEDICATED} on three
+   * @return new embedded driver
+   */
+  public static EmbeddedMediaDriver launch(ThreadingMode threadingMode) {
+    Objects.requireNonNull(threadingMode, "threadingMode");
+    return launch(new MediaDriver.Context().threadingMode(threadingMode));
+  }
+
+  /**
+   * @param ctx driver configuration. Directory of driver is generated unless set explicitly
+   * @return new embedded driver
+   */
+  public static EmbeddedMediaDriver launch(MediaDriver.Context ctx) {
+    Objects.requireNonNull(ctx, "ctx");
+    return new EmbeddedMediaDriver(MediaDriver.launchEmbedded(ctx.dirDeleteOnStart(true)));
+  }
+
+  /**
+   * Driver shared by IPC transports created without explicit driver. Launched on first use and
+   * closed on JVM shutdown
+   *
+   * @return shared embedded driver
+   */
+  public static EmbeddedMediaDriver shared() {
+    return SharedHolder.INSTANCE;
+  }
+
+  public AeronWrapper aeronWrapper() {
+    return aeronWrapper;
+  }
+
+  public String aeronDirectoryName() {
+    return driver.aeronDirectoryName();
+  }
+
+  /**
+   * Event loop of IPC transports created with this driver and without event loops of their own.
+   * Started on first use and closed along with driver
+   *
+   * @return event loop group of single loop
+   */
+  public EventLoopGroup eventLoopGroup() {
+    EventLoopGroup group = eventLoopGroup;
+    if (group == null) {
+      synchronized (this) {
+        if (closed) {
+          throw new IllegalStateException("driver is closed: " + aeronDirectoryName());
+        }
+        group = eventLoopGroup;
+        if (group == null) {
+          group = eventLoopGroup = EventLoopGroup.create("aeron-ipc", 1);
+        }
+      }
+    }
+    return group;
+  }
+
+  /** Stops event loop of the driver, closes Aeron client, then driver, and deletes its directory */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      EventLoopGroup group = eventLoopGroup;
+      if (group != null) {
+        group.close();
+      }
+      try {
+        aeronWrapper.close();
+      } finally {
+        driver.close();
+        IoUtil.delete(new File(driver.aeronDirectoryName()), true);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "EmbeddedMediaDriver{" + "aeronDirectoryName='" + aeronDirectoryName() + '\'' + '}';
+  }
+
+  private static class SharedHolder {
+    static final EmbeddedMediaDriver INSTANCE = launch();
+
+    static {
+      Runtime.getRuntime()
+          .addShutdownHook(new Thread(INSTANCE::close, "aeron-embedded-media-driver-shutdown"));
+    }
+  }
+}
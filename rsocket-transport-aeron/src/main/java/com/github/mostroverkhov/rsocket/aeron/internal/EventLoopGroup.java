@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.aeron.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.agrona.concurrent.IdleStrategy;
+
+/**
+ * Group of {@link EventLoop}s Aeron transport spreads its work across. Management polling is
+ * assigned round-robin with {@link #next()}, while channel is assigned by session id of its remote
+ * publication with {@link #forSession(int)}, so each channel stays on one event loop
+ */
+public class EventLoopGroup implements AutoCloseable {
+  private final EventLoop[] eventLoops;
+  private final AtomicInteger next = new AtomicInteger();
+
+  private EventLoopGroup(EventLoop[] eventLoops) {
+    if (eventLoops.length == 0) {
+      throw new IllegalArgumentException("event loop group must not be empty");
+    }
+    this.eventLoops = eventLoops;
+  }
+
+  /**
+   * Creates group of {@link SingleThreadedEventLoop}s with default idle strategy
+   *
+   * @param name name prefix of event loops
+   * @param size number of event loops
+   * @return new event loop group
+   */
+  public static EventLoopGroup create(String name, int size) {
+    return create(name, size, Constants::newEventLoopIdleStrategy);
+  }
+
+  /**
+   * Creates group of {@link SingleThreadedEventLoop}s running on daemon threads
+   *
+   * @param name name prefix of event loops
+   * @param size number of event loops
+   * @param idleStrategies supplies idle strategy for every event loop
+   * @return new event loop group
+   */
+  public static EventLoopGroup create(
+      String name, int size, Supplier<? extends IdleStrategy> idleStrategies) {
+    AtomicInteger index = new AtomicInteger();
+    return create(
+        name,
+        size,
+        idleStrategies,
+        r -> {
+          Thread thread = new Thread(r);
+          thread.setDaemon(true);
+          thread.setName("aeron-event-loop-" + name + "-" + index.getAndIncrement());
+          return thread;
+        });
+  }
+
+  /**
+   * Creates group of {@link SingleThreadedEventLoop}s
+   *
+   * @param name name prefix of event loops
+   * @param size number of event loops
+   * @param idleStrategies supplies idle strategy for every event loop
+   * @param threadFactory creates event loop threads, e.g. ones pinned to dedicated cores
+   * @return new event loop group
+   */
+  public static EventLoopGroup create(
+      String name,
+      int size,
+      Supplier<? extends IdleStrategy> idleStrategies,
+      ThreadFactory threadFactory) {
+    Objects.requireNonNull(idleStrategies, "idleStrategies");
+    Objects.requireNonNull(threadFactory, "threadFactory");
+    EventLoop[] eventLoops = new EventLoop[size];
+    for (int i = 0; i < size; i++) {
+      eventLoops[i] =
+          new SingleThreadedEventLoop(name + "-" + i, idleStrategies.get(), threadFactory);
+    }
+    return new EventLoopGroup(eventLoops);
+  }
+
+  /**
+   * Creates group of existing event loops
+   *
+   * @param eventLoops event loops of group
+   * @return new event loop group
+   */
+  public static EventLoopGroup of(EventLoop... eventLoops) {
+    return new EventLoopGroup(eventLoops.clone());
+  }
+
+  /** @return next event loop in round-robin order */
+  public EventLoop next() {
+    return eventLoops[Math.floorMod(next.getAndIncrement(), eventLoops.length)];
+  }
+
+  /**
+   * @param sessionId Aeron session id
+   * @return event loop assigned to given session
+   */
+  public EventLoop forSession(int sessionId) {
+    /*session ids are sequential, spread them with fibonacci hashing*/
+    int hash = sessionId * 0x9E3779B9;
+    return eventLoops[Math.floorMod(hash ^ (hash >>> 16), eventLoops.length)];
+  }
+
+  public int size() {
+    return eventLoops.length;
+  }
+
+  public List<EventLoop> eventLoops() {
+    return Collections.unmodifiableList(Arrays.asList(eventLoops));
+  }
+
+  /** @return duty cycles of all {@link SingleThreadedEventLoop}s of this group */
+  public long dutyCycles() {
+    long dutyCycles = 0;
+    for (EventLoop eventLoop : eventLoops) {
+      if (eventLoop instanceof SingleThreadedEventLoop) {
+        dutyCycles += ((SingleThreadedEventLoop) eventLoop).dutyCycles();
+      }
+    }
+    return dutyCycles;
+  }
+
+  /** @return idle cycles of all {@link SingleThreadedEventLoop}s of this group */
+  public long idleCycles() {
+    long idleCycles = 0;
+    for (EventLoop eventLoop : eventLoops) {
+      if (eventLoop instanceof SingleThreadedEventLoop) {
+        idleCycles += ((SingleThreadedEventLoop) eventLoop).idleCycles();
+      }
+    }
+    return idleCycles;
+  }
+
+  /** @return work done by all {@link SingleThreadedEventLoop}s of this group */
+  public long workCount() {
+    long workCount = 0;
+    for (EventLoop eventLoop : eventLoops) {
+      if (eventLoop instanceof SingleThreadedEventLoop) {
+        workCount += ((SingleThreadedEventLoop) eventLoop).workCount();
+      }
+    }
+    return workCount;
+  }
+
+  /** Stops all {@link SingleThreadedEventLoop}s of this group */
+  @Override
+  public void close() {
+    for (EventLoop eventLoop : eventLoops) {
+      if (eventLoop instanceof SingleThreadedEventLoop) {
+        ((SingleThreadedEventLoop) eventLoop).close();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "EventLoopGroup{" + "eventLoops=" + Arrays.toString(eventLoops) + '}';
+  }
+}
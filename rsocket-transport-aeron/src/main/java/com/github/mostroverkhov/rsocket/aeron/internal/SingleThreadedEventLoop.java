@@ -15,76 +15,137 @@
  */
 package com.github.mostroverkhov.rsocket.aeron.internal;
 
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.IntSupplier;
 import org.agrona.concurrent.IdleStrategy;
-import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import org.agrona.concurrent.ManyToOneConcurrentArrayQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** */
-public class SingleThreadedEventLoop implements EventLoop {
+/**
+ * {@link EventLoop} running on a single thread. Each duty cycle runs tasks queued by the start of
+ * the cycle, then applies its {@link IdleStrategy} to the amount of work they did.
+ */
+public class SingleThreadedEventLoop implements EventLoop, AutoCloseable {
   private static final Logger logger = LoggerFactory.getLogger(SingleThreadedEventLoop.class);
   private final String name;
   private final Thread thread;
-  private final OneToOneConcurrentArrayQueue<IntSupplier> events =
-      new OneToOneConcurrentArrayQueue<>(32768);
+  private final IdleStrategy idleStrategy;
+  /*tasks are offered by both event loop and outside threads*/
+  private final ManyToOneConcurrentArrayQueue<IntSupplier> events =
+      new ManyToOneConcurrentArrayQueue<>(32768);
+  /*written by event loop thread only*/
+  private final AtomicLong dutyCycles = new AtomicLong();
+  private final AtomicLong idleCycles = new AtomicLong();
+  private final AtomicLong workCount = new AtomicLong();
+  private volatile boolean running = true;
 
   public SingleThreadedEventLoop(String name) {
+    this(name, Constants.newEventLoopIdleStrategy());
+  }
+
+  public SingleThreadedEventLoop(String name, IdleStrategy idleStrategy) {
+    this(
+        name,
+        idleStrategy,
+        r -> {
+          Thread thread = new Thread(r);
+          thread.setDaemon(true);
+          thread.setName("aeron-single-threaded-event-loop-" + name);
+          return thread;
+        });
+  }
+
+  /**
+   * @param name name of event loop
+   * @param idleStrategy idle strategy of this event loop only: strategies keep state, so they can
+   *     not be shared between event loops
+   * @param threadFactory creates thread event loop runs on, e.g. one pinned to a dedicated core
+   */
+  public SingleThreadedEventLoop(
+      String name, IdleStrategy idleStrategy, ThreadFactory threadFactory) {
     this.name = name;
+    this.idleStrategy = idleStrategy;
     logger.info("Starting event loop named => {}", name);
 
-    thread = new Thread(new SingleThreadedEventLoopRunnable());
-    thread.setDaemon(true);
-    thread.setName("aeron-single-threaded-event-loop-" + name);
+    thread = threadFactory.newThread(new SingleThreadedEventLoopRunnable());
     thread.start();
   }
 
   @Override
   public boolean execute(IntSupplier r) {
-    boolean offer;
+    boolean offer = running && events.offer(r);
 
-    if (thread == Thread.currentThread()) {
-      offer = events.offer(r);
-    } else {
-      synchronized (this) {
-        offer = events.offer(r);
-      }
+    if (thread != Thread.currentThread()) {
       LockSupport.unpark(thread);
     }
 
     return offer;
   }
 
+  /** @return number of duty cycles run by this event loop */
+  public long dutyCycles() {
+    return dutyCycles.get();
+  }
+
+  /** @return number of duty cycles without work, which were followed by idle strategy */
+  public long idleCycles() {
+    return idleCycles.get();
+  }
+
+  /** @return amount of work reported by executed tasks */
+  public long workCount() {
+    return workCount.get();
+  }
+
+  /** @return number of tasks waiting for next duty cycle */
+  public int pendingTasks() {
+    return events.size();
+  }
+
+  /** Stops this event loop once its current duty cycle is done. Pending tasks are dropped */
+  @Override
+  public void close() {
+    running = false;
+    LockSupport.unpark(thread);
+  }
+
+  /*tasks rescheduled during the cycle run on the next one, so idle strategy gets a chance*/
   private int drain() {
     int count = 0;
-    while (!events.isEmpty()) {
+    for (int i = 0, size = events.size(); i < size; i++) {
       IntSupplier poll = events.poll();
-      if (poll != null) {
-        count += poll.getAsInt();
+      if (poll == null) {
+        break;
       }
+      count += poll.getAsInt();
     }
 
     return count;
   }
 
   private class SingleThreadedEventLoopRunnable implements Runnable {
-    final IdleStrategy idleStrategy = Constants.EVENT_LOOP_IDLE_STRATEGY;
 
     @Override
     public void run() {
-      while (true) {
+      while (running) {
         try {
           int count = drain();
-          // if (count > 100) {
-          //    System.out.println(name + " drained..." + count);
-          // }
+          dutyCycles.lazySet(dutyCycles.get() + 1);
+          if (count > 0) {
+            workCount.lazySet(workCount.get() + count);
+          } else {
+            idleCycles.lazySet(idleCycles.get() + 1);
+          }
           idleStrategy.idle(count);
         } catch (Throwable t) {
           System.err.println("Something bad happened - an error made it to the event loop");
           t.printStackTrace();
         }
       }
+      events.clear();
     }
   }
 
@@ -18,9 +18,11 @@
 import com.github.mostroverkhov.rsocket.aeron.internal.EventLoop;
 import io.aeron.Publication;
 import io.aeron.Subscription;
+import io.netty.buffer.ByteBuf;
 import java.io.IOException;
 import java.util.Objects;
 import org.agrona.DirectBuffer;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -29,8 +31,14 @@ public class AeronChannel implements ReactiveStreamsRemote.Channel<DirectBuffer>
   private final String name;
   private final Publication destination;
   private final Subscription source;
-  private final AeronOutPublisher outPublisher;
   private final EventLoop eventLoop;
+  private final int sessionId;
+  /*set if publication and subscription are shared with other channels*/
+  private final AeronChannelMux mux;
+  private final long channelId;
+  private AeronOutPublisher outPublisher;
+  private Flux<DirectBuffer> muxPublisher;
+  private boolean muxCopy;
 
   /**
    * Creates on end of a bi-directional channel
@@ -51,7 +59,26 @@ public AeronChannel(
     this.source = source;
     this.name = name;
     this.eventLoop = eventLoop;
-    this.outPublisher = new AeronOutPublisher(name, sessionId, source, eventLoop);
+    this.sessionId = sessionId;
+    this.mux = null;
+    this.channelId = 0;
+  }
+
+  /**
+   * Creates logical channel sharing publication and subscription of mux
+   *
+   * @param name name of the channel
+   * @param mux mux of publication and subscription
+   * @param channelId id tagging messages of this channel
+   */
+  AeronChannel(String name, AeronChannelMux mux, long channelId) {
+    this.name = name;
+    this.mux = mux;
+    this.channelId = channelId;
+    this.destination = mux.destination();
+    this.source = null;
+    this.eventLoop = mux.eventLoop();
+    this.sessionId = 0;
   }
 
   /**
@@ -61,12 +88,34 @@ public AeronChannel(
    * @return Mono the completes when all publishers have been sent.
    */
   public Mono<Void> send(Flux<? extends DirectBuffer> in) {
+    if (mux != null) {
+      return Mono.error(
+          new UnsupportedOperationException("channel sharing publication sends with sendPacked"));
+    }
     AeronInSubscriber inSubscriber = new AeronInSubscriber(name, destination);
     Objects.requireNonNull(in, "in must not be null");
     return Mono.create(
         sink -> in.doOnComplete(sink::success).doOnError(sink::error).subscribe(inSubscriber));
   }
 
+  /**
+   * Sends self-delimited buffers, copying them straight into claimed regions of Aeron Publication
+   * and packing consecutive buffers into one message. Takes ownership of the buffers: they are
+   * released once written
+   *
+   * @param in the publisher of buffers, each one starting with its own length.
+   * @param prefetch number of buffers requested ahead from {@code in}
+   * @return Mono the completes when all buffers have been sent.
+   */
+  public Mono<Void> sendPacked(Publisher<? extends ByteBuf> in, int prefetch) {
+    Objects.requireNonNull(in, "in must not be null");
+    return Mono.create(
+        sink ->
+            in.subscribe(
+                new AeronClaimSubscriber(
+                    name, destination, eventLoop, sink, prefetch, mux != null, channelId)));
+  }
+
   /**
    * Returns ReactiveStreamsRemote.Out of DirectBuffer that can only be subscribed to once per
    * channel
@@ -74,11 +123,47 @@ public Mono<Void> send(Flux<? extends DirectBuffer> in) {
    * @return ReactiveStreamsRemote.Out of DirectBuffer
    */
   public Flux<? extends DirectBuffer> receive() {
-    return outPublisher;
+    return mux != null ? muxPublisher(true) : outPublisher(true);
+  }
+
+  /**
+   * Same as {@link #receive()}, but without copying messages: emitted buffer is view over received
+   * message, valid only until {@code onNext} returns. Only one of receive methods may be used per
+   * channel
+   *
+   * @return ReactiveStreamsRemote.Out of DirectBuffer views
+   */
+  public Flux<? extends DirectBuffer> receiveViews() {
+    return mux != null ? muxPublisher(false) : outPublisher(false);
+  }
+
+  private synchronized Flux<DirectBuffer> muxPublisher(boolean copy) {
+    Flux<DirectBuffer> publisher = muxPublisher;
+    if (publisher == null) {
+      muxCopy = copy;
+      publisher = muxPublisher = mux.receive(channelId, copy);
+    } else if (muxCopy != copy) {
+      throw new IllegalStateException("channel is already received with copy: " + !copy);
+    }
+    return publisher;
+  }
+
+  private synchronized AeronOutPublisher outPublisher(boolean copy) {
+    AeronOutPublisher publisher = outPublisher;
+    if (publisher == null) {
+      publisher = outPublisher = new AeronOutPublisher(name, sessionId, source, eventLoop, copy);
+    } else if (publisher.isCopy() != copy) {
+      throw new IllegalStateException("channel is already received with copy: " + !copy);
+    }
+    return publisher;
   }
 
   @Override
   public void close() throws IOException {
+    if (mux != null) {
+      mux.remove(channelId);
+      return;
+    }
     try {
       destination.close();
       source.close();
@@ -94,6 +179,9 @@ public String toString() {
 
   @Override
   public boolean isActive() {
+    if (mux != null) {
+      return mux.isActive(channelId);
+    }
     return !destination.isClosed() && !source.isClosed();
   }
 }
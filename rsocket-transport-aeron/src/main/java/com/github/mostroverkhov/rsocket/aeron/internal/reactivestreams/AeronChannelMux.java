@@ -0,0 +1,440 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams;
+
+import static com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.AeronClaimSubscriber.TAG_BYTE_ORDER;
+import static com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.AeronClaimSubscriber.TAG_LENGTH;
+
+import com.github.mostroverkhov.rsocket.aeron.internal.EventLoop;
+import com.github.mostroverkhov.rsocket.aeron.internal.NotConnectedException;
+import io.aeron.ControlledFragmentAssembler;
+import io.aeron.Image;
+import io.aeron.Publication;
+import io.aeron.Subscription;
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import io.aeron.logbuffer.Header;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Shares one {@link Publication} and one {@link Image} of remote publication between many {@link
+ * AeronChannel}s, so logical connections to same endpoint do not need log buffers of their own.
+ * Every message is led by id of its channel, and received messages are routed to channels by it.
+ *
+ * <p>Image is polled by single {@link EventLoop}, at most {@link #FRAGMENT_LIMIT} fragments per
+ * duty cycle. Each channel has its own demand: messages it has not requested yet are copied into
+ * its queue of up to max queued messages, {@link #DEFAULT_MAX_QUEUED} by default.
+ *
+ * <p>Shared image can not be back-pressured per channel, so queue overflow is drop-on-overflow:
+ * overflowing channel is failed with overflow error and removed, and its later messages are
+ * dropped. Slow channel never stalls polling of shared image for other channels, but its peer is
+ * not slowed down either, so max queued should cover expected bursts of channel
+ */
+class AeronChannelMux {
+  private static final Logger logger = LoggerFactory.getLogger(AeronChannelMux.class);
+  static final int FRAGMENT_LIMIT = 64;
+  static final int DEFAULT_MAX_QUEUED = Queues.SMALL_BUFFER_SIZE;
+  private static final AtomicLongFieldUpdater<Receiver> REQUESTED =
+      AtomicLongFieldUpdater.newUpdater(Receiver.class, "requested");
+
+  private final String name;
+  private final Publication destination;
+  private final Subscription source;
+  private final int sessionId;
+  private final EventLoop eventLoop;
+  private final int maxQueued;
+  private final Map<Long, Receiver> receivers = new ConcurrentHashMap<>();
+  private final ControlledFragmentAssembler assembler =
+      new ControlledFragmentAssembler(this::onFragment, 4096);
+  private final IntSupplier poll = this::poll;
+
+  /*used by event loop only*/
+  private Image image;
+  private Receiver lastReceiver;
+
+  private int channels;
+  private volatile boolean closed;
+  private Runnable onClosed = () -> {};
+
+  /**
+   * @param name name of mux
+   * @param destination publication shared by channels, closed with last channel
+   * @param source subscription with image of remote publication. Owned by caller
+   * @param sessionId session id of remote publication
+   * @param eventLoop event loop to poll remote publication and retry sends with
+   */
+  AeronChannelMux(
+      String name,
+      Publication destination,
+      Subscription source,
+      int sessionId,
+      EventLoop eventLoop) {
+    this(name, destination, source, sessionId, eventLoop, DEFAULT_MAX_QUEUED);
+  }
+
+  /**
+   * @param name name of mux
+   * @param destination publication shared by channels, closed with last channel
+   * @param source subscription with image of remote publication. Owned by caller
+   * @param sessionId session id of remote publication
+   * @param eventLoop event loop to poll remote publication and retry sends with
+   * @param maxQueued max messages queued per channel beyond its demand, channel exceeding it is
+   *     failed and removed
+   */
+  AeronChannelMux(
+      String name,
+      Publication destination,
+      Subscription source,
+      int sessionId,
+      EventLoop eventLoop,
+      int maxQueued) {
+    if (maxQueued <= 0) {
+      throw new IllegalArgumentException("maxQueued must be positive: " + maxQueued);
+    }
+    this.name = name;
+    this.destination = destination;
+    this.source = source;
+    this.sessionId = sessionId;
+    this.eventLoop = eventLoop;
+    this.maxQueued = maxQueued;
+    eventLoop.execute(poll);
+  }
+
+  /**
+   * Adds channel to mux of the key, creating mux if there is none
+   *
+   * @param muxes muxes by key
+   * @param key key of mux, e.g. endpoints and session of remote publication
+   * @param channelId id of new channel
+   * @param publication publication handle acquired for new channel. Released if mux already exists
+   * @param publications acquires new publication handle
+   * @param muxFactory creates mux owning given publication
+   * @return new channel
+   */
+  static AeronChannel channel(
+      Map<String, AeronChannelMux> muxes,
+      String key,
+      long channelId,
+      Publication publication,
+      Supplier<Publication> publications,
+      Function<Publication, AeronChannelMux> muxFactory) {
+    for (; ; ) {
+      Publication destination = publication;
+      boolean[] created = new boolean[1];
+      AeronChannelMux mux =
+          muxes.computeIfAbsent(
+              key,
+              k -> {
+                created[0] = true;
+                AeronChannelMux m = muxFactory.apply(destination);
+                m.onClosed(() -> muxes.remove(k, m));
+                return m;
+              });
+      if (!created[0]) {
+        /*Aeron shares publications of same channel and stream, this only releases the handle*/
+        destination.close();
+      }
+      AeronChannel channel = mux.channel(channelId);
+      if (channel != null) {
+        return channel;
+      }
+      /*last channel of mux was closed concurrently, before it removed the mux*/
+      muxes.remove(key, mux);
+      if (!created[0]) {
+        publication = publications.get();
+      }
+    }
+  }
+
+  /**
+   * Adds logical channel to this mux
+   *
+   * @param channelId id of channel, unique for this mux
+   * @return new channel, or null if this mux is already closed
+   */
+  synchronized AeronChannel channel(long channelId) {
+    if (closed) {
+      return null;
+    }
+    Receiver receiver = new Receiver(channelId);
+    if (receivers.putIfAbsent(channelId, receiver) != null) {
+      throw new IllegalStateException("channel already exists: " + channelId);
+    }
+    channels++;
+    return new AeronChannel(name, this, channelId);
+  }
+
+  /*called once mux is closed, e.g. to remove it from muxes*/
+  synchronized void onClosed(Runnable onClosed) {
+    this.onClosed = onClosed;
+  }
+
+  /*closes shared publication along with last channel*/
+  synchronized void remove(long channelId) {
+    Receiver receiver = receivers.remove(channelId);
+    if (receiver != null) {
+      receiver.cancel();
+      if (--channels == 0) {
+        closed = true;
+        destination.close();
+        onClosed.run();
+      }
+    }
+  }
+
+  Flux<DirectBuffer> receive(long channelId, boolean copy) {
+    Receiver receiver = receivers.get(channelId);
+    if (receiver == null) {
+      return Flux.error(new NotConnectedException(name));
+    }
+    return receiver.subscribe(copy);
+  }
+
+  boolean isActive(long channelId) {
+    return !closed
+        && receivers.containsKey(channelId)
+        && !destination.isClosed()
+        && !source.isClosed();
+  }
+
+  Publication destination() {
+    return destination;
+  }
+
+  EventLoop eventLoop() {
+    return eventLoop;
+  }
+
+  boolean isClosed() {
+    return closed;
+  }
+
+  private int poll() {
+    int count = 0;
+    try {
+      if (source.isClosed()) {
+        Runnable onClosed;
+        synchronized (this) {
+          closed = true;
+          onClosed = this.onClosed;
+        }
+        onClosed.run();
+        receivers.values().forEach(r -> r.onError(new NotConnectedException(name)));
+        return 0;
+      }
+      Image image = image();
+      if (image != null) {
+        count = image.controlledPoll(assembler, FRAGMENT_LIMIT);
+      }
+    } catch (Throwable t) {
+      logger.error("Error polling shared image of {}", name, t);
+    } finally {
+      if (!closed && !eventLoop.execute(poll)) {
+        logger.error("Unable to keep polling shared image of {}, eventLoop rejection", name);
+      }
+    }
+    return count;
+  }
+
+  private Image image() {
+    Image image = this.image;
+    if (image == null || image.isClosed()) {
+      image = this.image = source.imageBySessionId(sessionId);
+    }
+    return image;
+  }
+
+  private Action onFragment(DirectBuffer buffer, int offset, int length, Header header) {
+    long channelId = buffer.getLong(offset, TAG_BYTE_ORDER);
+    Receiver receiver = lastReceiver;
+    if (receiver == null || receiver.channelId != channelId) {
+      receiver = receivers.get(channelId);
+      if (receiver == null) {
+        logger.debug("{} dropped message of unknown channel {}", name, channelId);
+        return Action.CONTINUE;
+      }
+      lastReceiver = receiver;
+    }
+    return onMessage(receiver, buffer, offset + TAG_LENGTH, length - TAG_LENGTH);
+  }
+
+  /*visible for testing*/
+  Action onMessage(long channelId, DirectBuffer buffer, int offset, int length) {
+    Receiver receiver = receivers.get(channelId);
+    return receiver == null ? Action.CONTINUE : onMessage(receiver, buffer, offset, length);
+  }
+
+  private Action onMessage(Receiver receiver, DirectBuffer buffer, int offset, int length) {
+    if (!receiver.onMessage(buffer, offset, length)) {
+      /*drop-on-overflow: aborting would stall the image for every channel*/
+      logger.debug("{} closed channel {} on receive queue overflow", name, receiver.channelId);
+      if (lastReceiver == receiver) {
+        lastReceiver = null;
+      }
+      remove(receiver.channelId);
+    }
+    return Action.COMMIT;
+  }
+
+  /** Messages of one channel. Emits on event loop only */
+  final class Receiver implements org.reactivestreams.Subscription {
+    private final long channelId;
+    private final Queue<DirectBuffer> queue = new ArrayDeque<>();
+    private final UnsafeBuffer view = new UnsafeBuffer(0, 0);
+    private final IntSupplier drain = this::drain;
+
+    volatile long requested;
+    private volatile boolean cancelled;
+    private volatile CoreSubscriber<? super DirectBuffer> subscriber;
+    private boolean copy;
+    private boolean erred;
+
+    Receiver(long channelId) {
+      this.channelId = channelId;
+    }
+
+    Flux<DirectBuffer> subscribe(boolean copy) {
+      return new Flux<DirectBuffer>() {
+        @Override
+        public void subscribe(CoreSubscriber<? super DirectBuffer> actual) {
+          Objects.requireNonNull(actual);
+          synchronized (Receiver.this) {
+            if (subscriber != null) {
+              Operators.error(
+                  actual, new IllegalStateException("channel allows only one subscription"));
+              return;
+            }
+            Receiver.this.copy = copy;
+            subscriber = actual;
+          }
+          actual.onSubscribe(Receiver.this);
+        }
+      };
+    }
+
+    /*returns false and fails subscriber if message overflows the queue*/
+    boolean onMessage(DirectBuffer buffer, int offset, int length) {
+      if (cancelled || erred) {
+        return true;
+      }
+      CoreSubscriber<? super DirectBuffer> s = subscriber;
+      if (s != null && queue.isEmpty() && requested > 0) {
+        if (copy) {
+          s.onNext(copyOf(buffer, offset, length));
+        } else {
+          view.wrap(buffer, offset, length);
+          s.onNext(view);
+        }
+        produced();
+        return true;
+      }
+      if (queue.size() < maxQueued) {
+        queue.offer(copyOf(buffer, offset, length));
+        return true;
+      }
+      erred = true;
+      queue.clear();
+      if (s != null) {
+        s.onError(
+            Exceptions.failWithOverflow("receive queue of channel " + channelId + " is full"));
+      }
+      return false;
+    }
+
+    private int drain() {
+      CoreSubscriber<? super DirectBuffer> s = subscriber;
+      int emitted = 0;
+      DirectBuffer message;
+      while (!cancelled && requested > 0 && (message = queue.poll()) != null) {
+        s.onNext(message);
+        produced();
+        emitted++;
+      }
+      if (cancelled) {
+        queue.clear();
+      }
+      return emitted;
+    }
+
+    private void produced() {
+      if (requested != Long.MAX_VALUE) {
+        REQUESTED.decrementAndGet(this);
+      }
+    }
+
+    void onError(Throwable t) {
+      eventLoop.execute(
+          () -> {
+            CoreSubscriber<? super DirectBuffer> s = subscriber;
+            if (!erred && !cancelled && s != null) {
+              erred = true;
+              s.onError(t);
+            }
+            return 0;
+          });
+    }
+
+    @Override
+    public void request(long n) {
+      if (Operators.validate(n)) {
+        Operators.addCap(REQUESTED, this, n);
+        eventLoop.execute(drain);
+      }
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      eventLoop.execute(drain);
+    }
+
+    private DirectBuffer copyOf(DirectBuffer buffer, int offset, int length) {
+      byte[] bytes = new byte[length];
+      buffer.getBytes(offset, bytes);
+      return new UnsafeBuffer(bytes);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "AeronChannelMux{"
+        + "name='"
+        + name
+        + '\''
+        + ", sessionId="
+        + sessionId
+        + ", channels="
+        + channels
+        + '}';
+  }
+}
@@ -20,6 +20,7 @@
 import com.github.mostroverkhov.rsocket.aeron.internal.AeronWrapper;
 import com.github.mostroverkhov.rsocket.aeron.internal.Constants;
 import com.github.mostroverkhov.rsocket.aeron.internal.EventLoop;
+import com.github.mostroverkhov.rsocket.aeron.internal.EventLoopGroup;
 import com.github.mostroverkhov.rsocket.aeron.internal.NotConnectedException;
 import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.messages.AckConnectEncoder;
 import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.messages.ConnectDecoder;
@@ -50,12 +51,19 @@
 public class AeronChannelServer
     extends ReactiveStreamsRemote.ChannelServer<AeronChannelServer.AeronChannelConsumer> {
   private static final Logger logger = LoggerFactory.getLogger(AeronChannelServer.class);
+  /** Default max received messages queued per multiplexed channel beyond its demand */
+  public static final int DEFAULT_MAX_QUEUED = AeronChannelMux.DEFAULT_MAX_QUEUED;
   private final AeronWrapper aeronWrapper;
   private final AeronSocketAddress managementSubscriptionSocket;
   private final AtomicBoolean started = new AtomicBoolean(false);
   private final ConcurrentHashMap<String, Subscription> serverSubscriptions;
   private volatile boolean running = true;
   private final EventLoop eventLoop;
+  private final EventLoopGroup channelEventLoops;
+  private final boolean multiplexed;
+  private final int maxQueued;
+  // Publications and subscriptions shared by multiplexed channels, by client endpoint and session
+  private final ConcurrentHashMap<String, AeronChannelMux> channelMuxes;
   private Subscription managementSubscription;
   private AeronChannelStartedServer startServer;
 
@@ -63,12 +71,21 @@ private AeronChannelServer(
       AeronChannelConsumer channelConsumer,
       AeronWrapper aeronWrapper,
       AeronSocketAddress managementSubscriptionSocket,
-      EventLoop eventLoop) {
+      EventLoopGroup eventLoopGroup,
+      boolean multiplexed,
+      int maxQueued) {
     super(channelConsumer);
+    if (maxQueued <= 0) {
+      throw new IllegalArgumentException("maxQueued must be positive: " + maxQueued);
+    }
     this.aeronWrapper = aeronWrapper;
     this.managementSubscriptionSocket = managementSubscriptionSocket;
-    this.eventLoop = eventLoop;
+    this.eventLoop = eventLoopGroup.next();
+    this.channelEventLoops = eventLoopGroup;
+    this.multiplexed = multiplexed;
+    this.maxQueued = maxQueued;
     this.serverSubscriptions = new ConcurrentHashMap<>();
+    this.channelMuxes = new ConcurrentHashMap<>();
   }
 
   public static AeronChannelServer create(
@@ -76,8 +93,83 @@ public static AeronChannelServer create(
       AeronWrapper aeronWrapper,
       AeronSocketAddress managementSubscriptionSocket,
       EventLoop eventLoop) {
+    return create(
+        channelConsumer, aeronWrapper, managementSubscriptionSocket, EventLoopGroup.of(eventLoop));
+  }
+
+  /**
+   * Creates server which spreads its channels across event loops of the group
+   *
+   * @param channelConsumer consumer of accepted channels
+   * @param aeronWrapper Aeron wrapper
+   * @param managementSubscriptionSocket address of management subscription
+   * @param eventLoopGroup event loops to poll management subscription and channels on
+   * @return new server
+   */
+  public static AeronChannelServer create(
+      AeronChannelConsumer channelConsumer,
+      AeronWrapper aeronWrapper,
+      AeronSocketAddress managementSubscriptionSocket,
+      EventLoopGroup eventLoopGroup) {
+    return create(
+        channelConsumer, aeronWrapper, managementSubscriptionSocket, eventLoopGroup, false);
+  }
+
+  /**
+   * Creates server which spreads its channels across event loops of the group
+   *
+   * @param channelConsumer consumer of accepted channels
+   * @param aeronWrapper Aeron wrapper
+   * @param managementSubscriptionSocket address of management subscription
+   * @param eventLoopGroup event loops to poll management subscription and channels on
+   * @param multiplexed if true, channels of the same client session share one publication and one
+   *     subscription, and their messages are tagged with channel id. Clients must be multiplexed
+   *     as well
+   * @return new server
+   */
+  public static AeronChannelServer create(
+      AeronChannelConsumer channelConsumer,
+      AeronWrapper aeronWrapper,
+      AeronSocketAddress managementSubscriptionSocket,
+      EventLoopGroup eventLoopGroup,
+      boolean multiplexed) {
+    return create(
+        channelConsumer,
+        aeronWrapper,
+        managementSubscriptionSocket,
+        eventLoopGroup,
+        multiplexed,
+        DEFAULT_MAX_QUEUED);
+  }
+
+  /**
+   * Creates server which spreads its channels across event loops of the group
+   *
+   * @param channelConsumer consumer of accepted channels
+   * @param aeronWrapper Aeron wrapper
+   * @param managementSubscriptionSocket address of management subscription
+   * @param eventLoopGroup event loops to poll management subscription and channels on
+   * @param multiplexed if true, channels of the same client session share one publication and one
+   *     subscription. Clients must be multiplexed as well
+   * @param maxQueued max received messages queued per multiplexed channel beyond its demand.
+   *     Shared subscription is not back-pressured per channel, so channel exceeding it is closed
+   *     with overflow error and its messages are dropped
+   * @return new server
+   */
+  public static AeronChannelServer create(
+      AeronChannelConsumer channelConsumer,
+      AeronWrapper aeronWrapper,
+      AeronSocketAddress managementSubscriptionSocket,
+      EventLoopGroup eventLoopGroup,
+      boolean multiplexed,
+      int maxQueued) {
     return new AeronChannelServer(
-        channelConsumer, aeronWrapper, managementSubscriptionSocket, eventLoop);
+        channelConsumer,
+        aeronWrapper,
+        managementSubscriptionSocket,
+        eventLoopGroup,
+        multiplexed,
+        maxQueued);
   }
 
   @Override
@@ -161,8 +253,42 @@ public void onFragment(DirectBuffer buffer, int offset, int length, Header heade
                     sendingChannel,
                     sendingStreamId);
 
-                AeronChannel aeronChannel =
-                    new AeronChannel("server", destination, source, eventLoop, clientSessionId);
+                AeronChannel aeronChannel;
+                if (multiplexed) {
+                  String key =
+                      receivingChannel
+                          + '/'
+                          + receivingStreamId
+                          + '/'
+                          + sendingChannel
+                          + '/'
+                          + sendingStreamId
+                          + '/'
+                          + clientSessionId;
+                  aeronChannel =
+                      AeronChannelMux.channel(
+                          channelMuxes,
+                          key,
+                          channelId,
+                          destination,
+                          () -> aeronWrapper.addPublication(receivingChannel, receivingStreamId),
+                          publication ->
+                              new AeronChannelMux(
+                                  "server",
+                                  publication,
+                                  source,
+                                  clientSessionId,
+                                  channelEventLoops.forSession(clientSessionId),
+                                  maxQueued));
+                } else {
+                  aeronChannel =
+                      new AeronChannel(
+                          "server",
+                          destination,
+                          source,
+                          channelEventLoops.forSession(clientSessionId),
+                          clientSessionId);
+                }
                 logger.debug(
                     "server create AeronChannel with destination channel {}, source channel {}, and clientSessionId {}");
 
@@ -190,7 +316,7 @@ public void onFragment(DirectBuffer buffer, int offset, int length, Header heade
                 ackConnectEncoder
                     .wrap(directBuffer, bufferOffset)
                     .channelId(channelId)
-                    .serverSessionId(destination.sessionId());
+                    .serverSessionId(sessionId);
 
                 logger.debug(
                     "server sending AckConnect message to channel {}", clientManagementChannel);
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams;
+
+import com.github.mostroverkhov.rsocket.aeron.internal.Constants;
+import com.github.mostroverkhov.rsocket.aeron.internal.EventLoop;
+import com.github.mostroverkhov.rsocket.aeron.internal.NotConnectedException;
+import io.aeron.Publication;
+import io.aeron.logbuffer.BufferClaim;
+import io.netty.buffer.ByteBuf;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.IntSupplier;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.MonoSink;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Writes self-delimited buffers (e.g. RSocket frames, which lead with their own length) straight
+ * into claimed regions of a {@link Publication}, packing consecutive buffers into one message of up
+ * to {@link Constants#AERON_MTU_SIZE}. Takes ownership of received buffers and releases them once
+ * written. While publication is back-pressured, upstream demand is paused and write is retried from
+ * the {@link EventLoop} instead of spinning on the sending thread, and write fails if event loop
+ * rejects the retry. Messages of channel sharing its publication are led by {@link #TAG_LENGTH}
+ * bytes tag of the channel
+ */
+class AeronClaimSubscriber implements Subscriber<ByteBuf> {
+  private static final AtomicIntegerFieldUpdater<AeronClaimSubscriber> WIP =
+      AtomicIntegerFieldUpdater.newUpdater(AeronClaimSubscriber.class, "wip");
+  static final int TAG_LENGTH = Long.BYTES;
+  static final ByteOrder TAG_BYTE_ORDER = ByteOrder.BIG_ENDIAN;
+
+  private final String name;
+  private final Publication destination;
+  private final EventLoop eventLoop;
+  private final MonoSink<Void> sink;
+  private final int prefetch;
+  private final boolean tagged;
+  private final long tag;
+  private final int headerLength;
+  private final int limit;
+  private final int maxBatchLength;
+  private final Queue<ByteBuf> queue;
+  private final ByteBuf[] batch;
+  private final BufferClaim bufferClaim = new BufferClaim();
+  /*wraps memory of written buffer, used by draining thread only*/
+  private final UnsafeBuffer source = new UnsafeBuffer(0, 0);
+  private final IntSupplier retry = this::retry;
+  /*tagged message too large for single claim, used by draining thread only*/
+  private ExpandableArrayBuffer taggedMessage;
+
+  private volatile Subscription subscription;
+  private volatile boolean done;
+  private Throwable error;
+  private volatile boolean cancelled;
+  private volatile boolean retryScheduled;
+  private volatile int wip;
+
+  private boolean terminated;
+  private int batchSize;
+  private int batchLength;
+  private int produced;
+
+  AeronClaimSubscriber(
+      String name,
+      Publication destination,
+      EventLoop eventLoop,
+      MonoSink<Void> sink,
+      int prefetch) {
+    this(name, destination, eventLoop, sink, prefetch, false, 0);
+  }
+
+  /**
+   * @param tagged if true, every message is led by {@code tag}
+   * @param tag id of channel on publication shared with other channels
+   */
+  AeronClaimSubscriber(
+      String name,
+      Publication destination,
+      EventLoop eventLoop,
+      MonoSink<Void> sink,
+      int prefetch,
+      boolean tagged,
+      long tag) {
+    this.name = name;
+    this.destination = destination;
+    this.eventLoop = eventLoop;
+    this.sink = sink;
+    this.prefetch = prefetch;
+    this.tagged = tagged;
+    this.tag = tag;
+    this.headerLength = tagged ? TAG_LENGTH : 0;
+    this.limit = prefetch - (prefetch >> 2);
+    this.maxBatchLength =
+        Math.min(Constants.AERON_MTU_SIZE, destination.maxPayloadLength()) - headerLength;
+    this.queue = Queues.<ByteBuf>get(prefetch).get();
+    this.batch = new ByteBuf[prefetch];
+    sink.onCancel(this::cancel);
+  }
+
+  @Override
+  public void onSubscribe(Subscription s) {
+    subscription = s;
+    if (cancelled) {
+      s.cancel();
+    } else {
+      s.request(prefetch);
+    }
+  }
+
+  @Override
+  public void onNext(ByteBuf buffer) {
+    if (done || !queue.offer(buffer)) {
+      buffer.release();
+      if (!done) {
+        subscription.cancel();
+        onError(new IllegalStateException("missing back-pressure"));
+      }
+      return;
+    }
+    drain();
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    if (done) {
+      return;
+    }
+    error = t;
+    done = true;
+    drain();
+  }
+
+  @Override
+  public void onComplete() {
+    done = true;
+    drain();
+  }
+
+  private void cancel() {
+    cancelled = true;
+    Subscription s = subscription;
+    if (s != null) {
+      s.cancel();
+    }
+    drain();
+  }
+
+  private int retry() {
+    retryScheduled = false;
+    drain();
+    return 0;
+  }
+
+  private void drain() {
+    if (WIP.getAndIncrement(this) != 0) {
+      return;
+    }
+    int missed = 1;
+    for (; ; ) {
+      if (!terminated) {
+        if (cancelled) {
+          discard();
+        } else if (done && error != null) {
+          discard();
+          terminate(error);
+        } else if (!retryScheduled) {
+          try {
+            write();
+          } catch (Throwable t) {
+            fail(t);
+          }
+        }
+      } else {
+        discard();
+      }
+
+      missed = WIP.addAndGet(this, -missed);
+      if (missed == 0) {
+        break;
+      }
+    }
+  }
+
+  private void write() {
+    for (; ; ) {
+      if (!fillBatch()) {
+        if (done) {
+          terminate(null);
+        }
+        return;
+      }
+
+      long result = batchLength > maxBatchLength ? offer(batch[0]) : claim();
+      if (result >= 0) {
+        written();
+      } else if (result == Publication.CLOSED || result == Publication.MAX_POSITION_EXCEEDED) {
+        fail(new NotConnectedException(name));
+        return;
+      } else {
+        retryScheduled = true;
+        if (!eventLoop.execute(retry)) {
+          /*event loop is saturated or closed, spinning here would block sending thread*/
+          retryScheduled = false;
+          fail(new RejectedExecutionException("unable to retry write of " + name));
+        }
+        return;
+      }
+    }
+  }
+
+  /*tops up pending batch with queued buffers, while they fit into single claim*/
+  private boolean fillBatch() {
+    ByteBuf next;
+    if (batchSize == 0) {
+      next = queue.poll();
+      if (next == null) {
+        return false;
+      }
+      batch[0] = next;
+      batchSize = 1;
+      batchLength = next.readableBytes();
+    }
+    if (batchLength <= maxBatchLength) {
+      while (batchSize < batch.length
+          && (next = queue.peek()) != null
+          && batchLength + next.readableBytes() <= maxBatchLength) {
+        batch[batchSize++] = queue.poll();
+        batchLength += next.readableBytes();
+      }
+    }
+    return true;
+  }
+
+  private long claim() {
+    long result = destination.tryClaim(headerLength + batchLength, bufferClaim);
+    if (result >= 0) {
+      boolean copied = false;
+      try {
+        MutableDirectBuffer buffer = bufferClaim.buffer();
+        int offset = bufferClaim.offset();
+        if (tagged) {
+          buffer.putLong(offset, tag, TAG_BYTE_ORDER);
+          offset += TAG_LENGTH;
+        }
+        for (int i = 0; i < batchSize; i++) {
+          offset = copy(batch[i], buffer, offset);
+        }
+        copied = true;
+      } finally {
+        if (copied) {
+          bufferClaim.commit();
+        } else {
+          bufferClaim.abort();
+        }
+      }
+    }
+    return result;
+  }
+
+  /*buffer does not fit into single claim, so it is fragmented by publication*/
+  private long offer(ByteBuf buffer) {
+    int length = buffer.readableBytes();
+    if (tagged) {
+      ExpandableArrayBuffer message = taggedMessage;
+      if (message == null) {
+        message = taggedMessage = new ExpandableArrayBuffer(TAG_LENGTH + length);
+      }
+      message.putLong(0, tag, TAG_BYTE_ORDER);
+      copy(buffer, message, TAG_LENGTH);
+      return destination.offer(message, 0, TAG_LENGTH + length);
+    }
+    if (buffer.hasMemoryAddress()) {
+      source.wrap(buffer.memoryAddress() + buffer.readerIndex(), length);
+    } else {
+      ByteBuffer bytes = buffer.nioBuffer();
+      source.wrap(bytes, bytes.position(), length);
+    }
+    return destination.offer(source, 0, length);
+  }
+
+  private int copy(ByteBuf src, MutableDirectBuffer dst, int offset) {
+    int length = src.readableBytes();
+    if (src.hasMemoryAddress()) {
+      source.wrap(src.memoryAddress() + src.readerIndex(), length);
+      dst.putBytes(offset, source, 0, length);
+    } else if (src.hasArray()) {
+      dst.putBytes(offset, src.array(), src.arrayOffset() + src.readerIndex(), length);
+    } else {
+      int index = offset;
+      for (ByteBuffer bytes : src.nioBuffers()) {
+        int remaining = bytes.remaining();
+        dst.putBytes(index, bytes, bytes.position(), remaining);
+        index += remaining;
+      }
+    }
+    return offset + length;
+  }
+
+  private void written() {
+    int count = batchSize;
+    releaseBatch();
+    int p = produced + count;
+    if (p >= limit) {
+      produced = 0;
+      subscription.request(p);
+    } else {
+      produced = p;
+    }
+  }
+
+  private void releaseBatch() {
+    ByteBuf[] b = batch;
+    for (int i = 0; i < batchSize; i++) {
+      b[i].release();
+      b[i] = null;
+    }
+    batchSize = 0;
+    batchLength = 0;
+  }
+
+  private void discard() {
+    releaseBatch();
+    ByteBuf buffer;
+    while ((buffer = queue.poll()) != null) {
+      buffer.release();
+    }
+  }
+
+  private void fail(Throwable t) {
+    Subscription s = subscription;
+    if (s != null) {
+      s.cancel();
+    }
+    discard();
+    terminate(t);
+  }
+
+  private void terminate(Throwable t) {
+    if (!terminated) {
+      terminated = true;
+      if (t != null) {
+        sink.error(t);
+      } else {
+        sink.success();
+      }
+    }
+  }
+}
@@ -19,6 +19,7 @@
 import com.github.mostroverkhov.rsocket.aeron.internal.AeronWrapper;
 import com.github.mostroverkhov.rsocket.aeron.internal.Constants;
 import com.github.mostroverkhov.rsocket.aeron.internal.EventLoop;
+import com.github.mostroverkhov.rsocket.aeron.internal.EventLoopGroup;
 import com.github.mostroverkhov.rsocket.aeron.internal.NotConnectedException;
 import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.messages.AckConnectDecoder;
 import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.messages.ConnectEncoder;
@@ -55,6 +56,8 @@
   // Subscriptions clients listen to responses on
   private final ConcurrentHashMap<AeronSocketAddress, Subscription> clientSubscriptions;
   private final ConcurrentHashMap<Long, IntConsumer> serverSessionIdConsumerMap;
+  // Publications and subscriptions shared by multiplexed channels, by server endpoint and session
+  private final ConcurrentHashMap<String, AeronChannelMux> channelMuxes;
 
   private final Subscription managementSubscription;
 
@@ -79,6 +82,7 @@ private AeronClientChannelConnector(
     this.eventLoop = eventLoop;
     this.clientSubscriptions = new ConcurrentHashMap<>();
     this.serverSessionIdConsumerMap = new ConcurrentHashMap<>();
+    this.channelMuxes = new ConcurrentHashMap<>();
 
     poll();
   }
@@ -88,6 +92,21 @@ public static AeronClientChannelConnector create(
     return new AeronClientChannelConnector(wrapper, managementSubscriptionSocket, eventLoop);
   }
 
+  /**
+   * Creates connector which polls its management subscription on next event loop of the group
+   *
+   * @param wrapper Aeron wrapper
+   * @param managementSubscriptionSocket address of management subscription
+   * @param eventLoopGroup event loops to pick management event loop from
+   * @return new connector
+   */
+  public static AeronClientChannelConnector create(
+      AeronWrapper wrapper,
+      AeronSocketAddress managementSubscriptionSocket,
+      EventLoopGroup eventLoopGroup) {
+    return create(wrapper, managementSubscriptionSocket, eventLoopGroup.next());
+  }
+
   private final FragmentAssembler fragmentAssembler =
       new FragmentAssembler(
           new FragmentHandler() {
@@ -151,15 +170,17 @@ public Mono<AeronChannel> apply(AeronClientConfig aeronClientConfig) {
     return Mono.from(
         subscriber -> {
           subscriber.onSubscribe(Operators.emptySubscription());
-          final long channelId = CHANNEL_ID_COUNTER.get();
           try {
-
-            logger.debug("Creating new client channel with id {}", channelId);
             final Publication destination =
                 aeronWrapper.addPublication(
                     aeronClientConfig.sendSocketAddress.getChannel(),
                     aeronClientConfig.sendStreamId);
             int destinationStreamId = destination.streamId();
+            /*session id makes channel id unique across clients sharing server publication*/
+            final long channelId =
+                ((long) destination.sessionId() << 32)
+                    | (CHANNEL_ID_COUNTER.incrementAndGet() & 0xFFFF_FFFFL);
+            logger.debug("Creating new client channel with id {}", channelId);
 
             logger.debug(
                 "Client created publication to {}, on stream id {}, and session id {}",
@@ -186,8 +207,15 @@ public Mono<AeronChannel> apply(AeronClientConfig aeronClientConfig) {
                 sessionId -> {
                   try {
                     AeronChannel aeronChannel =
-                        new AeronChannel(
-                            "client", destination, source, aeronClientConfig.eventLoop, sessionId);
+                        aeronClientConfig.multiplexed
+                            ? multiplexedChannel(
+                                aeronClientConfig, destination, source, sessionId, channelId)
+                            : new AeronChannel(
+                                "client",
+                                destination,
+                                source,
+                                aeronClientConfig.eventLoopGroup.forSession(sessionId),
+                                sessionId);
                     logger.debug(
                         "created client AeronChannel for destination {}, source {}, destination stream id {}, source stream id {}, client session id, and server session id {}",
                         aeronClientConfig.sendSocketAddress,
@@ -243,6 +271,40 @@ public Mono<AeronChannel> apply(AeronClientConfig aeronClientConfig) {
         });
   }
 
+  /*channel on publication shared with other channels to the same server session*/
+  private AeronChannel multiplexedChannel(
+      AeronClientConfig config,
+      Publication destination,
+      Subscription source,
+      int serverSessionId,
+      long channelId) {
+    String key =
+        config.sendSocketAddress.getChannel()
+            + '/'
+            + config.sendStreamId
+            + '/'
+            + config.receiveSocketAddress.getChannel()
+            + '/'
+            + config.receiveStreamId
+            + '/'
+            + serverSessionId;
+    return AeronChannelMux.channel(
+        channelMuxes,
+        key,
+        channelId,
+        destination,
+        () ->
+            aeronWrapper.addPublication(config.sendSocketAddress.getChannel(), config.sendStreamId),
+        publication ->
+            new AeronChannelMux(
+                "client",
+                publication,
+                source,
+                serverSessionId,
+                config.eventLoopGroup.forSession(serverSessionId),
+                config.maxQueued));
+  }
+
   public DirectBuffer encodeConnectMessage(
       long channelId, AeronClientConfig config, int clientSessionId) {
     final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(4096);
@@ -282,19 +344,28 @@ public static class AeronClientConfig implements ReactiveStreamsRemote.ClientCha
     private final AeronSocketAddress sendSocketAddress;
     private final int receiveStreamId;
     private final int sendStreamId;
-    private final EventLoop eventLoop;
+    private final EventLoopGroup eventLoopGroup;
+    private final boolean multiplexed;
+    private final int maxQueued;
 
     private AeronClientConfig(
         AeronSocketAddress receiveSocketAddress,
         AeronSocketAddress sendSocketAddress,
         int receiveStreamId,
         int sendStreamId,
-        EventLoop eventLoop) {
+        EventLoopGroup eventLoopGroup,
+        boolean multiplexed,
+        int maxQueued) {
+      if (maxQueued <= 0) {
+        throw new IllegalArgumentException("maxQueued must be positive: " + maxQueued);
+      }
       this.receiveSocketAddress = receiveSocketAddress;
       this.sendSocketAddress = sendSocketAddress;
       this.receiveStreamId = receiveStreamId;
       this.sendStreamId = sendStreamId;
-      this.eventLoop = eventLoop;
+      this.eventLoopGroup = eventLoopGroup;
+      this.multiplexed = multiplexed;
+      this.maxQueued = maxQueued;
     }
 
     /**
@@ -313,8 +384,102 @@ public static AeronClientConfig create(
         int receiveStreamId,
         int sendStreamId,
         EventLoop eventLoop) {
+      return create(
+          receiveSocketAddress,
+          sendSocketAddress,
+          receiveStreamId,
+          sendStreamId,
+          EventLoopGroup.of(eventLoop));
+    }
+
+    /**
+     * Creates client a new {@code AeronClientConfig} for {@link AeronChannel}s spread across event
+     * loops of the group by server session id
+     *
+     * @param receiveSocketAddress the address the channels receives data on
+     * @param sendSocketAddress the address the channel sends data too
+     * @param receiveStreamId receiving stream id
+     * @param sendStreamId the sending stream id
+     * @param eventLoopGroup event loops for this client
+     * @return new {@code AeronClientConfig}
+     */
+    public static AeronClientConfig create(
+        AeronSocketAddress receiveSocketAddress,
+        AeronSocketAddress sendSocketAddress,
+        int receiveStreamId,
+        int sendStreamId,
+        EventLoopGroup eventLoopGroup) {
+      return create(
+          receiveSocketAddress,
+          sendSocketAddress,
+          receiveStreamId,
+          sendStreamId,
+          eventLoopGroup,
+          false);
+    }
+
+    /**
+     * Creates client a new {@code AeronClientConfig} for {@link AeronChannel}s spread across event
+     * loops of the group by server session id
+     *
+     * @param receiveSocketAddress the address the channels receives data on
+     * @param sendSocketAddress the address the channel sends data too
+     * @param receiveStreamId receiving stream id
+     * @param sendStreamId the sending stream id
+     * @param eventLoopGroup event loops for this client
+     * @param multiplexed if true, channels to the same server session share one publication and
+     *     one subscription, and their messages are tagged with channel id. Server must be
+     *     multiplexed as well
+     * @return new {@code AeronClientConfig}
+     */
+    public static AeronClientConfig create(
+        AeronSocketAddress receiveSocketAddress,
+        AeronSocketAddress sendSocketAddress,
+        int receiveStreamId,
+        int sendStreamId,
+        EventLoopGroup eventLoopGroup,
+        boolean multiplexed) {
+      return create(
+          receiveSocketAddress,
+          sendSocketAddress,
+          receiveStreamId,
+          sendStreamId,
+          eventLoopGroup,
+          multiplexed,
+          AeronChannelMux.DEFAULT_MAX_QUEUED);
+    }
+
+    /**
+     * Creates client a new {@code AeronClientConfig} for multiplexed {@link AeronChannel}s
+     *
+     * @param receiveSocketAddress the address the channels receives data on
+     * @param sendSocketAddress the address the channel sends data too
+     * @param receiveStreamId receiving stream id
+     * @param sendStreamId the sending stream id
+     * @param eventLoopGroup event loops for this client
+     * @param multiplexed if true, channels to the same server session share one publication and
+     *     one subscription. Server must be multiplexed as well
+     * @param maxQueued max received messages queued per multiplexed channel beyond its demand.
+     *     Shared subscription is not back-pressured per channel, so channel exceeding it is closed
+     *     with overflow error and its messages are dropped
+     * @return new {@code AeronClientConfig}
+     */
+    public static AeronClientConfig create(
+        AeronSocketAddress receiveSocketAddress,
+        AeronSocketAddress sendSocketAddress,
+        int receiveStreamId,
+        int sendStreamId,
+        EventLoopGroup eventLoopGroup,
+        boolean multiplexed,
+        int maxQueued) {
       return new AeronClientConfig(
-          receiveSocketAddress, sendSocketAddress, receiveStreamId, sendStreamId, eventLoop);
+          receiveSocketAddress,
+          sendSocketAddress,
+          receiveStreamId,
+          sendStreamId,
+          eventLoopGroup,
+          multiplexed,
+          maxQueued);
     }
 
     @Override
@@ -328,8 +493,12 @@ public String toString() {
           + receiveStreamId
           + ", sendStreamId="
           + sendStreamId
-          + ", eventLoop="
-          + eventLoop
+          + ", eventLoopGroup="
+          + eventLoopGroup
+          + ", multiplexed="
+          + multiplexed
+          + ", maxQueued="
+          + maxQueued
           + '}';
     }
   }
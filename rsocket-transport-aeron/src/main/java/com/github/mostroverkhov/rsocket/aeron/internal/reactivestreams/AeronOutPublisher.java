@@ -18,6 +18,7 @@
 import com.github.mostroverkhov.rsocket.aeron.internal.EventLoop;
 import com.github.mostroverkhov.rsocket.aeron.internal.NotConnectedException;
 import io.aeron.ControlledFragmentAssembler;
+import io.aeron.Image;
 import io.aeron.logbuffer.ControlledFragmentHandler;
 import io.aeron.logbuffer.Header;
 import java.nio.ByteBuffer;
@@ -44,6 +45,7 @@ public class AeronOutPublisher extends Flux<DirectBuffer> {
   private Subscriber<? super DirectBuffer> destination;
   private AeronOutProcessorSubscription subscription;
   private final int sessionId;
+  private final boolean copy;
 
   /**
    * Creates a publication for a unique session
@@ -55,10 +57,26 @@ public class AeronOutPublisher extends Flux<DirectBuffer> {
    */
   public AeronOutPublisher(
       String name, int sessionId, io.aeron.Subscription source, EventLoop eventLoop) {
+    this(name, sessionId, source, eventLoop, true);
+  }
+
+  /**
+   * Creates a publication for a unique session
+   *
+   * @param name publication's name
+   * @param sessionId sessionId between the source and the remote publication
+   * @param source Aeron {@code Subscription} publish data from
+   * @param eventLoop {@link EventLoop} to poll the source with
+   * @param copy if true, each message is copied into new buffer. Otherwise single view buffer over
+   *     received message is emitted, valid only until {@code onNext} returns
+   */
+  public AeronOutPublisher(
+      String name, int sessionId, io.aeron.Subscription source, EventLoop eventLoop, boolean copy) {
     this.name = name;
     this.source = source;
     this.eventLoop = eventLoop;
     this.sessionId = sessionId;
+    this.copy = copy;
   }
 
   @Override
@@ -79,6 +97,10 @@ public void subscribe(CoreSubscriber<? super DirectBuffer> destination) {
     destination.onSubscribe(subscription);
   }
 
+  boolean isCopy() {
+    return copy;
+  }
+
   void onError(Throwable t) {
     subscription.erred = true;
     if (destination != null) {
@@ -102,6 +124,9 @@ private class AeronOutProcessorSubscription implements Subscription {
     private volatile boolean cancelled = false;
     private final Subscriber<? super DirectBuffer> destination;
     private final ControlledFragmentAssembler assembler;
+    private final UnsafeBuffer view = new UnsafeBuffer(0, 0);
+    /*image of remote publication, polled by event loop only*/
+    private Image image;
 
     public AeronOutProcessorSubscription(Subscriber<? super DirectBuffer> destination) {
       this.destination = destination;
@@ -153,11 +178,15 @@ ControlledFragmentHandler.Action onFragment(
       }
 
       try {
-        ByteBuffer bytes = ByteBuffer.allocate(length);
-        buffer.getBytes(offset, bytes, length);
-
         if (canEmit()) {
-          destination.onNext(new UnsafeBuffer(bytes));
+          if (copy) {
+            ByteBuffer bytes = ByteBuffer.allocate(length);
+            buffer.getBytes(offset, bytes, length);
+            destination.onNext(new UnsafeBuffer(bytes));
+          } else {
+            view.wrap(buffer, offset, length);
+            destination.onNext(view);
+          }
         }
       } catch (Throwable t) {
         onError(t);
@@ -179,9 +208,10 @@ int emit() {
             return 0;
           }
 
-          while (processed < requested) {
+          Image image = image();
+          while (image != null && processed < requested) {
 
-            int poll = source.controlledPoll(assembler, 4096);
+            int poll = image.controlledPoll(assembler, 4096);
 
             if (poll < 1) {
               break;
@@ -208,6 +238,16 @@ int emit() {
       return emitted;
     }
 
+    /*only image of own session is polled, so channels sharing subscription may be polled from
+    different event loops*/
+    private Image image() {
+      Image image = this.image;
+      if (image == null || image.isClosed()) {
+        image = this.image = source.imageBySessionId(sessionId);
+      }
+      return image;
+    }
+
     @Override
     public void cancel() {
       cancelled = true;
@@ -21,21 +21,32 @@
 /** SocketAddress that represents an Aeron Channel */
 public class AeronSocketAddress extends SocketAddress {
   private static final String FORMAT = "%s?endpoint=%s:%d";
+  private static final String IPC = "aeron:ipc";
+  private static final AeronSocketAddress IPC_ADDRESS = new AeronSocketAddress(IPC, null, 0, IPC);
   private static final long serialVersionUID = -7691068719112973697L;
   private final String protocol;
   private final String host;
   private final int port;
   private final String channel;
 
-  private AeronSocketAddress(String protocol, String host, int port) {
+  private AeronSocketAddress(String protocol, String host, int port, String channel) {
     this.protocol = protocol;
     this.host = host;
     this.port = port;
-    this.channel = String.format(FORMAT, protocol, host, port);
+    this.channel = channel;
   }
 
   public static AeronSocketAddress create(String protocol, String host, int port) {
-    return new AeronSocketAddress(protocol, host, port);
+    return new AeronSocketAddress(
+        protocol, host, port, String.format(FORMAT, protocol, host, port));
+  }
+
+  /**
+   * @return address of {@code aeron:ipc} channel, which has no endpoint: publications and
+   *     subscriptions of one media driver are told apart by stream id
+   */
+  public static AeronSocketAddress ipc() {
+    return IPC_ADDRESS;
   }
 
   public String getProtocol() {
@@ -20,7 +20,9 @@
 import com.github.mostroverkhov.rsocket.DuplexConnection;
 import com.github.mostroverkhov.rsocket.aeron.AeronDuplexConnection;
 import com.github.mostroverkhov.rsocket.aeron.internal.AeronWrapper;
+import com.github.mostroverkhov.rsocket.aeron.internal.EmbeddedMediaDriver;
 import com.github.mostroverkhov.rsocket.aeron.internal.EventLoop;
+import com.github.mostroverkhov.rsocket.aeron.internal.EventLoopGroup;
 import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.AeronChannelServer;
 import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.AeronSocketAddress;
 import com.github.mostroverkhov.rsocket.transport.ServerTransport;
@@ -30,7 +32,9 @@
 public class AeronServerTransport implements ServerTransport<Closeable> {
   private final AeronWrapper aeronWrapper;
   private final AeronSocketAddress managementSubscriptionSocket;
-  private final EventLoop eventLoop;
+  private final EventLoopGroup eventLoopGroup;
+  private final boolean multiplexed;
+  private final int maxQueued;
 
   private AeronChannelServer aeronChannelServer;
 
@@ -38,9 +42,94 @@ public AeronServerTransport(
       AeronWrapper aeronWrapper,
       AeronSocketAddress managementSubscriptionSocket,
       EventLoop eventLoop) {
+    this(aeronWrapper, managementSubscriptionSocket, EventLoopGroup.of(eventLoop));
+  }
+
+  /**
+   * Creates server transport which spreads accepted connections across event loops of the group
+   *
+   * @param aeronWrapper Aeron wrapper
+   * @param managementSubscriptionSocket address clients connect to
+   * @param eventLoopGroup event loops connections are polled on
+   */
+  public AeronServerTransport(
+      AeronWrapper aeronWrapper,
+      AeronSocketAddress managementSubscriptionSocket,
+      EventLoopGroup eventLoopGroup) {
+    this(aeronWrapper, managementSubscriptionSocket, eventLoopGroup, false);
+  }
+
+  /**
+   * @param aeronWrapper Aeron wrapper
+   * @param managementSubscriptionSocket address clients connect to
+   * @param eventLoopGroup event loops connections are polled on
+   * @param multiplexed if true, connections of one client session share a publication and a
+   *     subscription. Clients must be configured as multiplexed too
+   */
+  public AeronServerTransport(
+      AeronWrapper aeronWrapper,
+      AeronSocketAddress managementSubscriptionSocket,
+      EventLoopGroup eventLoopGroup,
+      boolean multiplexed) {
+    this(
+        aeronWrapper,
+        managementSubscriptionSocket,
+        eventLoopGroup,
+        multiplexed,
+        AeronChannelServer.DEFAULT_MAX_QUEUED);
+  }
+
+  /**
+   * @param aeronWrapper Aeron wrapper
+   * @param managementSubscriptionSocket address clients connect to
+   * @param eventLoopGroup event loops connections are polled on
+   * @param multiplexed if true, connections of one client session share a publication and a
+   *     subscription. Clients must be configured as multiplexed too
+   * @param maxQueued max received messages queued per multiplexed connection beyond its demand.
+   *     Connection exceeding it is closed with overflow error, as shared subscription is not
+   *     back-pressured per connection
+   */
+  public AeronServerTransport(
+      AeronWrapper aeronWrapper,
+      AeronSocketAddress managementSubscriptionSocket,
+      EventLoopGroup eventLoopGroup,
+      boolean multiplexed,
+      int maxQueued) {
     this.aeronWrapper = aeronWrapper;
     this.managementSubscriptionSocket = managementSubscriptionSocket;
-    this.eventLoop = eventLoop;
+    this.eventLoopGroup = eventLoopGroup;
+    this.multiplexed = multiplexed;
+    this.maxQueued = maxQueued;
+  }
+
+  /**
+   * Creates server transport over {@code aeron:ipc} of {@link EmbeddedMediaDriver#shared()}, for
+   * clients created with {@code AeronClientTransport.ipc()}
+   *
+   * @return new server transport
+   */
+  public static AeronServerTransport ipc() {
+    return ipc(EmbeddedMediaDriver.shared());
+  }
+
+  /**
+   * @param driver embedded driver shared with clients
+   * @return new server transport over {@code aeron:ipc} on {@link
+   *     EmbeddedMediaDriver#eventLoopGroup()}, closed along with driver
+   */
+  public static AeronServerTransport ipc(EmbeddedMediaDriver driver) {
+    return ipc(driver, driver.eventLoopGroup());
+  }
+
+  /**
+   * @param driver embedded driver shared with clients
+   * @param eventLoopGroup event loops connections are polled on
+   * @return new server transport over {@code aeron:ipc}
+   */
+  public static AeronServerTransport ipc(
+      EmbeddedMediaDriver driver, EventLoopGroup eventLoopGroup) {
+    return new AeronServerTransport(
+        driver.aeronWrapper(), AeronSocketAddress.ipc(), eventLoopGroup);
   }
 
   @Override
@@ -58,7 +147,9 @@ public Mono<Closeable> start(ConnectionAcceptor acceptor) {
               },
               aeronWrapper,
               managementSubscriptionSocket,
-              eventLoop);
+              eventLoopGroup,
+              multiplexed,
+              maxQueued);
     }
 
     return Mono.just(aeronChannelServer.start());
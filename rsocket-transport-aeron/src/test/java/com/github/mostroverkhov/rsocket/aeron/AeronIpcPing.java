@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.aeron;
+
+import com.github.mostroverkhov.rsocket.RSocket;
+import com.github.mostroverkhov.rsocket.RSocketFactory;
+import com.github.mostroverkhov.rsocket.aeron.client.AeronClientTransport;
+import com.github.mostroverkhov.rsocket.aeron.internal.Constants;
+import com.github.mostroverkhov.rsocket.aeron.internal.EmbeddedMediaDriver;
+import com.github.mostroverkhov.rsocket.aeron.internal.EventLoopGroup;
+import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.AeronClientChannelConnector;
+import com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams.AeronSocketAddress;
+import com.github.mostroverkhov.rsocket.aeron.server.AeronServerTransport;
+import com.github.mostroverkhov.rsocket.test.PingClient;
+import com.github.mostroverkhov.rsocket.test.PingHandler;
+import io.aeron.driver.ThreadingMode;
+import java.time.Duration;
+import org.HdrHistogram.Recorder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ping/pong of client and server sharing embedded media driver. Arguments: {@code ipc} or {@code
+ * udp} (loopback) channel, interaction model, driver threading mode
+ */
+public final class AeronIpcPing {
+
+  public static void main(String... args) {
+    String channel = args.length > 0 ? args[0] : "ipc";
+    PingClient.Interaction interaction =
+        args.length > 1
+            ? PingClient.Interaction.valueOf(args[1])
+            : PingClient.Interaction.REQUEST_RESPONSE;
+    ThreadingMode threadingMode =
+        args.length > 2 ? ThreadingMode.valueOf(args[2]) : ThreadingMode.DEDICATED;
+
+    EmbeddedMediaDriver driver = EmbeddedMediaDriver.launch(threadingMode);
+    EventLoopGroup serverEventLoops = EventLoopGroup.create("server", 1);
+    EventLoopGroup clientEventLoops = EventLoopGroup.create("client", 1);
+
+    AeronServerTransport serverTransport;
+    AeronClientTransport clientTransport;
+    if ("ipc".equals(channel)) {
+      serverTransport = AeronServerTransport.ipc(driver, serverEventLoops);
+      clientTransport = AeronClientTransport.ipc(driver, clientEventLoops);
+    } else {
+      AeronSocketAddress address = AeronSocketAddress.create("aeron:udp", "127.0.0.1", 39790);
+      serverTransport =
+          new AeronServerTransport(driver.aeronWrapper(), address, serverEventLoops);
+      clientTransport =
+          new AeronClientTransport(
+              AeronClientChannelConnector.create(driver.aeronWrapper(), address, clientEventLoops),
+              AeronClientChannelConnector.AeronClientConfig.create(
+                  address,
+                  address,
+                  Constants.CLIENT_STREAM_ID,
+                  Constants.SERVER_STREAM_ID,
+                  clientEventLoops));
+    }
+
+    RSocketFactory.receive().acceptor(new PingHandler()).transport(serverTransport).start().block();
+
+    Mono<RSocket> client = RSocketFactory.connect().transport(clientTransport).start();
+    PingClient pingClient = new PingClient(client);
+    Recorder recorder = pingClient.startTracker(Duration.ofSeconds(1));
+    final int count = 1_000_000_000;
+    pingClient
+        .startPingPong(count, recorder, interaction)
+        .doOnTerminate(() -> System.out.println("Sent " + count + " messages."))
+        .blockLast();
+
+    System.exit(0);
+  }
+}
@@ -0,0 +1,61 @@
+package com.github.mostroverkhov.rsocket.aeron.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.NoOpIdleStrategy;
+import org.junit.Test;
+
+public class EventLoopGroupTest {
+
+  @Test
+  public void nextIsRoundRobin() {
+    EventLoop first = task -> true;
+    EventLoop second = task -> true;
+    EventLoopGroup group = EventLoopGroup.of(first, second);
+
+    assertSame(first, group.next());
+    assertSame(second, group.next());
+    assertSame(first, group.next());
+  }
+
+  @Test
+  public void sessionStaysOnOneEventLoop() {
+    EventLoopGroup group =
+        EventLoopGroup.of(task -> true, task -> true, task -> true, task -> true);
+
+    Set<EventLoop> assigned = new HashSet<>();
+    for (int sessionId = 0; sessionId < 64; sessionId++) {
+      EventLoop eventLoop = group.forSession(sessionId);
+      assertSame(eventLoop, group.forSession(sessionId));
+      assigned.add(eventLoop);
+    }
+    assertEquals(4, assigned.size());
+  }
+
+  @Test(timeout = 5_000)
+  public void eventLoopsRunTasksAndCountCycles() throws Exception {
+    try (EventLoopGroup group = EventLoopGroup.create("test", 2, NoOpIdleStrategy::new)) {
+      CountDownLatch latch = new CountDownLatch(2);
+      for (EventLoop eventLoop : group.eventLoops()) {
+        assertTrue(
+            eventLoop.execute(
+                () -> {
+                  latch.countDown();
+                  return 1;
+                }));
+      }
+
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+      while (group.workCount() < 2) {
+        Thread.yield();
+      }
+      assertTrue(group.dutyCycles() >= 2);
+    }
+  }
+}
@@ -0,0 +1,302 @@
+package com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.aeron.internal.EventLoop;
+import io.aeron.Publication;
+import io.aeron.Subscription;
+import io.aeron.logbuffer.BufferClaim;
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.netty.buffer.ByteBuf;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+
+public class AeronChannelMuxTest {
+  private final List<IntSupplier> tasks = new ArrayList<>();
+  private Publication publication;
+  private AeronChannelMux mux;
+
+  @Before
+  public void setUp() {
+    publication = mock(Publication.class);
+    when(publication.maxPayloadLength()).thenReturn(4096 - DataHeaderFlyweight.HEADER_LENGTH);
+    EventLoop eventLoop =
+        task -> {
+          tasks.add(task);
+          return true;
+        };
+    mux = new AeronChannelMux("test", publication, mock(Subscription.class), 1, eventLoop);
+    /*drop initial poll of shared image*/
+    tasks.clear();
+  }
+
+  @Test
+  public void routesMessagesByChannelId() {
+    Received first = receive(mux.channel(1), 16);
+    Received second = receive(mux.channel(2), 16);
+
+    assertEquals(Action.COMMIT, mux.onMessage(2, message("b"), 0, 1));
+    assertEquals(Action.COMMIT, mux.onMessage(1, message("a"), 0, 1));
+    assertEquals(Action.CONTINUE, mux.onMessage(3, message("c"), 0, 1));
+
+    assertEquals(1, first.messages.size());
+    assertEquals("a", first.messages.get(0));
+    assertEquals(1, second.messages.size());
+    assertEquals("b", second.messages.get(0));
+  }
+
+  @Test
+  public void queuesMessagesUntilRequested() {
+    Received received = receive(mux.channel(1), 0);
+
+    for (int i = 0; i < AeronChannelMux.DEFAULT_MAX_QUEUED; i++) {
+      assertEquals(Action.COMMIT, mux.onMessage(1, message("m"), 0, 1));
+    }
+    assertTrue(received.messages.isEmpty());
+
+    received.request(AeronChannelMux.DEFAULT_MAX_QUEUED);
+    runTasks();
+
+    assertEquals(AeronChannelMux.DEFAULT_MAX_QUEUED, received.messages.size());
+    assertEquals(Action.COMMIT, mux.onMessage(1, message("m"), 0, 1));
+  }
+
+  @Test
+  public void slowChannelDoesNotBlockOthers() {
+    receive(mux.channel(1), 0);
+    Received fast = receive(mux.channel(2), Long.MAX_VALUE);
+
+    assertEquals(Action.COMMIT, mux.onMessage(1, message("slow"), 0, 4));
+    assertEquals(Action.COMMIT, mux.onMessage(2, message("fast"), 0, 4));
+
+    assertEquals(1, fast.messages.size());
+  }
+
+  @Test
+  public void stalledChannelIsClosedWithoutBlockingOthers() {
+    AeronChannel stalledChannel = mux.channel(1);
+    Received stalled = receive(stalledChannel, 0);
+    Received fast = receive(mux.channel(2), Long.MAX_VALUE);
+
+    for (int i = 0; i < AeronChannelMux.DEFAULT_MAX_QUEUED; i++) {
+      assertEquals(Action.COMMIT, mux.onMessage(1, message("m"), 0, 1));
+    }
+    /*overflow fails stalled channel instead of aborting poll of shared image*/
+    assertEquals(Action.COMMIT, mux.onMessage(1, message("m"), 0, 1));
+    runTasks();
+
+    assertTrue(Exceptions.isOverflow(stalled.error));
+    assertFalse(stalledChannel.isActive());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(Action.COMMIT, mux.onMessage(2, message("fast"), 0, 4));
+    }
+    assertEquals(10, fast.messages.size());
+    verify(publication, never()).close();
+  }
+
+  @Test
+  public void slowSubscriberWithinQueueBoundReceivesAllMessages() {
+    mux = boundedMux(4);
+    Received slow = receive(mux.channel(1), 1);
+
+    for (int round = 0; round < 3; round++) {
+      /*burst of bound size beyond demand, then subscriber catches up*/
+      for (int i = 0; i < 5; i++) {
+        assertEquals(Action.COMMIT, mux.onMessage(1, message("m"), 0, 1));
+      }
+      slow.request(5);
+      runTasks();
+    }
+
+    assertEquals(15, slow.messages.size());
+    assertNull(slow.error);
+  }
+
+  @Test
+  public void slowSubscriberOverflowingQueueBoundIsDropped() {
+    mux = boundedMux(4);
+    AeronChannel slowChannel = mux.channel(1);
+    Received slow = receive(slowChannel, 1);
+    Received fast = receive(mux.channel(2), Long.MAX_VALUE);
+
+    /*first is emitted on demand, next 4 are queued*/
+    for (int i = 0; i < 5; i++) {
+      assertEquals(Action.COMMIT, mux.onMessage(1, message("m"), 0, 1));
+      assertEquals(Action.COMMIT, mux.onMessage(2, message("fast"), 0, 4));
+    }
+    assertNull(slow.error);
+
+    assertEquals(Action.COMMIT, mux.onMessage(1, message("m"), 0, 1));
+    runTasks();
+    assertTrue(Exceptions.isOverflow(slow.error));
+    assertFalse(slowChannel.isActive());
+
+    /*later messages of dropped channel are skipped, other channels are not affected*/
+    assertEquals(Action.CONTINUE, mux.onMessage(1, message("m"), 0, 1));
+    assertEquals(Action.COMMIT, mux.onMessage(2, message("fast"), 0, 4));
+    assertEquals(1, slow.messages.size());
+    assertEquals(6, fast.messages.size());
+  }
+
+  @Test
+  public void closesSharedPublicationWithLastChannel() throws Exception {
+    AeronChannel first = mux.channel(1);
+    AeronChannel second = mux.channel(2);
+
+    first.close();
+    verify(publication, never()).close();
+    second.close();
+    verify(publication, times(1)).close();
+    assertNull(mux.channel(3));
+  }
+
+  @Test
+  public void closedMuxIsRemoved() throws Exception {
+    ConcurrentHashMap<String, AeronChannelMux> muxes = new ConcurrentHashMap<>();
+    AeronChannel channel =
+        AeronChannelMux.channel(
+            muxes,
+            "key",
+            1,
+            publication,
+            () -> publication,
+            p -> new AeronChannelMux("test", p, mock(Subscription.class), 1, task -> true));
+    assertEquals(1, muxes.size());
+
+    channel.close();
+
+    assertTrue(muxes.isEmpty());
+  }
+
+  @Test
+  public void reusesExistingMux() {
+    ConcurrentHashMap<String, AeronChannelMux> muxes = new ConcurrentHashMap<>();
+    muxes.put("key", mux);
+    Publication duplicate = mock(Publication.class);
+
+    AeronChannel channel =
+        AeronChannelMux.channel(
+            muxes,
+            "key",
+            1,
+            duplicate,
+            () -> duplicate,
+            p -> {
+              throw new AssertionError("mux exists");
+            });
+
+    assertTrue(channel.isActive());
+    /*only handle of new channel is released, shared publication stays open*/
+    verify(duplicate).close();
+    verify(publication, never()).close();
+  }
+
+  @Test
+  public void tagsSentMessagesWithChannelId() {
+    UnsafeBuffer term = new UnsafeBuffer(ByteBuffer.allocateDirect(4096));
+    when(publication.tryClaim(anyInt(), any(BufferClaim.class)))
+        .thenAnswer(
+            invocation -> {
+              int length = invocation.getArgument(0);
+              BufferClaim claim = invocation.getArgument(1);
+              claim.wrap(term, 0, length + DataHeaderFlyweight.HEADER_LENGTH);
+              return 1L;
+            });
+    ByteBuf frame = Frame.RequestN.from(1, 42).content();
+    int frameLength = frame.readableBytes();
+
+    mux.channel(42).sendPacked(Mono.just(frame), 1).block();
+
+    verify(publication).tryClaim(eq(AeronClaimSubscriber.TAG_LENGTH + frameLength), any());
+    assertEquals(
+        42,
+        term.getLong(DataHeaderFlyweight.HEADER_LENGTH, AeronClaimSubscriber.TAG_BYTE_ORDER));
+    assertEquals(0, frame.refCnt());
+  }
+
+  private AeronChannelMux boundedMux(int maxQueued) {
+    AeronChannelMux mux =
+        new AeronChannelMux(
+            "test",
+            publication,
+            mock(Subscription.class),
+            1,
+            task -> {
+              tasks.add(task);
+              return true;
+            },
+            maxQueued);
+    tasks.clear();
+    return mux;
+  }
+
+  private void runTasks() {
+    List<IntSupplier> run = new ArrayList<>(tasks);
+    tasks.clear();
+    run.forEach(IntSupplier::getAsInt);
+  }
+
+  private Received receive(AeronChannel channel, long initialRequest) {
+    Received received = new Received(initialRequest);
+    channel.receiveViews().subscribe(received);
+    runTasks();
+    return received;
+  }
+
+  private static DirectBuffer message(String content) {
+    return new UnsafeBuffer(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static class Received extends BaseSubscriber<DirectBuffer> {
+    final List<String> messages = new ArrayList<>();
+    Throwable error;
+    private final long initialRequest;
+
+    Received(long initialRequest) {
+      this.initialRequest = initialRequest;
+    }
+
+    @Override
+    protected void hookOnSubscribe(org.reactivestreams.Subscription subscription) {
+      if (initialRequest > 0) {
+        request(initialRequest);
+      }
+    }
+
+    @Override
+    protected void hookOnNext(DirectBuffer message) {
+      byte[] bytes = new byte[message.capacity()];
+      message.getBytes(0, bytes);
+      messages.add(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+      error = throwable;
+    }
+  }
+}
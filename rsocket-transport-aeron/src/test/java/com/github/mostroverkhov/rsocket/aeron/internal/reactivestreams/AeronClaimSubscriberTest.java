@@ -0,0 +1,139 @@
+package com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.aeron.internal.EventLoop;
+import com.github.mostroverkhov.rsocket.aeron.internal.NotConnectedException;
+import io.aeron.Publication;
+import io.aeron.Subscription;
+import io.aeron.logbuffer.BufferClaim;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.netty.buffer.ByteBuf;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntSupplier;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.MonoProcessor;
+
+public class AeronClaimSubscriberTest {
+  private final UnsafeBuffer term = new UnsafeBuffer(ByteBuffer.allocateDirect(64 * 1024));
+  private final List<IntSupplier> tasks = new ArrayList<>();
+  private Publication publication;
+  private AeronChannel channel;
+
+  @Before
+  public void setUp() {
+    publication = mock(Publication.class);
+    when(publication.maxPayloadLength()).thenReturn(4096 - DataHeaderFlyweight.HEADER_LENGTH);
+    EventLoop eventLoop =
+        task -> {
+          tasks.add(task);
+          return true;
+        };
+    channel = new AeronChannel("test", publication, mock(Subscription.class), eventLoop, 1);
+  }
+
+  @Test
+  public void packsQueuedFramesIntoSingleClaim() {
+    when(publication.tryClaim(anyInt(), any(BufferClaim.class)))
+        .thenReturn(Publication.BACK_PRESSURED);
+    List<ByteBuf> contents = new ArrayList<>();
+    Flux<ByteBuf> frames =
+        Flux.range(1, 3).map(i -> Frame.RequestN.from(i, 42).content()).doOnNext(contents::add);
+
+    MonoProcessor<Void> sent = channel.sendPacked(frames, 16).toProcessor();
+    claimSucceeds();
+    tasks.remove(0).getAsInt();
+
+    assertTrue(sent.isSuccess());
+    int length = 0;
+    for (ByteBuf content : contents) {
+      length += content.capacity();
+      assertEquals(0, content.refCnt());
+    }
+    verify(publication, times(2)).tryClaim(anyInt(), any(BufferClaim.class));
+    int offset = DataHeaderFlyweight.HEADER_LENGTH;
+    for (int streamId = 1; streamId <= 3; streamId++) {
+      int frameLength = (term.getByte(offset + 2) & 0xFF) + 3;
+      assertEquals(streamId, term.getInt(offset + 3, ByteOrder.BIG_ENDIAN));
+      offset += frameLength;
+    }
+    assertEquals(DataHeaderFlyweight.HEADER_LENGTH + length, offset);
+  }
+
+  @Test
+  public void backPressuredPublicationRetriesFromEventLoop() {
+    when(publication.tryClaim(anyInt(), any(BufferClaim.class)))
+        .thenReturn(Publication.BACK_PRESSURED);
+    Frame frame = Frame.RequestN.from(1, 42);
+    ByteBuf content = frame.content();
+
+    MonoProcessor<Void> sent = channel.sendPacked(Flux.just(content), 16).toProcessor();
+
+    assertFalse(sent.isTerminated());
+    assertEquals(1, content.refCnt());
+    assertEquals(1, tasks.size());
+
+    claimSucceeds();
+    tasks.remove(0).getAsInt();
+
+    assertTrue(sent.isSuccess());
+    assertEquals(0, content.refCnt());
+    assertTrue(tasks.isEmpty());
+  }
+
+  @Test
+  public void closedPublicationErrors() {
+    when(publication.tryClaim(anyInt(), any(BufferClaim.class))).thenReturn(Publication.CLOSED);
+    ByteBuf content = Frame.RequestN.from(1, 42).content();
+
+    MonoProcessor<Void> sent = channel.sendPacked(Flux.just(content), 16).toProcessor();
+
+    assertNotNull(sent.getError());
+    assertTrue(sent.getError() instanceof NotConnectedException);
+    assertEquals(0, content.refCnt());
+  }
+
+  @Test
+  public void rejectedRetryErrors() {
+    when(publication.tryClaim(anyInt(), any(BufferClaim.class)))
+        .thenReturn(Publication.BACK_PRESSURED);
+    AeronChannel closedLoopChannel =
+        new AeronChannel("test", publication, mock(Subscription.class), task -> false, 1);
+    ByteBuf content = Frame.RequestN.from(1, 42).content();
+
+    MonoProcessor<Void> sent = closedLoopChannel.sendPacked(Flux.just(content), 16).toProcessor();
+
+    assertNotNull(sent.getError());
+    assertTrue(sent.getError() instanceof RejectedExecutionException);
+    assertEquals(0, content.refCnt());
+    verify(publication, times(1)).tryClaim(anyInt(), any(BufferClaim.class));
+  }
+
+  private void claimSucceeds() {
+    when(publication.tryClaim(anyInt(), any(BufferClaim.class)))
+        .thenAnswer(
+            invocation -> {
+              int length = invocation.getArgument(0);
+              BufferClaim claim = invocation.getArgument(1);
+              claim.wrap(term, 0, length + DataHeaderFlyweight.HEADER_LENGTH);
+              return (long) length;
+            });
+  }
+}
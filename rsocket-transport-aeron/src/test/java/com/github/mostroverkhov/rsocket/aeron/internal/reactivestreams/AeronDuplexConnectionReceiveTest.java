@@ -0,0 +1,65 @@
+package com.github.mostroverkhov.rsocket.aeron.internal.reactivestreams;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import com.github.mostroverkhov.rsocket.FrameType;
+import com.github.mostroverkhov.rsocket.aeron.AeronDuplexConnection;
+import io.aeron.Publication;
+import io.aeron.Subscription;
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.netty.buffer.ByteBuf;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class AeronDuplexConnectionReceiveTest {
+
+  @Test
+  public void receivedFramesOutliveMessageAndAreReleasedOnce() {
+    Publication publication = mock(Publication.class);
+    when(publication.maxPayloadLength()).thenReturn(4096 - DataHeaderFlyweight.HEADER_LENGTH);
+    AeronChannelMux mux =
+        new AeronChannelMux("test", publication, mock(Subscription.class), 1, task -> true);
+    AeronDuplexConnection connection = new AeronDuplexConnection("test", mux.channel(1));
+    List<Frame> frames = new ArrayList<>();
+    connection.receive().subscribe(frames::add);
+
+    /*two frames packed into one message*/
+    ByteBuf first = Frame.RequestN.from(1, 10).content();
+    ByteBuf second = Frame.RequestN.from(3, 20).content();
+    int firstLength = first.readableBytes();
+    int secondLength = second.readableBytes();
+    byte[] bytes = new byte[firstLength + secondLength];
+    first.getBytes(first.readerIndex(), bytes, 0, firstLength);
+    second.getBytes(second.readerIndex(), bytes, firstLength, secondLength);
+    first.release();
+    second.release();
+    UnsafeBuffer message = new UnsafeBuffer(bytes);
+
+    assertEquals(Action.COMMIT, mux.onMessage(1, message, 0, bytes.length));
+    /*message memory is reused by log buffer once fragment handler returns*/
+    message.setMemory(0, bytes.length, (byte) 0xFF);
+
+    assertEquals(2, frames.size());
+    assertFrame(frames.get(0), 1, 10);
+    assertFrame(frames.get(1), 3, 20);
+    for (Frame frame : frames) {
+      ByteBuf content = frame.content();
+      assertEquals(1, content.refCnt());
+      assertTrue(frame.release());
+      assertEquals(0, content.refCnt());
+    }
+  }
+
+  private static void assertFrame(Frame frame, int streamId, int requestN) {
+    assertEquals(FrameType.REQUEST_N, frame.getType());
+    assertEquals(streamId, frame.getStreamId());
+    assertEquals(requestN, Frame.RequestN.requestN(frame));
+  }
+}
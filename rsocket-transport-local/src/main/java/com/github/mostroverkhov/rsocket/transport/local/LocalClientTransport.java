@@ -17,12 +17,10 @@
 package com.github.mostroverkhov.rsocket.transport.local;
 
 import com.github.mostroverkhov.rsocket.DuplexConnection;
-import com.github.mostroverkhov.rsocket.Frame;
 import com.github.mostroverkhov.rsocket.transport.ClientTransport;
 import com.github.mostroverkhov.rsocket.transport.local.LocalServerTransport.ServerDuplexConnectionAcceptor;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
-import reactor.core.publisher.UnicastProcessor;
 
 public class LocalClientTransport implements ClientTransport {
   private final String name;
@@ -41,8 +39,8 @@ public Mono<DuplexConnection> connect() {
         () -> {
           ServerDuplexConnectionAcceptor server = LocalServerTransport.findServer(name);
           if (server != null) {
-            final UnicastProcessor<Frame> in = UnicastProcessor.create();
-            final UnicastProcessor<Frame> out = UnicastProcessor.create();
+            final LocalFrameChannel in = new LocalFrameChannel();
+            final LocalFrameChannel out = new LocalFrameChannel();
             final MonoProcessor<Void> closeNotifier = MonoProcessor.create();
             server.accept(new LocalDuplexConnection(out, in, closeNotifier));
             DuplexConnection client = new LocalDuplexConnection(in, out, closeNotifier);
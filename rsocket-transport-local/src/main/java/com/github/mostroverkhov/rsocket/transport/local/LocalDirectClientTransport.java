@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport.local;
+
+import com.github.mostroverkhov.rsocket.SocketAcceptor;
+import com.github.mostroverkhov.rsocket.transport.DirectClientTransport;
+import com.github.mostroverkhov.rsocket.transport.local.LocalServerTransport.ServerDuplexConnectionAcceptor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Local client transport which passes payloads to {@link LocalServerTransport} handler directly,
+ * without encoding frames. Requester and handler interceptors are applied, connection and frame
+ * interceptors, fragmentation and keep-alives are not
+ */
+public class LocalDirectClientTransport extends LocalClientTransport
+    implements DirectClientTransport {
+  private final String name;
+
+  LocalDirectClientTransport(String name) {
+    super(name);
+    this.name = name;
+  }
+
+  public static LocalDirectClientTransport create(String name) {
+    return new LocalDirectClientTransport(name);
+  }
+
+  @Override
+  public Mono<SocketAcceptor> connectDirect() {
+    return Mono.defer(
+        () -> {
+          ServerDuplexConnectionAcceptor server = LocalServerTransport.findServer(name);
+          if (server != null) {
+            return Mono.just(server.directAcceptor());
+          }
+          return Mono.error(new IllegalArgumentException("Could not find server: " + name));
+        });
+  }
+}
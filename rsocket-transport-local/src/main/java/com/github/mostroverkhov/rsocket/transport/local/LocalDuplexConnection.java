@@ -24,13 +24,33 @@
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 
+/**
+ * Connection of local transport, frames of each direction are passed through {@link
+ * LocalFrameChannel}
+ */
 public class LocalDuplexConnection implements DuplexConnection {
   private final Flux<Frame> in;
-  private final Subscriber<Frame> out;
+  private final LocalFrameChannel out;
   private final MonoProcessor<Void> closeNotifier;
 
+  /**
+   * @param in inbound frames
+   * @param out subscribed to outbound frames of this connection, completed on close
+   * @param closeNotifier completed once connection is closed
+   */
   public LocalDuplexConnection(
       Flux<Frame> in, Subscriber<Frame> out, MonoProcessor<Void> closeNotifier) {
+    this(in, new LocalFrameChannel(), closeNotifier);
+    this.out.receive().subscribe(out);
+  }
+
+  LocalDuplexConnection(
+      LocalFrameChannel in, LocalFrameChannel out, MonoProcessor<Void> closeNotifier) {
+    this(in.receive(), out, closeNotifier);
+  }
+
+  private LocalDuplexConnection(
+      Flux<Frame> in, LocalFrameChannel out, MonoProcessor<Void> closeNotifier) {
     this.in = in;
     this.out = out;
     this.closeNotifier = closeNotifier;
@@ -38,12 +58,12 @@ public LocalDuplexConnection(
 
   @Override
   public Mono<Void> send(Publisher<Frame> frames) {
-    return Flux.from(frames).flatMapSequential(this::sendOne).then();
+    return out.send(frames);
   }
 
   @Override
   public Mono<Void> sendOne(Frame frame) {
-    return Mono.fromRunnable(() -> out.onNext(frame));
+    return Mono.fromRunnable(() -> out.sendOne(frame));
   }
 
   @Override
@@ -55,7 +75,7 @@ public Flux<Frame> receive() {
   public Mono<Void> close() {
     return Mono.defer(
         () -> {
-          out.onComplete();
+          out.complete();
           closeNotifier.onComplete();
           return closeNotifier;
         });
@@ -0,0 +1,394 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport.local;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import javax.annotation.Nullable;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.Fuseable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Operators;
+import reactor.util.concurrent.Queues;
+
+/**
+ * One direction of local connection. Every sent publisher has own bounded single-producer/single-
+ * consumer queue, and is requested in batches only as its frames are taken by receiver. Single
+ * frames share one unbounded queue, drained first. Receiver drains queues up to its demand, or
+ * polls them directly if async fused
+ */
+final class LocalFrameChannel implements Fuseable.QueueSubscription<Frame> {
+  static final int QUEUE_CAPACITY = Queues.SMALL_BUFFER_SIZE;
+  private static final int REPLENISH_LIMIT = QUEUE_CAPACITY - (QUEUE_CAPACITY >> 2);
+
+  private static final AtomicIntegerFieldUpdater<LocalFrameChannel> WIP =
+      AtomicIntegerFieldUpdater.newUpdater(LocalFrameChannel.class, "wip");
+  private static final AtomicIntegerFieldUpdater<LocalFrameChannel> ONCE =
+      AtomicIntegerFieldUpdater.newUpdater(LocalFrameChannel.class, "once");
+  private static final AtomicLongFieldUpdater<LocalFrameChannel> REQUESTED =
+      AtomicLongFieldUpdater.newUpdater(LocalFrameChannel.class, "requested");
+
+  private final List<Producer> producers = new CopyOnWriteArrayList<>();
+  private final Queue<Frame> singles = new ConcurrentLinkedQueue<>();
+  private final Flux<Frame> receive = new Receive();
+  private boolean outputFused;
+  private boolean terminated;
+
+  private volatile @Nullable CoreSubscriber<? super Frame> actual;
+  private volatile int wip;
+  private volatile int once;
+  private volatile long requested;
+  private volatile boolean done;
+  private volatile boolean cancelled;
+
+  /** @return frames of this channel. Only single subscriber is supported */
+  Flux<Frame> receive() {
+    return receive;
+  }
+
+  /**
+   * @param frames frames to send
+   * @return {@code Mono} completed once all frames are queued
+   */
+  Mono<Void> send(Publisher<Frame> frames) {
+    return Mono.create(
+        sink -> {
+          Producer producer = new Producer(sink);
+          producers.add(producer);
+          sink.onCancel(producer::cancel);
+          frames.subscribe(producer);
+        });
+  }
+
+  /** @param frame frame to send, queued without backpressure */
+  void sendOne(Frame frame) {
+    if (done || cancelled) {
+      frame.release();
+      return;
+    }
+    /*emit directly if not contended and nothing is queued*/
+    if (wip == 0 && WIP.compareAndSet(this, 0, 1)) {
+      CoreSubscriber<? super Frame> a = actual;
+      if (a != null
+          && !outputFused
+          && !terminated
+          && !cancelled
+          && requested != 0
+          && singles.isEmpty()) {
+        a.onNext(frame);
+        if (requested != Long.MAX_VALUE) {
+          REQUESTED.decrementAndGet(this);
+        }
+        if (WIP.decrementAndGet(this) != 0) {
+          drainLoop();
+        }
+      } else {
+        /*queued frame must be drained while WIP is still held, e.g. to signal fused receiver*/
+        singles.offer(frame);
+        drainLoop();
+      }
+      return;
+    }
+    singles.offer(frame);
+    drain();
+  }
+
+  /** Completes receiver once already queued frames are received, cancels senders */
+  void complete() {
+    done = true;
+    for (Producer producer : producers) {
+      producer.cancel();
+    }
+    drain();
+  }
+
+  @Override
+  public void request(long n) {
+    if (Operators.validate(n)) {
+      Operators.addCap(REQUESTED, this, n);
+      drain();
+    }
+  }
+
+  @Override
+  public void cancel() {
+    if (cancelled) {
+      return;
+    }
+    cancelled = true;
+    for (Producer producer : producers) {
+      producer.cancel();
+    }
+    if (!outputFused) {
+      drain();
+    }
+  }
+
+  @Override
+  public int requestFusion(int requestedMode) {
+    if ((requestedMode & Fuseable.ASYNC) != 0) {
+      outputFused = true;
+      return Fuseable.ASYNC;
+    }
+    return Fuseable.NONE;
+  }
+
+  @Nullable
+  @Override
+  public Frame poll() {
+    Frame single = singles.poll();
+    if (single != null) {
+      return single;
+    }
+    for (Producer producer : producers) {
+      boolean producerDone = producer.done;
+      Frame frame = producer.queue.poll();
+      if (frame != null) {
+        producer.consumed();
+        return frame;
+      }
+      if (producerDone) {
+        producers.remove(producer);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    if (!singles.isEmpty()) {
+      return false;
+    }
+    for (Producer producer : producers) {
+      if (!producer.queue.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int size() {
+    int size = singles.size();
+    for (Producer producer : producers) {
+      size += producer.queue.size();
+    }
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    Frame single;
+    while ((single = singles.poll()) != null) {
+      single.release();
+    }
+    for (Producer producer : producers) {
+      producer.cancel();
+      Frame frame;
+      while ((frame = producer.queue.poll()) != null) {
+        frame.release();
+      }
+    }
+    producers.clear();
+  }
+
+  private void drain() {
+    if (WIP.getAndIncrement(this) != 0) {
+      return;
+    }
+    drainLoop();
+  }
+
+  private void drainLoop() {
+    int missed = 1;
+    for (; ; ) {
+      CoreSubscriber<? super Frame> a = actual;
+      if (a != null && !terminated) {
+        if (outputFused) {
+          drainFused(a);
+        } else {
+          drainRegular(a);
+        }
+      }
+      missed = WIP.addAndGet(this, -missed);
+      if (missed == 0) {
+        break;
+      }
+    }
+  }
+
+  private void drainFused(CoreSubscriber<? super Frame> a) {
+    if (cancelled) {
+      return;
+    }
+    a.onNext(null);
+    if (done) {
+      terminated = true;
+      a.onComplete();
+    }
+  }
+
+  private void drainRegular(CoreSubscriber<? super Frame> a) {
+    if (cancelled) {
+      clear();
+      return;
+    }
+    boolean closed = done;
+    long r = requested;
+    long e = 0;
+    Frame single;
+    while (e != r && (single = singles.poll()) != null) {
+      a.onNext(single);
+      e++;
+      if (cancelled) {
+        clear();
+        return;
+      }
+    }
+    boolean empty = singles.isEmpty();
+    for (Producer producer : producers) {
+      boolean producerDone = producer.done;
+      Queue<Frame> queue = producer.queue;
+      Frame frame;
+      while (e != r && (frame = queue.poll()) != null) {
+        a.onNext(frame);
+        e++;
+        producer.consumed();
+        if (cancelled) {
+          clear();
+          return;
+        }
+      }
+      if (!queue.isEmpty()) {
+        empty = false;
+      } else if (producerDone) {
+        producers.remove(producer);
+      }
+    }
+    if (e != 0 && r != Long.MAX_VALUE) {
+      REQUESTED.addAndGet(this, -e);
+    }
+    if (closed && empty) {
+      terminated = true;
+      producers.clear();
+      a.onComplete();
+    }
+  }
+
+  private final class Producer implements CoreSubscriber<Frame> {
+    final Queue<Frame> queue = Queues.<Frame>get(QUEUE_CAPACITY).get();
+    private final MonoSink<Void> sink;
+    private int consumed;
+    private volatile @Nullable Subscription s;
+    volatile boolean done;
+
+    Producer(MonoSink<Void> sink) {
+      this.sink = sink;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      if (Operators.validate(this.s, s)) {
+        this.s = s;
+        if (done || LocalFrameChannel.this.done || cancelled) {
+          cancel();
+          drain();
+        } else {
+          s.request(QUEUE_CAPACITY);
+        }
+      }
+    }
+
+    @Override
+    public void onNext(Frame frame) {
+      if (done) {
+        frame.release();
+        return;
+      }
+      if (!queue.offer(frame)) {
+        frame.release();
+        /*sink takes first signal only, so send must not complete before it fails*/
+        cancelUpstream();
+        sink.error(Exceptions.failWithOverflow());
+      }
+      drain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      done = true;
+      sink.error(t);
+      drain();
+    }
+
+    @Override
+    public void onComplete() {
+      done = true;
+      sink.success();
+      drain();
+    }
+
+    /*called by receiver*/
+    void consumed() {
+      if (++consumed == REPLENISH_LIMIT) {
+        consumed = 0;
+        Subscription s = this.s;
+        if (s != null && !done) {
+          s.request(REPLENISH_LIMIT);
+        }
+      }
+    }
+
+    void cancel() {
+      cancelUpstream();
+      sink.success();
+    }
+
+    private void cancelUpstream() {
+      done = true;
+      Subscription s = this.s;
+      if (s != null) {
+        s.cancel();
+      }
+    }
+  }
+
+  private final class Receive extends Flux<Frame> implements Fuseable {
+
+    @Override
+    public void subscribe(CoreSubscriber<? super Frame> actual) {
+      if (ONCE.compareAndSet(LocalFrameChannel.this, 0, 1)) {
+        actual.onSubscribe(LocalFrameChannel.this);
+        LocalFrameChannel.this.actual = actual;
+        drain();
+      } else {
+        Operators.error(
+            actual, new IllegalStateException("LocalFrameChannel allows only a single Subscriber"));
+      }
+    }
+  }
+}
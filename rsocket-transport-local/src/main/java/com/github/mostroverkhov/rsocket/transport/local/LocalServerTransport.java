@@ -18,7 +18,8 @@
 
 import com.github.mostroverkhov.rsocket.Closeable;
 import com.github.mostroverkhov.rsocket.DuplexConnection;
-import com.github.mostroverkhov.rsocket.transport.ServerTransport;
+import com.github.mostroverkhov.rsocket.SocketAcceptor;
+import com.github.mostroverkhov.rsocket.transport.DirectServerTransport;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -27,7 +28,7 @@
 import reactor.core.publisher.MonoProcessor;
 
 /** Local within process transport for RSocket. */
-public class LocalServerTransport implements ServerTransport<Closeable> {
+public class LocalServerTransport implements DirectServerTransport<Closeable> {
   private static final ConcurrentMap<String, ServerDuplexConnectionAcceptor> registry =
       new ConcurrentHashMap<>();
 
@@ -49,12 +50,25 @@ public LocalClientTransport clientTransport() {
     return LocalClientTransport.create(name);
   }
 
+  public LocalDirectClientTransport directClientTransport() {
+    return LocalDirectClientTransport.create(name);
+  }
+
   @Override
   public Mono<Closeable> start(ConnectionAcceptor acceptor) {
+    return start(
+        acceptor,
+        (setup, requester) ->
+            Mono.error(
+                new IllegalStateException("Direct clients are not accepted by server: " + name)));
+  }
+
+  @Override
+  public Mono<Closeable> start(ConnectionAcceptor acceptor, SocketAcceptor directAcceptor) {
     return Mono.create(
         sink -> {
           ServerDuplexConnectionAcceptor serverDuplexConnectionAcceptor =
-              new ServerDuplexConnectionAcceptor(name, acceptor);
+              new ServerDuplexConnectionAcceptor(name, acceptor, directAcceptor);
           if (registry.putIfAbsent(name, serverDuplexConnectionAcceptor) != null) {
             throw new IllegalStateException("name already registered: " + name);
           }
@@ -82,11 +96,18 @@ public String getName() {
   static class ServerDuplexConnectionAcceptor implements Consumer<DuplexConnection>, Closeable {
     private final LocalSocketAddress address;
     private final ConnectionAcceptor acceptor;
+    private final SocketAcceptor directAcceptor;
     private final MonoProcessor<Void> closeNotifier = MonoProcessor.create();
 
-    public ServerDuplexConnectionAcceptor(String name, ConnectionAcceptor acceptor) {
+    public ServerDuplexConnectionAcceptor(
+        String name, ConnectionAcceptor acceptor, SocketAcceptor directAcceptor) {
       this.address = new LocalSocketAddress(name);
       this.acceptor = acceptor;
+      this.directAcceptor = directAcceptor;
+    }
+
+    SocketAcceptor directAcceptor() {
+      return directAcceptor;
     }
 
     @Override
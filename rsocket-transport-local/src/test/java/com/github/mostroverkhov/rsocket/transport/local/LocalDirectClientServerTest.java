@@ -0,0 +1,11 @@
+package com.github.mostroverkhov.rsocket.transport.local;
+
+import com.github.mostroverkhov.rsocket.test.BaseClientServerTest;
+
+public class LocalDirectClientServerTest extends BaseClientServerTest<LocalDirectClientSetupRule> {
+
+  @Override
+  protected LocalDirectClientSetupRule createClientServer() {
+    return new LocalDirectClientSetupRule();
+  }
+}
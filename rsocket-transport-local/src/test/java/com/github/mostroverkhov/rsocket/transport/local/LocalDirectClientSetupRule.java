@@ -0,0 +1,16 @@
+package com.github.mostroverkhov.rsocket.transport.local;
+
+import com.github.mostroverkhov.rsocket.Closeable;
+import com.github.mostroverkhov.rsocket.test.ClientSetupRule;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LocalDirectClientSetupRule extends ClientSetupRule<String, Closeable> {
+  private static final AtomicInteger uniqueNameGenerator = new AtomicInteger();
+
+  public LocalDirectClientSetupRule() {
+    super(
+        () -> "test-direct" + uniqueNameGenerator.incrementAndGet(),
+        (address, server) -> LocalDirectClientTransport.create(address),
+        LocalServerTransport::create);
+  }
+}
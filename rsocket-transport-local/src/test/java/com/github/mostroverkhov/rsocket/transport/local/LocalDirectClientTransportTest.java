@@ -0,0 +1,140 @@
+package com.github.mostroverkhov.rsocket.transport.local;
+
+import static org.junit.Assert.assertEquals;
+
+import com.github.mostroverkhov.rsocket.AbstractRSocket;
+import com.github.mostroverkhov.rsocket.Closeable;
+import com.github.mostroverkhov.rsocket.Payload;
+import com.github.mostroverkhov.rsocket.RSocket;
+import com.github.mostroverkhov.rsocket.RSocketFactory;
+import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import com.github.mostroverkhov.rsocket.util.RSocketProxy;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+public class LocalDirectClientTransportTest {
+  private LocalServerTransport serverTransport;
+  private Closeable server;
+  private AtomicReference<RSocket> serverRequester;
+  private AtomicInteger serverHandlerRequests;
+
+  @Before
+  public void setUp() {
+    serverTransport = LocalServerTransport.createEphemeral();
+    serverRequester = new AtomicReference<>();
+    serverHandlerRequests = new AtomicInteger();
+    server =
+        RSocketFactory.receive()
+            .addHandlerInterceptor(rSocket -> new CountingProxy(rSocket, serverHandlerRequests))
+            .acceptor(
+                (setup, sendingSocket) -> {
+                  serverRequester.set(sendingSocket);
+                  return Mono.just(new EchoRSocket(setup.getDataUtf8()));
+                })
+            .transport(serverTransport)
+            .start()
+            .block();
+  }
+
+  @After
+  public void tearDown() {
+    server.close().block();
+  }
+
+  @Test(timeout = 5_000)
+  public void interceptorsAppliedOnBothSides() {
+    AtomicInteger clientRequesterRequests = new AtomicInteger();
+    RSocket client =
+        RSocketFactory.connect()
+            .addRequesterInterceptor(rSocket -> new CountingProxy(rSocket, clientRequesterRequests))
+            .setupPayload(new PayloadImpl("setup"))
+            .transport(serverTransport.directClientTransport())
+            .start()
+            .block();
+
+    Payload response = client.requestResponse(new PayloadImpl("hello")).block();
+    assertEquals("setup:hello", response.getDataUtf8());
+    assertEquals(1, clientRequesterRequests.get());
+    assertEquals(1, serverHandlerRequests.get());
+    client.close().block();
+  }
+
+  @Test(timeout = 5_000)
+  public void serverRequestsClientHandler() {
+    RSocket client =
+        RSocketFactory.connect()
+            .acceptor(requester -> new EchoRSocket("client"))
+            .transport(serverTransport.directClientTransport())
+            .start()
+            .block();
+
+    Payload response = serverRequester.get().requestResponse(new PayloadImpl("hello")).block();
+    assertEquals("client:hello", response.getDataUtf8());
+    client.close().block();
+  }
+
+  @Test(timeout = 5_000)
+  public void frameClientsAccepted() {
+    RSocket client =
+        RSocketFactory.connect()
+            .keepAlive(Duration.ofSeconds(10), 3, keepAlives -> {})
+            .transport(serverTransport.clientTransport())
+            .start()
+            .block();
+
+    Payload response = client.requestResponse(new PayloadImpl("hello")).block();
+    assertEquals(":hello", response.getDataUtf8());
+    client.close().block();
+  }
+
+  @Test(timeout = 5_000, expected = IllegalArgumentException.class)
+  public void missingServer() {
+    RSocketFactory.connect()
+        .transport(LocalDirectClientTransport.create("missing"))
+        .start()
+        .block();
+  }
+
+  @Test(timeout = 5_000)
+  public void closeClosesServerRequester() {
+    RSocket client =
+        RSocketFactory.connect().transport(serverTransport.directClientTransport()).start().block();
+    client.close().block();
+
+    serverRequester.get().onClose().block();
+    assertEquals(0.0, serverRequester.get().availability(), 0.0);
+  }
+
+  private static class EchoRSocket extends AbstractRSocket {
+    private final String prefix;
+
+    EchoRSocket(String prefix) {
+      this.prefix = prefix;
+    }
+
+    @Override
+    public Mono<Payload> requestResponse(Payload payload) {
+      return Mono.just(new PayloadImpl(prefix + ":" + payload.getDataUtf8()));
+    }
+  }
+
+  private static class CountingProxy extends RSocketProxy {
+    private final AtomicInteger requests;
+
+    CountingProxy(RSocket source, AtomicInteger requests) {
+      super(source);
+      this.requests = requests;
+    }
+
+    @Override
+    public Mono<Payload> requestResponse(Payload payload) {
+      requests.incrementAndGet();
+      return super.requestResponse(payload);
+    }
+  }
+}
@@ -0,0 +1,224 @@
+package com.github.mostroverkhov.rsocket.transport.local;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.Fuseable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class LocalFrameChannelTest {
+  private LocalFrameChannel channel;
+  private Receiver receiver;
+
+  @Before
+  public void setUp() {
+    channel = new LocalFrameChannel();
+    receiver = new Receiver();
+    channel.receive().subscribe(receiver);
+  }
+
+  @Test
+  public void senderRequestedAsFramesAreReceived() {
+    List<Long> requested = new ArrayList<>();
+    channel
+        .send(Flux.range(0, 1_000).map(LocalFrameChannelTest::frame).doOnRequest(requested::add))
+        .subscribe();
+
+    assertEquals(1, requested.size());
+    assertEquals(LocalFrameChannel.QUEUE_CAPACITY, (long) requested.get(0));
+
+    int replenish = LocalFrameChannel.QUEUE_CAPACITY * 3 / 4;
+    receiver.request(replenish - 1);
+    assertEquals(1, requested.size());
+    receiver.request(1);
+    assertEquals(2, requested.size());
+    assertEquals(replenish, (long) requested.get(1));
+
+    receiver.request(Long.MAX_VALUE);
+    assertEquals(1_000, receiver.frames.size());
+  }
+
+  @Test
+  public void framesOfAllSendersReceived() {
+    DirectProcessor<Frame> first = DirectProcessor.create();
+    AtomicBoolean secondComplete = new AtomicBoolean();
+    channel.send(first).subscribe();
+    channel
+        .send(Flux.range(0, 10).map(LocalFrameChannelTest::frame))
+        .doOnSuccess(v -> secondComplete.set(true))
+        .subscribe();
+    first.onNext(frame(42));
+    channel.send(Mono.just(frame(43))).subscribe();
+
+    receiver.request(Long.MAX_VALUE);
+    assertEquals(12, receiver.frames.size());
+    assertTrue(secondComplete.get());
+  }
+
+  @Test
+  public void completeDeliversQueuedFramesAndCancelsSenders() {
+    AtomicBoolean cancelled = new AtomicBoolean();
+    channel
+        .send(Flux.<Frame>never().startWith(frame(1)).doOnCancel(() -> cancelled.set(true)))
+        .subscribe();
+    channel.complete();
+
+    assertTrue(cancelled.get());
+    assertFalse(receiver.completed);
+    receiver.request(1);
+    assertEquals(1, receiver.frames.size());
+    assertTrue(receiver.completed);
+  }
+
+  @Test
+  public void queueOverflowFailsSend() {
+    AtomicBoolean cancelled = new AtomicBoolean();
+    Frame overflow = frame(LocalFrameChannel.QUEUE_CAPACITY + 1);
+    /*ignores demand*/
+    Publisher<Frame> frames =
+        s -> {
+          s.onSubscribe(
+              new Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {
+                  cancelled.set(true);
+                }
+              });
+          for (int i = 1; i <= LocalFrameChannel.QUEUE_CAPACITY; i++) {
+            s.onNext(frame(i));
+          }
+          s.onNext(overflow);
+        };
+    List<Throwable> errors = new ArrayList<>();
+    AtomicBoolean succeeded = new AtomicBoolean();
+
+    channel.send(frames).subscribe(v -> {}, errors::add, () -> succeeded.set(true));
+
+    assertFalse(succeeded.get());
+    assertEquals(1, errors.size());
+    assertTrue(Exceptions.isOverflow(errors.get(0)));
+    assertTrue(cancelled.get());
+    assertEquals(0, overflow.refCnt());
+  }
+
+  @Test
+  public void asyncFused() {
+    channel = new LocalFrameChannel();
+    FusedReceiver fused = new FusedReceiver();
+    channel.receive().subscribe(fused);
+    assertEquals(Fuseable.ASYNC, fused.mode);
+
+    channel.send(Flux.range(0, 10).map(LocalFrameChannelTest::frame)).subscribe();
+    channel.complete();
+    assertEquals(10, fused.frames.size());
+    assertTrue(fused.completed);
+  }
+
+  @Test
+  public void asyncFusedReceivesSingleFrames() {
+    channel = new LocalFrameChannel();
+    FusedReceiver fused = new FusedReceiver();
+    channel.receive().subscribe(fused);
+    assertEquals(Fuseable.ASYNC, fused.mode);
+
+    channel.sendOne(frame(1));
+    channel.sendOne(frame(3));
+
+    assertEquals(2, fused.frames.size());
+    assertFalse(fused.completed);
+  }
+
+  @Test
+  public void singleFrameQueuedWithoutDemandIsReceivedOnRequest() {
+    channel.sendOne(frame(1));
+    assertTrue(receiver.frames.isEmpty());
+
+    receiver.request(1);
+    assertEquals(1, receiver.frames.size());
+  }
+
+  @Test
+  public void singleReceiver() {
+    Receiver second = new Receiver();
+    channel.receive().subscribe(second);
+    assertTrue(second.error instanceof IllegalStateException);
+  }
+
+  private static Frame frame(int streamId) {
+    return Frame.RequestN.from(streamId, 1);
+  }
+
+  private static class Receiver extends BaseSubscriber<Frame> {
+    final List<Frame> frames = new ArrayList<>();
+    boolean completed;
+    Throwable error;
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {}
+
+    @Override
+    protected void hookOnNext(Frame frame) {
+      frames.add(frame);
+      frame.release();
+    }
+
+    @Override
+    protected void hookOnComplete() {
+      completed = true;
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+      error = throwable;
+    }
+  }
+
+  private static class FusedReceiver implements CoreSubscriber<Frame> {
+    final List<Frame> frames = new ArrayList<>();
+    Fuseable.QueueSubscription<Frame> qs;
+    int mode;
+    boolean completed;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onSubscribe(Subscription s) {
+      qs = (Fuseable.QueueSubscription<Frame>) s;
+      mode = qs.requestFusion(Fuseable.ANY);
+    }
+
+    @Override
+    public void onNext(Frame frame) {
+      Frame f;
+      while ((f = qs.poll()) != null) {
+        frames.add(f);
+        f.release();
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {}
+
+    @Override
+    public void onComplete() {
+      onNext(null);
+      completed = true;
+    }
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport.netty;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import java.nio.channels.ClosedChannelException;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Writes frames to channel from its event loop. Frames are requested from publisher with bounded
+ * prefetch, written without flush, and flushed once per drained batch, or once per inbound batch if
+ * written while it is delivered, see {@link InboundFrameBatcher}. While channel is not writable,
+ * frames are not written, so publisher is not requested either. Queued frames are released once
+ * channel is closed
+ */
+final class ChannelFrameSender extends Mono<Void> {
+  private final Channel channel;
+  private final WritabilityHandler writability;
+  private final InboundFrameBatcher inbound;
+  private final Publisher<Frame> frames;
+  private final int prefetch;
+
+  ChannelFrameSender(
+      Channel channel,
+      WritabilityHandler writability,
+      InboundFrameBatcher inbound,
+      Publisher<Frame> frames,
+      int prefetch) {
+    this.channel = channel;
+    this.writability = writability;
+    this.inbound = inbound;
+    this.frames = frames;
+    this.prefetch = prefetch;
+  }
+
+  @Override
+  public void subscribe(CoreSubscriber<? super Void> actual) {
+    frames.subscribe(new SendSubscriber(channel, writability, inbound, actual, prefetch));
+  }
+
+  private static final class SendSubscriber implements CoreSubscriber<Frame>, Subscription {
+    private static final AtomicIntegerFieldUpdater<SendSubscriber> WIP =
+        AtomicIntegerFieldUpdater.newUpdater(SendSubscriber.class, "wip");
+
+    private final Channel channel;
+    private final EventLoop eventLoop;
+    private final WritabilityHandler writability;
+    private final InboundFrameBatcher inbound;
+    private final CoreSubscriber<? super Void> actual;
+    private final int prefetch;
+    private final int limit;
+    private final Queue<Frame> queue;
+    private final Runnable drain = this::drainLoop;
+    private final Runnable scheduleDrain = this::drain;
+
+    private Subscription s;
+    private int produced;
+    private volatile boolean done;
+    private Throwable error;
+    private volatile boolean cancelled;
+    private volatile int wip;
+
+    SendSubscriber(
+        Channel channel,
+        WritabilityHandler writability,
+        InboundFrameBatcher inbound,
+        CoreSubscriber<? super Void> actual,
+        int prefetch) {
+      this.channel = channel;
+      this.eventLoop = channel.eventLoop();
+      this.writability = writability;
+      this.inbound = inbound;
+      this.actual = actual;
+      this.prefetch = prefetch;
+      this.limit = prefetch - (prefetch >> 2);
+      this.queue = Queues.<Frame>get(prefetch).get();
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      if (Operators.validate(this.s, s)) {
+        this.s = s;
+        writability.addListener(scheduleDrain);
+        actual.onSubscribe(this);
+        s.request(prefetch);
+      }
+    }
+
+    @Override
+    public void onNext(Frame frame) {
+      if (done || cancelled) {
+        frame.release();
+        return;
+      }
+      if (!queue.offer(frame)) {
+        frame.release();
+        s.cancel();
+        onError(Exceptions.failWithOverflow());
+        return;
+      }
+      drain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      if (done) {
+        Operators.onErrorDropped(t, actual.currentContext());
+        return;
+      }
+      error = t;
+      done = true;
+      drain();
+    }
+
+    @Override
+    public void onComplete() {
+      if (done) {
+        return;
+      }
+      done = true;
+      drain();
+    }
+
+    @Override
+    public void request(long n) {}
+
+    @Override
+    public void cancel() {
+      if (cancelled) {
+        return;
+      }
+      cancelled = true;
+      s.cancel();
+      drain();
+    }
+
+    private void drain() {
+      if (WIP.getAndIncrement(this) == 0) {
+        if (eventLoop.inEventLoop()) {
+          drainLoop();
+        } else {
+          eventLoop.execute(drain);
+        }
+      }
+    }
+
+    private void drainLoop() {
+      int missed = 1;
+      Queue<Frame> q = queue;
+      for (; ; ) {
+        if (cancelled) {
+          release();
+        } else if (!channel.isActive()) {
+          cancelled = true;
+          s.cancel();
+          release();
+          actual.onError(new ClosedChannelException());
+        } else {
+          boolean written = false;
+          while (channel.isWritable()) {
+            boolean d = done;
+            Frame frame = q.poll();
+            if (frame == null) {
+              if (d) {
+                terminate(written);
+                return;
+              }
+              break;
+            }
+            channel.write(frame.content(), channel.voidPromise());
+            written = true;
+            if (++produced == limit) {
+              produced = 0;
+              s.request(limit);
+            }
+          }
+          /*nothing left to write, so terminal signal does not wait for writability*/
+          if (done && q.isEmpty()) {
+            terminate(written);
+            return;
+          }
+          if (written) {
+            flush();
+          }
+        }
+
+        missed = WIP.addAndGet(this, -missed);
+        if (missed == 0) {
+          break;
+        }
+      }
+    }
+
+    private void flush() {
+      if (!inbound.deferFlush()) {
+        channel.flush();
+      }
+    }
+
+    private void terminate(boolean written) {
+      if (written) {
+        flush();
+      }
+      writability.removeListener(scheduleDrain);
+      Throwable e = error;
+      if (e != null) {
+        actual.onError(e);
+      } else {
+        actual.onComplete();
+      }
+    }
+
+    private void release() {
+      writability.removeListener(scheduleDrain);
+      Frame frame;
+      while ((frame = queue.poll()) != null) {
+        frame.release();
+      }
+    }
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport.netty;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoop;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+
+/**
+ * Collects frames decoded from single socket read into reusable array, and delivers them to
+ * receiver of connection in one pass once read is complete. Flushes of frames written by receiver
+ * while batch is delivered are coalesced into single flush at the end of batch. If receiver demand
+ * is not enough for whole batch, channel reads are suspended until it is delivered
+ */
+final class InboundFrameBatcher extends ChannelInboundHandlerAdapter implements Subscription {
+  private static final int INITIAL_BATCH_SIZE = 16;
+
+  private static final AtomicLongFieldUpdater<InboundFrameBatcher> REQUESTED =
+      AtomicLongFieldUpdater.newUpdater(InboundFrameBatcher.class, "requested");
+
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<InboundFrameBatcher, CoreSubscriber> ACTUAL =
+      AtomicReferenceFieldUpdater.newUpdater(
+          InboundFrameBatcher.class, CoreSubscriber.class, "actual");
+
+  private final Runnable deliver = this::deliver;
+  private final Flux<Frame> frames = new Frames();
+
+  private final Channel channel;
+  private final EventLoop eventLoop;
+  private Frame[] batch = new Frame[INITIAL_BATCH_SIZE];
+  private int size;
+  private int index;
+  private boolean delivering;
+  private boolean flushPending;
+  private boolean done;
+  private boolean terminated;
+  private Throwable error;
+
+  private volatile CoreSubscriber<? super Frame> actual;
+  private volatile long requested;
+  private volatile boolean cancelled;
+
+  InboundFrameBatcher(Channel channel) {
+    this.channel = channel;
+    this.eventLoop = channel.eventLoop();
+  }
+
+  /** @return frames of this channel. Only single subscriber is supported */
+  Flux<Frame> frames() {
+    return frames;
+  }
+
+  /**
+   * Called by frame senders from event loop before flushing written frames
+   *
+   * @return true if flush is deferred until end of currently delivered batch
+   */
+  boolean deferFlush() {
+    if (delivering) {
+      flushPending = true;
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    if (!(msg instanceof ByteBuf)) {
+      ctx.fireChannelRead(msg);
+      return;
+    }
+    Frame frame = Frame.from((ByteBuf) msg);
+    if (cancelled) {
+      frame.release();
+      return;
+    }
+    if (size == batch.length) {
+      batch = Arrays.copyOf(batch, size << 1);
+    }
+    batch[size++] = frame;
+  }
+
+  @Override
+  public void channelReadComplete(ChannelHandlerContext ctx) {
+    deliver();
+    ctx.fireChannelReadComplete();
+  }
+
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+    done = true;
+    deliver();
+    super.channelInactive(ctx);
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+    if (!done) {
+      error = cause;
+      done = true;
+      deliver();
+    }
+    super.exceptionCaught(ctx, cause);
+  }
+
+  @Override
+  public void request(long n) {
+    if (Operators.validate(n)) {
+      Operators.addCap(REQUESTED, this, n);
+      scheduleDeliver();
+    }
+  }
+
+  @Override
+  public void cancel() {
+    cancelled = true;
+    scheduleDeliver();
+  }
+
+  private void scheduleDeliver() {
+    if (eventLoop.inEventLoop()) {
+      deliver();
+    } else {
+      eventLoop.execute(deliver);
+    }
+  }
+
+  private void deliver() {
+    CoreSubscriber<? super Frame> a = actual;
+    if (a == null || delivering || terminated) {
+      return;
+    }
+    if (cancelled) {
+      releaseBatch();
+      resumeReads();
+      return;
+    }
+    delivering = true;
+    try {
+      boolean unbounded = requested == Long.MAX_VALUE;
+      Frame[] b = batch;
+      while (index < size) {
+        if (!unbounded && requested == 0) {
+          break;
+        }
+        Frame frame = b[index];
+        b[index++] = null;
+        a.onNext(frame);
+        if (cancelled) {
+          releaseBatch();
+          break;
+        }
+        if (!unbounded) {
+          REQUESTED.decrementAndGet(this);
+        }
+      }
+    } finally {
+      delivering = false;
+    }
+
+    if (index == size) {
+      index = 0;
+      size = 0;
+      resumeReads();
+      if (done && !cancelled) {
+        terminated = true;
+        Throwable e = error;
+        if (e != null) {
+          a.onError(e);
+        } else {
+          a.onComplete();
+        }
+      }
+    } else {
+      channel.config().setAutoRead(false);
+    }
+    if (flushPending) {
+      flushPending = false;
+      channel.flush();
+    }
+  }
+
+  private void resumeReads() {
+    if (!channel.config().isAutoRead()) {
+      channel.config().setAutoRead(true);
+    }
+  }
+
+  private void releaseBatch() {
+    Frame[] b = batch;
+    for (int i = index; i < size; i++) {
+      b[i].release();
+      b[i] = null;
+    }
+    index = 0;
+    size = 0;
+  }
+
+  private final class Frames extends Flux<Frame> {
+
+    @Override
+    public void subscribe(CoreSubscriber<? super Frame> s) {
+      if (ACTUAL.compareAndSet(InboundFrameBatcher.this, null, s)) {
+        s.onSubscribe(InboundFrameBatcher.this);
+      } else {
+        Operators.error(
+            s, new IllegalStateException("InboundFrameBatcher allows only single subscriber"));
+      }
+    }
+  }
+}
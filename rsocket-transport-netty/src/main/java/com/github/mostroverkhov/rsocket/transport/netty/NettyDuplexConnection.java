@@ -17,6 +17,9 @@
 
 import com.github.mostroverkhov.rsocket.DuplexConnection;
 import com.github.mostroverkhov.rsocket.Frame;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import javax.annotation.Nullable;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -24,42 +27,88 @@
 import reactor.ipc.netty.NettyContext;
 import reactor.ipc.netty.NettyInbound;
 import reactor.ipc.netty.NettyOutbound;
+import reactor.util.concurrent.Queues;
 
 public class NettyDuplexConnection implements DuplexConnection {
-  private final NettyInbound in;
-  private final NettyOutbound out;
-  private final NettyContext context;
+  private static final int SEND_PREFETCH = Queues.SMALL_BUFFER_SIZE;
+
+  private final @Nullable NettyInbound in;
+  private final @Nullable NettyOutbound out;
+  private final @Nullable NettyContext context;
+  private final Channel channel;
   private final MonoProcessor<Void> onClose;
+  private final WritabilityHandler writability;
+  private final InboundFrameBatcher inbound;
 
   public NettyDuplexConnection(NettyInbound in, NettyOutbound out, NettyContext context) {
     this.in = in;
     this.out = out;
     this.context = context;
+    this.channel = context.channel();
     this.onClose = MonoProcessor.create();
+    this.writability = new WritabilityHandler();
+    context.addHandlerFirst("rsocket-writability", writability);
+    this.inbound = new InboundFrameBatcher(channel);
+    context.addHandler("rsocket-frame-batcher", inbound);
 
     context.onClose(onClose::onComplete);
     this.onClose
         .doFinally(
             s -> {
               this.context.dispose();
-              this.context.channel().close();
+              this.channel.close();
             })
         .subscribe();
   }
 
+  /**
+   * Connection over plain netty channel, for transports not backed by reactor-netty. Channel
+   * pipeline must already contain {@link RSocketLengthCodec}
+   *
+   * @param channel channel of connection
+   */
+  public NettyDuplexConnection(Channel channel) {
+    this.in = null;
+    this.out = null;
+    this.context = null;
+    this.channel = channel;
+    this.onClose = MonoProcessor.create();
+    this.writability = new WritabilityHandler();
+    channel.pipeline().addFirst("rsocket-writability", writability);
+    this.inbound = new InboundFrameBatcher(channel);
+    channel.pipeline().addLast("rsocket-frame-batcher", inbound);
+
+    channel.closeFuture().addListener(f -> onClose.onComplete());
+    this.onClose.doFinally(s -> this.channel.close()).subscribe();
+  }
+
   @Override
   public Mono<Void> send(Publisher<Frame> frames) {
-    return Flux.from(frames).concatMap(this::sendOne).then();
+    return new ChannelFrameSender(channel, writability, inbound, frames, SEND_PREFETCH);
   }
 
   @Override
   public Mono<Void> sendOne(Frame frame) {
-    return out.sendObject(frame.content()).then();
+    if (out != null) {
+      return out.sendObject(frame.content()).then();
+    }
+    return Mono.create(
+        sink ->
+            channel
+                .writeAndFlush(frame.content())
+                .addListener(
+                    f -> {
+                      if (f.isSuccess()) {
+                        sink.success();
+                      } else {
+                        sink.error(f.cause());
+                      }
+                    }));
   }
 
   @Override
   public Flux<Frame> receive() {
-    return in.receive().map(buf -> Frame.from(buf.retain()));
+    return inbound.frames();
   }
 
   @Override
@@ -76,4 +125,9 @@ public Mono<Void> onClose() {
   public double availability() {
     return onClose.isTerminated() ? 0.0 : 1.0;
   }
+
+  @Override
+  public ByteBufAllocator alloc() {
+    return channel.alloc();
+  }
 }
@@ -23,7 +23,6 @@
 import com.github.mostroverkhov.rsocket.uri.UriHandler;
 import java.net.URI;
 import java.util.Optional;
-import reactor.ipc.netty.tcp.TcpServer;
 
 public class TcpUriHandler implements UriHandler {
   @Override
@@ -38,7 +37,7 @@ public Optional<ClientTransport> buildClient(URI uri) {
   @Override
   public Optional<ServerTransport> buildServer(URI uri) {
     if ("tcp".equals(uri.getScheme())) {
-      return Optional.of(TcpServerTransport.create(TcpServer.create(uri.getHost(), uri.getPort())));
+      return Optional.of(TcpServerTransport.create(uri.getHost(), uri.getPort()));
     }
 
     return UriHandler.super.buildServer(uri);
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport.netty;
+
+import com.github.mostroverkhov.rsocket.transport.ClientTransport;
+import com.github.mostroverkhov.rsocket.transport.ServerTransport;
+import com.github.mostroverkhov.rsocket.transport.netty.client.UnixDomainClientTransport;
+import com.github.mostroverkhov.rsocket.transport.netty.server.UnixDomainServerTransport;
+import com.github.mostroverkhov.rsocket.uri.UriHandler;
+import java.net.URI;
+import java.util.Optional;
+
+/** Maps {@code unix:///path/to/socket} URIs to Unix domain socket transports */
+public class UnixDomainUriHandler implements UriHandler {
+  @Override
+  public Optional<ClientTransport> buildClient(URI uri) {
+    if ("unix".equals(uri.getScheme())) {
+      return Optional.of(UnixDomainClientTransport.create(uri.getPath()));
+    }
+
+    return UriHandler.super.buildClient(uri);
+  }
+
+  @Override
+  public Optional<ServerTransport> buildServer(URI uri) {
+    if ("unix".equals(uri.getScheme())) {
+      return Optional.of(UnixDomainServerTransport.create(uri.getPath()));
+    }
+
+    return UriHandler.super.buildServer(uri);
+  }
+}
@@ -22,6 +22,7 @@
 import com.github.mostroverkhov.rsocket.Frame;
 import com.github.mostroverkhov.rsocket.frame.FrameHeaderFlyweight;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import org.reactivestreams.Publisher;
@@ -99,4 +100,9 @@ public Mono<Void> onClose() {
   public double availability() {
     return onClose.isTerminated() ? 0.0 : 1.0;
   }
+
+  @Override
+  public ByteBufAllocator alloc() {
+    return context.channel().alloc();
+  }
 }
@@ -20,7 +20,9 @@
 import com.github.mostroverkhov.rsocket.transport.ClientTransport;
 import com.github.mostroverkhov.rsocket.transport.netty.NettyDuplexConnection;
 import com.github.mostroverkhov.rsocket.transport.netty.RSocketLengthCodec;
+import io.netty.channel.WriteBufferWaterMark;
 import java.net.InetSocketAddress;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
@@ -29,9 +31,12 @@
 public class TcpClientTransport implements ClientTransport {
   private final Logger logger = LoggerFactory.getLogger(TcpClientTransport.class);
   private final TcpClient client;
+  private final @Nullable WriteBufferWaterMark writeBufferWaterMark;
 
-  private TcpClientTransport(TcpClient client) {
+  private TcpClientTransport(
+      TcpClient client, @Nullable WriteBufferWaterMark writeBufferWaterMark) {
     this.client = client;
+    this.writeBufferWaterMark = writeBufferWaterMark;
   }
 
   public static TcpClientTransport create(int port) {
@@ -50,7 +55,17 @@ public static TcpClientTransport create(InetSocketAddress address) {
   }
 
   public static TcpClientTransport create(TcpClient client) {
-    return new TcpClientTransport(client);
+    return new TcpClientTransport(client, null);
+  }
+
+  /**
+   * @param low bytes of channel outbound buffer below which channel becomes writable
+   * @param high bytes of channel outbound buffer above which channel becomes unwritable, and frames
+   *     are not sent until it becomes writable again
+   * @return transport with given channel write buffer watermarks
+   */
+  public TcpClientTransport writeBufferWatermarks(int low, int high) {
+    return new TcpClientTransport(client, new WriteBufferWaterMark(low, high));
   }
 
   @Override
@@ -60,6 +75,12 @@ public Mono<DuplexConnection> connect() {
             client
                 .newHandler(
                     (in, out) -> {
+                      if (writeBufferWaterMark != null) {
+                        in.context()
+                            .channel()
+                            .config()
+                            .setWriteBufferWaterMark(writeBufferWaterMark);
+                      }
                       in.context().addHandler("client-length-codec", new RSocketLengthCodec());
                       NettyDuplexConnection connection =
                           new NettyDuplexConnection(in, out, in.context());
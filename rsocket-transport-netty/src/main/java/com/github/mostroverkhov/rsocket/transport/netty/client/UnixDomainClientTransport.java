@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport.netty.client;
+
+import com.github.mostroverkhov.rsocket.DuplexConnection;
+import com.github.mostroverkhov.rsocket.transport.ClientTransport;
+import com.github.mostroverkhov.rsocket.transport.netty.NettyDuplexConnection;
+import com.github.mostroverkhov.rsocket.transport.netty.RSocketLengthCodec;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import reactor.core.publisher.Mono;
+import reactor.ipc.netty.tcp.TcpResources;
+
+/**
+ * Client transport over Unix domain socket, for peers on the same host. Requires native epoll, and
+ * runs on event loops of {@link TcpResources}
+ */
+public class UnixDomainClientTransport implements ClientTransport {
+  private final DomainSocketAddress address;
+
+  private UnixDomainClientTransport(DomainSocketAddress address) {
+    this.address = address;
+  }
+
+  public static UnixDomainClientTransport create(String path) {
+    return create(new DomainSocketAddress(path));
+  }
+
+  public static UnixDomainClientTransport create(DomainSocketAddress address) {
+    return new UnixDomainClientTransport(address);
+  }
+
+  @Override
+  public Mono<DuplexConnection> connect() {
+    if (!Epoll.isAvailable()) {
+      return Mono.error(
+          new IllegalStateException(
+              "Unix domain sockets require native epoll", Epoll.unavailabilityCause()));
+    }
+    return Mono.create(
+        sink -> {
+          NettyDuplexConnection[] connection = new NettyDuplexConnection[1];
+          ChannelFuture connect =
+              new Bootstrap()
+                  .group(TcpResources.get().onClient(true))
+                  .channel(EpollDomainSocketChannel.class)
+                  .handler(
+                      new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel channel) {
+                          channel
+                              .pipeline()
+                              .addLast("client-length-codec", new RSocketLengthCodec());
+                          connection[0] = new NettyDuplexConnection(channel);
+                        }
+                      })
+                  .connect(address);
+          connect.addListener(
+              f -> {
+                if (f.isSuccess()) {
+                  sink.success(connection[0]);
+                } else {
+                  sink.error(f.cause());
+                }
+              });
+          sink.onCancel(() -> connect.channel().close());
+        });
+  }
+}
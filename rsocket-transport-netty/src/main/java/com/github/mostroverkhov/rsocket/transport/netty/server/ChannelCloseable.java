@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport.netty.server;
+
+import com.github.mostroverkhov.rsocket.Closeable;
+import io.netty.channel.Channel;
+import java.net.SocketAddress;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * A {@link Closeable} wrapping server {@link Channel}, allowing for close and aware of its address.
+ */
+public class ChannelCloseable implements Closeable {
+  private final Channel channel;
+  private final MonoProcessor<Void> onClose;
+
+  ChannelCloseable(Channel channel) {
+    this.channel = channel;
+    this.onClose = MonoProcessor.create();
+    channel.closeFuture().addListener(f -> onClose.onComplete());
+  }
+
+  @Override
+  public Mono<Void> close() {
+    return Mono.fromRunnable(channel::close).then(onClose);
+  }
+
+  @Override
+  public Mono<Void> onClose() {
+    return onClose;
+  }
+
+  /**
+   * @see Channel#localAddress()
+   * @return socket address.
+   */
+  public SocketAddress address() {
+    return channel.localAddress();
+  }
+}
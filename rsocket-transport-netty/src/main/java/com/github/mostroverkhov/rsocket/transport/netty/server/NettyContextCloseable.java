@@ -18,6 +18,7 @@
 
 import com.github.mostroverkhov.rsocket.Closeable;
 import java.net.InetSocketAddress;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 import reactor.ipc.netty.NettyContext;
@@ -28,11 +29,22 @@
 public class NettyContextCloseable implements Closeable {
   private NettyContext context;
 
+  private Disposable resources;
+
   private MonoProcessor<Void> onClose;
 
   NettyContextCloseable(NettyContext context) {
+    this(context, context);
+  }
+
+  /**
+   * @param context context whose address is exposed
+   * @param resources disposed on close, including context
+   */
+  NettyContextCloseable(NettyContext context, Disposable resources) {
     this.onClose = MonoProcessor.create();
     this.context = context;
+    this.resources = resources;
   }
 
   @Override
@@ -40,7 +52,7 @@ public Mono<Void> close() {
     return Mono.empty()
         .doFinally(
             s -> {
-              context.dispose();
+              resources.dispose();
               onClose.onComplete();
             })
         .then();
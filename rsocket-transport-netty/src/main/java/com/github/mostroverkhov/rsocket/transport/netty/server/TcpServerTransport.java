@@ -19,47 +19,247 @@
 import com.github.mostroverkhov.rsocket.transport.ServerTransport;
 import com.github.mostroverkhov.rsocket.transport.netty.NettyDuplexConnection;
 import com.github.mostroverkhov.rsocket.transport.netty.RSocketLengthCodec;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollMode;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import javax.annotation.Nullable;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.ipc.netty.NettyInbound;
+import reactor.ipc.netty.NettyOutbound;
+import reactor.ipc.netty.resources.LoopResources;
 import reactor.ipc.netty.tcp.TcpServer;
 
 public class TcpServerTransport implements ServerTransport<NettyContextCloseable> {
+  private static final Logger logger = LoggerFactory.getLogger(TcpServerTransport.class);
+
   TcpServer server;
+  /*server options of user supplied server can not be extended, only replaced*/
+  private final boolean configurable;
+  private @Nullable WriteBufferWaterMark writeBufferWaterMark;
+  private int acceptors = 1;
+  private @Nullable Boolean tcpNoDelay;
+  private int receiveBufferSize;
+  private int sendBufferSize;
+  private boolean edgeTriggered = true;
 
-  private TcpServerTransport(TcpServer server) {
+  private TcpServerTransport(TcpServer server, boolean configurable) {
     this.server = server;
+    this.configurable = configurable;
   }
 
   public static TcpServerTransport create(InetSocketAddress address) {
     TcpServer server = TcpServer.create(address.getHostName(), address.getPort());
-    return create(server);
+    return new TcpServerTransport(server, true);
   }
 
   public static TcpServerTransport create(String bindAddress, int port) {
     TcpServer server = TcpServer.create(bindAddress, port);
-    return create(server);
+    return new TcpServerTransport(server, true);
   }
 
   public static TcpServerTransport create(int port) {
     TcpServer server = TcpServer.create(port);
-    return create(server);
+    return new TcpServerTransport(server, true);
   }
 
+  /**
+   * @param server server with options of its own. Socket options of this transport, {@link
+   *     #reusePort(int)}, {@link #tcpNoDelay(boolean)}, {@link #socketBuffers(int, int)} and {@link
+   *     #edgeTriggered(boolean)}, would replace them, so they fail with {@link
+   *     IllegalStateException} and should be set on given server instead
+   * @return transport of given server
+   */
   public static TcpServerTransport create(TcpServer server) {
-    return new TcpServerTransport(server);
+    return new TcpServerTransport(server, false);
+  }
+
+  /**
+   * @param low bytes of channel outbound buffer below which channel becomes writable
+   * @param high bytes of channel outbound buffer above which channel becomes unwritable, and frames
+   *     are not sent until it becomes writable again
+   * @return transport with given write buffer watermarks for accepted channels
+   */
+  public TcpServerTransport writeBufferWatermarks(int low, int high) {
+    TcpServerTransport transport = copy();
+    transport.writeBufferWaterMark = new WriteBufferWaterMark(low, high);
+    return transport;
+  }
+
+  /**
+   * Binds {@code acceptors} listening sockets to transport address with SO_REUSEPORT, each served
+   * by its own event loop group, so kernel spreads accepted connections between them. If native
+   * epoll is not available, single listening socket of default transport is bound instead
+   *
+   * @param acceptors number of listening sockets and event loop groups
+   * @return transport with given number of acceptors
+   * @throws IllegalStateException if transport is created with {@link #create(TcpServer)}
+   */
+  public TcpServerTransport reusePort(int acceptors) {
+    if (acceptors < 1) {
+      throw new IllegalArgumentException("acceptors must be positive: " + acceptors);
+    }
+    TcpServerTransport transport = configurableCopy("reusePort");
+    transport.acceptors = acceptors;
+    return transport;
+  }
+
+  /**
+   * @param tcpNoDelay TCP_NODELAY of accepted channels
+   * @return transport with given TCP_NODELAY option
+   * @throws IllegalStateException if transport is created with {@link #create(TcpServer)}
+   */
+  public TcpServerTransport tcpNoDelay(boolean tcpNoDelay) {
+    TcpServerTransport transport = configurableCopy("tcpNoDelay");
+    transport.tcpNoDelay = tcpNoDelay;
+    return transport;
+  }
+
+  /**
+   * @param receiveBufferSize SO_RCVBUF of accepted channels
+   * @param sendBufferSize SO_SNDBUF of accepted channels
+   * @return transport with given socket buffer sizes
+   * @throws IllegalStateException if transport is created with {@link #create(TcpServer)}
+   */
+  public TcpServerTransport socketBuffers(int receiveBufferSize, int sendBufferSize) {
+    if (receiveBufferSize <= 0 || sendBufferSize <= 0) {
+      throw new IllegalArgumentException(
+          "socket buffer sizes must be positive: " + receiveBufferSize + ", " + sendBufferSize);
+    }
+    TcpServerTransport transport = configurableCopy("socketBuffers");
+    transport.receiveBufferSize = receiveBufferSize;
+    transport.sendBufferSize = sendBufferSize;
+    return transport;
+  }
+
+  /**
+   * @param edgeTriggered true for edge-triggered (default), false for level-triggered epoll mode.
+   *     Ignored if native epoll is not available
+   * @return transport with given epoll mode
+   * @throws IllegalStateException if transport is created with {@link #create(TcpServer)}
+   */
+  public TcpServerTransport edgeTriggered(boolean edgeTriggered) {
+    TcpServerTransport transport = configurableCopy("edgeTriggered");
+    transport.edgeTriggered = edgeTriggered;
+    return transport;
   }
 
   @Override
   public Mono<NettyContextCloseable> start(ConnectionAcceptor acceptor) {
-    return server
-        .newHandler(
-            (in, out) -> {
-              in.context().addHandler("server-length-codec", new RSocketLengthCodec());
-              NettyDuplexConnection connection = new NettyDuplexConnection(in, out, in.context());
-              acceptor.apply(connection).subscribe();
-
-              return out.neverComplete();
-            })
-        .map(NettyContextCloseable::new);
+    BiFunction<NettyInbound, NettyOutbound, Publisher<Void>> handler =
+        (in, out) -> {
+          if (writeBufferWaterMark != null) {
+            in.context().channel().config().setWriteBufferWaterMark(writeBufferWaterMark);
+          }
+          in.context().addHandler("server-length-codec", new RSocketLengthCodec());
+          NettyDuplexConnection connection = new NettyDuplexConnection(in, out, in.context());
+          acceptor.apply(connection).subscribe();
+
+          return out.neverComplete();
+        };
+
+    if (acceptors > 1) {
+      if (Epoll.isAvailable()) {
+        return Mono.defer(() -> startReusePort(handler));
+      }
+      logger.debug(
+          "Native epoll is not available, binding single acceptor", Epoll.unavailabilityCause());
+    }
+    return configure(null, null).newHandler(handler).map(NettyContextCloseable::new);
+  }
+
+  private Mono<NettyContextCloseable> startReusePort(
+      BiFunction<NettyInbound, NettyOutbound, Publisher<Void>> handler) {
+    int workers = Math.max(1, LoopResources.DEFAULT_IO_WORKER_COUNT / acceptors);
+    List<Disposable> resources = new ArrayList<>(acceptors * 2);
+    List<LoopResources> loops = new ArrayList<>(acceptors);
+    for (int i = 0; i < acceptors; i++) {
+      LoopResources loop = LoopResources.create("rsocket-tcp-" + i, 1, workers, true);
+      loops.add(loop);
+      resources.add(loop);
+    }
+
+    /*first acceptor resolves ephemeral port, so rest of acceptors bind to the same one*/
+    return configure(loops.get(0), null)
+        .newHandler(handler)
+        .flatMap(
+            first ->
+                Flux.range(1, acceptors - 1)
+                    .concatMap(i -> configure(loops.get(i), first.address()).newHandler(handler), 1)
+                    .doOnNext(resources::add)
+                    .then(
+                        Mono.fromSupplier(
+                            () -> {
+                              resources.add(first);
+                              return new NettyContextCloseable(
+                                  first, Disposables.composite(resources));
+                            }))
+                    .doOnError(err -> first.dispose()))
+        .doOnError(err -> resources.forEach(Disposable::dispose));
+  }
+
+  private TcpServer configure(@Nullable LoopResources loop, @Nullable SocketAddress address) {
+    if (loop == null && tcpNoDelay == null && receiveBufferSize == 0 && edgeTriggered) {
+      return server;
+    }
+    /*epoll options are unknown to NIO channels, so they are set only if loops are native*/
+    boolean preferNative = loop != null || LoopResources.DEFAULT_NATIVE;
+    boolean epoll = preferNative && Epoll.isAvailable();
+    return TcpServer.create(
+        options -> {
+          options
+              .listenAddress(address != null ? address : server.options().getAddress())
+              .preferNative(preferNative);
+          if (loop != null) {
+            options.loopResources(loop).selectorOption(EpollChannelOption.SO_REUSEPORT, true);
+          }
+          if (tcpNoDelay != null) {
+            options.option(ChannelOption.TCP_NODELAY, tcpNoDelay);
+          }
+          if (receiveBufferSize > 0) {
+            options
+                .option(ChannelOption.SO_RCVBUF, receiveBufferSize)
+                .option(ChannelOption.SO_SNDBUF, sendBufferSize);
+          }
+          if (epoll) {
+            EpollMode mode = edgeTriggered ? EpollMode.EDGE_TRIGGERED : EpollMode.LEVEL_TRIGGERED;
+            options
+                .option(EpollChannelOption.EPOLL_MODE, mode)
+                .selectorOption(EpollChannelOption.EPOLL_MODE, mode);
+          }
+        });
+  }
+
+  private TcpServerTransport configurableCopy(String option) {
+    if (!configurable) {
+      throw new IllegalStateException(
+          option
+              + " would replace options of TcpServer given to create(TcpServer), "
+              + "set it on that server instead");
+    }
+    return copy();
+  }
+
+  private TcpServerTransport copy() {
+    TcpServerTransport transport = new TcpServerTransport(server, configurable);
+    transport.writeBufferWaterMark = writeBufferWaterMark;
+    transport.acceptors = acceptors;
+    transport.tcpNoDelay = tcpNoDelay;
+    transport.receiveBufferSize = receiveBufferSize;
+    transport.sendBufferSize = sendBufferSize;
+    transport.edgeTriggered = edgeTriggered;
+    return transport;
   }
 }
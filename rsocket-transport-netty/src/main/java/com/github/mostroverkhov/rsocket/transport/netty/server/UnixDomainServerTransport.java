@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport.netty.server;
+
+import com.github.mostroverkhov.rsocket.transport.ServerTransport;
+import com.github.mostroverkhov.rsocket.transport.netty.NettyDuplexConnection;
+import com.github.mostroverkhov.rsocket.transport.netty.RSocketLengthCodec;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import java.io.File;
+import reactor.core.publisher.Mono;
+import reactor.ipc.netty.tcp.TcpResources;
+
+/**
+ * Server transport over Unix domain socket, for peers on the same host. Requires native epoll, and
+ * runs on event loops of {@link TcpResources}. Stale socket file left by crashed process is deleted
+ * before bind, and socket file is deleted on close
+ */
+public class UnixDomainServerTransport implements ServerTransport<ChannelCloseable> {
+  private final DomainSocketAddress address;
+
+  private UnixDomainServerTransport(DomainSocketAddress address) {
+    this.address = address;
+  }
+
+  public static UnixDomainServerTransport create(String path) {
+    return create(new DomainSocketAddress(path));
+  }
+
+  public static UnixDomainServerTransport create(DomainSocketAddress address) {
+    return new UnixDomainServerTransport(address);
+  }
+
+  @Override
+  public Mono<ChannelCloseable> start(ConnectionAcceptor acceptor) {
+    if (!Epoll.isAvailable()) {
+      return Mono.error(
+          new IllegalStateException(
+              "Unix domain sockets require native epoll", Epoll.unavailabilityCause()));
+    }
+    return Mono.create(
+        sink -> {
+          /*bind fails if socket file exists*/
+          new File(address.path()).delete();
+          EventLoopGroup group = TcpResources.get().onServer(true);
+          new ServerBootstrap()
+              .group(TcpResources.get().onServerSelect(true), group)
+              .channel(EpollServerDomainSocketChannel.class)
+              .childHandler(
+                  new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel channel) {
+                      channel.pipeline().addLast("server-length-codec", new RSocketLengthCodec());
+                      acceptor.apply(new NettyDuplexConnection(channel)).subscribe();
+                    }
+                  })
+              .bind(address)
+              .addListener(
+                  f -> {
+                    if (f.isSuccess()) {
+                      Channel channel = ((ChannelFuture) f).channel();
+                      channel.closeFuture().addListener(c -> new File(address.path()).delete());
+                      sink.success(new ChannelCloseable(channel));
+                    } else {
+                      sink.error(f.cause());
+                    }
+                  });
+        });
+  }
+}
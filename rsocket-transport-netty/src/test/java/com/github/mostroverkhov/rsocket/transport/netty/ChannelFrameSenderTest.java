@@ -0,0 +1,225 @@
+package com.github.mostroverkhov.rsocket.transport.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.test.publisher.TestPublisher;
+
+public class ChannelFrameSenderTest {
+  private static final int HIGH_WATER_MARK = 64;
+
+  private EmbeddedChannel channel;
+  private WritabilityHandler writability;
+  private InboundFrameBatcher inbound;
+  private FlushCounter flushes;
+  private TestPublisher<Frame> frames;
+  private List<Long> requests;
+  private ByteBuf filler;
+
+  @Before
+  public void setUp() {
+    channel = new EmbeddedChannel();
+    channel
+        .config()
+        .setWriteBufferWaterMark(new WriteBufferWaterMark(HIGH_WATER_MARK / 2, HIGH_WATER_MARK));
+    writability = new WritabilityHandler();
+    inbound = new InboundFrameBatcher(channel);
+    flushes = new FlushCounter();
+    channel.pipeline().addLast(flushes, writability, new RSocketLengthCodec(), inbound);
+    frames = TestPublisher.create();
+    requests = new ArrayList<>();
+  }
+
+  @After
+  public void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  public void framesRequestedWithBoundedPrefetch() {
+    setUnwritable();
+    Sent sent = send(Flux.range(1, 100).map(ChannelFrameSenderTest::frame), 4);
+
+    /*nothing written while not writable, so no more than prefetch requested*/
+    assertEquals(4, requested());
+    assertTrue(written().isEmpty());
+
+    setWritable();
+    assertEquals(100, written().size());
+    assertTrue(sent.completed);
+    for (long request : requests.subList(1, requests.size())) {
+      /*replenished by 3/4 of prefetch*/
+      assertEquals(3, request);
+    }
+  }
+
+  @Test
+  public void writesPausedWhileNotWritableAndResumedOnWritable() {
+    Sent sent = send(frames, 16);
+    frames.next(frame(1), frame(3));
+    assertEquals(2, written().size());
+    assertEquals(2, flushes.count);
+
+    setUnwritable();
+    frames.next(frame(5), frame(7));
+    assertTrue(written().isEmpty());
+    assertEquals(2, flushes.count);
+
+    setWritable();
+    List<Integer> resumed = written();
+    assertEquals(2, resumed.size());
+    assertEquals(5, (int) resumed.get(0));
+    assertEquals(7, (int) resumed.get(1));
+    /*frames queued while not writable are flushed as one batch*/
+    assertEquals(3, flushes.count);
+    assertFalse(sent.completed);
+  }
+
+  @Test
+  public void flushDeferredUntilInboundBatchEnd() {
+    send(frames, 16);
+    inbound
+        .frames()
+        .subscribe(
+            new BaseSubscriber<Frame>() {
+              @Override
+              protected void hookOnNext(Frame frame) {
+                frames.next(frame(frame.getStreamId() + 100));
+                frame.release();
+              }
+            });
+
+    channel.writeInbound(frames(1, 3, 5));
+
+    assertEquals(3, written().size());
+    assertEquals(1, flushes.count);
+  }
+
+  @Test
+  public void sendFailsOnInactiveChannel() {
+    Sent sent = send(frames, 16);
+    channel.close();
+
+    assertTrue(sent.error instanceof ClosedChannelException);
+    frames.assertCancelled();
+  }
+
+  @Test
+  public void completesWhileNotWritable() {
+    Sent sent = send(frames, 16);
+    setUnwritable();
+
+    frames.complete();
+    assertTrue(sent.completed);
+  }
+
+  @Test
+  public void completesOnceQueuedFramesWritten() {
+    Sent sent = send(frames, 16);
+    setUnwritable();
+    frames.next(frame(1));
+    frames.complete();
+    assertFalse(sent.completed);
+
+    setWritable();
+    assertEquals(1, written().size());
+    assertTrue(sent.completed);
+  }
+
+  private Sent send(Publisher<Frame> frames, int prefetch) {
+    Flux<Frame> requested = Flux.from(frames).doOnRequest(requests::add);
+    Sent sent = new Sent();
+    new ChannelFrameSender(channel, writability, inbound, requested, prefetch).subscribe(sent);
+    return sent;
+  }
+
+  private long requested() {
+    return requests.stream().mapToLong(Long::longValue).sum();
+  }
+
+  /*unflushed write above high water mark*/
+  private void setUnwritable() {
+    filler = Unpooled.wrappedBuffer(new byte[HIGH_WATER_MARK * 2]);
+    channel.write(filler);
+    assertFalse(channel.isWritable());
+  }
+
+  /*flushes filler bypassing pipeline, so only flushes of sender are counted*/
+  private void setWritable() {
+    channel.unsafe().flush();
+    channel.runPendingTasks();
+    assertTrue(channel.isWritable());
+  }
+
+  /*stream ids of written frames, except filler*/
+  private List<Integer> written() {
+    List<Integer> streamIds = new ArrayList<>();
+    ByteBuf buf;
+    while ((buf = channel.readOutbound()) != null) {
+      if (buf != filler) {
+        Frame frame = Frame.from(buf);
+        streamIds.add(frame.getStreamId());
+        frame.release();
+      } else {
+        buf.release();
+      }
+    }
+    return streamIds;
+  }
+
+  private static Frame frame(int streamId) {
+    return Frame.RequestN.from(streamId, 42);
+  }
+
+  private static ByteBuf frames(int... streamIds) {
+    ByteBuf buf = Unpooled.buffer();
+    for (int streamId : streamIds) {
+      Frame frame = frame(streamId);
+      buf.writeBytes(frame.content());
+      frame.release();
+    }
+    return buf;
+  }
+
+  private static class Sent extends BaseSubscriber<Void> {
+    boolean completed;
+    Throwable error;
+
+    @Override
+    protected void hookOnComplete() {
+      completed = true;
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+      error = throwable;
+    }
+  }
+
+  private static class FlushCounter extends ChannelOutboundHandlerAdapter {
+    int count;
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+      count++;
+      super.flush(ctx);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.github.mostroverkhov.rsocket.transport.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+public class InboundFrameBatcherTest {
+  private EmbeddedChannel channel;
+  private InboundFrameBatcher batcher;
+  private Receiver receiver;
+
+  @Before
+  public void setUp() {
+    channel = new EmbeddedChannel();
+    batcher = new InboundFrameBatcher(channel);
+    channel.pipeline().addLast(new RSocketLengthCodec(), batcher);
+    receiver = new Receiver();
+    batcher.frames().subscribe(receiver);
+  }
+
+  @Test
+  public void framesOfSingleReadDeliveredOnReadComplete() {
+    receiver.request(Long.MAX_VALUE);
+    channel.pipeline().fireChannelRead(frames(1, 3, 5));
+    assertEquals(0, receiver.streamIds.size());
+
+    channel.pipeline().fireChannelReadComplete();
+    assertEquals(3, receiver.streamIds.size());
+    assertEquals(1, (int) receiver.streamIds.get(0));
+    assertEquals(5, (int) receiver.streamIds.get(2));
+  }
+
+  @Test
+  public void readsSuspendedUntilBatchDelivered() {
+    receiver.request(1);
+    channel.writeInbound(frames(1, 3, 5));
+    assertEquals(1, receiver.streamIds.size());
+    assertFalse(channel.config().isAutoRead());
+
+    receiver.request(2);
+    assertEquals(3, receiver.streamIds.size());
+    assertTrue(channel.config().isAutoRead());
+  }
+
+  @Test
+  public void flushDeferredUntilBatchEnd() {
+    Receiver writer =
+        new Receiver() {
+          @Override
+          protected void hookOnNext(Frame frame) {
+            super.hookOnNext(frame);
+            channel.write(Unpooled.wrappedBuffer(new byte[] {1}));
+            if (!batcher.deferFlush()) {
+              channel.flush();
+            }
+            assertEquals(0, channel.outboundMessages().size());
+          }
+        };
+    channel = new EmbeddedChannel();
+    batcher = new InboundFrameBatcher(channel);
+    channel.pipeline().addLast(new RSocketLengthCodec(), batcher);
+    batcher.frames().subscribe(writer);
+    writer.request(Long.MAX_VALUE);
+
+    channel.writeInbound(frames(1, 3));
+    assertEquals(2, writer.streamIds.size());
+    assertEquals(2, channel.outboundMessages().size());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  public void completesOnInactive() {
+    receiver.request(Long.MAX_VALUE);
+    channel.close();
+    assertTrue(receiver.completed);
+  }
+
+  private static ByteBuf frames(int... streamIds) {
+    ByteBuf buf = Unpooled.buffer();
+    for (int streamId : streamIds) {
+      Frame frame = Frame.RequestN.from(streamId, 42);
+      buf.writeBytes(frame.content());
+      frame.release();
+    }
+    return buf;
+  }
+
+  private static class Receiver extends BaseSubscriber<Frame> {
+    final List<Integer> streamIds = new ArrayList<>();
+    boolean completed;
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {}
+
+    @Override
+    protected void hookOnNext(Frame frame) {
+      streamIds.add(frame.getStreamId());
+      frame.release();
+    }
+
+    @Override
+    protected void hookOnComplete() {
+      completed = true;
+    }
+  }
+}
@@ -21,8 +21,10 @@
 import com.github.mostroverkhov.rsocket.transport.ClientTransport;
 import com.github.mostroverkhov.rsocket.transport.ServerTransport;
 import com.github.mostroverkhov.rsocket.transport.netty.client.TcpClientTransport;
+import com.github.mostroverkhov.rsocket.transport.netty.client.UnixDomainClientTransport;
 import com.github.mostroverkhov.rsocket.transport.netty.client.WebsocketClientTransport;
 import com.github.mostroverkhov.rsocket.transport.netty.server.TcpServerTransport;
+import com.github.mostroverkhov.rsocket.transport.netty.server.UnixDomainServerTransport;
 import com.github.mostroverkhov.rsocket.transport.netty.server.WebsocketServerTransport;
 import com.github.mostroverkhov.rsocket.uri.UriTransportRegistry;
 import org.junit.Test;
@@ -55,4 +57,18 @@ public void testWsServer() {
 
     assertTrue(transport instanceof WebsocketServerTransport);
   }
+
+  @Test
+  public void testUnixClient() {
+    ClientTransport transport = UriTransportRegistry.clientForUri("unix:///tmp/rsocket.sock");
+
+    assertTrue(transport instanceof UnixDomainClientTransport);
+  }
+
+  @Test
+  public void testUnixServer() {
+    ServerTransport transport = UriTransportRegistry.serverForUri("unix:///tmp/rsocket.sock");
+
+    assertTrue(transport instanceof UnixDomainServerTransport);
+  }
 }
@@ -0,0 +1,79 @@
+package com.github.mostroverkhov.rsocket.transport.netty;
+
+import static org.junit.Assert.assertEquals;
+
+import com.github.mostroverkhov.rsocket.AbstractRSocket;
+import com.github.mostroverkhov.rsocket.Payload;
+import com.github.mostroverkhov.rsocket.RSocket;
+import com.github.mostroverkhov.rsocket.RSocketFactory;
+import com.github.mostroverkhov.rsocket.transport.netty.client.TcpClientTransport;
+import com.github.mostroverkhov.rsocket.transport.netty.server.NettyContextCloseable;
+import com.github.mostroverkhov.rsocket.transport.netty.server.TcpServerTransport;
+import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import java.time.Duration;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.ipc.netty.tcp.TcpServer;
+
+public class TcpServerTransportTest {
+
+  @Test(timeout = 10_000)
+  public void reusePortServerAcceptsConnections() {
+    NettyContextCloseable server =
+        RSocketFactory.receive()
+            .acceptor(
+                (setup, sendingSocket) ->
+                    Mono.just(
+                        new AbstractRSocket() {
+                          @Override
+                          public Mono<Payload> requestResponse(Payload payload) {
+                            return Mono.just(payload);
+                          }
+                        }))
+            .transport(
+                TcpServerTransport.create("localhost", 0)
+                    .reusePort(4)
+                    .tcpNoDelay(true)
+                    .socketBuffers(64 * 1024, 64 * 1024)
+                    .edgeTriggered(false))
+            .start()
+            .block();
+
+    try {
+      for (int i = 0; i < 4; i++) {
+        RSocket client =
+            RSocketFactory.connect()
+                .transport(TcpClientTransport.create(server.address()))
+                .start()
+                .block();
+        Payload response =
+            client.requestResponse(new PayloadImpl("hello")).block(Duration.ofSeconds(5));
+        assertEquals("hello", response.getDataUtf8());
+        response.release();
+        client.close().block();
+      }
+    } finally {
+      server.close().block();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void reusePortRequiresAcceptor() {
+    TcpServerTransport.create(0).reusePort(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void socketBuffersMustBePositive() {
+    TcpServerTransport.create(0).socketBuffers(0, 1024);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void socketOptionsRejectedForUserServer() {
+    TcpServerTransport.create(TcpServer.create(0)).tcpNoDelay(true);
+  }
+
+  @Test
+  public void writeBufferWatermarksAllowedForUserServer() {
+    TcpServerTransport.create(TcpServer.create(0)).writeBufferWatermarks(8 * 1024, 32 * 1024);
+  }
+}
@@ -0,0 +1,74 @@
+package com.github.mostroverkhov.rsocket.transport.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import com.github.mostroverkhov.rsocket.AbstractRSocket;
+import com.github.mostroverkhov.rsocket.Payload;
+import com.github.mostroverkhov.rsocket.RSocket;
+import com.github.mostroverkhov.rsocket.RSocketFactory;
+import com.github.mostroverkhov.rsocket.transport.netty.client.UnixDomainClientTransport;
+import com.github.mostroverkhov.rsocket.transport.netty.server.ChannelCloseable;
+import com.github.mostroverkhov.rsocket.transport.netty.server.UnixDomainServerTransport;
+import com.github.mostroverkhov.rsocket.util.PayloadImpl;
+import io.netty.channel.epoll.Epoll;
+import java.io.File;
+import java.time.Duration;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class UnixDomainClientServerTest {
+
+  @Test(timeout = 10_000)
+  public void requestResponseAndStream() throws Exception {
+    assumeTrue(Epoll.isAvailable());
+
+    File socket = File.createTempFile("rsocket", ".sock");
+    socket.delete();
+
+    ChannelCloseable server =
+        RSocketFactory.receive()
+            .acceptor(
+                (setup, sendingSocket) ->
+                    Mono.just(
+                        new AbstractRSocket() {
+                          @Override
+                          public Mono<Payload> requestResponse(Payload payload) {
+                            return Mono.just(payload);
+                          }
+
+                          @Override
+                          public Flux<Payload> requestStream(Payload payload) {
+                            return Flux.range(0, 1000).map(i -> new PayloadImpl("stream"));
+                          }
+                        }))
+            .transport(UnixDomainServerTransport.create(socket.getAbsolutePath()))
+            .start()
+            .block();
+
+    try {
+      RSocket client =
+          RSocketFactory.connect()
+              .transport(UnixDomainClientTransport.create(socket.getAbsolutePath()))
+              .start()
+              .block();
+
+      Payload response =
+          client.requestResponse(new PayloadImpl("hello")).block(Duration.ofSeconds(5));
+      assertEquals("hello", response.getDataUtf8());
+      response.release();
+
+      long count =
+          client
+              .requestStream(new PayloadImpl("stream"))
+              .doOnNext(Payload::release)
+              .count()
+              .block(Duration.ofSeconds(5));
+      assertEquals(1000, count);
+      client.close().block();
+    } finally {
+      server.close().block();
+    }
+  }
+}
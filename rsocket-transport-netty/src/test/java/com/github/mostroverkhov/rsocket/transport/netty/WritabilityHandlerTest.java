@@ -0,0 +1,67 @@
+package com.github.mostroverkhov.rsocket.transport.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WritabilityHandlerTest {
+  private static final int HIGH_WATER_MARK = 64;
+
+  private EmbeddedChannel channel;
+  private WritabilityHandler writability;
+  private AtomicInteger notified;
+  private Runnable listener;
+
+  @Before
+  public void setUp() {
+    channel = new EmbeddedChannel();
+    channel
+        .config()
+        .setWriteBufferWaterMark(new WriteBufferWaterMark(HIGH_WATER_MARK / 2, HIGH_WATER_MARK));
+    writability = new WritabilityHandler();
+    channel.pipeline().addLast(writability);
+    notified = new AtomicInteger();
+    listener = notified::incrementAndGet;
+    writability.addListener(listener);
+  }
+
+  @After
+  public void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  public void listenersNotifiedOnceWritable() {
+    channel.write(Unpooled.wrappedBuffer(new byte[HIGH_WATER_MARK * 2]));
+    assertFalse(channel.isWritable());
+    assertEquals(0, notified.get());
+
+    channel.flush();
+    assertTrue(channel.isWritable());
+    assertEquals(1, notified.get());
+  }
+
+  @Test
+  public void listenersNotifiedOnInactive() {
+    channel.close();
+    assertEquals(1, notified.get());
+  }
+
+  @Test
+  public void removedListenerNotNotified() {
+    writability.removeListener(listener);
+    channel.write(Unpooled.wrappedBuffer(new byte[HIGH_WATER_MARK * 2]));
+    channel.flush();
+    channel.close();
+
+    assertEquals(0, notified.get());
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport.shm;
+
+import com.github.mostroverkhov.rsocket.DuplexConnection;
+import com.github.mostroverkhov.rsocket.transport.ClientTransport;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Client transport exchanging frames with {@link ShmServerTransport} of the same host through
+ * memory-mapped file. Connection file with both ring buffers is created in server directory under
+ * temporary name, then atomically renamed for server to accept it. Connect fails if server does not
+ * accept connection file within connect timeout, e.g. server file is left by crashed server.
+ *
+ * <p>Connection can not detect crashed server process, so keep-alive must be enabled to close it
+ */
+public class ShmClientTransport implements ClientTransport {
+  static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+  private static final Duration ACCEPT_CHECK_INTERVAL = Duration.ofMillis(1);
+
+  private final File directory;
+  private final int ringCapacity;
+  private final Duration connectTimeout;
+
+  private ShmClientTransport(File directory, int ringCapacity, Duration connectTimeout) {
+    this.directory = directory;
+    this.ringCapacity = ringCapacity;
+    this.connectTimeout = Objects.requireNonNull(connectTimeout, "connectTimeout");
+  }
+
+  public static ShmClientTransport create(String directory) {
+    return create(new File(directory));
+  }
+
+  public static ShmClientTransport create(File directory) {
+    return create(directory, ShmRings.DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param directory directory of server
+   * @param ringCapacity capacity in bytes of each ring buffer, must be power of 2. Frames larger
+   *     than 1/8 of capacity can not be sent, so fragmentation should be enabled for larger frames
+   * @return client transport
+   */
+  public static ShmClientTransport create(File directory, int ringCapacity) {
+    return create(directory, ringCapacity, DEFAULT_CONNECT_TIMEOUT);
+  }
+
+  /**
+   * @param directory directory of server
+   * @param ringCapacity capacity in bytes of each ring buffer, must be power of 2
+   * @param connectTimeout time for server to accept connection file, after which it is deleted and
+   *     connect fails with {@link TimeoutException}
+   * @return client transport
+   */
+  public static ShmClientTransport create(
+      File directory, int ringCapacity, Duration connectTimeout) {
+    return new ShmClientTransport(directory, ringCapacity, connectTimeout);
+  }
+
+  @Override
+  public Mono<DuplexConnection> connect() {
+    return Mono.fromCallable(
+            () -> {
+              if (!ShmServerTransport.serverFile(directory).exists()) {
+                throw new IllegalArgumentException("Could not find server: " + directory);
+              }
+              String name = UUID.randomUUID().toString();
+              File created = new File(directory, name + ShmServerTransport.CREATED_SUFFIX);
+              File connected = new File(directory, name + ShmServerTransport.CONNECTED_SUFFIX);
+              ShmRings rings = ShmRings.create(created, ringCapacity);
+              try {
+                Files.move(created.toPath(), connected.toPath(), StandardCopyOption.ATOMIC_MOVE);
+              } catch (Exception e) {
+                created.delete();
+                throw e;
+              }
+              return new Pending(connected, rings);
+            })
+        .flatMap(this::accepted);
+  }
+
+  /*server deletes connection file once it is mapped*/
+  private Mono<DuplexConnection> accepted(Pending pending) {
+    File file = pending.file;
+    return Flux.interval(ACCEPT_CHECK_INTERVAL)
+        .filter(tick -> !file.exists())
+        .next()
+        .timeout(connectTimeout)
+        .onErrorResume(
+            TimeoutException.class,
+            e -> {
+              /*file is already taken by server if it can not be deleted*/
+              if (file.delete()) {
+                String message = "Server did not accept connection within " + connectTimeout;
+                return Mono.error(new TimeoutException(message + ": " + directory));
+              }
+              return Mono.just(0L);
+            })
+        .doOnCancel(file::delete)
+        .map(
+            tick ->
+                new ShmDuplexConnection(
+                    pending.rings.serverToClient(),
+                    pending.rings.clientToServer(),
+                    ShmPoller.shared()));
+  }
+
+  private static final class Pending {
+    final File file;
+    final ShmRings rings;
+
+    Pending(File file, ShmRings rings) {
+      this.file = file;
+      this.rings = rings;
+    }
+  }
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport.shm;
+
+import com.github.mostroverkhov.rsocket.DuplexConnection;
+import com.github.mostroverkhov.rsocket.Frame;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import java.nio.channels.ClosedChannelException;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.RingBuffer;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.publisher.Operators;
+import reactor.util.concurrent.Queues;
+
+/**
+ * {@link DuplexConnection} over pair of shared memory ring buffers. Frames are written to outbound
+ * ring by sending thread, or by poller thread once ring has space again. Inbound ring is read by
+ * poller thread, frames are copied out of mapped region into buffers of {@link #alloc()} as ring
+ * space is reused once read returns. Inbound ring is read only up to demand of {@link #receive()}
+ * subscriber, so slow subscriber leaves frames in the ring and back-pressures the peer.
+ *
+ * <p>Close of peer is signalled through the ring, so crashed peer process is not detected: rings
+ * are just not read or written anymore. Keep-alive must be enabled for this transport to close
+ * connections of crashed peers
+ */
+public class ShmDuplexConnection implements DuplexConnection, ShmPoller.Task {
+  static final int FRAME_MSG_TYPE = 1;
+  static final int CLOSE_MSG_TYPE = 2;
+
+  private static final int READ_LIMIT = 64;
+  private static final int SEND_PREFETCH = Queues.SMALL_BUFFER_SIZE;
+
+  private final RingBuffer in;
+  private final RingBuffer out;
+  private final ShmPoller poller;
+  private final ByteBufAllocator alloc = ByteBufAllocator.DEFAULT;
+  private final Inbound inbound = new Inbound();
+  private final MonoProcessor<Void> onClose = MonoProcessor.create();
+  private final CopyOnWriteArrayList<SendSubscriber> senders = new CopyOnWriteArrayList<>();
+  private final MessageHandler reader = this::onMessage;
+  private final UnsafeBuffer writeView = new UnsafeBuffer(0, 0);
+  private volatile boolean closed;
+  private boolean terminated;
+
+  ShmDuplexConnection(RingBuffer in, RingBuffer out, ShmPoller poller) {
+    this.in = in;
+    this.out = out;
+    this.poller = poller;
+    poller.add(this);
+  }
+
+  @Override
+  public Mono<Void> send(Publisher<Frame> frames) {
+    return new Mono<Void>() {
+      @Override
+      public void subscribe(CoreSubscriber<? super Void> actual) {
+        frames.subscribe(new SendSubscriber(ShmDuplexConnection.this, actual));
+      }
+    };
+  }
+
+  @Override
+  public Flux<Frame> receive() {
+    return inbound;
+  }
+
+  @Override
+  public Mono<Void> close() {
+    return Mono.defer(
+        () -> {
+          if (!closed) {
+            synchronized (this) {
+              if (!closed) {
+                closed = true;
+                out.write(CLOSE_MSG_TYPE, writeView, 0, 0);
+              }
+            }
+          }
+          return onClose;
+        });
+  }
+
+  @Override
+  public Mono<Void> onClose() {
+    return onClose;
+  }
+
+  @Override
+  public double availability() {
+    return closed ? 0.0 : 1.0;
+  }
+
+  @Override
+  public ByteBufAllocator alloc() {
+    return alloc;
+  }
+
+  /** Called by poller thread: reads inbound frames, resumes senders blocked on full ring */
+  @Override
+  public int doWork() {
+    if (closed) {
+      terminate();
+      return 1;
+    }
+    int work = in.read(reader, inbound.readLimit());
+    for (SendSubscriber sender : senders) {
+      if (sender.hasQueued()) {
+        sender.drain();
+      }
+    }
+    return work;
+  }
+
+  private void onMessage(int msgTypeId, MutableDirectBuffer buffer, int index, int length) {
+    if (closed) {
+      return;
+    }
+    if (msgTypeId == FRAME_MSG_TYPE) {
+      if (inbound.cancelled) {
+        return;
+      }
+      ByteBuf content = alloc.directBuffer(length, length);
+      buffer.getBytes(index, content.nioBuffer(0, length), length);
+      content.writerIndex(length);
+      inbound.onNext(Frame.from(content));
+    } else if (msgTypeId == CLOSE_MSG_TYPE) {
+      closed = true;
+    }
+  }
+
+  private void terminate() {
+    poller.remove(this);
+    synchronized (this) {
+      if (terminated) {
+        return;
+      }
+      terminated = true;
+    }
+    for (SendSubscriber sender : senders) {
+      sender.drain();
+    }
+    inbound.onComplete();
+    onClose.onComplete();
+  }
+
+  /** Single subscriber of inbound frames, emitted by poller thread */
+  private static final class Inbound extends Flux<Frame> implements Subscription {
+    private static final AtomicLongFieldUpdater<Inbound> REQUESTED =
+        AtomicLongFieldUpdater.newUpdater(Inbound.class, "requested");
+    private static final AtomicIntegerFieldUpdater<Inbound> COMPLETED =
+        AtomicIntegerFieldUpdater.newUpdater(Inbound.class, "completed");
+
+    private volatile CoreSubscriber<? super Frame> actual;
+    private volatile long requested;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+    private volatile int completed;
+
+    @Override
+    public void subscribe(CoreSubscriber<? super Frame> actual) {
+      synchronized (this) {
+        if (this.actual != null) {
+          Operators.error(
+              actual, new IllegalStateException("Connection allows only one inbound subscriber"));
+          return;
+        }
+        this.actual = actual;
+      }
+      actual.onSubscribe(this);
+      if (done) {
+        complete();
+      }
+    }
+
+    /*frames are read after subscriber requested them, or dropped after it cancelled*/
+    int readLimit() {
+      if (cancelled) {
+        return READ_LIMIT;
+      }
+      return (int) Math.min(READ_LIMIT, requested);
+    }
+
+    void onNext(Frame frame) {
+      actual.onNext(frame);
+      if (requested != Long.MAX_VALUE) {
+        REQUESTED.decrementAndGet(this);
+      }
+    }
+
+    void onComplete() {
+      done = true;
+      if (actual != null) {
+        complete();
+      }
+    }
+
+    private void complete() {
+      if (COMPLETED.compareAndSet(this, 0, 1) && !cancelled) {
+        actual.onComplete();
+      }
+    }
+
+    @Override
+    public void request(long n) {
+      if (Operators.validate(n)) {
+        Operators.addCap(REQUESTED, this, n);
+      }
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+    }
+  }
+
+  /** @return 1 if written, 0 if ring is full, -1 if connection is closed */
+  private int write(Frame frame) {
+    ByteBuf content = frame.content();
+    int length = content.readableBytes();
+    synchronized (this) {
+      if (closed) {
+        return -1;
+      }
+      if (content.hasMemoryAddress()) {
+        writeView.wrap(content.memoryAddress() + content.readerIndex(), length);
+      } else if (content.hasArray()) {
+        writeView.wrap(content.array(), content.arrayOffset() + content.readerIndex(), length);
+      } else {
+        writeView.wrap(content.nioBuffer());
+      }
+      return out.write(FRAME_MSG_TYPE, writeView, 0, length) ? 1 : 0;
+    }
+  }
+
+  private static final class SendSubscriber implements CoreSubscriber<Frame>, Subscription {
+    private static final AtomicIntegerFieldUpdater<SendSubscriber> WIP =
+        AtomicIntegerFieldUpdater.newUpdater(SendSubscriber.class, "wip");
+
+    private final ShmDuplexConnection connection;
+    private final CoreSubscriber<? super Void> actual;
+    private final Queue<Frame> queue = Queues.<Frame>get(SEND_PREFETCH).get();
+    private final int limit = SEND_PREFETCH - (SEND_PREFETCH >> 2);
+
+    private Subscription s;
+    private int produced;
+    private volatile boolean done;
+    private Throwable error;
+    private volatile boolean cancelled;
+    private volatile int wip;
+
+    SendSubscriber(ShmDuplexConnection connection, CoreSubscriber<? super Void> actual) {
+      this.connection = connection;
+      this.actual = actual;
+    }
+
+    boolean hasQueued() {
+      return !queue.isEmpty();
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      if (Operators.validate(this.s, s)) {
+        this.s = s;
+        connection.senders.add(this);
+        actual.onSubscribe(this);
+        s.request(SEND_PREFETCH);
+        if (connection.closed) {
+          drain();
+        }
+      }
+    }
+
+    @Override
+    public void onNext(Frame frame) {
+      if (done || cancelled) {
+        frame.release();
+        return;
+      }
+      if (!queue.offer(frame)) {
+        frame.release();
+        s.cancel();
+        onError(Exceptions.failWithOverflow());
+        return;
+      }
+      drain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      if (done) {
+        Operators.onErrorDropped(t, actual.currentContext());
+        return;
+      }
+      error = t;
+      done = true;
+      drain();
+    }
+
+    @Override
+    public void onComplete() {
+      if (done) {
+        return;
+      }
+      done = true;
+      drain();
+    }
+
+    @Override
+    public void request(long n) {}
+
+    @Override
+    public void cancel() {
+      if (cancelled) {
+        return;
+      }
+      cancelled = true;
+      s.cancel();
+      drain();
+    }
+
+    void drain() {
+      if (WIP.getAndIncrement(this) != 0) {
+        return;
+      }
+      int missed = 1;
+      Queue<Frame> q = queue;
+      for (; ; ) {
+        if (cancelled) {
+          release();
+        } else if (connection.closed) {
+          fail(new ClosedChannelException());
+        } else {
+          for (; ; ) {
+            boolean d = done;
+            Frame frame = q.peek();
+            if (frame == null) {
+              if (d) {
+                connection.senders.remove(this);
+                Throwable e = error;
+                if (e != null) {
+                  actual.onError(e);
+                } else {
+                  actual.onComplete();
+                }
+                return;
+              }
+              break;
+            }
+            int length = frame.content().readableBytes();
+            int maxLength = connection.out.maxMsgLength();
+            if (length > maxLength) {
+              fail(
+                  new IllegalArgumentException(
+                      "Frame length "
+                          + length
+                          + " exceeds max message length of ring: "
+                          + maxLength));
+              break;
+            }
+            int written = connection.write(frame);
+            if (written == 0) {
+              break;
+            }
+            if (written < 0) {
+              fail(new ClosedChannelException());
+              break;
+            }
+            q.poll();
+            frame.release();
+            if (++produced == limit) {
+              produced = 0;
+              s.request(limit);
+            }
+          }
+        }
+
+        missed = WIP.addAndGet(this, -missed);
+        if (missed == 0) {
+          break;
+        }
+      }
+    }
+
+    private void fail(Throwable e) {
+      cancelled = true;
+      s.cancel();
+      release();
+      actual.onError(e);
+    }
+
+    private void release() {
+      connection.senders.remove(this);
+      Frame frame;
+      while ((frame = queue.poll()) != null) {
+        frame.release();
+      }
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport.shm;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Daemon thread polling tasks of shared memory transport - inbound rings of connections, their
+ * blocked senders and server acceptors. Spins, yields, then parks with backoff while there is no
+ * work
+ */
+final class ShmPoller implements Runnable {
+  private static final Logger logger = LoggerFactory.getLogger(ShmPoller.class);
+
+  interface Task {
+    /** @return amount of work done */
+    int doWork();
+  }
+
+  private final CopyOnWriteArrayList<Task> tasks = new CopyOnWriteArrayList<>();
+  private final IdleStrategy idleStrategy;
+
+  ShmPoller(String name, IdleStrategy idleStrategy) {
+    this.idleStrategy = idleStrategy;
+    Thread thread = new Thread(this, name);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  static ShmPoller shared() {
+    return Shared.POLLER;
+  }
+
+  void add(Task task) {
+    tasks.add(task);
+  }
+
+  void remove(Task task) {
+    tasks.remove(task);
+  }
+
+  @Override
+  public void run() {
+    IdleStrategy idle = idleStrategy;
+    while (!Thread.currentThread().isInterrupted()) {
+      int work = 0;
+      for (Task task : tasks) {
+        try {
+          work += task.doWork();
+        } catch (Throwable t) {
+          logger.error("Shared memory transport task failed", t);
+        }
+      }
+      idle.idle(work);
+    }
+  }
+
+  private static final class Shared {
+    static final ShmPoller POLLER =
+        new ShmPoller(
+            "rsocket-shm-poller",
+            new BackoffIdleStrategy(
+                100, 10, TimeUnit.MICROSECONDS.toNanos(1), TimeUnit.MICROSECONDS.toNanos(100)));
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport.shm;
+
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.OneToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBuffer;
+
+/**
+ * Memory-mapped connection file holding two single-producer/single-consumer ring buffers: client to
+ * server followed by server to client. Mapping is released once rings are not reachable anymore
+ */
+final class ShmRings {
+  static final int DEFAULT_CAPACITY = 1 << 20;
+
+  private final RingBuffer clientToServer;
+  private final RingBuffer serverToClient;
+
+  private ShmRings(MappedByteBuffer mapped, int ringLength) {
+    this.clientToServer = new OneToOneRingBuffer(new UnsafeBuffer(mapped, 0, ringLength));
+    this.serverToClient = new OneToOneRingBuffer(new UnsafeBuffer(mapped, ringLength, ringLength));
+  }
+
+  /**
+   * @param file connection file to create
+   * @param capacity capacity of each ring buffer, must be power of 2
+   * @return rings of newly created file
+   */
+  static ShmRings create(File file, int capacity) throws IOException {
+    int ringLength = capacity + TRAILER_LENGTH;
+    return new ShmRings(map(file, 2L * ringLength), ringLength);
+  }
+
+  /**
+   * @param file connection file created by {@link #create(File, int)}
+   * @return rings of existing file
+   */
+  static ShmRings open(File file) throws IOException {
+    MappedByteBuffer mapped = map(file, -1);
+    return new ShmRings(mapped, mapped.capacity() / 2);
+  }
+
+  RingBuffer clientToServer() {
+    return clientToServer;
+  }
+
+  RingBuffer serverToClient() {
+    return serverToClient;
+  }
+
+  /* new file is zero filled, so its rings are empty*/
+  private static MappedByteBuffer map(File file, long length) throws IOException {
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      if (length < 0) {
+        length = raf.length();
+      } else {
+        raf.setLength(length);
+      }
+      return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+    }
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2018 Maksym Ostroverkhov
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.github.mostroverkhov.rsocket.transport.shm;
+
+import com.github.mostroverkhov.rsocket.Closeable;
+import com.github.mostroverkhov.rsocket.transport.ServerTransport;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * Server transport accepting {@link ShmClientTransport} connections of the same host. Server owns
+ * directory marked with server file while it is started, and scans it for connection files of
+ * clients. Accepted connection file is deleted once mapped, so it is removed from file system as
+ * soon as both peers close.
+ *
+ * <p>Server file is exclusively locked while server is started, so file left by crashed server is
+ * not locked and is taken over by next server. Connections can not detect crashed peer process, so
+ * keep-alive must be enabled to close them
+ */
+public class ShmServerTransport implements ServerTransport<Closeable> {
+  private static final Logger logger = LoggerFactory.getLogger(ShmServerTransport.class);
+  static final String SERVER_FILE = "rsocket-shm-server";
+  static final String CREATED_SUFFIX = ".created";
+  static final String CONNECTED_SUFFIX = ".connected";
+  private static final long ACCEPT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long STALE_SCAN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+  /*connection file is renamed right after creation, so older one is left by crashed client*/
+  private static final long STALE_CREATED_MILLIS = TimeUnit.SECONDS.toMillis(10);
+  /*closing any channel of locked file drops lock of whole process, so servers of this process are
+  tracked here and their server files are not opened again*/
+  private static final Set<File> LOCKED = ConcurrentHashMap.newKeySet();
+
+  private final File directory;
+
+  private ShmServerTransport(File directory) {
+    this.directory = directory;
+  }
+
+  public static ShmServerTransport create(String directory) {
+    return create(new File(directory));
+  }
+
+  public static ShmServerTransport create(File directory) {
+    return new ShmServerTransport(directory);
+  }
+
+  static File serverFile(File directory) {
+    return new File(directory, SERVER_FILE);
+  }
+
+  /**
+   * @param acceptor acceptor of client connections
+   * @return started server. Fails with {@link IllegalStateException} if server file of directory is
+   *     locked by other started server
+   */
+  @Override
+  public Mono<Closeable> start(ConnectionAcceptor acceptor) {
+    return Mono.fromCallable(
+        () -> {
+          if (!directory.mkdirs() && !directory.isDirectory()) {
+            throw new IOException("Could not create server directory: " + directory);
+          }
+          File serverFile = serverFile(directory).getCanonicalFile();
+          if (!LOCKED.add(serverFile)) {
+            throw new IllegalStateException("Server already started in: " + directory);
+          }
+          try {
+            FileLock lock = lock(serverFile);
+            return new Acceptor(directory, serverFile, lock, acceptor, ShmPoller.shared());
+          } catch (Throwable t) {
+            LOCKED.remove(serverFile);
+            throw t;
+          }
+        });
+  }
+
+  private FileLock lock(File serverFile) throws IOException {
+    for (; ; ) {
+      FileChannel channel =
+          FileChannel.open(
+              serverFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      FileLock lock;
+      try {
+        lock = channel.tryLock();
+      } catch (IOException e) {
+        channel.close();
+        throw e;
+      }
+      if (lock == null) {
+        channel.close();
+        throw new IllegalStateException("Server already started in: " + directory);
+      }
+      /*file may be deleted by server closing while it was locked*/
+      if (serverFile.exists()) {
+        return lock;
+      }
+      channel.close();
+    }
+  }
+
+  private static final class Acceptor implements ShmPoller.Task, Closeable {
+    private final File directory;
+    private final File serverFile;
+    private final FileLock lock;
+    private final ConnectionAcceptor acceptor;
+    private final ShmPoller poller;
+    private final MonoProcessor<Void> onClose = MonoProcessor.create();
+    private long nextScan;
+    private long nextStaleScan;
+
+    Acceptor(
+        File directory,
+        File serverFile,
+        FileLock lock,
+        ConnectionAcceptor acceptor,
+        ShmPoller poller) {
+      this.directory = directory;
+      this.serverFile = serverFile;
+      this.lock = lock;
+      this.acceptor = acceptor;
+      this.poller = poller;
+      poller.add(this);
+    }
+
+    @Override
+    public int doWork() {
+      long now = System.nanoTime();
+      if (now - nextScan < 0) {
+        return 0;
+      }
+      nextScan = now + ACCEPT_INTERVAL_NANOS;
+      if (now - nextStaleScan >= 0) {
+        nextStaleScan = now + STALE_SCAN_INTERVAL_NANOS;
+        deleteStaleFiles();
+      }
+      File[] connected = directory.listFiles((dir, name) -> name.endsWith(CONNECTED_SUFFIX));
+      if (connected == null) {
+        return 0;
+      }
+      for (File file : connected) {
+        ShmRings rings;
+        try {
+          rings = ShmRings.open(file);
+        } catch (IOException e) {
+          /*do not let one broken file stall connections of other clients*/
+          logger.error("Unable to open shared memory connection file: {}", file, e);
+          continue;
+        } finally {
+          file.delete();
+        }
+        ShmDuplexConnection connection =
+            new ShmDuplexConnection(rings.clientToServer(), rings.serverToClient(), poller);
+        acceptor.apply(connection).subscribe();
+      }
+      return connected.length;
+    }
+
+    private void deleteStaleFiles() {
+      File[] created = directory.listFiles((dir, name) -> name.endsWith(CREATED_SUFFIX));
+      if (created == null) {
+        return;
+      }
+      long staleTime = System.currentTimeMillis() - STALE_CREATED_MILLIS;
+      for (File file : created) {
+        long modified = file.lastModified();
+        if (modified != 0 && modified < staleTime && file.delete()) {
+          logger.debug("Deleted stale shared memory connection file: {}", file);
+        }
+      }
+    }
+
+    @Override
+    public Mono<Void> close() {
+      return Mono.defer(
+          () -> {
+            dispose();
+            return onClose;
+          });
+    }
+
+    private synchronized void dispose() {
+      if (onClose.isTerminated()) {
+        return;
+      }
+      poller.remove(this);
+      /*deleted while locked, so next server does not lock file of this one*/
+      serverFile.delete();
+      try {
+        lock.channel().close();
+      } catch (IOException e) {
+        logger.error("Unable to release server file lock: {}", serverFile, e);
+      }
+      LOCKED.remove(serverFile);
+      onClose.onComplete();
+    }
+
+    @Override
+    public Mono<Void> onClose() {
+      return onClose;
+    }
+  }
+}
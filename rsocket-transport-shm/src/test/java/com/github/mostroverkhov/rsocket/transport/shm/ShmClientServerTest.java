@@ -0,0 +1,11 @@
+package com.github.mostroverkhov.rsocket.transport.shm;
+
+import com.github.mostroverkhov.rsocket.test.BaseClientServerTest;
+
+public class ShmClientServerTest extends BaseClientServerTest<ShmClientSetupRule> {
+
+  @Override
+  protected ShmClientSetupRule createClientServer() {
+    return new ShmClientSetupRule();
+  }
+}
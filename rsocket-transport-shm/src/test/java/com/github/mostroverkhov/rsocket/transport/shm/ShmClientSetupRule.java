@@ -0,0 +1,28 @@
+package com.github.mostroverkhov.rsocket.transport.shm;
+
+import com.github.mostroverkhov.rsocket.Closeable;
+import com.github.mostroverkhov.rsocket.test.ClientSetupRule;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+public class ShmClientSetupRule extends ClientSetupRule<File, Closeable> {
+
+  public ShmClientSetupRule() {
+    super(
+        ShmClientSetupRule::directory,
+        (directory, server) -> ShmClientTransport.create(directory),
+        ShmServerTransport::create);
+  }
+
+  private static File directory() {
+    try {
+      File directory = Files.createTempDirectory("rsocket-shm").toFile();
+      directory.deleteOnExit();
+      return directory;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.github.mostroverkhov.rsocket.transport.shm;
+
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.github.mostroverkhov.rsocket.Frame;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.OneToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBuffer;
+import org.junit.Test;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+public class ShmDuplexConnectionTest {
+
+  @Test
+  public void inboundRingIsReadUpToDemand() throws Exception {
+    RingBuffer clientToServer = ring();
+    RingBuffer serverToClient = ring();
+    ShmPoller poller = new ShmPoller("test-shm-poller", new BusySpinIdleStrategy());
+    ShmDuplexConnection client = new ShmDuplexConnection(serverToClient, clientToServer, poller);
+    ShmDuplexConnection server = new ShmDuplexConnection(clientToServer, serverToClient, poller);
+
+    int count = 100;
+    client
+        .send(Flux.range(1, count).map(i -> Frame.RequestN.from(i, 1)))
+        .block(Duration.ofSeconds(5));
+
+    CopyOnWriteArrayList<Frame> received = new CopyOnWriteArrayList<>();
+    BaseSubscriber<Frame> subscriber =
+        new BaseSubscriber<Frame>() {
+          @Override
+          protected void hookOnSubscribe(org.reactivestreams.Subscription subscription) {
+            request(1);
+          }
+
+          @Override
+          protected void hookOnNext(Frame frame) {
+            received.add(frame);
+          }
+        };
+    server.receive().subscribe(subscriber);
+
+    Thread.sleep(100);
+    assertEquals(1, received.size());
+    /*frames not requested yet stay in the ring*/
+    assertTrue(clientToServer.size() > 0);
+
+    subscriber.request(count - 1);
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (received.size() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(count, received.size());
+    assertEquals(0, clientToServer.size());
+    for (int i = 0; i < count; i++) {
+      assertEquals(i + 1, received.get(i).getStreamId());
+      received.get(i).release();
+    }
+
+    client.close().block(Duration.ofSeconds(5));
+    server.close().block(Duration.ofSeconds(5));
+  }
+
+  private static RingBuffer ring() {
+    return new OneToOneRingBuffer(
+        new UnsafeBuffer(ByteBuffer.allocateDirect(64 * 1024 + TRAILER_LENGTH)));
+  }
+}
@@ -0,0 +1,74 @@
+package com.github.mostroverkhov.rsocket.transport.shm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.github.mostroverkhov.rsocket.Closeable;
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class ShmServerTransportTest {
+  private File directory;
+  private Closeable server;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("rsocket-shm").toFile();
+    directory.deleteOnExit();
+  }
+
+  @After
+  public void tearDown() {
+    if (server != null) {
+      server.close().block(Duration.ofSeconds(5));
+    }
+  }
+
+  @Test
+  public void secondServerInDirectoryFails() {
+    server = start().block(Duration.ofSeconds(5));
+
+    StepVerifier.create(start()).expectError(IllegalStateException.class).verify();
+  }
+
+  @Test
+  public void closedServerReleasesDirectory() {
+    start().block(Duration.ofSeconds(5)).close().block(Duration.ofSeconds(5));
+    assertFalse(ShmServerTransport.serverFile(directory).exists());
+
+    server = start().block(Duration.ofSeconds(5));
+  }
+
+  @Test
+  public void serverFileOfCrashedServerIsTakenOver() throws Exception {
+    /*not locked by any process*/
+    assertTrue(ShmServerTransport.serverFile(directory).createNewFile());
+
+    server = start().block(Duration.ofSeconds(5));
+    assertTrue(ShmServerTransport.serverFile(directory).exists());
+  }
+
+  @Test
+  public void notAcceptedConnectionTimesOut() throws Exception {
+    assertTrue(ShmServerTransport.serverFile(directory).createNewFile());
+
+    StepVerifier.create(
+            ShmClientTransport.create(directory, 64 * 1024, Duration.ofMillis(100)).connect())
+        .expectError(TimeoutException.class)
+        .verify(Duration.ofSeconds(5));
+    /*connection file is deleted, only server file is left*/
+    assertEquals(1, directory.listFiles().length);
+  }
+
+  private Mono<Closeable> start() {
+    return ShmServerTransport.create(directory).start(connection -> Mono.empty());
+  }
+}
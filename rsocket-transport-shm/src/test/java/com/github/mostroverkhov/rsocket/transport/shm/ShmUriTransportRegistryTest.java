@@ -0,0 +1,24 @@
+package com.github.mostroverkhov.rsocket.transport.shm;
+
+import static org.junit.Assert.assertTrue;
+
+import com.github.mostroverkhov.rsocket.transport.ClientTransport;
+import com.github.mostroverkhov.rsocket.transport.ServerTransport;
+import com.github.mostroverkhov.rsocket.uri.UriTransportRegistry;
+import org.junit.Test;
+
+public class ShmUriTransportRegistryTest {
+  @Test
+  public void testShmClient() {
+    ClientTransport transport = UriTransportRegistry.clientForUri("shm:///tmp/rsocket-shm");
+
+    assertTrue(transport instanceof ShmClientTransport);
+  }
+
+  @Test
+  public void testShmServer() {
+    ServerTransport transport = UriTransportRegistry.serverForUri("shm:///tmp/rsocket-shm");
+
+    assertTrue(transport instanceof ShmServerTransport);
+  }
+}